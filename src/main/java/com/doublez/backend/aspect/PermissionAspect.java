@@ -11,54 +11,106 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.doublez.backend.annotation.RequiresPermission;
+import com.doublez.backend.config.security.RequestSecurityContext;
+import com.doublez.backend.entity.agency.Agent;
+import com.doublez.backend.entity.realestate.RealEstate;
+import com.doublez.backend.entity.user.User;
+import com.doublez.backend.enums.PermissionType;
+import com.doublez.backend.exception.PermissionException;
+import com.doublez.backend.exception.ResourceNotFoundException;
+import com.doublez.backend.repository.AgentRepository;
+import com.doublez.backend.repository.realestate.RealEstateRepository;
 import com.doublez.backend.service.usage.PermissionService;
 
+/**
+ * Enforces @RequiresPermission. The current user, owned agency and agent memberships come from
+ * the request's RequestSecurityContext, so the check adds no identity or membership queries.
+ * Listing and agent targets are loaded by id; the method body then finds them in the
+ * persistence context. Platform admins pass every check.
+ */
 @Aspect
 @Component
 public class PermissionAspect {
-    
+
     @Autowired
     private PermissionService permissionService;
-    
+
+    @Autowired
+    private RequestSecurityContext requestSecurityContext;
+
+    @Autowired
+    private RealEstateRepository realEstateRepository;
+
+    @Autowired
+    private AgentRepository agentRepository;
+
     @Before("@annotation(com.doublez.backend.annotation.RequiresPermission)")
     public void checkPermission(JoinPoint joinPoint) {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
         RequiresPermission annotation = method.getAnnotation(RequiresPermission.class);
-        
+
         Object[] args = joinPoint.getArgs();
         Parameter[] parameters = method.getParameters();
-        
+
         // Extract parameters based on annotation
         Long agencyId = extractParameter(annotation.agencyIdParam(), parameters, args, Long.class);
         Long listingId = extractParameter(annotation.listingIdParam(), parameters, args, Long.class);
         Long agentId = extractParameter(annotation.agentIdParam(), parameters, args, Long.class);
-        
-        // Get current user (you'll need to implement this)
-        // User currentUser = SecurityUtils.getCurrentUser();
-        
-        // Based on permission type, check access
-        switch (annotation.value()) {
-            case VIEW_TEAM:
-                // permissionService.canViewTeam(currentUser, agencyId);
-                break;
-            case MANAGE_TEAM:
-                // permissionService.canManageTeam(currentUser, agencyId);
-                break;
-            case VIEW_LISTING:
-                // permissionService.canViewListing(currentUser, listingId);
-                break;
-            case EDIT_LISTING:
-                // permissionService.canEditListing(currentUser, listingId);
-                break;
-            // Add other permission types
+
+        User currentUser = requestSecurityContext.getCurrentUser();
+        if (currentUser.isAdmin()) {
+            return;
         }
-        
-        // If permission check fails, throw PermissionException
-        // throw new PermissionException("Access denied", annotation.value().name(), resourceId);
+
+        PermissionType permission = annotation.value();
+        boolean allowed = switch (permission) {
+            case VIEW_TEAM -> permissionService.canViewTeam(currentUser, agencyId);
+            case MANAGE_TEAM -> agentId != null
+                    ? permissionService.canManageAgent(currentUser, loadAgent(agentId))
+                    : permissionService.canManageTeam(currentUser, agencyId);
+            case INVITE_AGENTS -> permissionService.canManageTeam(currentUser, agencyId);
+            case CREATE_LISTING -> permissionService.canCreateListing(currentUser, agencyId);
+            case VIEW_LISTING -> permissionService.canViewListing(currentUser, loadListing(listingId));
+            case EDIT_LISTING -> permissionService.canEditListing(currentUser, loadListing(listingId));
+            case DELETE_LISTING -> permissionService.canDeleteListing(currentUser, loadListing(listingId));
+            case MANAGE_LISTINGS -> permissionService.canManageListings(currentUser, agencyId);
+            case VIEW_BILLING -> permissionService.canViewBilling(currentUser, agencyId);
+            case MANAGE_BILLING, PURCHASE_CREDITS -> permissionService.canManageBilling(currentUser, agencyId);
+            case VIEW_ANALYTICS -> permissionService.canViewAnalytics(currentUser, agencyId);
+            case VIEW_AGENT_PERFORMANCE -> permissionService.canViewAgentPerformance(currentUser, loadAgent(agentId));
+            case MANAGE_AGENCY_SETTINGS -> permissionService.canManageAgencySettings(currentUser, agencyId);
+            case VERIFY_AGENTS -> false; // Platform admins only
+        };
+
+        if (!allowed) {
+            String resource = listingId != null ? "listing:" + listingId
+                    : agentId != null ? "agent:" + agentId
+                    : agencyId != null ? "agency:" + agencyId : null;
+            throw new PermissionException("Access denied", permission.name(), resource);
+        }
+    }
+
+    private RealEstate loadListing(Long listingId) {
+        if (listingId == null) {
+            throw new IllegalStateException("@RequiresPermission listing check without listingIdParam");
+        }
+        return realEstateRepository.findById(listingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Property not found: " + listingId));
     }
-    
+
+    private Agent loadAgent(Long agentId) {
+        if (agentId == null) {
+            throw new IllegalStateException("@RequiresPermission agent check without agentIdParam");
+        }
+        return agentRepository.findById(agentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Agent not found with id: " + agentId));
+    }
+
     private <T> T extractParameter(String paramName, Parameter[] parameters, Object[] args, Class<T> type) {
+        if (paramName == null || paramName.isEmpty()) {
+            return null;
+        }
         for (int i = 0; i < parameters.length; i++) {
             if (parameters[i].getName().equals(paramName)) {
                 return type.cast(args[i]);
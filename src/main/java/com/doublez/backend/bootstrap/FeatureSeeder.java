@@ -1,71 +1,126 @@
 package com.doublez.backend.bootstrap;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import com.doublez.backend.entity.realestate.PropertyFeature;
 import com.doublez.backend.enums.property.FeatureCategory;
-import com.doublez.backend.repository.realestate.PropertyFeatureRepository;
+import com.doublez.backend.service.realestate.FeatureCatalog;
 
 import jakarta.annotation.PostConstruct;
-import jakarta.transaction.Transactional;
 
+/**
+ * Seeds the system-defined feature catalogue with one set-based upsert, then gives
+ * new features the next free feature_mask bits. Existing bit positions are never
+ * changed, so stored masks stay valid.
+ */
 @Component
 public class FeatureSeeder {
 
-    private final PropertyFeatureRepository featureRepository;
-    
-    public FeatureSeeder(PropertyFeatureRepository featureRepository) {
-        this.featureRepository = featureRepository;
-    }
+    private static final Logger logger = LoggerFactory.getLogger(FeatureSeeder.class);
 
-    @PostConstruct
-    @Transactional
-    public void seed() {
+    private static final List<SeedFeature> SYSTEM_FEATURES = List.of(
         // ===== LEGAL CATEGORY (Most important first) =====
-        seedIfMissing("REGISTERED", "Uknjižen", FeatureCategory.LEGAL, 100,
-                     "Nekretnina je uknjižena u katastru");
-        seedIfMissing("VAT_REFUND", "Povraćaj PDV-a", FeatureCategory.LEGAL, 200);
-        seedIfMissing("UNDER_MORTGAGE", "Pod hipotekom", FeatureCategory.LEGAL, 300);
-        
+        feature("REGISTERED", "Uknjižen", FeatureCategory.LEGAL, 100,
+                "Nekretnina je uknjižena u katastru"),
+        feature("VAT_REFUND", "Povraćaj PDV-a", FeatureCategory.LEGAL, 200),
+        feature("UNDER_MORTGAGE", "Pod hipotekom", FeatureCategory.LEGAL, 300),
+
         // ===== ADDITIONAL CATEGORY =====
-        seedIfMissing("IMMEDIATELY_MOVABLE", "Odmah useljiv", FeatureCategory.ADDITIONAL, 100);
-        seedIfMissing("URGENT_SALE", "Hitna prodaja", FeatureCategory.ADDITIONAL, 200);
-        
+        feature("IMMEDIATELY_MOVABLE", "Odmah useljiv", FeatureCategory.ADDITIONAL, 100),
+        feature("URGENT_SALE", "Hitna prodaja", FeatureCategory.ADDITIONAL, 200),
+
         // ===== STRUCTURE CATEGORY =====
-        seedIfMissing("PENTHOUSE", "Penthouse", FeatureCategory.STRUCTURE, 100);
-        seedIfMissing("DUPLEX", "Duplex", FeatureCategory.STRUCTURE, 200);
-        
+        feature("PENTHOUSE", "Penthouse", FeatureCategory.STRUCTURE, 100),
+        feature("DUPLEX", "Duplex", FeatureCategory.STRUCTURE, 200),
+
         // ===== ENERGY CATEGORY =====
-        seedIfMissing("ENERGY_PASSPORT", "Energetski pasoš", FeatureCategory.ENERGY, 100);
-        
+        feature("ENERGY_PASSPORT", "Energetski pasoš", FeatureCategory.ENERGY, 100),
+
         // ===== AMENITIES CATEGORY =====
-        seedIfMissing("TERRACE", "Terasa", FeatureCategory.AMENITIES, 100);
-        seedIfMissing("FRENCH_BALCONY", "Francuski balkon", FeatureCategory.AMENITIES, 200);
-        seedIfMissing("LOGGIA", "Lođa", FeatureCategory.AMENITIES, 300);
-        
+        feature("TERRACE", "Terasa", FeatureCategory.AMENITIES, 100),
+        feature("FRENCH_BALCONY", "Francuski balkon", FeatureCategory.AMENITIES, 200),
+        feature("LOGGIA", "Lođa", FeatureCategory.AMENITIES, 300),
+
         // ===== COMFORT CATEGORY (Most important amenities) =====
-        seedIfMissing("ELEVATOR", "Lift", FeatureCategory.COMFORT, 100);
-        seedIfMissing("AIR_CONDITIONING", "Klima", FeatureCategory.COMFORT, 200);
-        seedIfMissing("PARKING", "Parking", FeatureCategory.COMFORT, 300);
-        seedIfMissing("GARAGE", "Garaža", FeatureCategory.COMFORT, 400);
-        seedIfMissing("WITH_GARDEN", "Sa baštom", FeatureCategory.COMFORT, 500);
-        
+        feature("ELEVATOR", "Lift", FeatureCategory.COMFORT, 100),
+        feature("AIR_CONDITIONING", "Klima", FeatureCategory.COMFORT, 200),
+        feature("PARKING", "Parking", FeatureCategory.COMFORT, 300),
+        feature("GARAGE", "Garaža", FeatureCategory.COMFORT, 400),
+        feature("WITH_GARDEN", "Sa baštom", FeatureCategory.COMFORT, 500),
+
         // ===== SECURITY CATEGORY =====
-        seedIfMissing("CCTV", "Video nadzor", FeatureCategory.SECURITY, 100);
+        feature("CCTV", "Video nadzor", FeatureCategory.SECURITY, 100)
+    );
+
+    // Rows are inserted in list order so new ids (and thus bit positions) follow it;
+    // system rows are only rewritten when a definition actually changed
+    private static final String UPSERT_SQL =
+        "INSERT INTO property_features (code, name, category, display_order, system_defined, description) " +
+        "SELECT v.code, v.name, v.category, v.display_order, true, v.description " +
+        "FROM (VALUES %s) AS v(ord, code, name, category, display_order, description) " +
+        "ORDER BY v.ord " +
+        "ON CONFLICT (code) DO UPDATE SET " +
+        "  name = EXCLUDED.name, category = EXCLUDED.category, " +
+        "  display_order = EXCLUDED.display_order, description = EXCLUDED.description " +
+        "WHERE property_features.system_defined " +
+        "  AND (property_features.name, property_features.category, property_features.display_order, property_features.description) " +
+        "      IS DISTINCT FROM (EXCLUDED.name, EXCLUDED.category, EXCLUDED.display_order, EXCLUDED.description)";
+
+    private static final String ASSIGN_BITS_SQL =
+        "UPDATE property_features pf SET bit_position = b.base + u.rn - 1 " +
+        "FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS rn FROM property_features WHERE bit_position IS NULL) u, " +
+        "     (SELECT COALESCE(MAX(bit_position), -1) + 1 AS base FROM property_features) b " +
+        "WHERE pf.id = u.id AND b.base + u.rn - 1 <= " + PropertyFeature.MAX_BIT_POSITION;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FeatureCatalog featureCatalog;
+
+    public FeatureSeeder(JdbcTemplate jdbcTemplate, FeatureCatalog featureCatalog) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.featureCatalog = featureCatalog;
     }
 
-    private void seedIfMissing(String code, String name, FeatureCategory category, Integer displayOrder) {
-        seedIfMissing(code, name, category, displayOrder, null);
+    @PostConstruct
+    public void seed() {
+        String values = String.join(", ",
+            Collections.nCopies(SYSTEM_FEATURES.size(), "(?::int, ?, ?, ?, ?::int, ?::varchar)"));
+
+        List<Object> args = new ArrayList<>(SYSTEM_FEATURES.size() * 6);
+        for (int i = 0; i < SYSTEM_FEATURES.size(); i++) {
+            SeedFeature feature = SYSTEM_FEATURES.get(i);
+            args.add(i);
+            args.add(feature.code());
+            args.add(feature.name());
+            args.add(feature.category().name());
+            args.add(feature.displayOrder());
+            args.add(feature.description());
+        }
+
+        int upserted = jdbcTemplate.update(String.format(UPSERT_SQL, values), args.toArray());
+        int assigned = jdbcTemplate.update(ASSIGN_BITS_SQL);
+        featureCatalog.invalidate();
+
+        if (upserted > 0 || assigned > 0) {
+            logger.info("🏷️ Feature catalogue seeded: {} inserted/updated, {} bit positions assigned", upserted, assigned);
+        }
     }
 
-    private void seedIfMissing(String code, String name, FeatureCategory category, 
-                               Integer displayOrder, String description) {
-        featureRepository
-            .findByCode(code)
-            .orElseGet(() ->
-                featureRepository.save(
-                    PropertyFeature.systemFeature(code, name, category, displayOrder, description)
-                )
-            );
+    private static SeedFeature feature(String code, String name, FeatureCategory category, Integer displayOrder) {
+        return feature(code, name, category, displayOrder, null);
     }
-}
\ No newline at end of file
+
+    private static SeedFeature feature(String code, String name, FeatureCategory category,
+                                       Integer displayOrder, String description) {
+        return new SeedFeature(code, name, category, displayOrder, description);
+    }
+
+    private record SeedFeature(String code, String name, FeatureCategory category,
+                               Integer displayOrder, String description) {}
+}
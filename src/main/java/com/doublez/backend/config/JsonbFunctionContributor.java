@@ -0,0 +1,22 @@
+package com.doublez.backend.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * PostgreSQL jsonb functions for HQL/Criteria. jsonb_flag_set(column, key) renders as a
+ * containment test (@>) so GIN jsonb_path_ops indexes on the column are used.
+ * Registered through META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class JsonbFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                "jsonb_flag_set",
+                "(?1 @> jsonb_build_object(cast(?2 as text), true))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
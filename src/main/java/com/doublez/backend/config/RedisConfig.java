@@ -102,6 +102,12 @@ public class RedisConfig {
                 RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(30)))
             .withCacheConfiguration("uniqueFeatures", 
                 RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofHours(1)))
+            .withCacheConfiguration("searchFacets", 
+                RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(15)))
+            .withCacheConfiguration("portfolioStats", 
+                RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(10)))
+            .withCacheConfiguration("agentMemberships", 
+                RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(1)))
             .build();
     }
     
@@ -0,0 +1,34 @@
+package com.doublez.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Two scheduler pools. The default taskScheduler (spring.task.scheduling.*) runs the short
+ * per-instance flushers; cluster-wide jobs run by ClusterJobService use
+ * {@code @Scheduled(scheduler = SchedulingConfig.CLUSTER_JOB_SCHEDULER)}, so a slow nightly
+ * job cannot hold up the flushers or the other jobs.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    public static final String CLUSTER_JOB_SCHEDULER = "clusterJobScheduler";
+
+    // Declared explicitly: any TaskScheduler bean makes Spring Boot skip its own
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = CLUSTER_JOB_SCHEDULER)
+    public ThreadPoolTaskScheduler clusterJobScheduler(
+            @Value("${app.scheduling.cluster-pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("cluster-job-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,96 @@
+package com.doublez.backend.config.security;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.doublez.backend.dto.agent.AgentMembership;
+import com.doublez.backend.entity.agency.Agency;
+import com.doublez.backend.entity.user.User;
+import com.doublez.backend.exception.CustomAuthenticationException;
+import com.doublez.backend.repository.UserRepository;
+import com.doublez.backend.service.agency.AgentMembershipService;
+
+/**
+ * Identity of the current request's user, resolved at most once per request: the User
+ * (one findByEmail), their owned agency and their agent memberships with roles (from
+ * AgentMembershipService's short-TTL cache). Controllers, services, @PreAuthorize helpers
+ * and PermissionAspect all read from here instead of repeating the lookups.
+ *
+ * Only usable while a web request is bound to the thread; check isActive() first from
+ * code that can also run in background jobs.
+ */
+@Component
+@RequestScope
+public class RequestSecurityContext {
+
+    private final UserRepository userRepository;
+    private final AgentMembershipService agentMembershipService;
+
+    private String resolvedName;
+    private User user;
+    private List<AgentMembership> memberships;
+
+    public RequestSecurityContext(UserRepository userRepository, AgentMembershipService agentMembershipService) {
+        this.userRepository = userRepository;
+        this.agentMembershipService = agentMembershipService;
+    }
+
+    /**
+     * True when called on a thread serving a web request
+     */
+    public static boolean isActive() {
+        return RequestContextHolder.getRequestAttributes() != null;
+    }
+
+    public User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new CustomAuthenticationException("User not authenticated");
+        }
+        // Re-resolve if the principal changed during the request (e.g. a login endpoint)
+        if (user == null || !authentication.getName().equals(resolvedName)) {
+            user = userRepository.findByEmail(authentication.getName())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            resolvedName = authentication.getName();
+            memberships = null;
+        }
+        return user;
+    }
+
+    public Long getCurrentUserId() {
+        return getCurrentUser().getId();
+    }
+
+    public boolean isCurrentUser(User candidate) {
+        return candidate != null && user != null && candidate.getId() != null
+                && candidate.getId().equals(user.getId());
+    }
+
+    public Optional<Agency> getOwnedAgency() {
+        User current = getCurrentUser();
+        return current.isAgencyAdmin() ? current.getOwnedAgency() : Optional.empty();
+    }
+
+    public boolean ownsAgency(Long agencyId) {
+        return agencyId != null && getOwnedAgency().map(agency -> agencyId.equals(agency.getId())).orElse(false);
+    }
+
+    public List<AgentMembership> getMemberships() {
+        Long userId = getCurrentUserId();
+        if (memberships == null) {
+            memberships = agentMembershipService.getMemberships(userId);
+        }
+        return memberships;
+    }
+
+    public Optional<AgentMembership> getMembership(Long agencyId) {
+        return AgentMembershipService.findIn(getMemberships(), agencyId);
+    }
+}
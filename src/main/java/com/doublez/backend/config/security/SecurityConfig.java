@@ -97,6 +97,7 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/real-estates/search").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/real-estates/features").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/real-estates/{propertyId}").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/real-estates/{propertyId}/images").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/real-estates/featured/active").permitAll()
                 
                 // =============================================
@@ -121,6 +122,11 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/tiers/benefits/{tier}").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/tiers/compare").permitAll()
                 
+                // =============================================
+                // PUBLIC LISTING FEEDS (partners & crawlers)
+                // =============================================
+                .requestMatchers(HttpMethod.GET, "/api/feeds/**").permitAll()
+                
                 // =============================================
                 // PUBLIC VERIFICATION ENDPOINTS
                 // =============================================
@@ -1,14 +1,18 @@
 package com.doublez.backend.controller;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -26,19 +30,27 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.doublez.backend.dto.realestate.BulkOperationStatusDTO;
 import com.doublez.backend.dto.realestate.PortfolioStatsDTO;
 import com.doublez.backend.dto.realestate.RealEstateCreateDTO;
 import com.doublez.backend.dto.realestate.RealEstateFormUpdateDTO;
 import com.doublez.backend.dto.realestate.RealEstateResponseDTO;
+import com.doublez.backend.dto.realestate.RealEstateSummaryDTO;
 import com.doublez.backend.dto.realestate.RealEstateUpdateDTO;
+import com.doublez.backend.enums.ExportFormat;
 import com.doublez.backend.enums.property.EnergyEfficiency;
 import com.doublez.backend.enums.property.ListingType;
 import com.doublez.backend.enums.property.PropertyType;
 import com.doublez.backend.exception.UserNotFoundException;
 import com.doublez.backend.response.ApiResponse;
+import com.doublez.backend.service.export.AdminExportService;
 import com.doublez.backend.service.realestate.AdminRealEstateService;
+import com.doublez.backend.service.realestate.BulkListingOperationService;
+import com.doublez.backend.service.realestate.ListingVersionService;
 import com.doublez.backend.service.realestate.RealEstateService;
 import com.doublez.backend.service.user.UserService;
 
@@ -53,14 +65,21 @@ public class AdminApiController {
     private final AdminRealEstateService adminRealEstateService;
     private final RealEstateService realEstateService;
     private final UserService userService;
+    private final AdminExportService adminExportService;
+    private final BulkListingOperationService bulkListingOperationService;
+    private final ListingVersionService listingVersionService;
 
     private static final Logger logger = LoggerFactory.getLogger(AdminApiController.class);
 
     public AdminApiController(AdminRealEstateService adminRealEstateService, UserService userService,
-            RealEstateService realEstateService) {
+            RealEstateService realEstateService, AdminExportService adminExportService,
+            BulkListingOperationService bulkListingOperationService, ListingVersionService listingVersionService) {
         this.adminRealEstateService = adminRealEstateService;
         this.userService = userService;
         this.realEstateService = realEstateService;
+        this.adminExportService = adminExportService;
+        this.bulkListingOperationService = bulkListingOperationService;
+        this.listingVersionService = listingVersionService;
     }
 
     // ========================
@@ -81,7 +100,7 @@ public class AdminApiController {
 
     // ENHANCED: Get all real estates with pagination and filters
     @GetMapping("/real-estates")
-    public ResponseEntity<Page<RealEstateResponseDTO>> getAllRealEstates(
+    public ResponseEntity<Page<RealEstateSummaryDTO>> getAllRealEstates(
             @RequestParam(required = false) String searchTerm, 
             @RequestParam(required = false) BigDecimal priceMin,
             @RequestParam(required = false) BigDecimal priceMax,
@@ -104,7 +123,7 @@ public class AdminApiController {
                 searchTerm, propertyType, city, isActive);
 
         // Use enhanced search with more filters
-        Page<RealEstateResponseDTO> results = realEstateService.searchRealEstates(
+        Page<RealEstateSummaryDTO> results = realEstateService.searchRealEstates(
                 searchTerm, priceMin, priceMax, propertyType, features, city, state, zipCode, 
                 listingType, minBedrooms, maxBedrooms, hasParking, hasElevator, energyEfficiency, pageable);
         
@@ -113,18 +132,19 @@ public class AdminApiController {
 
     // NEW: Get real estates with admin filters
     @GetMapping("/real-estates/filtered")
-    public ResponseEntity<Page<RealEstateResponseDTO>> getRealEstatesWithFilters(
+    public ResponseEntity<Page<RealEstateSummaryDTO>> getRealEstatesWithFilters(
             @RequestParam(required = false) Boolean isActive,
             @RequestParam(required = false) Boolean isFeatured,
             @RequestParam(required = false) PropertyType propertyType,
             @RequestParam(required = false) ListingType listingType,
+            @RequestParam(required = false) String warningFlag,
             Pageable pageable) {
 
-        logger.info("👑 Admin filtering real estates - isActive={}, isFeatured={}, propertyType={}", 
-                isActive, isFeatured, propertyType);
+        logger.info("👑 Admin filtering real estates - isActive={}, isFeatured={}, propertyType={}, warningFlag={}", 
+                isActive, isFeatured, propertyType, warningFlag);
 
-        Page<RealEstateResponseDTO> results = adminRealEstateService.getRealEstatesWithFilters(
-                isActive, isFeatured, propertyType, listingType, pageable);
+        Page<RealEstateSummaryDTO> results = adminRealEstateService.getRealEstatesWithFilters(
+                isActive, isFeatured, propertyType, listingType, warningFlag, pageable);
         
         return ResponseEntity.ok(results);
     }
@@ -212,25 +232,24 @@ public class AdminApiController {
         return ResponseEntity.noContent().build();
     }
 
-    // NEW: Bulk delete
+    // NEW: Bulk delete (large selections run as a background job - 202 with the job to poll)
     @DeleteMapping("/real-estates/bulk")
-    public ResponseEntity<ApiResponse<String>> bulkDeleteRealEstates(@RequestBody List<Long> propertyIds) {
+    public ResponseEntity<BulkOperationStatusDTO> bulkDeleteRealEstates(@RequestBody List<Long> propertyIds) {
         logger.info("👑 Admin bulk deleting {} real estates", propertyIds.size());
-        try {
-            adminRealEstateService.bulkDeleteRealEstates(propertyIds);
-            return ResponseEntity.ok(ApiResponse.success("Properties deleted successfully"));
-        } catch (Exception e) {
-            logger.error("❌ Failed to bulk delete properties: {}", e.getMessage());
-            return ResponseEntity.internalServerError()
-                    .body(ApiResponse.error("Failed to delete properties: " + e.getMessage()));
-        }
+        return bulkResponse(bulkListingOperationService.deleteListings(propertyIds, userService.getCurrentUserId()));
     }
 
     @GetMapping("/real-estates/{propertyId}")
-    public ResponseEntity<RealEstateResponseDTO> getRealEstate(@PathVariable Long propertyId) {
+    public ResponseEntity<RealEstateResponseDTO> getRealEstate(@PathVariable Long propertyId, WebRequest request) {
         logger.info("👑 Admin fetching real estate: {}", propertyId);
+        // Answer 304 from the listing's updated_at before loading it; unknown ids fall through to the 404
+        Optional<ListingVersionService.Validator> validator = listingVersionService.detailValidator(propertyId);
+        if (validator.isPresent()
+                && request.checkNotModified(validator.get().eTag(), validator.get().lastModified())) {
+            return null;
+        }
         RealEstateResponseDTO realEstate = adminRealEstateService.getRealEstateById(propertyId);
-        return ResponseEntity.ok(realEstate);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(realEstate);
     }
 
     // NEW: Get real estate with detailed analytics
@@ -302,19 +321,13 @@ public class AdminApiController {
 
     // NEW: Bulk status update
     @PatchMapping("/real-estates/bulk-status")
-    public ResponseEntity<ApiResponse<String>> bulkUpdateStatus(@RequestBody List<Long> propertyIds,
+    public ResponseEntity<BulkOperationStatusDTO> bulkUpdateStatus(@RequestBody List<Long> propertyIds,
             @RequestParam(required = false) Boolean isActive,
             @RequestParam(required = false) Boolean isFeatured) {
         logger.info("👑 Admin bulk updating {} properties - active: {}, featured: {}", 
                 propertyIds.size(), isActive, isFeatured);
-        try {
-            adminRealEstateService.bulkUpdateStatus(propertyIds, isActive, isFeatured);
-            return ResponseEntity.ok(ApiResponse.success("Properties updated successfully"));
-        } catch (Exception e) {
-            logger.error("❌ Failed to bulk update properties: {}", e.getMessage());
-            return ResponseEntity.internalServerError()
-                    .body(ApiResponse.error("Failed to update properties: " + e.getMessage()));
-        }
+        return bulkResponse(bulkListingOperationService.updateStatus(
+                propertyIds, isActive, isFeatured, userService.getCurrentUserId()));
     }
 
     // NEW: Transfer property ownership
@@ -334,17 +347,40 @@ public class AdminApiController {
 
     // NEW: Bulk transfer ownership
     @PatchMapping("/real-estates/bulk-transfer")
-    public ResponseEntity<ApiResponse<String>> bulkTransferOwnership(@RequestBody List<Long> propertyIds,
+    public ResponseEntity<BulkOperationStatusDTO> bulkTransferOwnership(@RequestBody List<Long> propertyIds,
             @RequestParam Long newOwnerId) {
         logger.info("👑 Admin bulk transferring {} properties to user {}", propertyIds.size(), newOwnerId);
-        try {
-            adminRealEstateService.bulkTransferOwnership(propertyIds, newOwnerId);
-            return ResponseEntity.ok(ApiResponse.success("Properties transferred successfully"));
-        } catch (Exception e) {
-            logger.error("❌ Failed to bulk transfer properties: {}", e.getMessage());
-            return ResponseEntity.internalServerError()
-                    .body(ApiResponse.error("Failed to transfer properties: " + e.getMessage()));
+        return bulkResponse(bulkListingOperationService.transferOwnership(
+                propertyIds, newOwnerId, userService.getCurrentUserId()));
+    }
+
+    // ========================
+    // BULK OPERATION JOBS
+    // ========================
+
+    @GetMapping("/bulk-operations")
+    public ResponseEntity<List<BulkOperationStatusDTO>> getBulkOperations() {
+        return ResponseEntity.ok(bulkListingOperationService.getRecentJobs());
+    }
+
+    @GetMapping("/bulk-operations/{jobId}")
+    public ResponseEntity<BulkOperationStatusDTO> getBulkOperation(@PathVariable Long jobId) {
+        return ResponseEntity.ok(bulkListingOperationService.getJob(jobId));
+    }
+
+    @PostMapping("/bulk-operations/{jobId}/cancel")
+    public ResponseEntity<BulkOperationStatusDTO> cancelBulkOperation(@PathVariable Long jobId) {
+        logger.info("👑 Admin cancelling bulk operation {}", jobId);
+        return ResponseEntity.ok(bulkListingOperationService.cancelJob(jobId));
+    }
+
+    private ResponseEntity<BulkOperationStatusDTO> bulkResponse(BulkOperationStatusDTO result) {
+        if (result.jobId() == null) {
+            return ResponseEntity.ok(result);
         }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/admin/bulk-operations/" + result.jobId())
+                .body(result);
     }
 
     // ========================
@@ -376,7 +412,11 @@ public class AdminApiController {
     public ResponseEntity<ApiResponse<String>> deleteUser(@PathVariable Long id) {
         logger.info("👑 Admin deleting user: {}", id);
         try {
-            userService.deleteUserAsAdmin(id);
+            BulkOperationStatusDTO result = userService.deleteUserAsAdmin(id);
+            if (result.jobId() != null) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(
+                        "User deletion queued as bulk operation " + result.jobId()));
+            }
             return ResponseEntity.ok(ApiResponse.success("User deleted successfully"));
         } catch (UserNotFoundException e) {
             logger.warn("⚠️ User not found for deletion: {}", id);
@@ -442,28 +482,28 @@ public class AdminApiController {
 
     // NEW: Get popular properties
     @GetMapping("/real-estates/popular")
-    public ResponseEntity<List<RealEstateResponseDTO>> getPopularProperties(
+    public ResponseEntity<List<RealEstateSummaryDTO>> getPopularProperties(
             @RequestParam(defaultValue = "10") int limit) {
         logger.info("👑 Admin fetching {} popular properties", limit);
-        List<RealEstateResponseDTO> popular = realEstateService.getPopularProperties(limit);
+        List<RealEstateSummaryDTO> popular = realEstateService.getPopularProperties(limit);
         return ResponseEntity.ok(popular);
     }
 
     // NEW: Get recently added properties
     @GetMapping("/real-estates/recent")
-    public ResponseEntity<List<RealEstateResponseDTO>> getRecentlyAddedProperties(
+    public ResponseEntity<List<RealEstateSummaryDTO>> getRecentlyAddedProperties(
             @RequestParam(defaultValue = "10") int limit) {
         logger.info("👑 Admin fetching {} recently added properties", limit);
-        List<RealEstateResponseDTO> recent = realEstateService.getRecentlyAddedProperties(limit);
+        List<RealEstateSummaryDTO> recent = realEstateService.getRecentlyAddedProperties(limit);
         return ResponseEntity.ok(recent);
     }
 
     // NEW: Get similar properties
     @GetMapping("/real-estates/{propertyId}/similar")
-    public ResponseEntity<List<RealEstateResponseDTO>> getSimilarProperties(@PathVariable Long propertyId,
+    public ResponseEntity<List<RealEstateSummaryDTO>> getSimilarProperties(@PathVariable Long propertyId,
             @RequestParam(defaultValue = "6") int limit) {
         logger.info("👑 Admin fetching {} similar properties for {}", limit, propertyId);
-        List<RealEstateResponseDTO> similar = realEstateService.getSimilarProperties(propertyId, limit);
+        List<RealEstateSummaryDTO> similar = realEstateService.getSimilarProperties(propertyId, limit);
         return ResponseEntity.ok(similar);
     }
 
@@ -480,4 +520,38 @@ public class AdminApiController {
 //                    .body(ApiResponse.error("Failed to increment contact count: " + e.getMessage()));
 //        }
 //    }
-}
\ No newline at end of file
+
+    // ========================
+    // DATA EXPORTS (streamed)
+    // ========================
+
+    @GetMapping("/export/real-estates")
+    public ResponseEntity<StreamingResponseBody> exportRealEstates(
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        logger.info("👑 Admin exporting real estates as {}", format);
+        return exportResponse("real-estates", format, out -> adminExportService.exportListings(format, out));
+    }
+
+    @GetMapping("/export/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        logger.info("👑 Admin exporting users as {}", format);
+        return exportResponse("users", format, out -> adminExportService.exportUsers(format, out));
+    }
+
+    @GetMapping("/export/agencies")
+    public ResponseEntity<StreamingResponseBody> exportAgencies(
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        logger.info("👑 Admin exporting agencies as {}", format);
+        return exportResponse("agencies", format, out -> adminExportService.exportAgencies(format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String name, ExportFormat format,
+                                                                 StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
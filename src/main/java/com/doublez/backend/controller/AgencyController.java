@@ -10,8 +10,8 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,12 +22,14 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.doublez.backend.dto.realestate.RealEstateResponseDTO;
+import com.doublez.backend.dto.realestate.RealEstateSummaryDTO;
 import com.doublez.backend.enums.property.ListingType;
 import com.doublez.backend.enums.property.PropertyType;
 import com.doublez.backend.response.ApiResponse;
 import com.doublez.backend.service.agency.AgencyService;
+import com.doublez.backend.service.realestate.ListingVersionService;
 import com.doublez.backend.service.realestate.RealEstateService;
 import com.doublez.backend.service.user.UserService;
 
@@ -41,13 +43,16 @@ public class AgencyController {
     private final AgencyService agencyService;
     private final UserService userService;
     private final RealEstateService realEstateService;
+    private final ListingVersionService listingVersionService;
     
     private static final Logger logger = LoggerFactory.getLogger(AgencyController.class);
 
-    public AgencyController(AgencyService agencyService, UserService userService, RealEstateService realEstateService) {
+    public AgencyController(AgencyService agencyService, UserService userService, RealEstateService realEstateService,
+                            ListingVersionService listingVersionService) {
         this.agencyService = agencyService;
         this.userService = userService;
         this.realEstateService = realEstateService;
+        this.listingVersionService = listingVersionService;
     }
 
     // ========================
@@ -144,13 +149,21 @@ public class AgencyController {
      */
     @GetMapping("/{agencyId}/properties")
     @PreAuthorize("hasRole('AGENCY_ADMIN') and @agencyService.isAgencyAdmin(#agencyId, authentication.principal.id) or hasRole('ADMIN')")
-    public ResponseEntity<List<RealEstateResponseDTO>> getAgencyProperties(@PathVariable Long agencyId) {
+    public ResponseEntity<List<RealEstateSummaryDTO>> getAgencyProperties(@PathVariable Long agencyId,
+                                                                           WebRequest request) {
         logger.info("🏠 Fetching properties for agency ID: {}", agencyId);
         
-        List<RealEstateResponseDTO> properties = realEstateService.getAgencyProperties(agencyId);
+        // Answer 304 from the agency's list version before loading and mapping every listing
+        ListingVersionService.Validator validator = listingVersionService.listValidator(
+            ListingVersionService.agencyScope(agencyId), ListingVersionService.variantOf(request.getParameterMap()));
+        if (request.checkNotModified(validator.eTag(), validator.lastModified())) {
+            return null;
+        }
+        
+        List<RealEstateSummaryDTO> properties = realEstateService.getAgencyProperties(agencyId);
         
         logger.info("✅ Found {} properties for agency ID: {}", properties.size(), agencyId);
-        return ResponseEntity.ok(properties);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(properties);
     }
 
     // ========================
@@ -200,7 +213,7 @@ public class AgencyController {
     public ResponseEntity<Map<String, Object>> getAgencyStatistics(@PathVariable Long agencyId) {
         logger.info("📊 Fetching statistics for agency ID: {}", agencyId);
         
-        List<RealEstateResponseDTO> properties = realEstateService.getAgencyProperties(agencyId);
+        List<RealEstateSummaryDTO> properties = realEstateService.getAgencyProperties(agencyId);
         
         long totalProperties = properties.size();
         long activeProperties = properties.stream()
@@ -212,13 +225,13 @@ public class AgencyController {
 
         // Calculate total portfolio value
         BigDecimal totalPortfolioValue = properties.stream()
-            .map(RealEstateResponseDTO::getPrice)
+            .map(RealEstateSummaryDTO::getPrice)
             .filter(Objects::nonNull)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         // Group by property type
         Map<PropertyType, Long> propertiesByType = properties.stream()
-            .collect(Collectors.groupingBy(RealEstateResponseDTO::getPropertyType, Collectors.counting()));
+            .collect(Collectors.groupingBy(RealEstateSummaryDTO::getPropertyType, Collectors.counting()));
 
         Map<String, Object> stats = Map.of(
             "totalProperties", totalProperties,
@@ -245,41 +258,30 @@ public class AgencyController {
      */
     @GetMapping("/{agencyId}/properties/paged")
     @PreAuthorize("hasRole('AGENCY_ADMIN') and @agencyService.isAgencyAdmin(#agencyId, authentication.principal.id) or hasRole('ADMIN')")
-    public ResponseEntity<Page<RealEstateResponseDTO>> getAgencyPropertiesPaged(
+    public ResponseEntity<Page<RealEstateSummaryDTO>> getAgencyPropertiesPaged(
             @PathVariable Long agencyId,
             @RequestParam(required = false) String searchTerm,
             @RequestParam(required = false) PropertyType propertyType,
             @RequestParam(required = false) ListingType listingType,
-            Pageable pageable) {
+            Pageable pageable,
+            WebRequest request) {
         
         logger.info("🏠 Fetching paged properties for agency ID: {} - page: {}, size: {}", 
             agencyId, pageable.getPageNumber(), pageable.getPageSize());
         
-        // You might need to implement this method in RealEstateService
-        // For now, we'll manually paginate the existing list
-        List<RealEstateResponseDTO> allProperties = realEstateService.getAgencyProperties(agencyId);
-        
-        // Apply basic filtering
-        List<RealEstateResponseDTO> filteredProperties = allProperties.stream()
-            .filter(property -> searchTerm == null || 
-                property.getTitle().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                property.getDescription().toLowerCase().contains(searchTerm.toLowerCase()))
-            .filter(property -> propertyType == null || property.getPropertyType() == propertyType)
-            .filter(property -> listingType == null || property.getListingType() == listingType)
-            .collect(Collectors.toList());
-        
-        // Manual pagination
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filteredProperties.size());
-        List<RealEstateResponseDTO> pagedProperties = filteredProperties.subList(start, end);
+        ListingVersionService.Validator validator = listingVersionService.listValidator(
+            ListingVersionService.agencyScope(agencyId), ListingVersionService.variantOf(request.getParameterMap()));
+        if (request.checkNotModified(validator.eTag(), validator.lastModified())) {
+            return null;
+        }
         
-        Page<RealEstateResponseDTO> page = new PageImpl<>(
-            pagedProperties, pageable, filteredProperties.size());
+        Page<RealEstateSummaryDTO> page = realEstateService.searchAgencyProperties(
+            agencyId, searchTerm, propertyType, listingType, pageable);
         
-        logger.info("✅ Found {} properties (showing {}-{})", 
-            filteredProperties.size(), start, Math.min(end, filteredProperties.size()));
+        logger.info("✅ Found {} properties (page {} of {})", 
+            page.getTotalElements(), page.getNumber() + 1, page.getTotalPages());
         
-        return ResponseEntity.ok(page);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(page);
     }
 
     /**
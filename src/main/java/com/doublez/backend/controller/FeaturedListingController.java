@@ -3,11 +3,9 @@ package com.doublez.backend.controller;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,11 +17,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.doublez.backend.dto.analytics.ListingStatisticsSnapshot;
 import com.doublez.backend.entity.realestate.RealEstate;
 import com.doublez.backend.exception.IllegalOperationException;
 import com.doublez.backend.exception.LimitationExceededException;
 import com.doublez.backend.exception.ResourceNotFoundException;
 import com.doublez.backend.repository.realestate.RealEstateRepository;
+import com.doublez.backend.service.analytics.AdminStatisticsService;
 import com.doublez.backend.service.realestate.FeaturedListingService;
 import com.doublez.backend.service.realestate.RealEstateAuthorizationService;
 import com.doublez.backend.service.user.UserService;
@@ -38,6 +38,7 @@ public class FeaturedListingController {
     private final RealEstateAuthorizationService authService;
     private final UserService userService;
     private final RealEstateRepository realEstateRepository;
+    private final AdminStatisticsService statisticsService;
     
     private static final Logger logger = LoggerFactory.getLogger(FeaturedListingController.class);
 
@@ -46,12 +47,14 @@ public class FeaturedListingController {
             SecurityUtils securityUtils,
             RealEstateAuthorizationService authService,
             UserService userService,
-            RealEstateRepository realEstateRepository) { // 🆕 ADDED
+            RealEstateRepository realEstateRepository, // 🆕 ADDED
+            AdminStatisticsService statisticsService) {
         this.featuredListingService = featuredListingService;
         this.securityUtils = securityUtils;
         this.authService = authService;
         this.userService = userService;
         this.realEstateRepository = realEstateRepository; // 🆕 ADDED
+        this.statisticsService = statisticsService;
     }
 
     private Long getCurrentUserId() {
@@ -225,22 +228,16 @@ public class FeaturedListingController {
         try {
             logger.info("📊 Admin fetching featured listings statistics");
             
-            // ✅ Use existing repository methods
-            List<RealEstate> allFeatured = realEstateRepository.findAll().stream()
-                .filter(RealEstate::getIsFeatured)
-                .collect(Collectors.toList());
-                
-            List<RealEstate> activeFeatured = realEstateRepository.findActiveFeaturedRealEstates(Pageable.unpaged());
-            List<RealEstate> expiredFeatured = realEstateRepository.findExpiredFeaturedRealEstates();
+            // ✅ Counted in SQL (cached), no table scan into memory
+            ListingStatisticsSnapshot snapshot = statisticsService.getListingStatistics();
             
             Map<String, Object> stats = new HashMap<>();
-            stats.put("totalFeatured", allFeatured.size());
-            stats.put("activeFeatured", activeFeatured.size());
-            stats.put("expiredFeatured", expiredFeatured.size());
-            stats.put("activePercentage", allFeatured.size() > 0 ? 
-                (double) activeFeatured.size() / allFeatured.size() * 100 : 0);
+            stats.put("totalFeatured", snapshot.featuredProperties());
+            stats.put("activeFeatured", snapshot.activeFeatured());
+            stats.put("expiredFeatured", snapshot.expiredFeatured());
+            stats.put("activePercentage", snapshot.featuredActivePercentage());
             
-            logger.info("✅ Featured statistics: {} active, {} total", activeFeatured.size(), allFeatured.size());
+            logger.info("✅ Featured statistics: {} active, {} total", snapshot.activeFeatured(), snapshot.featuredProperties());
             return ResponseEntity.ok(stats);
             
         } catch (Exception e) {
@@ -0,0 +1,86 @@
+package com.doublez.backend.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.doublez.backend.dto.feed.FeedManifest;
+import com.doublez.backend.service.feed.ListingFeedService;
+import com.doublez.backend.service.feed.ListingFeedService.PublishedFile;
+
+/**
+ * Pre-generated listing feeds for partner portals and crawlers.
+ * Public endpoints - files are streamed from S3 with Last-Modified; the published file list is held in memory.
+ */
+@RestController
+@RequestMapping("/api/feeds")
+public class FeedController {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedController.class);
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ListingFeedService listingFeedService;
+
+    public FeedController(ListingFeedService listingFeedService) {
+        this.listingFeedService = listingFeedService;
+    }
+
+    @GetMapping("/manifest")
+    public ResponseEntity<FeedManifest> getManifest() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(listingFeedService.getManifest());
+    }
+
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<Resource> getSitemapIndex(WebRequest request) {
+        return serve(ListingFeedService.SITEMAP_INDEX, request);
+    }
+
+    @GetMapping("/{fileName:.+}")
+    public ResponseEntity<Resource> getFeedFile(@PathVariable String fileName, WebRequest request) {
+        return serve(fileName, request);
+    }
+
+    @PostMapping("/regenerate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FeedManifest> regenerate() {
+        logger.info("👑 Admin regenerating listing feed snapshot");
+        listingFeedService.generateFullSnapshot();
+        return ResponseEntity.ok(listingFeedService.getManifest());
+    }
+
+    private ResponseEntity<Resource> serve(String fileName, WebRequest request) {
+        PublishedFile file = listingFeedService.resolveFile(fileName);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        long lastModified = file.lastModifiedMillis();
+        if (request.checkNotModified(lastModified)) {
+            // Status 304 and headers are already set on the response
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(fileName.endsWith(".gz") ? GZIP : MediaType.APPLICATION_XML)
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic())
+                .contentLength(file.size())
+                .body(new InputStreamResource(listingFeedService.openFile(file)));
+    }
+}
@@ -0,0 +1,71 @@
+package com.doublez.backend.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.doublez.backend.dto.realestate.ListingImportStatusDTO;
+import com.doublez.backend.entity.user.User;
+import com.doublez.backend.service.realestate.ListingImportService;
+import com.doublez.backend.service.user.UserService;
+
+/**
+ * Bulk listing import for agency administrators. Uploads are processed in the background;
+ * poll the job for progress and per-row errors.
+ */
+@RestController
+@RequestMapping("/api/listing-imports")
+public class ListingImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingImportController.class);
+
+    private final ListingImportService listingImportService;
+    private final UserService userService;
+
+    public ListingImportController(ListingImportService listingImportService, UserService userService) {
+        this.listingImportService = listingImportService;
+        this.userService = userService;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('AGENCY')")
+    public ResponseEntity<ListingImportStatusDTO> createImport(@RequestPart("file") MultipartFile file) {
+        User user = userService.getAuthenticatedUser();
+        logger.info("📥 User {} uploading listing import '{}'", user.getId(), file.getOriginalFilename());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(listingImportService.createJob(user, file));
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('AGENCY') or hasRole('ADMIN')")
+    public ResponseEntity<List<ListingImportStatusDTO>> getMyImports() {
+        return ResponseEntity.ok(listingImportService.getJobs(userService.getAuthenticatedUser()));
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('AGENCY') or hasRole('ADMIN')")
+    public ResponseEntity<ListingImportStatusDTO> getImport(@PathVariable Long jobId,
+                                                            @RequestParam(defaultValue = "100") int errorLimit) {
+        return ResponseEntity.ok(listingImportService.getJobStatus(
+                jobId, userService.getAuthenticatedUser(), Math.min(errorLimit, 1000)));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    @PreAuthorize("hasRole('AGENCY') or hasRole('ADMIN')")
+    public ResponseEntity<ListingImportStatusDTO> resumeImport(@PathVariable Long jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(listingImportService.resumeJob(jobId, userService.getAuthenticatedUser()));
+    }
+}
@@ -1,6 +1,5 @@
 package com.doublez.backend.controller;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -9,12 +8,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -23,23 +24,29 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.doublez.backend.dto.realestate.PortfolioStatsDTO;
 import com.doublez.backend.dto.realestate.RealEstateCreateDTO;
 import com.doublez.backend.dto.realestate.RealEstateResponseDTO;
+import com.doublez.backend.dto.realestate.RealEstateSummaryDTO;
+import com.doublez.backend.dto.realestate.RealEstateSearchFilter;
 import com.doublez.backend.dto.realestate.RealEstateUpdateDTO;
 import com.doublez.backend.dto.realestate.RemoveImagesRequest;
+import com.doublez.backend.dto.realestate.ReorderImagesRequest;
+import com.doublez.backend.dto.realestate.SearchFacetsDTO;
 import com.doublez.backend.entity.realestate.RealEstate;
 import com.doublez.backend.entity.user.User;
-import com.doublez.backend.enums.property.EnergyEfficiency;
 import com.doublez.backend.enums.property.ListingType;
-import com.doublez.backend.enums.property.PropertyType;
 import com.doublez.backend.exception.IllegalOperationException;
 import com.doublez.backend.exception.LimitationExceededException;
 import com.doublez.backend.exception.ResourceNotFoundException;
+import com.doublez.backend.exception.image.ImageValidationException;
 import com.doublez.backend.service.realestate.FeaturedListingService;
+import com.doublez.backend.service.realestate.ListingVersionService;
 import com.doublez.backend.service.realestate.RealEstateService;
+import com.doublez.backend.service.realestate.SearchFacetService;
 import com.doublez.backend.service.user.UserService;
 
 import jakarta.validation.Valid;
@@ -53,12 +60,17 @@ public class RealEstateApiController {
     private final RealEstateService realEstateService;
     private final UserService userService;
     private final FeaturedListingService featuredListingService;
+    private final SearchFacetService searchFacetService;
+    private final ListingVersionService listingVersionService;
 
     public RealEstateApiController(RealEstateService realEstateService, UserService userService,
-            FeaturedListingService featuredListingService) {
+            FeaturedListingService featuredListingService, SearchFacetService searchFacetService,
+            ListingVersionService listingVersionService) {
         this.realEstateService = realEstateService;
         this.userService = userService;
         this.featuredListingService = featuredListingService;
+        this.searchFacetService = searchFacetService;
+        this.listingVersionService = listingVersionService;
     }
 
     // === PUBLIC ENDPOINTS (no auth) ===
@@ -68,30 +80,16 @@ public class RealEstateApiController {
      */
     @GetMapping("/search")
     @PreAuthorize("permitAll()")
-    public ResponseEntity<Page<RealEstateResponseDTO>> searchRealEstates(
-            @RequestParam(required = false) String searchTerm, 
-            @RequestParam(required = false) BigDecimal priceMin,
-            @RequestParam(required = false) BigDecimal priceMax,
-            @RequestParam(required = false) PropertyType propertyType,
-            @RequestParam(required = false) List<String> features, 
-            @RequestParam(required = false) String city,
-            @RequestParam(required = false) String state, 
-            @RequestParam(required = false) String zipCode,
-            @RequestParam(required = false) ListingType listingType,
-            @RequestParam(required = false) Integer minBedrooms,
-            @RequestParam(required = false) Integer maxBedrooms,
-            @RequestParam(required = false) Boolean hasParking,
-            @RequestParam(required = false) Boolean hasElevator,
-            @RequestParam(required = false) EnergyEfficiency energyEfficiency,
+    public ResponseEntity<Page<RealEstateSummaryDTO>> searchRealEstates(
+            @ModelAttribute RealEstateSearchFilter filter,
             Pageable pageable) {
 
         try {
             logger.info("🔍 Public search - term: {}, type: {}, city: {}, bedrooms: {}-{}", 
-                    searchTerm, propertyType, city, minBedrooms, maxBedrooms);
+                    filter.getSearchTerm(), filter.getPropertyType(), filter.getCity(),
+                    filter.getMinBedrooms(), filter.getMaxBedrooms());
 
-            Page<RealEstateResponseDTO> result = realEstateService.searchRealEstates(
-                    searchTerm, priceMin, priceMax, propertyType, features, city, state, zipCode, 
-                    listingType, minBedrooms, maxBedrooms, hasParking, hasElevator, energyEfficiency, pageable);
+            Page<RealEstateSummaryDTO> result = realEstateService.searchRealEstates(filter, pageable);
 
             logger.info("✅ Public search completed - {} results", result.getTotalElements());
             return ResponseEntity.ok(result);
@@ -102,6 +100,20 @@ public class RealEstateApiController {
         }
     }
 
+    /**
+     * Public facet counts for the search filters - same parameters as /search
+     */
+    @GetMapping("/search/facets")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<SearchFacetsDTO> getSearchFacets(@ModelAttribute RealEstateSearchFilter filter) {
+        try {
+            return ResponseEntity.ok(searchFacetService.getFacets(filter));
+        } catch (Exception e) {
+            logger.error("❌ Search facets failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Public get by ID - accessible without authentication
      */
@@ -195,7 +207,7 @@ public class RealEstateApiController {
         try {
             logger.info("🔥 Fetching {} popular properties", limit);
 
-            List<RealEstateResponseDTO> popular = realEstateService.getPopularProperties(limit);
+            List<RealEstateSummaryDTO> popular = realEstateService.getPopularProperties(limit);
 
             logger.info("✅ Found {} popular properties", popular.size());
             return ResponseEntity.ok(popular);
@@ -214,7 +226,7 @@ public class RealEstateApiController {
         try {
             logger.info("🆕 Fetching {} recently added properties", limit);
 
-            List<RealEstateResponseDTO> recent = realEstateService.getRecentlyAddedProperties(limit);
+            List<RealEstateSummaryDTO> recent = realEstateService.getRecentlyAddedProperties(limit);
 
             logger.info("✅ Found {} recent properties", recent.size());
             return ResponseEntity.ok(recent);
@@ -234,7 +246,7 @@ public class RealEstateApiController {
         try {
             logger.info("🔍 Fetching {} similar properties for {}", limit, propertyId);
 
-            List<RealEstateResponseDTO> similar = realEstateService.getSimilarProperties(propertyId, limit);
+            List<RealEstateSummaryDTO> similar = realEstateService.getSimilarProperties(propertyId, limit);
 
             logger.info("✅ Found {} similar properties for {}", similar.size(), propertyId);
             return ResponseEntity.ok(similar);
@@ -253,17 +265,24 @@ public class RealEstateApiController {
      */
     @GetMapping("/my-properties")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<?> getUserProperties(Pageable pageable) {
+    public ResponseEntity<?> getUserProperties(Pageable pageable, WebRequest request) {
         try {
             User currentUser = userService.getAuthenticatedUser();
             Long userId = currentUser.getId();
 
+            // Answer 304 from the owner's list version before loading the page
+            ListingVersionService.Validator validator = listingVersionService.listValidator(
+                    ListingVersionService.ownerScope(userId), ListingVersionService.variantOf(request.getParameterMap()));
+            if (request.checkNotModified(validator.eTag(), validator.lastModified())) {
+                return null;
+            }
+
             logger.info("📋 Fetching properties for user: {}", userId);
 
-            Page<RealEstateResponseDTO> properties = realEstateService.getPropertiesByOwner(userId, pageable);
+            Page<RealEstateSummaryDTO> properties = realEstateService.getPropertiesByOwner(userId, pageable);
 
             logger.info("✅ Found {} properties for user: {}", properties.getTotalElements(), userId);
-            return ResponseEntity.ok(properties);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(properties);
 
         } catch (Exception e) {
             logger.error("❌ Failed to fetch user properties", e);
@@ -278,19 +297,26 @@ public class RealEstateApiController {
     public ResponseEntity<?> getUserPropertiesWithFilters(
             @RequestParam(required = false) Boolean isActive,
             @RequestParam(required = false) ListingType listingType,
-            Pageable pageable) {
+            Pageable pageable,
+            WebRequest request) {
         try {
             User currentUser = userService.getAuthenticatedUser();
             Long userId = currentUser.getId();
 
+            ListingVersionService.Validator validator = listingVersionService.listValidator(
+                    ListingVersionService.ownerScope(userId), ListingVersionService.variantOf(request.getParameterMap()));
+            if (request.checkNotModified(validator.eTag(), validator.lastModified())) {
+                return null;
+            }
+
             logger.info("📋 Fetching filtered properties for user: {}, active: {}, listingType: {}", 
                     userId, isActive, listingType);
 
-            Page<RealEstateResponseDTO> properties = realEstateService.getPropertiesByOwnerWithFilters(
+            Page<RealEstateSummaryDTO> properties = realEstateService.getPropertiesByOwnerWithFilters(
                     userId, isActive, listingType, pageable);
 
             logger.info("✅ Found {} filtered properties for user: {}", properties.getTotalElements(), userId);
-            return ResponseEntity.ok(properties);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(properties);
 
         } catch (Exception e) {
             logger.error("❌ Failed to fetch filtered user properties", e);
@@ -386,6 +412,36 @@ public class RealEstateApiController {
         }
     }
 
+    /**
+     * LIST images of a property with their ids (for reordering)
+     */
+    @GetMapping("/{propertyId}/images")
+    public ResponseEntity<?> getPropertyImages(@PathVariable Long propertyId) {
+        try {
+            return ResponseEntity.ok(realEstateService.getPropertyImages(propertyId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Property not found"));
+        }
+    }
+
+    /**
+     * REORDER images of a property; only moved images are updated
+     */
+    @PutMapping("/{propertyId}/images/order")
+    @PreAuthorize("@realEstateAuthorizationService.hasRealEstateUpdateAccess(#propertyId)")
+    public ResponseEntity<?> reorderPropertyImages(@PathVariable Long propertyId,
+            @RequestBody ReorderImagesRequest request) {
+
+        try {
+            return ResponseEntity.ok(realEstateService.reorderImages(propertyId, request.getImageIds()));
+        } catch (ResourceNotFoundException e) {
+            logger.warn("❌ Property not found for image reorder: {}", propertyId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Property not found"));
+        } catch (ImageValidationException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * ADD images to existing property
      */
@@ -641,7 +697,7 @@ public class RealEstateApiController {
             List<RealEstate> featuredRealEstates = featuredListingService.getActiveFeaturedListings(limit);
 
             // Convert to DTOs
-            List<RealEstateResponseDTO> featuredList = featuredRealEstates.stream().map(RealEstateResponseDTO::new)
+            List<RealEstateSummaryDTO> featuredList = featuredRealEstates.stream().map(RealEstateSummaryDTO::new)
                     .collect(Collectors.toList());
 
             logger.info("✅ Found {} active featured listings", featuredList.size());
@@ -661,7 +717,7 @@ public class RealEstateApiController {
         try {
             logger.info("⭐ Fetching {} featured properties", limit);
 
-            List<RealEstateResponseDTO> featured = realEstateService.getFeaturedRealEstates(limit);
+            List<RealEstateSummaryDTO> featured = realEstateService.getFeaturedRealEstates(limit);
 
             logger.info("✅ Found {} featured properties", featured.size());
             return ResponseEntity.ok(featured);
@@ -24,7 +24,7 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.doublez.backend.dto.realestate.RealEstateCreateDTO;
-import com.doublez.backend.dto.realestate.RealEstateResponseDTO;
+import com.doublez.backend.dto.realestate.RealEstateSummaryDTO;
 import com.doublez.backend.dto.realestate.RealEstateUpdateDTO;
 import com.doublez.backend.dto.user.UserResponseDTO;
 import com.doublez.backend.service.realestate.AdminRealEstateService;
@@ -89,7 +89,7 @@ public class AdminController {
 
     @GetMapping("/real-estates")
     public String showRealEstatesData(Model model) {
-        List<RealEstateResponseDTO> realEstates = realEstateService.getAllRealEstates();
+        List<RealEstateSummaryDTO> realEstates = realEstateService.getAllRealEstates();
         model.addAttribute("realEstates", realEstates);
         return "admin/realestatedata";
     }
@@ -0,0 +1,30 @@
+package com.doublez.backend.dto.agent;
+
+import java.io.Serializable;
+
+import com.doublez.backend.enums.agency.AgentRole;
+
+/**
+ * A user's agent seat in one agency, with the flags permission checks need.
+ * Small and serializable so it can be cached across requests.
+ */
+public record AgentMembership(
+    Long agentId,
+    Long agencyId,
+    AgentRole role,
+    boolean active,
+    boolean canManageListings,
+    boolean canViewAnalytics,
+    boolean canManageBilling,
+    boolean canInviteAgents
+) implements Serializable {
+
+    public boolean hasRole(AgentRole... roles) {
+        for (AgentRole candidate : roles) {
+            if (candidate == role) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package com.doublez.backend.dto.analytics;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Admin listing dashboard counts, computed in one aggregate pass plus one grouped query
+ */
+public record ListingStatisticsSnapshot(
+    long totalProperties,
+    long activeProperties,
+    long inactiveProperties,
+    long featuredProperties,
+    long activeFeatured,
+    long expiredFeatured,
+    long forSaleProperties,
+    long forRentProperties,
+    long propertiesAddedLast7Days,
+    Map<String, Long> propertiesByType,
+    Map<String, Long> propertiesByCity,
+    LocalDateTime computedAt
+) {
+
+    public double featuredActivePercentage() {
+        return featuredProperties > 0 ? (double) activeFeatured / featuredProperties * 100 : 0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.doublez.backend.dto.analytics;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trial usage counts across all users, computed in one aggregate query
+ */
+public record TrialStatisticsSnapshot(
+    long totalUsers,
+    long usersInTrial,
+    long trialExpired,
+    long neverUsedTrial,
+    long agencyUsers,
+    long agencyUsersInTrial,
+    LocalDateTime computedAt
+) {
+
+    public double trialUtilizationRate() {
+        return totalUsers > 0 ? (usersInTrial * 100.0 / totalUsers) : 0;
+    }
+
+    public double agencyTrialRate() {
+        return agencyUsers > 0 ? (agencyUsersInTrial * 100.0 / agencyUsers) : 0;
+    }
+}
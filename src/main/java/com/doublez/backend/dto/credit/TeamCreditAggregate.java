@@ -0,0 +1,11 @@
+package com.doublez.backend.dto.credit;
+
+/**
+ * Team-wide credit totals computed in one aggregate query over active agents
+ */
+public record TeamCreditAggregate(Long agentCount, Long totalCredits, Long agentsWithCredits) {
+
+    public int averageCreditsPerAgent() {
+        return agentCount == 0 ? 0 : (int) (totalCredits / agentCount);
+    }
+}
@@ -0,0 +1,17 @@
+package com.doublez.backend.dto.feed;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Files currently published by the listing feed: the latest full snapshot and the
+ * deltas written since it, oldest first. Changes up to {@code watermark} are covered.
+ */
+public record FeedManifest(
+    LocalDateTime watermark,
+    List<FeedFile> snapshot,
+    List<FeedFile> deltas
+) {
+
+    public record FeedFile(String name, long size, LocalDateTime lastModified) {}
+}
@@ -0,0 +1,41 @@
+package com.doublez.backend.dto.realestate;
+
+import java.time.LocalDateTime;
+
+import com.doublez.backend.entity.realestate.BulkOperationJob;
+import com.doublez.backend.enums.BulkJobStatus;
+import com.doublez.backend.enums.BulkOperationType;
+
+/**
+ * Progress of an admin bulk operation. jobId is null when the selection was small
+ * enough to be applied within the request.
+ */
+public record BulkOperationStatusDTO(
+    Long jobId,
+    BulkOperationType operation,
+    BulkJobStatus status,
+    long totalCount,
+    long processedCount,
+    long affectedCount,
+    boolean cancelRequested,
+    String errorMessage,
+    LocalDateTime createdAt,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt
+) {
+
+    public static BulkOperationStatusDTO of(BulkOperationJob job) {
+        return new BulkOperationStatusDTO(
+            job.getId(),
+            job.getOperation(),
+            job.getStatus(),
+            job.getTotalCount(),
+            job.getProcessedCount(),
+            job.getAffectedCount(),
+            Boolean.TRUE.equals(job.getCancelRequested()),
+            job.getErrorMessage(),
+            job.getCreatedAt(),
+            job.getStartedAt(),
+            job.getFinishedAt());
+    }
+}
@@ -0,0 +1,29 @@
+package com.doublez.backend.dto.realestate;
+
+import com.doublez.backend.entity.realestate.ListingImage;
+
+/**
+ * A listing photo with its stable id, used to address images in reorder requests.
+ */
+public record ListingImageDTO(
+    Long id,
+    int position,
+    String url,
+    Integer width,
+    Integer height,
+    Long byteSize,
+    String contentType
+) {
+
+    public static ListingImageDTO of(ListingImage image) {
+        return new ListingImageDTO(
+            image.getId(),
+            image.getPosition(),
+            image.getUrl(),
+            image.getWidth(),
+            image.getHeight(),
+            image.getByteSize(),
+            image.getContentType()
+        );
+    }
+}
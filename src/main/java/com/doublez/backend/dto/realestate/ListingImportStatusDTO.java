@@ -0,0 +1,45 @@
+package com.doublez.backend.dto.realestate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.doublez.backend.entity.realestate.ListingImportJob;
+import com.doublez.backend.enums.ImportFormat;
+import com.doublez.backend.enums.ImportJobStatus;
+
+/**
+ * Progress of a bulk listing import with the first per-row errors (row numbers count data rows from 1)
+ */
+public record ListingImportStatusDTO(
+    Long jobId,
+    ImportJobStatus status,
+    ImportFormat format,
+    String originalFilename,
+    long processedRows,
+    long importedCount,
+    long failedCount,
+    String errorMessage,
+    LocalDateTime createdAt,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    List<RowError> errors
+) {
+
+    public static ListingImportStatusDTO of(ListingImportJob job, List<RowError> errors) {
+        return new ListingImportStatusDTO(
+            job.getId(),
+            job.getStatus(),
+            job.getFormat(),
+            job.getOriginalFilename(),
+            job.getProcessedRows(),
+            job.getImportedCount(),
+            job.getFailedCount(),
+            job.getErrorMessage(),
+            job.getCreatedAt(),
+            job.getStartedAt(),
+            job.getFinishedAt(),
+            errors);
+    }
+
+    public record RowError(long rowNumber, Long propertyId, String message) {}
+}
@@ -1,5 +1,6 @@
 package com.doublez.backend.dto.realestate;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Map;
@@ -7,7 +8,9 @@ import java.util.Map;
 import com.doublez.backend.enums.property.ListingType;
 import com.doublez.backend.enums.property.PropertyType;
 
-public class PortfolioStatsDTO {
+public class PortfolioStatsDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private Long totalProperties;
     private Long activeProperties;
     private Long inactiveProperties;
@@ -19,6 +22,9 @@ public class PortfolioStatsDTO {
     private String portfolioHealth;
     private Long totalViews;
     private Long totalContacts;
+    private BigDecimal averageSalePricePerSqm;
+    private BigDecimal averageRentPricePerSqm;
+    private BigDecimal estimatedGrossYield;	// Annual rent per m² / sale price per m², in percent
     
     // Constructor
     public PortfolioStatsDTO(Long totalProperties, Long activeProperties, BigDecimal totalPortfolioValue,
@@ -126,6 +132,30 @@ public class PortfolioStatsDTO {
 	public void setTotalContacts(Long totalContacts) {
 		this.totalContacts = totalContacts;
 	}
+
+	public BigDecimal getAverageSalePricePerSqm() {
+		return averageSalePricePerSqm;
+	}
+
+	public void setAverageSalePricePerSqm(BigDecimal averageSalePricePerSqm) {
+		this.averageSalePricePerSqm = averageSalePricePerSqm;
+	}
+
+	public BigDecimal getAverageRentPricePerSqm() {
+		return averageRentPricePerSqm;
+	}
+
+	public void setAverageRentPricePerSqm(BigDecimal averageRentPricePerSqm) {
+		this.averageRentPricePerSqm = averageRentPricePerSqm;
+	}
+
+	public BigDecimal getEstimatedGrossYield() {
+		return estimatedGrossYield;
+	}
+
+	public void setEstimatedGrossYield(BigDecimal estimatedGrossYield) {
+		this.estimatedGrossYield = estimatedGrossYield;
+	}
     
     
 }
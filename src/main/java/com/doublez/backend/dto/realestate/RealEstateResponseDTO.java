@@ -4,15 +4,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import com.doublez.backend.dto.feature.PropertyFeatureResponseDTO;
-import com.doublez.backend.entity.realestate.PropertyFeature;
 import com.doublez.backend.entity.realestate.RealEstate;
 import com.doublez.backend.enums.property.EnergyEfficiency;
 import com.doublez.backend.enums.property.FurnitureStatus;
@@ -22,6 +18,7 @@ import com.doublez.backend.enums.property.OwnershipType;
 import com.doublez.backend.enums.property.PropertyCondition;
 import com.doublez.backend.enums.property.PropertySubtype;
 import com.doublez.backend.enums.property.PropertyType;
+import com.doublez.backend.service.realestate.FeatureCatalog;
 
 public class RealEstateResponseDTO {
 
@@ -177,6 +174,13 @@ public class RealEstateResponseDTO {
 
     // ===== CONSTRUCTOR =====
     public RealEstateResponseDTO(RealEstate realEstate) {
+        this(realEstate, (FeatureCatalog.Snapshot) null);
+    }
+
+    /**
+     * Build with the feature catalogue snapshot, reusing its precomputed order and feature DTOs
+     */
+    public RealEstateResponseDTO(RealEstate realEstate, FeatureCatalog.Snapshot featureCatalog) {
         if (realEstate == null) {
             throw new IllegalArgumentException("RealEstate cannot be null");
         }
@@ -247,45 +251,13 @@ public class RealEstateResponseDTO {
         this.totalSizeDisplay = realEstate.getSizeInSqMt() != null ? realEstate.getSizeInSqMt() + " m²" : null;
         
         // ===== FEATURES =====
-        if (realEstate.getFeatures() != null && !realEstate.getFeatures().isEmpty()) {
-            // Sort features by category and display order
-            List<PropertyFeature> sortedFeatures = realEstate.getFeatures().stream()
-                .sorted(Comparator
-                    .<PropertyFeature, Integer>comparing(f -> f.getCategory().ordinal())
-                    .thenComparing(PropertyFeature::getDisplayOrder)
-                    .thenComparing(PropertyFeature::getName))
-                .collect(Collectors.toList());
-            
-            // Populate sorted feature objects
-            this.features = sortedFeatures.stream()
-                .map(PropertyFeatureResponseDTO::new)
-                .collect(Collectors.toList());
-            
-            // Populate feature codes (in same order)
-            this.featureCodes = sortedFeatures.stream()
-                .map(PropertyFeature::getCode)
-                .collect(Collectors.toList());
-            
-            // Group and sort within each category
-            this.featuresByCategory = sortedFeatures.stream()
-                .collect(Collectors.groupingBy(
-                    f -> f.getCategory().getDisplayName(),
-                    LinkedHashMap::new, // Preserve insertion order of categories
-                    Collectors.collectingAndThen(
-                        Collectors.toList(),
-                        list -> list.stream()
-                            .sorted(Comparator
-                                .comparing(PropertyFeature::getDisplayOrder)
-                                .thenComparing(PropertyFeature::getName))
-                            .map(PropertyFeatureResponseDTO::new)
-                            .collect(Collectors.toList())
-                    )
-                ));
-        } else {
-            this.features = new ArrayList<>();
-            this.featureCodes = new ArrayList<>();
-            this.featuresByCategory = new LinkedHashMap<>();
-        }
+        // Without a catalogue snapshot, one is built from just this listing's features
+        FeatureCatalog.FeatureView featureView = (featureCatalog != null
+                ? featureCatalog
+                : FeatureCatalog.Snapshot.of(realEstate.getFeatures())).describe(realEstate.getFeatures());
+        this.features = featureView.features();
+        this.featureCodes = featureView.featureCodes();
+        this.featuresByCategory = featureView.featuresByCategory();
     }
 
     // ===== GETTERS AND SETTERS =====
@@ -0,0 +1,108 @@
+package com.doublez.backend.dto.realestate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.util.StringUtils;
+
+import com.doublez.backend.enums.property.EnergyEfficiency;
+import com.doublez.backend.enums.property.ListingType;
+import com.doublez.backend.enums.property.PropertyType;
+
+/**
+ * Public search filters, bound from query parameters (same names as the old
+ * individual @RequestParams) and shared by /search and /search/facets.
+ */
+public class RealEstateSearchFilter {
+    private String searchTerm;
+    private BigDecimal priceMin;
+    private BigDecimal priceMax;
+    private PropertyType propertyType;
+    private List<String> features;
+    private String city;
+    private String state;
+    private String zipCode;
+    private ListingType listingType;
+    private Integer minBedrooms;
+    private Integer maxBedrooms;
+    private Boolean hasParking;
+    private Boolean hasElevator;
+    private EnergyEfficiency energyEfficiency;
+
+    public RealEstateSearchFilter() {}
+
+    /**
+     * Whether facet counts for this filter are worth caching: only the unfiltered
+     * view and the dropdown-style filters (types, location, amenities) repeat across
+     * users; free text, price ranges and feature sets are effectively unique.
+     */
+    public boolean isCommonCombination() {
+        return !StringUtils.hasText(searchTerm)
+                && priceMin == null && priceMax == null
+                && (features == null || features.isEmpty())
+                && !StringUtils.hasText(zipCode)
+                && minBedrooms == null && maxBedrooms == null;
+    }
+
+    /**
+     * Normalized cache key (case-insensitive location, ordered fields)
+     */
+    public String cacheKey() {
+        return String.join("|",
+                String.valueOf(propertyType),
+                String.valueOf(listingType),
+                normalize(city),
+                normalize(state),
+                String.valueOf(hasParking),
+                String.valueOf(hasElevator),
+                String.valueOf(energyEfficiency));
+    }
+
+    private static String normalize(String value) {
+        return StringUtils.hasText(value) ? value.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    // Getters and setters
+    public String getSearchTerm() { return searchTerm; }
+    public void setSearchTerm(String searchTerm) { this.searchTerm = searchTerm; }
+
+    public BigDecimal getPriceMin() { return priceMin; }
+    public void setPriceMin(BigDecimal priceMin) { this.priceMin = priceMin; }
+
+    public BigDecimal getPriceMax() { return priceMax; }
+    public void setPriceMax(BigDecimal priceMax) { this.priceMax = priceMax; }
+
+    public PropertyType getPropertyType() { return propertyType; }
+    public void setPropertyType(PropertyType propertyType) { this.propertyType = propertyType; }
+
+    public List<String> getFeatures() { return features; }
+    public void setFeatures(List<String> features) { this.features = features; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public String getZipCode() { return zipCode; }
+    public void setZipCode(String zipCode) { this.zipCode = zipCode; }
+
+    public ListingType getListingType() { return listingType; }
+    public void setListingType(ListingType listingType) { this.listingType = listingType; }
+
+    public Integer getMinBedrooms() { return minBedrooms; }
+    public void setMinBedrooms(Integer minBedrooms) { this.minBedrooms = minBedrooms; }
+
+    public Integer getMaxBedrooms() { return maxBedrooms; }
+    public void setMaxBedrooms(Integer maxBedrooms) { this.maxBedrooms = maxBedrooms; }
+
+    public Boolean getHasParking() { return hasParking; }
+    public void setHasParking(Boolean hasParking) { this.hasParking = hasParking; }
+
+    public Boolean getHasElevator() { return hasElevator; }
+    public void setHasElevator(Boolean hasElevator) { this.hasElevator = hasElevator; }
+
+    public EnergyEfficiency getEnergyEfficiency() { return energyEfficiency; }
+    public void setEnergyEfficiency(EnergyEfficiency energyEfficiency) { this.energyEfficiency = energyEfficiency; }
+}
@@ -0,0 +1,321 @@
+package com.doublez.backend.dto.realestate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.doublez.backend.dto.feature.PropertyFeatureResponseDTO;
+import com.doublez.backend.entity.realestate.RealEstate;
+import com.doublez.backend.enums.property.FurnitureStatus;
+import com.doublez.backend.enums.property.HeatingType;
+import com.doublez.backend.enums.property.ListingType;
+import com.doublez.backend.enums.property.PropertyCondition;
+import com.doublez.backend.enums.property.PropertySubtype;
+import com.doublez.backend.enums.property.PropertyType;
+import com.doublez.backend.service.realestate.FeatureCatalog;
+
+/**
+ * Listing as shown in lists and search results. Reads only real_estates columns, so
+ * mapping a page never loads the lazy real_estate_details rows; the single-listing
+ * endpoints return RealEstateResponseDTO with the descriptive fields.
+ */
+public class RealEstateSummaryDTO {
+
+    // ===== IDENTIFICATION =====
+    private Long propertyId;
+
+    // ===== BASIC INFORMATION =====
+    private String title;
+
+    // ===== PROPERTY CLASSIFICATION =====
+    private PropertyType propertyType;
+    private PropertySubtype propertySubtype;
+    private ListingType listingType;
+
+    // ===== PRICE & FINANCIAL =====
+    private BigDecimal price;
+    private String currency = "RSD";
+    private BigDecimal originalPrice;
+    private BigDecimal pricePerSqMt;  // calculated
+    private BigDecimal discountPercentage;  // calculated
+    private BigDecimal discountAmount;
+    private LocalDate discountEndDate;
+    private BigDecimal currentPrice; // calculated
+
+    // ===== LOCATION INFORMATION =====
+    private String address;
+    private String neighborhood;
+    private String city;
+    private String municipality;
+    private String state;
+    private String zipCode;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+
+    // ===== STATUS & FEATURING =====
+    private Boolean isActive;
+    private Boolean isFeatured;
+    private LocalDateTime featuredUntil;
+    private Boolean isCurrentlyFeatured;
+
+    // ===== TIMESTAMPS =====
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // ===== PROPERTY CHARACTERISTICS =====
+    private BigDecimal sizeInSqMt;
+    private BigDecimal roomCount;
+    private BigDecimal bathroomCount;
+    private Integer floor;
+    private Integer totalFloors;
+    private Integer constructionYear;
+    private PropertyCondition propertyCondition;
+    private HeatingType heatingType;
+    private FurnitureStatus furnitureStatus;
+
+    // ===== AMENITIES =====
+    private Boolean hasElevator;
+    private Boolean hasParking = false;
+
+    // ===== CALCULATED DISPLAY FIELDS =====
+    private String floorDisplay;
+    private String roomCountDisplay;
+    private String bathroomCountDisplay;
+    private String totalSizeDisplay;
+    private Integer propertyAge;
+
+    // ===== FEATURES =====
+    private List<PropertyFeatureResponseDTO> features = new ArrayList<>();
+    private List<String> featureCodes = new ArrayList<>();
+    private Map<String, List<PropertyFeatureResponseDTO>> featuresByCategory = new HashMap<>();
+
+    // ===== CONSTRUCTOR =====
+    public RealEstateSummaryDTO(RealEstate realEstate) {
+        this(realEstate, (FeatureCatalog.Snapshot) null);
+    }
+
+    /**
+     * Build with the feature catalogue snapshot, reusing its precomputed order and feature DTOs
+     */
+    public RealEstateSummaryDTO(RealEstate realEstate, FeatureCatalog.Snapshot featureCatalog) {
+        if (realEstate == null) {
+            throw new IllegalArgumentException("RealEstate cannot be null");
+        }
+
+        // ===== BASIC INFORMATION =====
+        this.propertyId = realEstate.getPropertyId();
+        this.title = realEstate.getTitle();
+
+        // ===== PROPERTY CLASSIFICATION =====
+        this.propertyType = realEstate.getPropertyType();
+        this.propertySubtype = realEstate.getPropertySubtype();
+        this.listingType = realEstate.getListingType();
+
+        // ===== PRICE & FINANCIAL =====
+        this.price = realEstate.getPrice();
+        this.currency = realEstate.getCurrency();
+        this.originalPrice = realEstate.getOriginalPrice();
+        this.discountAmount = realEstate.getDiscountAmount();
+        this.discountPercentage = realEstate.getDiscountPercentage();
+        this.discountEndDate = realEstate.getDiscountEndDate();
+        this.pricePerSqMt = realEstate.getPricePerSqMt();
+        this.currentPrice = realEstate.getPrice();
+
+        // ===== LOCATION INFORMATION =====
+        this.address = realEstate.getAddress();
+        this.neighborhood = realEstate.getNeighborhood();
+        this.city = realEstate.getCity();
+        this.municipality = realEstate.getMunicipality();
+        this.state = realEstate.getState();
+        this.zipCode = realEstate.getZipCode();
+        this.latitude = realEstate.getLatitude();
+        this.longitude = realEstate.getLongitude();
+
+        // ===== STATUS & FEATURING =====
+        this.isActive = realEstate.getIsActive();
+        this.isFeatured = realEstate.getIsFeatured();
+        this.featuredUntil = realEstate.getFeaturedUntil();
+        this.isCurrentlyFeatured = realEstate.isCurrentlyFeatured();
+
+        // ===== TIMESTAMPS =====
+        this.createdAt = realEstate.getCreatedAt();
+        this.updatedAt = realEstate.getUpdatedAt();
+
+        // ===== PROPERTY CHARACTERISTICS =====
+        this.sizeInSqMt = realEstate.getSizeInSqMt();
+        this.roomCount = realEstate.getRoomCount();
+        this.bathroomCount = realEstate.getBathroomCount();
+        this.floor = realEstate.getFloor();
+        this.totalFloors = realEstate.getTotalFloors();
+        this.constructionYear = realEstate.getConstructionYear();
+        this.propertyCondition = realEstate.getPropertyCondition();
+        this.heatingType = realEstate.getHeatingType();
+        this.furnitureStatus = realEstate.getFurnitureStatus();
+
+        // ===== AMENITIES =====
+        this.hasElevator = realEstate.getHasElevator();
+        this.hasParking = realEstate.getHasParking();
+
+        // ===== CALCULATED DISPLAY FIELDS =====
+        this.floorDisplay = realEstate.getFloor() != null ? realEstate.getFloor() + " / " + realEstate.getTotalFloors() : null;
+        this.roomCountDisplay = realEstate.getRoomCount() != null ? realEstate.getRoomCount().toPlainString() : null;
+        this.bathroomCountDisplay = realEstate.getBathroomCount() != null ? realEstate.getBathroomCount().toPlainString() : null;
+        this.totalSizeDisplay = realEstate.getSizeInSqMt() != null ? realEstate.getSizeInSqMt() + " m²" : null;
+        this.propertyAge = realEstate.getPropertyAge();
+
+        // ===== FEATURES =====
+        // Without a catalogue snapshot, one is built from just this listing's features
+        FeatureCatalog.FeatureView featureView = (featureCatalog != null
+                ? featureCatalog
+                : FeatureCatalog.Snapshot.of(realEstate.getFeatures())).describe(realEstate.getFeatures());
+        this.features = featureView.features();
+        this.featureCodes = featureView.featureCodes();
+        this.featuresByCategory = featureView.featuresByCategory();
+    }
+
+    // ===== GETTERS AND SETTERS =====
+
+    public Long getPropertyId() { return propertyId; }
+    public void setPropertyId(Long propertyId) { this.propertyId = propertyId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public PropertyType getPropertyType() { return propertyType; }
+    public void setPropertyType(PropertyType propertyType) { this.propertyType = propertyType; }
+
+    public PropertySubtype getPropertySubtype() { return propertySubtype; }
+    public void setPropertySubtype(PropertySubtype propertySubtype) { this.propertySubtype = propertySubtype; }
+
+    public ListingType getListingType() { return listingType; }
+    public void setListingType(ListingType listingType) { this.listingType = listingType; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public BigDecimal getOriginalPrice() { return originalPrice; }
+    public void setOriginalPrice(BigDecimal originalPrice) { this.originalPrice = originalPrice; }
+
+    public BigDecimal getPricePerSqMt() { return pricePerSqMt; }
+    public void setPricePerSqMt(BigDecimal pricePerSqMt) { this.pricePerSqMt = pricePerSqMt; }
+
+    public BigDecimal getDiscountPercentage() { return discountPercentage; }
+    public void setDiscountPercentage(BigDecimal discountPercentage) { this.discountPercentage = discountPercentage; }
+
+    public BigDecimal getDiscountAmount() { return discountAmount; }
+    public void setDiscountAmount(BigDecimal discountAmount) { this.discountAmount = discountAmount; }
+
+    public LocalDate getDiscountEndDate() { return discountEndDate; }
+    public void setDiscountEndDate(LocalDate discountEndDate) { this.discountEndDate = discountEndDate; }
+
+    public BigDecimal getCurrentPrice() { return currentPrice; }
+    public void setCurrentPrice(BigDecimal currentPrice) { this.currentPrice = currentPrice; }
+
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+
+    public String getNeighborhood() { return neighborhood; }
+    public void setNeighborhood(String neighborhood) { this.neighborhood = neighborhood; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getMunicipality() { return municipality; }
+    public void setMunicipality(String municipality) { this.municipality = municipality; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public String getZipCode() { return zipCode; }
+    public void setZipCode(String zipCode) { this.zipCode = zipCode; }
+
+    public BigDecimal getLatitude() { return latitude; }
+    public void setLatitude(BigDecimal latitude) { this.latitude = latitude; }
+
+    public BigDecimal getLongitude() { return longitude; }
+    public void setLongitude(BigDecimal longitude) { this.longitude = longitude; }
+
+    public Boolean getIsActive() { return isActive; }
+    public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+
+    public Boolean getIsFeatured() { return isFeatured; }
+    public void setIsFeatured(Boolean isFeatured) { this.isFeatured = isFeatured; }
+
+    public LocalDateTime getFeaturedUntil() { return featuredUntil; }
+    public void setFeaturedUntil(LocalDateTime featuredUntil) { this.featuredUntil = featuredUntil; }
+
+    public Boolean getIsCurrentlyFeatured() { return isCurrentlyFeatured; }
+    public void setIsCurrentlyFeatured(Boolean isCurrentlyFeatured) { this.isCurrentlyFeatured = isCurrentlyFeatured; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public BigDecimal getSizeInSqMt() { return sizeInSqMt; }
+    public void setSizeInSqMt(BigDecimal sizeInSqMt) { this.sizeInSqMt = sizeInSqMt; }
+
+    public BigDecimal getRoomCount() { return roomCount; }
+    public void setRoomCount(BigDecimal roomCount) { this.roomCount = roomCount; }
+
+    public BigDecimal getBathroomCount() { return bathroomCount; }
+    public void setBathroomCount(BigDecimal bathroomCount) { this.bathroomCount = bathroomCount; }
+
+    public Integer getFloor() { return floor; }
+    public void setFloor(Integer floor) { this.floor = floor; }
+
+    public Integer getTotalFloors() { return totalFloors; }
+    public void setTotalFloors(Integer totalFloors) { this.totalFloors = totalFloors; }
+
+    public Integer getConstructionYear() { return constructionYear; }
+    public void setConstructionYear(Integer constructionYear) { this.constructionYear = constructionYear; }
+
+    public PropertyCondition getPropertyCondition() { return propertyCondition; }
+    public void setPropertyCondition(PropertyCondition propertyCondition) { this.propertyCondition = propertyCondition; }
+
+    public HeatingType getHeatingType() { return heatingType; }
+    public void setHeatingType(HeatingType heatingType) { this.heatingType = heatingType; }
+
+    public FurnitureStatus getFurnitureStatus() { return furnitureStatus; }
+    public void setFurnitureStatus(FurnitureStatus furnitureStatus) { this.furnitureStatus = furnitureStatus; }
+
+    public Boolean getHasElevator() { return hasElevator; }
+    public void setHasElevator(Boolean hasElevator) { this.hasElevator = hasElevator; }
+
+    public Boolean getHasParking() { return hasParking; }
+    public void setHasParking(Boolean hasParking) { this.hasParking = hasParking; }
+
+    public String getFloorDisplay() { return floorDisplay; }
+    public void setFloorDisplay(String floorDisplay) { this.floorDisplay = floorDisplay; }
+
+    public String getRoomCountDisplay() { return roomCountDisplay; }
+    public void setRoomCountDisplay(String roomCountDisplay) { this.roomCountDisplay = roomCountDisplay; }
+
+    public String getBathroomCountDisplay() { return bathroomCountDisplay; }
+    public void setBathroomCountDisplay(String bathroomCountDisplay) { this.bathroomCountDisplay = bathroomCountDisplay; }
+
+    public String getTotalSizeDisplay() { return totalSizeDisplay; }
+    public void setTotalSizeDisplay(String totalSizeDisplay) { this.totalSizeDisplay = totalSizeDisplay; }
+
+    public Integer getPropertyAge() { return propertyAge; }
+    public void setPropertyAge(Integer propertyAge) { this.propertyAge = propertyAge; }
+
+    public List<PropertyFeatureResponseDTO> getFeatures() { return features; }
+    public void setFeatures(List<PropertyFeatureResponseDTO> features) { this.features = features; }
+
+    public List<String> getFeatureCodes() { return featureCodes; }
+    public void setFeatureCodes(List<String> featureCodes) { this.featureCodes = featureCodes; }
+
+    public Map<String, List<PropertyFeatureResponseDTO>> getFeaturesByCategory() { return featuresByCategory; }
+    public void setFeaturesByCategory(Map<String, List<PropertyFeatureResponseDTO>> featuresByCategory) {
+        this.featuresByCategory = featuresByCategory;
+    }
+}
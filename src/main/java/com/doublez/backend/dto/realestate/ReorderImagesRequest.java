@@ -0,0 +1,23 @@
+package com.doublez.backend.dto.realestate;
+
+import java.util.Collections;
+import java.util.List;
+
+public class ReorderImagesRequest {
+    // Every image id of the property, in the new display order
+    private List<Long> imageIds;
+
+    public ReorderImagesRequest() {}
+
+    public ReorderImagesRequest(List<Long> imageIds) {
+        this.imageIds = imageIds;
+    }
+
+    public List<Long> getImageIds() {
+        return imageIds != null ? imageIds : Collections.emptyList();
+    }
+
+    public void setImageIds(List<Long> imageIds) {
+        this.imageIds = imageIds;
+    }
+}
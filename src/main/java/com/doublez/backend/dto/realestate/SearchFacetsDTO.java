@@ -0,0 +1,36 @@
+package com.doublez.backend.dto.realestate;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-filter facet counts for the search UI: facet name -> (value -> listing count),
+ * each value map ordered by count descending.
+ */
+public class SearchFacetsDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long total;
+    private Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+    private LocalDateTime computedAt;
+
+    public SearchFacetsDTO() {}
+
+    public SearchFacetsDTO(long total, Map<String, Map<String, Long>> facets, LocalDateTime computedAt) {
+        this.total = total;
+        this.facets = facets;
+        this.computedAt = computedAt;
+    }
+
+    // Getters and setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public Map<String, Map<String, Long>> getFacets() { return facets; }
+    public void setFacets(Map<String, Map<String, Long>> facets) { this.facets = facets; }
+
+    public LocalDateTime getComputedAt() { return computedAt; }
+    public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
+}
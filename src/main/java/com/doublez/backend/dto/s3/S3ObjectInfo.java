@@ -0,0 +1,8 @@
+package com.doublez.backend.dto.s3;
+
+import java.time.Instant;
+
+/**
+ * Minimal S3 listing entry (key + last modified) used by streaming listings
+ */
+public record S3ObjectInfo(String key, Instant lastModified) {}
@@ -0,0 +1,76 @@
+package com.doublez.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+/**
+ * Resume point for long-running background jobs (e.g. last S3 key processed).
+ * One row per job; cleared when a run completes.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 100, nullable = false)
+    private String jobName;
+
+    @Column(name = "checkpoint_value", length = 1024)
+    private String checkpointValue;
+
+    @Column(name = "processed_count")
+    private Long processedCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public JobCheckpoint() {}
+
+    public JobCheckpoint(String jobName) {
+        this.jobName = jobName;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+	public String getJobName() {
+		return jobName;
+	}
+
+	public void setJobName(String jobName) {
+		this.jobName = jobName;
+	}
+
+	public String getCheckpointValue() {
+		return checkpointValue;
+	}
+
+	public void setCheckpointValue(String checkpointValue) {
+		this.checkpointValue = checkpointValue;
+	}
+
+	public Long getProcessedCount() {
+		return processedCount;
+	}
+
+	public void setProcessedCount(Long processedCount) {
+		this.processedCount = processedCount;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
@@ -5,14 +5,17 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import com.doublez.backend.entity.agency.Agency;
 import com.doublez.backend.entity.agency.Agent;
 import com.doublez.backend.entity.realestate.RealEstate;
 import com.doublez.backend.enums.notifications.LeadStatus;
-import com.doublez.backend.utils.JsonUtils;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -131,8 +134,9 @@ public class Lead {
     @Column(name = "tags", length = 500)
     private String tags; // Comma-separated: "urgent,foreign,buyer"
     
-    @Column(name = "metadata_json", columnDefinition = "JSON")
-    private String metadataJson; // Additional flexible data
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "metadata_json", columnDefinition = "jsonb")
+    private Map<String, Object> metadata; // Additional flexible data
     
     // === AUDIT FIELDS ===
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -239,16 +243,15 @@ public class Lead {
     /**
      * Get metadata as map (convenience method for JSON field)
      */
-    @Transient
     public Map<String, Object> getMetadata() {
-        return JsonUtils.parseStringObjectMap(metadataJson);
+        return metadata != null ? metadata : new HashMap<>();
     }
 
     /**
      * Set metadata from map (convenience method for JSON field)
      */
     public void setMetadata(Map<String, Object> metadata) {
-        this.metadataJson = JsonUtils.toJson(metadata);
+        this.metadata = metadata;
     }
 
     /**
@@ -510,14 +513,6 @@ public class Lead {
 		this.tags = tags;
 	}
 
-	public String getMetadataJson() {
-		return metadataJson;
-	}
-
-	public void setMetadataJson(String metadataJson) {
-		this.metadataJson = metadataJson;
-	}
-
 	public LocalDateTime getCreatedAt() {
 		return createdAt;
 	}
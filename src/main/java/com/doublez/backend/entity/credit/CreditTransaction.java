@@ -16,13 +16,15 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "credit_transactions")
+@Table(name = "credit_transactions",
+       indexes = @Index(name = "uk_credit_transactions_user_idempotency_key", columnList = "user_id, idempotency_key", unique = true))
 public class CreditTransaction {
 
     @Id
@@ -53,6 +55,9 @@ public class CreditTransaction {
     @Column(name = "reference_number")
     private String referenceNumber; // Bank reference or payment ID
 
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey; // Client-supplied, unique per user; a retried request reuses it and is applied once
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "credit_package_id")
     private CreditPackage creditPackage;
@@ -241,6 +246,9 @@ public class CreditTransaction {
     public String getReferenceNumber() { return referenceNumber; }
     public void setReferenceNumber(String referenceNumber) { this.referenceNumber = referenceNumber; }
 
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
     public CreditPackage getCreditPackage() { return creditPackage; }
     public void setCreditPackage(CreditPackage creditPackage) { this.creditPackage = creditPackage; }
 
@@ -2,8 +2,12 @@ package com.doublez.backend.entity.notifications;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import com.doublez.backend.entity.Lead;
 import com.doublez.backend.entity.agency.Agency;
 import com.doublez.backend.entity.user.User;
@@ -11,7 +15,6 @@ import com.doublez.backend.entity.warning.ActiveWarning;
 import com.doublez.backend.enums.notifications.NotificationChannel;
 import com.doublez.backend.enums.notifications.NotificationStatus;
 import com.doublez.backend.enums.notifications.NotificationType;
-import com.doublez.backend.utils.JsonUtils;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -70,8 +73,9 @@ public class NotificationQueue {
     @Column(name = "short_content", length = 500)
     private String shortContent; // For SMS/push preview
     
-    @Column(name = "metadata_json", columnDefinition = "JSON")
-    private String metadataJson; // Additional data for rendering
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "metadata_json", columnDefinition = "jsonb")
+    private Map<String, Object> metadata; // Additional data for rendering
     
     // === STATUS ===
     @Enumerated(EnumType.STRING)
@@ -242,16 +246,15 @@ public class NotificationQueue {
     /**
      * Get metadata as map (convenience method)
      */
-    @Transient
     public Map<String, Object> getMetadata() {
-        return JsonUtils.parseStringObjectMap(metadataJson);
+        return metadata != null ? metadata : new HashMap<>();
     }
 
     /**
      * Set metadata from map (convenience method)
      */
     public void setMetadata(Map<String, Object> metadata) {
-        this.metadataJson = JsonUtils.toJson(metadata);
+        this.metadata = metadata;
     }
 
     /**
@@ -349,14 +352,6 @@ public class NotificationQueue {
 		this.shortContent = shortContent;
 	}
 
-	public String getMetadataJson() {
-		return metadataJson;
-	}
-
-	public void setMetadataJson(String metadataJson) {
-		this.metadataJson = metadataJson;
-	}
-
 	public NotificationStatus getStatus() {
 		return status;
 	}
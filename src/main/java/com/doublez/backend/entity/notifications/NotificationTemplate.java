@@ -11,11 +11,14 @@ import java.util.Optional;
 import com.doublez.backend.entity.user.UserTier;
 import com.doublez.backend.enums.notifications.NotificationChannel;
 import com.doublez.backend.enums.notifications.NotificationType;
+import com.doublez.backend.service.email.CompiledTemplate;
+import com.doublez.backend.service.email.NotificationTemplateCacheListener;
 import com.doublez.backend.utils.JsonUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
@@ -26,6 +29,7 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 
 @Entity
+@EntityListeners(NotificationTemplateCacheListener.class)
 @Table(name = "notification_templates",
        indexes = @Index(name = "idx_template_code", columnList = "code", unique = true))
 public class NotificationTemplate {
@@ -126,6 +130,13 @@ public class NotificationTemplate {
     @Column(name = "usage_count")
     private Integer usageCount = 0;
     
+    // === COMPILED FORMS (not persisted, rebuilt when the source changes) ===
+    @Transient
+    private CompiledTemplate compiledSubject;
+    
+    @Transient
+    private CompiledTemplate compiledBody;
+    
     // === LIFECYCLE ===
     @PrePersist
     protected void onCreate() {
@@ -184,31 +195,23 @@ public class NotificationTemplate {
     }
 
     /**
-     * Render template with provided variables
+     * Render template with provided variables.
+     * For repeated sends prefer NotificationTemplateRenderer, which caches across loads.
      */
     @Transient
     public String renderSubject(Map<String, Object> variables) {
-        return renderTemplate(subjectTemplate, variables);
+        if (compiledSubject == null) {
+            compiledSubject = CompiledTemplate.compile(subjectTemplate);
+        }
+        return compiledSubject.render(variables);
     }
 
     @Transient
     public String renderBody(Map<String, Object> variables) {
-        return renderTemplate(bodyTemplate, variables);
-    }
-
-    private String renderTemplate(String template, Map<String, Object> variables) {
-        if (template == null) return "";
-        
-        String result = template;
-        if (variables != null) {
-            for (Map.Entry<String, Object> entry : variables.entrySet()) {
-                String placeholder = "{{" + entry.getKey() + "}}";
-                String value = entry.getValue() != null ? entry.getValue().toString() : "";
-                result = result.replace(placeholder, value);
-            }
+        if (compiledBody == null) {
+            compiledBody = CompiledTemplate.compile(bodyTemplate);
         }
-        
-        return result;
+        return compiledBody.render(variables);
     }
 
     /**
@@ -285,6 +288,7 @@ public class NotificationTemplate {
 
 	public void setSubjectTemplate(String subjectTemplate) {
 		this.subjectTemplate = subjectTemplate;
+		this.compiledSubject = null;
 	}
 
 	public String getBodyTemplate() {
@@ -293,6 +297,7 @@ public class NotificationTemplate {
 
 	public void setBodyTemplate(String bodyTemplate) {
 		this.bodyTemplate = bodyTemplate;
+		this.compiledBody = null;
 	}
 
 	public String getSmsTemplate() {
@@ -0,0 +1,236 @@
+package com.doublez.backend.entity.realestate;
+
+import java.time.LocalDateTime;
+
+import com.doublez.backend.enums.BulkJobStatus;
+import com.doublez.backend.enums.BulkOperationType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * Admin bulk operation on listings run in chunks by a background worker. Listings are
+ * walked in id order; lastProcessedId advances in the same transaction as each chunk,
+ * so an interrupted job resumes after its last committed chunk. Selected listing ids
+ * are kept in bulk_operation_targets; DELETE_USER walks the user's listings instead.
+ */
+@Entity
+@Table(name = "bulk_operation_jobs")
+public class BulkOperationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 30)
+    private BulkOperationType operation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private BulkJobStatus status = BulkJobStatus.QUEUED;
+
+    @Column(name = "requested_by")
+    private Long requestedBy;	// Admin who started the job
+
+    @Column(name = "target_user_id")
+    private Long targetUserId;	// DELETE_USER: account being deleted
+
+    @Column(name = "new_owner_id")
+    private Long newOwnerId;	// TRANSFER_OWNERSHIP: receiving user
+
+    @Column(name = "active_flag")
+    private Boolean activeFlag;	// UPDATE_STATUS: new is_active, null leaves it unchanged
+
+    @Column(name = "featured_flag")
+    private Boolean featuredFlag;	// UPDATE_STATUS: new is_featured, null leaves it unchanged
+
+    @Column(name = "total_count", nullable = false)
+    private Long totalCount = 0L;	// Listings selected when the job was created
+
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount = 0L;
+
+    @Column(name = "affected_count", nullable = false)
+    private Long affectedCount = 0L;	// Listings actually updated or deleted (missing ids are skipped)
+
+    @Column(name = "last_processed_id", nullable = false)
+    private Long lastProcessedId = 0L;	// Resume point: highest listing id of the last committed chunk
+
+    @Column(name = "cancel_requested", nullable = false)
+    private Boolean cancelRequested = false;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "owner_id", length = 150, insertable = false, updatable = false)
+    private String ownerId;	// Scheduler instance that claimed the job; written by BulkListingOperationService SQL
+
+    @Column(name = "heartbeat_at", insertable = false, updatable = false)
+    private LocalDateTime heartbeatAt;	// Refreshed by the owner with every chunk
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public BulkOperationType getOperation() {
+		return operation;
+	}
+
+	public void setOperation(BulkOperationType operation) {
+		this.operation = operation;
+	}
+
+	public BulkJobStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(BulkJobStatus status) {
+		this.status = status;
+	}
+
+	public Long getRequestedBy() {
+		return requestedBy;
+	}
+
+	public void setRequestedBy(Long requestedBy) {
+		this.requestedBy = requestedBy;
+	}
+
+	public Long getTargetUserId() {
+		return targetUserId;
+	}
+
+	public void setTargetUserId(Long targetUserId) {
+		this.targetUserId = targetUserId;
+	}
+
+	public Long getNewOwnerId() {
+		return newOwnerId;
+	}
+
+	public void setNewOwnerId(Long newOwnerId) {
+		this.newOwnerId = newOwnerId;
+	}
+
+	public Boolean getActiveFlag() {
+		return activeFlag;
+	}
+
+	public void setActiveFlag(Boolean activeFlag) {
+		this.activeFlag = activeFlag;
+	}
+
+	public Boolean getFeaturedFlag() {
+		return featuredFlag;
+	}
+
+	public void setFeaturedFlag(Boolean featuredFlag) {
+		this.featuredFlag = featuredFlag;
+	}
+
+	public Long getTotalCount() {
+		return totalCount;
+	}
+
+	public void setTotalCount(Long totalCount) {
+		this.totalCount = totalCount;
+	}
+
+	public Long getProcessedCount() {
+		return processedCount;
+	}
+
+	public void setProcessedCount(Long processedCount) {
+		this.processedCount = processedCount;
+	}
+
+	public Long getAffectedCount() {
+		return affectedCount;
+	}
+
+	public void setAffectedCount(Long affectedCount) {
+		this.affectedCount = affectedCount;
+	}
+
+	public Long getLastProcessedId() {
+		return lastProcessedId;
+	}
+
+	public void setLastProcessedId(Long lastProcessedId) {
+		this.lastProcessedId = lastProcessedId;
+	}
+
+	public Boolean getCancelRequested() {
+		return cancelRequested;
+	}
+
+	public void setCancelRequested(Boolean cancelRequested) {
+		this.cancelRequested = cancelRequested;
+	}
+
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+	public void setErrorMessage(String errorMessage) {
+		this.errorMessage = errorMessage;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public LocalDateTime getStartedAt() {
+		return startedAt;
+	}
+
+	public void setStartedAt(LocalDateTime startedAt) {
+		this.startedAt = startedAt;
+	}
+
+	public LocalDateTime getFinishedAt() {
+		return finishedAt;
+	}
+
+	public void setFinishedAt(LocalDateTime finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+
+	public String getOwnerId() {
+		return ownerId;
+	}
+
+	public LocalDateTime getHeartbeatAt() {
+		return heartbeatAt;
+	}
+}
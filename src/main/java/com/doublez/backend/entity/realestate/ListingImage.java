@@ -0,0 +1,132 @@
+package com.doublez.backend.entity.realestate;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.DynamicUpdate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One photo of a listing. Rows have a stable id, so adding, removing or reordering a photo
+ * only inserts, deletes or updates the affected rows; RealEstate.imageCount mirrors the row count.
+ * Dynamic updates keep a reorder to "SET position = ?" for the images that moved.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "listing_images",
+       uniqueConstraints = @UniqueConstraint(name = "uk_listing_images_property_url", columnNames = {"property_id", "image_url"}),
+       indexes = @Index(name = "idx_listing_images_property_position", columnList = "property_id, position"))
+public class ListingImage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "listing_images_seq")
+    @SequenceGenerator(name = "listing_images_seq", sequenceName = "listing_images_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "property_id", nullable = false)
+    private RealEstate property;
+
+    // 0-based display order; the first image is the cover
+    @Column(name = "position", nullable = false)
+    private Integer position;
+
+    @Column(name = "image_url", nullable = false, length = 512)
+    private String url;
+
+    // URL path without the leading slash (also the CDN path)
+    @Column(name = "s3_key", length = 1024)
+    private String s3Key;
+
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Column(name = "byte_size")
+    private Long byteSize;
+
+    @Column(name = "content_type", length = 50)
+    private String contentType;
+
+    // JSON object of generated variants (e.g. thumbnail) keyed by variant name
+    @Column(name = "variants", columnDefinition = "TEXT")
+    private String variants;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public ListingImage() {}
+
+    public ListingImage(RealEstate property, String url, int position) {
+        this.property = property;
+        this.url = url;
+        this.position = position;
+        this.s3Key = keyOf(url);
+    }
+
+    @PrePersist
+    public void prePersist() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * S3 key for an image URL: scheme and host stripped, same as the orphan cleanup has always compared
+     */
+    public static String keyOf(String url) {
+        if (url == null) {
+            return null;
+        }
+        return url.replaceFirst("^[a-z]+://[^/]+/", "");
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+
+    public RealEstate getProperty() { return property; }
+    public void setProperty(RealEstate property) { this.property = property; }
+
+    public Integer getPosition() { return position; }
+    public void setPosition(Integer position) { this.position = position; }
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) {
+        this.url = url;
+        this.s3Key = keyOf(url);
+    }
+
+    public String getS3Key() { return s3Key; }
+    public void setS3Key(String s3Key) { this.s3Key = s3Key; }
+
+    public Integer getWidth() { return width; }
+    public void setWidth(Integer width) { this.width = width; }
+
+    public Integer getHeight() { return height; }
+    public void setHeight(Integer height) { this.height = height; }
+
+    public Long getByteSize() { return byteSize; }
+    public void setByteSize(Long byteSize) { this.byteSize = byteSize; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public String getVariants() { return variants; }
+    public void setVariants(String variants) { this.variants = variants; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,202 @@
+package com.doublez.backend.entity.realestate;
+
+import java.time.LocalDateTime;
+
+import com.doublez.backend.enums.ImportFormat;
+import com.doublez.backend.enums.ImportJobStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * Bulk listing import from an uploaded CSV/XML file. processedRows is the resume
+ * point: it advances in the same transaction as each batch of inserted listings.
+ * Per-row failures are kept in listing_import_errors.
+ */
+@Entity
+@Table(name = "listing_import_jobs")
+public class ListingImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;	// Agency admin who uploaded the file (owner of the imported listings)
+
+    @Column(name = "agency_id", nullable = false)
+    private Long agencyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ImportJobStatus status = ImportJobStatus.QUEUED;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 10)
+    private ImportFormat format;
+
+    @Column(name = "original_filename")
+    private String originalFilename;
+
+    @Column(name = "stored_file", nullable = false, length = 1024)
+    private String storedFile;	// S3 key of the uploaded file
+
+    @Column(name = "processed_rows", nullable = false)
+    private Long processedRows = 0L;	// Data rows consumed (imported or failed)
+
+    @Column(name = "imported_count", nullable = false)
+    private Long importedCount = 0L;
+
+    @Column(name = "failed_count", nullable = false)
+    private Long failedCount = 0L;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;	// Why the whole job failed, if it did
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "owner_id", length = 150, insertable = false, updatable = false)
+    private String ownerId;	// Scheduler instance that claimed the job; written by ListingImportService SQL
+
+    @Column(name = "heartbeat_at", insertable = false, updatable = false)
+    private LocalDateTime heartbeatAt;	// Refreshed by the owner with every batch
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public Long getAgencyId() {
+		return agencyId;
+	}
+
+	public void setAgencyId(Long agencyId) {
+		this.agencyId = agencyId;
+	}
+
+	public ImportJobStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(ImportJobStatus status) {
+		this.status = status;
+	}
+
+	public ImportFormat getFormat() {
+		return format;
+	}
+
+	public void setFormat(ImportFormat format) {
+		this.format = format;
+	}
+
+	public String getOriginalFilename() {
+		return originalFilename;
+	}
+
+	public void setOriginalFilename(String originalFilename) {
+		this.originalFilename = originalFilename;
+	}
+
+	public String getStoredFile() {
+		return storedFile;
+	}
+
+	public void setStoredFile(String storedFile) {
+		this.storedFile = storedFile;
+	}
+
+	public Long getProcessedRows() {
+		return processedRows;
+	}
+
+	public void setProcessedRows(Long processedRows) {
+		this.processedRows = processedRows;
+	}
+
+	public Long getImportedCount() {
+		return importedCount;
+	}
+
+	public void setImportedCount(Long importedCount) {
+		this.importedCount = importedCount;
+	}
+
+	public Long getFailedCount() {
+		return failedCount;
+	}
+
+	public void setFailedCount(Long failedCount) {
+		this.failedCount = failedCount;
+	}
+
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+	public void setErrorMessage(String errorMessage) {
+		this.errorMessage = errorMessage;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public LocalDateTime getStartedAt() {
+		return startedAt;
+	}
+
+	public void setStartedAt(LocalDateTime startedAt) {
+		this.startedAt = startedAt;
+	}
+
+	public LocalDateTime getFinishedAt() {
+		return finishedAt;
+	}
+
+	public void setFinishedAt(LocalDateTime finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+
+	public String getOwnerId() {
+		return ownerId;
+	}
+
+	public LocalDateTime getHeartbeatAt() {
+		return heartbeatAt;
+	}
+}
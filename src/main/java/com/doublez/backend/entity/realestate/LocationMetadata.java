@@ -5,17 +5,23 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import com.doublez.backend.enums.property.LocationDataSource;
-import com.doublez.backend.utils.JsonUtils;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -160,14 +166,17 @@ public class LocationMetadata {
     private LocationDataSource dataSource = LocationDataSource.OSM;
     
     // === CACHE & DETAILED DATA ===
-    @Column(name = "detailed_data_json", columnDefinition = "JSON")
-    private String detailedDataJson; // All other detailed info
-    
-    @Column(name = "raw_osm_data_json", columnDefinition = "JSON")
-    private String rawOsmDataJson; // Raw OSM response cache
-    
-    @Column(name = "raw_commute_data_json", columnDefinition = "JSON")
-    private String rawCommuteDataJson; // Raw commute API cache
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "detailed_data_json", columnDefinition = "jsonb")
+    private Map<String, Object> detailedData; // All other detailed info
+    
+    // Raw API payloads live in real_estate_location_raw_data (same id) and are fetched on first
+    // access, not with the row. Mapped read-only on this side so Hibernate can proxy it from our
+    // own id without a query; the database drops the row with this one (ON DELETE CASCADE).
+    @OneToOne(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @JoinColumn(name = "id", referencedColumnName = "id", insertable = false, updatable = false,
+                foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private LocationRawData rawData = new LocationRawData(this);
     
     // === DATA QUALITY ===
     @Column(name = "data_quality_score")
@@ -213,46 +222,45 @@ public class LocationMetadata {
     /**
      * Get detailed data as map (convenience method)
      */
-    @Transient
     public Map<String, Object> getDetailedData() {
-        return JsonUtils.parseStringObjectMap(detailedDataJson);
+        return detailedData != null ? detailedData : new HashMap<>();
     }
 
     /**
      * Set detailed data from map (convenience method)
      */
     public void setDetailedData(Map<String, Object> data) {
-        this.detailedDataJson = JsonUtils.toJson(data);
+        this.detailedData = data;
     }
 
     /**
-     * Get raw OSM data as map
+     * Get raw OSM data as map (loads the raw data row on first access)
      */
-    @Transient
     public Map<String, Object> getRawOsmData() {
-        return JsonUtils.parseStringObjectMap(rawOsmDataJson);
+        Map<String, Object> data = rawData.getRawOsmData();
+        return data != null ? data : new HashMap<>();
     }
 
     /**
      * Set raw OSM data from map
      */
     public void setRawOsmData(Map<String, Object> data) {
-        this.rawOsmDataJson = JsonUtils.toJson(data);
+        rawData.setRawOsmData(data);
     }
 
     /**
-     * Get raw commute data as map
+     * Get raw commute data as map (loads the raw data row on first access)
      */
-    @Transient
     public Map<String, Object> getRawCommuteData() {
-        return JsonUtils.parseStringObjectMap(rawCommuteDataJson);
+        Map<String, Object> data = rawData.getRawCommuteData();
+        return data != null ? data : new HashMap<>();
     }
 
     /**
      * Set raw commute data from map
      */
     public void setRawCommuteData(Map<String, Object> data) {
-        this.rawCommuteDataJson = JsonUtils.toJson(data);
+        rawData.setRawCommuteData(data);
     }
 
     /**
@@ -637,30 +645,6 @@ public class LocationMetadata {
 		this.dataSource = dataSource;
 	}
 
-	public String getDetailedDataJson() {
-		return detailedDataJson;
-	}
-
-	public void setDetailedDataJson(String detailedDataJson) {
-		this.detailedDataJson = detailedDataJson;
-	}
-
-	public String getRawOsmDataJson() {
-		return rawOsmDataJson;
-	}
-
-	public void setRawOsmDataJson(String rawOsmDataJson) {
-		this.rawOsmDataJson = rawOsmDataJson;
-	}
-
-	public String getRawCommuteDataJson() {
-		return rawCommuteDataJson;
-	}
-
-	public void setRawCommuteDataJson(String rawCommuteDataJson) {
-		this.rawCommuteDataJson = rawCommuteDataJson;
-	}
-
 	public Integer getDataQualityScore() {
 		return dataQualityScore;
 	}
@@ -0,0 +1,80 @@
+package com.doublez.backend.entity.realestate;
+
+import java.util.Map;
+
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+/**
+ * Raw OSM and commute API responses behind a LocationMetadata row. They are large and
+ * rarely read, so they live in their own table (same primary key) and are only fetched
+ * when LocationMetadata's raw accessors touch its lazy proxy.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "real_estate_location_raw_data")
+public class LocationRawData {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private LocationMetadata metadata;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "raw_osm_data_json", columnDefinition = "jsonb")
+    private Map<String, Object> rawOsmData; // Raw OSM response cache
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "raw_commute_data_json", columnDefinition = "jsonb")
+    private Map<String, Object> rawCommuteData; // Raw commute API cache
+
+    public LocationRawData() {
+    }
+
+    public LocationRawData(LocationMetadata metadata) {
+        this.metadata = metadata;
+    }
+
+    // GETTERS AND SETTERS
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocationMetadata getMetadata() {
+        return metadata;
+    }
+
+    public Map<String, Object> getRawOsmData() {
+        return rawOsmData;
+    }
+
+    public void setRawOsmData(Map<String, Object> rawOsmData) {
+        this.rawOsmData = rawOsmData;
+    }
+
+    public Map<String, Object> getRawCommuteData() {
+        return rawCommuteData;
+    }
+
+    public void setRawCommuteData(Map<String, Object> rawCommuteData) {
+        this.rawCommuteData = rawCommuteData;
+    }
+}
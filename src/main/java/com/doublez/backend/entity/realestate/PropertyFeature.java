@@ -1,11 +1,14 @@
 package com.doublez.backend.entity.realestate;
 
+import java.util.Collection;
 import java.util.Objects;
 
 import com.doublez.backend.enums.property.FeatureCategory;
+import com.doublez.backend.service.realestate.FeatureCatalogListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -15,8 +18,14 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "property_features")
+@EntityListeners(FeatureCatalogListener.class)
 public class PropertyFeature {
 
+    /**
+     * Highest bit usable in real_estates.feature_mask (bit 63 is left unused so masks stay positive)
+     */
+    public static final int MAX_BIT_POSITION = 62;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -58,6 +67,13 @@ public class PropertyFeature {
     @Column(length = 255)
     private String description;
 
+    /**
+     * Stable bit in real_estates.feature_mask; assigned once, never reused.
+     * Null when the catalogue outgrows the mask (filtered through the join table instead).
+     */
+    @Column(name = "bit_position", unique = true)
+    private Integer bitPosition;
+
     protected PropertyFeature() {
         // JPA
     }
@@ -149,6 +165,27 @@ public class PropertyFeature {
         return description;
     }
 
+    public Integer getBitPosition() {
+        return bitPosition;
+    }
+
+    /**
+     * This feature's bit in feature_mask, or 0 if it has none
+     */
+    public long mask() {
+        return bitPosition != null ? 1L << bitPosition : 0L;
+    }
+
+    public static long maskOf(Collection<PropertyFeature> features) {
+        long mask = 0L;
+        if (features != null) {
+            for (PropertyFeature feature : features) {
+                mask |= feature.mask();
+            }
+        }
+        return mask;
+    }
+
     /* ---------- SETTERS (for mutable fields) ---------- */
 
     public void setDisplayOrder(Integer displayOrder) {
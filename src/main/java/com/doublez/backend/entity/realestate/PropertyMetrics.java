@@ -7,10 +7,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Map;
 
+import com.doublez.backend.service.realestate.ListingChangeListener;
 import com.doublez.backend.utils.JsonUtils;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -31,6 +33,7 @@ import jakarta.persistence.Index;
            @Index(name = "idx_view_count", columnList = "view_count DESC"),
            @Index(name = "idx_last_viewed", columnList = "last_viewed_at DESC")
        })
+@EntityListeners(ListingChangeListener.class)
 public class PropertyMetrics {
     
     @Id
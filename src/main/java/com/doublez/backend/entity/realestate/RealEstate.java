@@ -8,14 +8,20 @@ import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.hibernate.Hibernate;
 import org.springframework.data.geo.Point;
 
 import com.doublez.backend.entity.Lead;
@@ -33,16 +39,19 @@ import com.doublez.backend.enums.property.PropertyCondition;
 import com.doublez.backend.enums.property.PropertySubtype;
 import com.doublez.backend.enums.property.PropertyType;
 import com.doublez.backend.enums.property.WaterSourceType;
-import com.doublez.backend.utils.JsonUtils;
+import com.doublez.backend.service.realestate.ListingChangeListener;
+import com.doublez.backend.utils.DataQualityRules;
+import com.doublez.backend.utils.RankingWeights;
 
 import jakarta.persistence.CascadeType;
-import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -53,13 +62,12 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
-import jakarta.persistence.OrderColumn;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
-import jakarta.validation.constraints.Max;
-import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
@@ -78,11 +86,13 @@ import jakarta.validation.constraints.Size;
     @Index(name = "idx_agency", columnList = "agency_id"),
     @Index(name = "idx_agent", columnList = "agent_id")
 })
+@EntityListeners(ListingChangeListener.class)
 public class RealEstate {
     
     // ===== IDENTIFICATION =====
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "real_estates_seq")
+    @SequenceGenerator(name = "real_estates_seq", sequenceName = "real_estates_seq", allocationSize = 50)	// Sequence (not IDENTITY) so inserts can be JDBC-batched
     @Column(name = "property_id")
     private Long propertyId;
 
@@ -92,9 +102,6 @@ public class RealEstate {
     @Size(min = 1, max = 255)
     private String title;	// Property title for listing
     
-    @Column(name = "description", length = 2000)
-    private String description;	// Detailed property description
-
     // ===== PROPERTY CLASSIFICATION =====
     @Enumerated(EnumType.STRING)
     @Column(name = "property_type", nullable = false)
@@ -128,22 +135,10 @@ public class RealEstate {
     @Column(name = "discount_end_date")
     private LocalDate discountEndDate;
     
-    @Column(name = "price_negotiable")
-    private Boolean priceNegotiable = true;	// Whether price is negotiable
-    
-    @Column(name = "includes_utilities")
-    private Boolean includesUtilities;	// For rentals: whether utilities included
-    
-    @Column(name = "deposit_amount", precision = 15, scale = 2)
-    private BigDecimal depositAmount;	// Security deposit for rentals
-
     // ===== LOCATION INFORMATION =====
     @Column(name = "address", nullable = false)
     private String address;	// Street address
     
-    @Column(name = "street_number", length = 20)
-    private String streetNumber;	// House/building number
-    
     @Column(name = "neighborhood", length = 100)
     private String neighborhood;	// Local neighborhood name (Dorćol, Novi Beograd)
     
@@ -159,9 +154,6 @@ public class RealEstate {
     @Column(name = "zip_code")
     private String zipCode;	// Postal code
     
-    @Column(name = "location_description", length = 500)
-    private String locationDescription;	// Description of location advantages
-    
     @Column(name = "latitude", precision = 10, scale = 7)
     private BigDecimal latitude;	// GPS latitude for maps
     
@@ -199,22 +191,10 @@ public class RealEstate {
     @Column(name = "heating_type")
     private HeatingType heatingType;	// Heating system type
     
-    @Column(name = "other_heating_type_description", length = 100)
-    private String otherHeatingTypeDescription;	// Required when heatingType is OTHER
-    
-    // Water sources
-    @ElementCollection(targetClass = WaterSourceType.class, fetch = FetchType.EAGER)
-    @CollectionTable(
-        name = "real_estate_water_sources",
-        joinColumns = @JoinColumn(name = "property_id")
-    )
-    @Column(name = "water_source")
-    @Enumerated(EnumType.STRING)
-    private Set<WaterSourceType> waterSources = new HashSet<>();
+    // Water sources, one bit per WaterSourceType (replaces the eager real_estate_water_sources collection)
+    @Column(name = "water_source_mask", nullable = false)
+    private Short waterSourceMask = 0;
 
-    @Column(name = "other_water_source_description", length = 100)
-    private String otherWaterSourceDescription;
-    
     @Enumerated(EnumType.STRING)
     @Column(name = "furniture_status")
     private FurnitureStatus furnitureStatus;
@@ -223,119 +203,14 @@ public class RealEstate {
     @Column(name = "has_elevator")
     private Boolean hasElevator;	// Building has elevator
     
-    @Column(name = "has_air_conditioning")
-    private Boolean hasAirConditioning;	// Air conditioning installed
-    
-    @Column(name = "has_internet")
-    private Boolean hasInternet;	// Internet connection available
-    
-    @Column(name = "has_cable_tv")
-    private Boolean hasCableTV;	// Cable TV installed
-    
-    @Column(name = "has_security")
-    private Boolean hasSecurity;	// Security system/alarm
-    
     @Column(name = "has_parking")
     private Boolean hasParking = false;	// Parking space available
     
-    @Column(name = "parking_spaces")
-    private Integer parkingSpaces;	// Number of parking spaces
-    
-    @Column(name = "has_garden")
-    private Boolean hasGarden;	// Private garden available
-    
-    @Column(name = "garden_size_sqmt", precision = 10, scale = 2)
-    private BigDecimal gardenSizeSqMt;	// Garden size in square meters
-    
-    @Column(name = "has_terrace")
-    private Boolean hasTerrace;	// Terrace available
-    
-    @Column(name = "balcony_count")
-    private Integer balconyCount;	// Number of balconies
-    
-    @Column(name = "has_balcony")
-    private Boolean hasBalcony;	// Balcony available (useful for filtering)
-    
-    @Column(name = "terrace_size_sqmt", precision = 10, scale = 2)
-    private BigDecimal terraceSizeSqMt;	// Terrace size
-    
-    @Column(name = "balcony_size_sqmt", precision = 10, scale = 2)
-    private BigDecimal balconySizeSqMt;	// Total balcony size
-    
-    @Column(name = "has_loggia")
-    private Boolean hasLoggia;	// Loggia available
-    
-    @Column(name = "loggia_size_sqmt", precision = 10, scale = 2)
-    private BigDecimal loggiaSizeSqMt;	// Loggia/covered balcony size
-    
-    @Column(name = "basement_size_sqmt", precision = 10, scale = 2)
-    private BigDecimal basementSizeSqMt;	// Basement size
-    
-    @Column(name = "attic_size_sqmt", precision = 10, scale = 2)
-    private BigDecimal atticSizeSqMt;	// Attic/loft size
-    
-    @Column(name = "plot_size_sqmt", precision = 12, scale = 2)
-    private BigDecimal plotSizeSqMt;	// Total plot/land size (for houses)
-
     // ===== ENERGY & UTILITIES =====
     @Enumerated(EnumType.STRING)
     @Column(name = "energy_efficiency")
     private EnergyEfficiency energyEfficiency;	// Energy efficiency rating
     
-    @Column(name = "has_sewage")
-    private Boolean hasSewage;	// Sewage system available
-    
-    @Column(name = "has_electricity")
-    private Boolean hasElectricity;	// Electricity connection available
-    
-    @Column(name = "has_gas")
-    private Boolean hasGas;	// Gas connection available
-
-    // ===== LEGAL & DOCUMENTATION =====
-    @Column(name = "has_construction_permit")
-    private Boolean hasConstructionPermit;	// Has construction permit (građevinska dozvola)
-    
-    @Column(name = "has_use_permit")
-    private Boolean hasUsePermit;	// Has use permit (upotrebna dozvola)
-    
-    @Enumerated(EnumType.STRING)
-    @Column(name = "ownership_type")
-    private OwnershipType ownershipType;	// Type of ownership
-    
-    @Column(name = "other_ownership_type_description", length = 100)
-    private String otherOwnershipTypeDescription;	// Required when ownershipType is OTHER
-    
-    @Column(name = "is_registered")
-    private Boolean isRegistered;	// Property is registered in cadastre (uknjiženo)
-
-    // ===== COMMERCIAL-SPECIFIC FIELDS =====
-    @Column(name = "business_type", length = 100)
-    @Size(max = 100, message = "Business type cannot exceed 100 characters")
-    private String businessType;
-    
-    @Column(name = "has_showcase_window")
-    private Boolean hasShowcaseWindow;	// Has storefront/showcase window
-    
-    @Column(name = "has_storage_room")
-    private Boolean hasStorageRoom;	// Has separate storage room
-    
-    @Column(name = "employee_capacity")
-    @Min(value = 0, message = "Employee capacity cannot be negative")
-    @Max(value = 1000, message = "Employee capacity cannot exceed 1000")
-    private Integer employeeCapacity;
-
-    // ===== LAND-SPECIFIC FIELDS =====
-    
-    @Column(name = "land_type", length = 50)
-    @Size(max = 50, message = "Land type cannot exceed 50 characters")
-    private String landType;
-    
-    @Column(name = "has_electricity_access")
-    private Boolean hasElectricityAccess;	// Electricity access available
-    
-    @Column(name = "has_road_access")
-    private Boolean hasRoadAccess;	// Road access available
-
     // ===== OWNERSHIP & AGENCY =====
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -349,28 +224,15 @@ public class RealEstate {
     @JoinColumn(name = "agent_id")
     private Agent listingAgent; // Agent who created/manages this listing
 
-    // ===== AGENT OVERRIDES =====
-    @Column(name = "agent_name")
-    private String agentName;	// Specific agent name for this listing
-
-    @Column(name = "agent_phone")
-    private String agentPhone;	// Specific agent phone for this listing
-
-    @Column(name = "agent_license")
-    private String agentLicense;	// Specific agent license for this listing
-    
-    @Column(name = "contact_email")
-    private String contactEmail;	// Specific contact email for this listing
-    
-    @Column(name = "preferred_contact_method", length = 20)
-    private String preferredContactMethod;	// Preferred contact method (phone/email/both)
-
-    // ===== AVAILABILITY =====
-    @Column(name = "available_from")
-    private LocalDate availableFrom;	// Date when property becomes available
-    
-    @Column(name = "minimum_rent_period")
-    private Integer minimumRentPeriod;	// Minimum rental period in months
+    // ===== DETAILS =====
+    // Descriptive, legal, contact and data-quality columns live in real_estate_details (same
+    // property_id) and are read through the delegating accessors below. Mapped read-only on
+    // this side so Hibernate can proxy it from our own id without a query; the database drops
+    // the row with the listing (ON DELETE CASCADE), hence no REMOVE cascade.
+    @OneToOne(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @JoinColumn(name = "property_id", referencedColumnName = "property_id", insertable = false, updatable = false,
+                foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private RealEstateDetails details = new RealEstateDetails(this);
 
     // ===== MEDIA & FEATURES =====
     @ManyToMany(fetch = FetchType.LAZY)
@@ -382,18 +244,17 @@ public class RealEstate {
     @Size(max = 15, message = "Cannot have more than 15 features")
     private Set<PropertyFeature> features = new HashSet<>();
 
+    // OR of PropertyFeature.mask() over features; kept in sync by RealEstateMapper for single-column filters
+    @Column(name = "feature_mask", nullable = false)
+    private Long featureMask = 0L;
+
     
-    @ElementCollection(fetch = FetchType.LAZY)
-    @CollectionTable(
-        name = "real_estate_images",
-        joinColumns = @JoinColumn(name = "property_id")
-    )
-    @Column(name = "image_url", length = 512)
-    @OrderColumn(name = "image_order")
-    private List<String> images = new ArrayList<>();	// Property image URLs
+    @OneToMany(mappedBy = "property", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("position ASC")
+    private List<ListingImage> listingImages = new ArrayList<>();	// Property images, one row each
     
     @Column(name = "image_count")
-    private Integer imageCount = 0;	// Cached image count for performance
+    private Integer imageCount = 0;	// Denormalized row count of listingImages, kept in step by the image helpers
 
     // ===== STATUS & FEATURING =====
     @Column(name = "is_active", nullable = false)
@@ -436,6 +297,11 @@ public class RealEstate {
     @Column(name = "cross_promotion_until")
     private LocalDateTime crossPromotionUntil;
 
+    // ===== RANKING =====
+    // Maintained in SQL by ListingRankingService; never written back from a loaded entity
+    @Column(name = "rank_score", nullable = false, updatable = false)
+    private Double rankScore = 0.0;
+
     // ===== TIMESTAMPS =====
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;	// When listing was created
@@ -461,25 +327,9 @@ public class RealEstate {
     private List<ActiveWarning> warnings = new ArrayList<>(); // Warnings for this listing
 
     // ===== NEW: CONFIGURATION & CACHE FIELDS =====
-    
-    @Column(name = "geocoding_accuracy", length = 50)
-    private String geocodingAccuracy; // "ROOFTOP", "STREET", "CITY", "APPROXIMATE"
-    
-    @Column(name = "geocoded_address", length = 500)
-    private String geocodedAddress; // Normalized address from geocoding service
-    
     @Column(name = "data_quality_score")
     private Integer dataQualityScore; // 0-100 score of listing completeness
     
-    @Column(name = "completeness_json", columnDefinition = "JSON")
-    private String completenessJson; // {"basic_info": 85, "photos": 70, "location": 90}
-    
-    @Column(name = "warning_flags_json", columnDefinition = "JSON")
-    private String warningFlagsJson; // {"no_photos": true, "incomplete_address": false}
-    
-    @Column(name = "last_data_quality_check")
-    private LocalDateTime lastDataQualityCheck;
-    
     // ===== Admin Check Fields =====
     /**
      * Timestamp of last admin review/check
@@ -544,15 +394,17 @@ public class RealEstate {
     public void prePersist() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
+        this.rankScore = RankingWeights.freshnessScore(this.createdAt);
         updateImageCount();
-        calculateDataQualityScore();
+        // A new listing is scored once here; updates are rescored by DataQualityScorer only
+        // when a field the rules read has changed
+        applyDataQuality(DataQualityRules.score(DataQualityRules.Input.of(this)));
     }
     
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
         updateImageCount();
-        calculateDataQualityScore();
     }
 
     // ===== HELPER METHODS =====
@@ -639,51 +491,52 @@ public class RealEstate {
 
     @Transient
     public String getWaterSourcesDisplay() {
-        if (waterSources == null || waterSources.isEmpty()) {
+        if (!hasAnyWaterSource()) {
             return "Bez vode";
         }
-        return waterSources.stream()
+        return getWaterSources().stream()
                 .map(WaterSourceType::getDisplayName)
                 .collect(Collectors.joining(", "));
     }
 
     @Transient
     public boolean hasAnyWaterSource() {
-        return waterSources != null && !waterSources.isEmpty();
+        return waterSourceMask != null && waterSourceMask != 0;
+    }
+
+    @Transient
+    public boolean hasWaterSource(WaterSourceType source) {
+        return waterSourceMask != null && (waterSourceMask & source.bit()) != 0;
     }
 
     @Transient
     public boolean hasCityNetworkWater() {
-        return waterSources != null && waterSources.contains(WaterSourceType.CITY_NETWORK);
+        return hasWaterSource(WaterSourceType.CITY_NETWORK);
     }
 
     @Transient
     public boolean hasWellWater() {
-        return waterSources != null && waterSources.contains(WaterSourceType.WELL);
+        return hasWaterSource(WaterSourceType.WELL);
     }
 
     @Transient
     public boolean hasSpringWater() {
-        return waterSources != null && waterSources.contains(WaterSourceType.SPRING);
+        return hasWaterSource(WaterSourceType.SPRING);
     }
 
     @Transient
     public boolean hasNaturalWaterSource() {
-        return waterSources != null &&
-               (waterSources.contains(WaterSourceType.SPRING) || 
-                waterSources.contains(WaterSourceType.WELL));
+        return hasWaterSource(WaterSourceType.SPRING) || hasWaterSource(WaterSourceType.WELL);
     }
 
     @Transient
     public boolean hasAlternativeWaterSource() {
-        return waterSources != null &&
-               (waterSources.contains(WaterSourceType.RAINWATER) ||
-                waterSources.contains(WaterSourceType.TANK));
+        return hasWaterSource(WaterSourceType.RAINWATER) || hasWaterSource(WaterSourceType.TANK);
     }
 
     @Transient
     public boolean hasOtherWaterSource() {
-        return waterSources != null && waterSources.contains(WaterSourceType.OTHER);
+        return hasWaterSource(WaterSourceType.OTHER);
     }
 
     // ===== Admin Check Helper Methods =====
@@ -737,119 +590,64 @@ public class RealEstate {
     }
 
     /**
-     * Update image count from images list
+     * Update image count from the images collection, if it is loaded (never triggers a fetch)
      */
     public void updateImageCount() {
-        if (this.images != null) {
-            this.imageCount = this.images.size();
-        } else {
-            this.imageCount = 0;
+        if (this.listingImages != null && Hibernate.isInitialized(this.listingImages)) {
+            this.imageCount = this.listingImages.size();
         }
     }
     
     /**
-     * Calculate data quality score (0-100)
+     * Store a data-quality result (not a user-visible change, so updated_at is left alone)
      */
-    public void calculateDataQualityScore() {
-        int score = 0;
-        int maxScore = 0;
-        Map<String, Integer> completeness = new HashMap<>();
-
-        // ===== BASIC INFO (20 pts) =====
-        if (title != null && !title.trim().isEmpty()) {
-            score += 10;
-            completeness.put("title", 10);
-        }
-        if (description != null && !description.trim().isEmpty()) {
-            score += 10;
-            completeness.put("description", 10);
-        }
-        maxScore += 20;
-
-        // ===== IMAGES (20 pts) =====
-        if (imageCount != null && imageCount > 0) {
-            int photoScore = Math.min(imageCount * 5, 20); // max 20 points
-            score += photoScore;
-            completeness.put("photos", photoScore);
-        }
-        maxScore += 20;
-
-        // ===== LOCATION (20 pts) =====
-        if (latitude != null && longitude != null) { score += 10; completeness.put("coordinates", 10); }
-        if (address != null && !address.trim().isEmpty()) { score += 5; completeness.put("address", 5); }
-        if (city != null && !city.trim().isEmpty()) { score += 5; completeness.put("city", 5); }
-        maxScore += 20;
-
-        // ===== PROPERTY DETAILS (30 pts) =====
-        if (sizeInSqMt != null) { score += 5; completeness.put("size", 5); }
-        if (roomCount != null) { score += 5; completeness.put("rooms", 5); }
-        if (propertyCondition != null) { score += 5; completeness.put("condition", 5); }
-        if (constructionYear != null) { score += 5; completeness.put("year", 5); }
-        if (floor != null && totalFloors != null) { score += 5; completeness.put("floor_info", 5); }
-        if (heatingType != null) { score += 2; completeness.put("heating_type", 2); }
-        if (heatingType == HeatingType.OTHER && otherHeatingTypeDescription != null && !otherHeatingTypeDescription.trim().isEmpty()) {
-            score += 1; // extra point for OTHER description
-            completeness.put("other_heating_description", 1);
-        }
-        maxScore += 30;
-
-        // ===== PRICE (10 pts) =====
-        if (price != null) { score += 10; completeness.put("price", 10); }
-        maxScore += 10;
-
-        // ===== UTILITIES / WATER SOURCES (10 pts) =====
-        if (waterSources != null && !waterSources.isEmpty()) {
-            score += 5;
-            completeness.put("water_sources", 5);
-        }
-        if (hasElectricity != null && hasElectricity) { score += 1; completeness.put("electricity", 1); }
-        if (hasSewage != null && hasSewage) { score += 1; completeness.put("sewage", 1); }
-        if (hasGas != null && hasGas) { score += 1; completeness.put("gas", 1); }
-        maxScore += 10;
-
-        // ===== ENERGY / COMFORT (10 pts) =====
-        if (energyEfficiency != null) { score += 5; completeness.put("energy_efficiency", 5); }
-        if (hasElevator != null && hasElevator) { score += 1; completeness.put("elevator", 1); }
-        if (hasAirConditioning != null && hasAirConditioning) { score += 1; completeness.put("air_conditioning", 1); }
-        if (hasInternet != null && hasInternet) { score += 1; completeness.put("internet", 1); }
-        if (hasParking != null && hasParking) { score += 2; completeness.put("parking", 2); }
-        maxScore += 10;
+    public void applyDataQuality(DataQualityRules.Result result) {
+        this.dataQualityScore = result.score();
+        details.setCompleteness(result.completeness());
+        details.setLastDataQualityCheck(LocalDateTime.now());
+        details.setDataQualityVersion(DataQualityRules.RULES_VERSION);
+    }
 
-        // ===== FINALIZE =====
-        this.dataQualityScore = maxScore > 0 ? (score * 100) / maxScore : 0;
-        this.completenessJson = JsonUtils.toJson(completeness);
-        this.lastDataQualityCheck = LocalDateTime.now();
+    /**
+     * The details row if it is already loaded, else null (never triggers a load)
+     */
+    @Transient
+    public RealEstateDetails getLoadedDetails() {
+        return Hibernate.isInitialized(details) ? (RealEstateDetails) Hibernate.unproxy(details) : null;
     }
 
     
     /**
-     * Get completeness as map
+     * Get completeness as map (read-only view of the jsonb column, parsed once on load)
      */
     @Transient
     public Map<String, Integer> getCompleteness() {
-        return JsonUtils.parseStringIntegerMap(completenessJson);
+        Map<String, Integer> completeness = details.getCompleteness();
+        return completeness != null ? Collections.unmodifiableMap(completeness) : Collections.emptyMap();
     }
     
     /**
-     * Get warning flags as map
+     * Get warning flags as map (read-only view; change them through setWarningFlags/addWarningFlag)
      */
     @Transient
     public Map<String, Boolean> getWarningFlags() {
-        return JsonUtils.parseStringBooleanMap(warningFlagsJson);
+        Map<String, Boolean> flags = details.getWarningFlags();
+        return flags != null ? Collections.unmodifiableMap(flags) : Collections.emptyMap();
     }
     
     /**
      * Set warning flags
      */
     public void setWarningFlags(Map<String, Boolean> flags) {
-        this.warningFlagsJson = JsonUtils.toJson(flags);
+        setDetail(RealEstateDetails::getWarningFlags, RealEstateDetails::setWarningFlags,
+                flags != null ? new HashMap<>(flags) : null);
     }
     
     /**
      * Add warning flag
      */
     public void addWarningFlag(String flag, Boolean value) {
-        Map<String, Boolean> flags = getWarningFlags();
+        Map<String, Boolean> flags = new HashMap<>(getWarningFlags());
         flags.put(flag, value);
         setWarningFlags(flags);
     }
@@ -943,12 +741,12 @@ public class RealEstate {
      */
     @Transient
     public String getEffectiveContactName() {
-        if (agency != null && agentName != null) {
-            return agentName;
+        if (agency != null && getAgentName() != null) {
+            return getAgentName();
         } else if (owner != null) {
             return owner.getFirstName() + " " + owner.getLastName();
         }
-        return agentName != null ? agentName : "Contact Owner";
+        return getAgentName() != null ? getAgentName() : "Contact Owner";
     }
     
     /**
@@ -1025,12 +823,12 @@ public class RealEstate {
      */
     @Transient
     public String getEffectiveContactPhone() {
-        if (agency != null && agentPhone != null) {
-            return agentPhone;
+        if (agency != null && getAgentPhone() != null) {
+            return getAgentPhone();
         } else if (owner != null) {
             return owner.getPhone();
         }
-        return agentPhone;
+        return getAgentPhone();
     }
     
     /**
@@ -1038,8 +836,8 @@ public class RealEstate {
      */
     @Transient
     public String getEffectiveContactEmail() {
-        if (contactEmail != null) {
-            return contactEmail;
+        if (getContactEmail() != null) {
+            return getContactEmail();
         } else if (owner != null) {
             return owner.getEmail();
         } else if (agency != null) {
@@ -1052,12 +850,12 @@ public class RealEstate {
      * Get effective license number
      */
     public String getEffectiveContactLicense() {
-        if (isAgencyProperty() && agentLicense != null) {
-            return agentLicense;
+        if (isAgencyProperty() && getAgentLicense() != null) {
+            return getAgentLicense();
         } else if (isAgencyProperty() && agency != null) {
             return agency.getLicenseNumber();
         }
-        return agentLicense;
+        return getAgentLicense();
     }
 
     /**
@@ -1126,13 +924,13 @@ public class RealEstate {
         Map<String, BigDecimal> breakdown = new LinkedHashMap<>();
         
         if (sizeInSqMt != null) breakdown.put("Internal", sizeInSqMt);
-        if (terraceSizeSqMt != null) breakdown.put("Terrace", terraceSizeSqMt);
-        if (balconySizeSqMt != null) breakdown.put("Balcony", balconySizeSqMt);
-        if (loggiaSizeSqMt != null) breakdown.put("Loggia", loggiaSizeSqMt);
-        if (basementSizeSqMt != null && hasBasement()) breakdown.put("Basement", basementSizeSqMt);
-        if (atticSizeSqMt != null && hasAttic()) breakdown.put("Attic", atticSizeSqMt);
-        if (gardenSizeSqMt != null) breakdown.put("Garden", gardenSizeSqMt);
-        if (plotSizeSqMt != null) breakdown.put("Plot", plotSizeSqMt);
+        if (getTerraceSizeSqMt() != null) breakdown.put("Terrace", getTerraceSizeSqMt());
+        if (getBalconySizeSqMt() != null) breakdown.put("Balcony", getBalconySizeSqMt());
+        if (getLoggiaSizeSqMt() != null) breakdown.put("Loggia", getLoggiaSizeSqMt());
+        if (getBasementSizeSqMt() != null && hasBasement()) breakdown.put("Basement", getBasementSizeSqMt());
+        if (getAtticSizeSqMt() != null && hasAttic()) breakdown.put("Attic", getAtticSizeSqMt());
+        if (getGardenSizeSqMt() != null) breakdown.put("Garden", getGardenSizeSqMt());
+        if (getPlotSizeSqMt() != null) breakdown.put("Plot", getPlotSizeSqMt());
         
         return breakdown;
     }
@@ -1285,20 +1083,20 @@ public class RealEstate {
      */
     @Transient
     public boolean isAvailableNow() {
-        if (availableFrom == null) {
+        if (getAvailableFrom() == null) {
             return true;
         }
-        return !availableFrom.isAfter(LocalDate.now());
+        return !getAvailableFrom().isAfter(LocalDate.now());
     }
     
     /**
      * Get days until available (for future availability)
      */
     public Long getDaysUntilAvailable() {
-        if (availableFrom == null || availableFrom.isBefore(LocalDate.now())) {
+        if (getAvailableFrom() == null || getAvailableFrom().isBefore(LocalDate.now())) {
             return 0L;
         }
-        return ChronoUnit.DAYS.between(LocalDate.now(), availableFrom);
+        return ChronoUnit.DAYS.between(LocalDate.now(), getAvailableFrom());
     }
     
     /**
@@ -1308,11 +1106,11 @@ public class RealEstate {
     public BigDecimal getTotalUsableSizeInSqMt() {
         BigDecimal total = sizeInSqMt != null ? sizeInSqMt : BigDecimal.ZERO;
         
-        if (terraceSizeSqMt != null) total = total.add(terraceSizeSqMt);
-        if (balconySizeSqMt != null) total = total.add(balconySizeSqMt);
-        if (loggiaSizeSqMt != null) total = total.add(loggiaSizeSqMt);
-        if (basementSizeSqMt != null && Boolean.TRUE.equals(hasBasement())) total = total.add(basementSizeSqMt);
-        if (atticSizeSqMt != null && Boolean.TRUE.equals(hasAttic())) total = total.add(atticSizeSqMt);
+        if (getTerraceSizeSqMt() != null) total = total.add(getTerraceSizeSqMt());
+        if (getBalconySizeSqMt() != null) total = total.add(getBalconySizeSqMt());
+        if (getLoggiaSizeSqMt() != null) total = total.add(getLoggiaSizeSqMt());
+        if (getBasementSizeSqMt() != null && Boolean.TRUE.equals(hasBasement())) total = total.add(getBasementSizeSqMt());
+        if (getAtticSizeSqMt() != null && Boolean.TRUE.equals(hasAttic())) total = total.add(getAtticSizeSqMt());
         
         return total;
     }
@@ -1324,8 +1122,8 @@ public class RealEstate {
     public BigDecimal getTotalPropertySizeInSqMt() {
         BigDecimal total = getTotalUsableSizeInSqMt();
         
-        if (gardenSizeSqMt != null) total = total.add(gardenSizeSqMt);
-        if (plotSizeSqMt != null) total = total.add(plotSizeSqMt);
+        if (getGardenSizeSqMt() != null) total = total.add(getGardenSizeSqMt());
+        if (getPlotSizeSqMt() != null) total = total.add(getPlotSizeSqMt());
         
         return total;
     }
@@ -1335,9 +1133,9 @@ public class RealEstate {
      */
     public boolean hasRequiredPermits() {
         if (propertyType == PropertyType.LAND) {
-            return hasConstructionPermit != null && hasConstructionPermit;
+            return getHasConstructionPermit() != null && getHasConstructionPermit();
         } else {
-            return hasUsePermit != null && hasUsePermit;
+            return getHasUsePermit() != null && getHasUsePermit();
         }
     }
     
@@ -1348,13 +1146,13 @@ public class RealEstate {
         List<String> amenities = new ArrayList<>();
         
         if (Boolean.TRUE.equals(hasElevator)) amenities.add("Lift");
-        if (Boolean.TRUE.equals(hasAirConditioning)) amenities.add("Klima");
-        if (Boolean.TRUE.equals(hasInternet)) amenities.add("Internet");
+        if (Boolean.TRUE.equals(getHasAirConditioning())) amenities.add("Klima");
+        if (Boolean.TRUE.equals(getHasInternet())) amenities.add("Internet");
         if (Boolean.TRUE.equals(hasParking)) amenities.add("Parking");
-        if (Boolean.TRUE.equals(hasGarden)) amenities.add("Bašta");
-        if (Boolean.TRUE.equals(hasTerrace)) amenities.add("Terasa");
-        if (Boolean.TRUE.equals(hasBalcony) && balconyCount != null && balconyCount > 0) {
-            amenities.add(balconyCount + " balkona");
+        if (Boolean.TRUE.equals(getHasGarden())) amenities.add("Bašta");
+        if (Boolean.TRUE.equals(getHasTerrace())) amenities.add("Terasa");
+        if (Boolean.TRUE.equals(getHasBalcony()) && getBalconyCount() != null && getBalconyCount() > 0) {
+            amenities.add(getBalconyCount() + " balkona");
         }
         
         return String.join(", ", amenities);
@@ -1364,11 +1162,11 @@ public class RealEstate {
      * Get complete ownership type display name
      */
     public String getOwnershipTypeDisplay() {
-        if (ownershipType == null) return "Nepoznato";
-        if (ownershipType == OwnershipType.OTHER && otherOwnershipTypeDescription != null) {
-            return otherOwnershipTypeDescription;
+        if (getOwnershipType() == null) return "Nepoznato";
+        if (getOwnershipType() == OwnershipType.OTHER && getOtherOwnershipTypeDescription() != null) {
+            return getOtherOwnershipTypeDescription();
         }
-        return ownershipType.getDisplayName();
+        return getOwnershipType().getDisplayName();
     }
     
     /**
@@ -1376,8 +1174,8 @@ public class RealEstate {
      */
     public String getHeatingTypeDisplay() {
         if (heatingType == null) return "Nepoznato";
-        if (heatingType == HeatingType.OTHER && otherHeatingTypeDescription != null) {
-            return otherHeatingTypeDescription;
+        if (heatingType == HeatingType.OTHER && getOtherHeatingTypeDescription() != null) {
+            return getOtherHeatingTypeDescription();
         }
         return heatingType.getDisplayName();
     }
@@ -1411,49 +1209,57 @@ public class RealEstate {
     }
     
     /**
-     * Get current image count (synchronized with images list)
+     * Get current image count (denormalized column, does not load the images)
      */
     public Integer getImageCount() {
-        if (this.images != null) {
-            return this.images.size();
-        }
         return imageCount != null ? imageCount : 0;
     }
 
     /**
-     * Add image and update count
+     * Add image at the end and update count
      */
-    public void addImage(String imageUrl) {
-        if (this.images == null) {
-            this.images = new ArrayList<>();
-        }
-        if (!this.images.contains(imageUrl)) {
-            this.images.add(imageUrl);
-            updateImageCount();
+    public ListingImage addImage(String imageUrl) {
+        for (ListingImage image : listingImages) {
+            if (image.getUrl().equals(imageUrl)) {
+                return image;
+            }
         }
+        ListingImage image = new ListingImage(this, imageUrl, listingImages.size());
+        listingImages.add(image);
+        updateImageCount();
+        return image;
     }
 
     /**
-     * Remove image and update count
+     * Remove image and update count; only the images after it move up a position
      */
     public boolean removeImage(String imageUrl) {
-        if (this.images != null && this.images.remove(imageUrl)) {
+        boolean removed = listingImages.removeIf(image -> image.getUrl().equals(imageUrl));
+        if (removed) {
+            renumberImages();
             updateImageCount();
-            return true;
         }
-        return false;
+        return removed;
     }
 
     /**
      * Clear all images and reset count
      */
     public void clearImages() {
-        if (this.images != null) {
-            this.images.clear();
-        }
+        listingImages.clear();
         this.imageCount = 0;
     }
 
+    // Setting an unchanged position is not dirty, so Hibernate updates only rows that moved
+    private void renumberImages() {
+        for (int i = 0; i < listingImages.size(); i++) {
+            ListingImage image = listingImages.get(i);
+            if (image.getPosition() == null || image.getPosition() != i) {
+                image.setPosition(i);
+            }
+        }
+    }
+
     /**
      * Check if can add more images based on limit
      */
@@ -1507,11 +1313,20 @@ public class RealEstate {
     public Long getPropertyId() { return propertyId; }
     public void setPropertyId(Long propertyId) { this.propertyId = propertyId; }
 
+    // A change to the details row alone leaves this row clean, so @PreUpdate (updated_at) and
+    // ListingChangeListener would not run; bump updated_at when a value really changes
+    private <T> void setDetail(Function<RealEstateDetails, T> getter, BiConsumer<RealEstateDetails, T> setter, T value) {
+        if (!Objects.equals(getter.apply(details), value)) {
+            setter.accept(details, value);
+            this.updatedAt = LocalDateTime.now();
+        }
+    }
+
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
 
-    public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public String getDescription() { return details.getDescription(); }
+    public void setDescription(String description) { setDetail(RealEstateDetails::getDescription, RealEstateDetails::setDescription, description); }
 
     public PropertyType getPropertyType() { return propertyType; }
     public void setPropertyType(PropertyType propertyType) { this.propertyType = propertyType; }
@@ -1537,20 +1352,20 @@ public class RealEstate {
     public LocalDate getDiscountEndDate() { return discountEndDate; }
     public void setDiscountEndDate(LocalDate discountEndDate) { this.discountEndDate = discountEndDate; }
 
-    public Boolean getPriceNegotiable() { return priceNegotiable; }
-    public void setPriceNegotiable(Boolean priceNegotiable) { this.priceNegotiable = priceNegotiable; }
+    public Boolean getPriceNegotiable() { return details.getPriceNegotiable(); }
+    public void setPriceNegotiable(Boolean priceNegotiable) { setDetail(RealEstateDetails::getPriceNegotiable, RealEstateDetails::setPriceNegotiable, priceNegotiable); }
 
-    public Boolean getIncludesUtilities() { return includesUtilities; }
-    public void setIncludesUtilities(Boolean includesUtilities) { this.includesUtilities = includesUtilities; }
+    public Boolean getIncludesUtilities() { return details.getIncludesUtilities(); }
+    public void setIncludesUtilities(Boolean includesUtilities) { setDetail(RealEstateDetails::getIncludesUtilities, RealEstateDetails::setIncludesUtilities, includesUtilities); }
 
-    public BigDecimal getDepositAmount() { return depositAmount; }
-    public void setDepositAmount(BigDecimal depositAmount) { this.depositAmount = depositAmount; }
+    public BigDecimal getDepositAmount() { return details.getDepositAmount(); }
+    public void setDepositAmount(BigDecimal depositAmount) { setDetail(RealEstateDetails::getDepositAmount, RealEstateDetails::setDepositAmount, depositAmount); }
 
     public String getAddress() { return address; }
     public void setAddress(String address) { this.address = address; }
 
-    public String getStreetNumber() { return streetNumber; }
-    public void setStreetNumber(String streetNumber) { this.streetNumber = streetNumber; }
+    public String getStreetNumber() { return details.getStreetNumber(); }
+    public void setStreetNumber(String streetNumber) { setDetail(RealEstateDetails::getStreetNumber, RealEstateDetails::setStreetNumber, streetNumber); }
 
     public String getNeighborhood() { return neighborhood; }
     public void setNeighborhood(String neighborhood) { this.neighborhood = neighborhood; }
@@ -1567,8 +1382,8 @@ public class RealEstate {
     public String getZipCode() { return zipCode; }
     public void setZipCode(String zipCode) { this.zipCode = zipCode; }
 
-    public String getLocationDescription() { return locationDescription; }
-    public void setLocationDescription(String locationDescription) { this.locationDescription = locationDescription; }
+    public String getLocationDescription() { return details.getLocationDescription(); }
+    public void setLocationDescription(String locationDescription) { setDetail(RealEstateDetails::getLocationDescription, RealEstateDetails::setLocationDescription, locationDescription); }
 
     public BigDecimal getLatitude() { return latitude; }
     public void setLatitude(BigDecimal latitude) { this.latitude = latitude; }
@@ -1585,8 +1400,8 @@ public class RealEstate {
     public BigDecimal getBathroomCount() { return bathroomCount; }
     public void setBathroomCount(BigDecimal bathroomCount) { this.bathroomCount = bathroomCount; }
 
-    public Integer getBalconyCount() { return balconyCount; }
-    public void setBalconyCount(Integer balconyCount) { this.balconyCount = balconyCount; }
+    public Integer getBalconyCount() { return details.getBalconyCount(); }
+    public void setBalconyCount(Integer balconyCount) { setDetail(RealEstateDetails::getBalconyCount, RealEstateDetails::setBalconyCount, balconyCount); }
 
     public Integer getFloor() { return floor; }
     public void setFloor(Integer floor) { this.floor = floor; }
@@ -1603,83 +1418,83 @@ public class RealEstate {
     public HeatingType getHeatingType() { return heatingType; }
     public void setHeatingType(HeatingType heatingType) { this.heatingType = heatingType; }
 
-    public String getOtherHeatingTypeDescription() { return otherHeatingTypeDescription; }
-    public void setOtherHeatingTypeDescription(String otherHeatingTypeDescription) { this.otherHeatingTypeDescription = otherHeatingTypeDescription; }
+    public String getOtherHeatingTypeDescription() { return details.getOtherHeatingTypeDescription(); }
+    public void setOtherHeatingTypeDescription(String otherHeatingTypeDescription) { setDetail(RealEstateDetails::getOtherHeatingTypeDescription, RealEstateDetails::setOtherHeatingTypeDescription, otherHeatingTypeDescription); }
 
     public Boolean getHasElevator() { return hasElevator; }
     public void setHasElevator(Boolean hasElevator) { this.hasElevator = hasElevator; }
 
-    public Boolean getHasAirConditioning() { return hasAirConditioning; }
-    public void setHasAirConditioning(Boolean hasAirConditioning) { this.hasAirConditioning = hasAirConditioning; }
+    public Boolean getHasAirConditioning() { return details.getHasAirConditioning(); }
+    public void setHasAirConditioning(Boolean hasAirConditioning) { setDetail(RealEstateDetails::getHasAirConditioning, RealEstateDetails::setHasAirConditioning, hasAirConditioning); }
 
-    public Boolean getHasInternet() { return hasInternet; }
-    public void setHasInternet(Boolean hasInternet) { this.hasInternet = hasInternet; }
+    public Boolean getHasInternet() { return details.getHasInternet(); }
+    public void setHasInternet(Boolean hasInternet) { setDetail(RealEstateDetails::getHasInternet, RealEstateDetails::setHasInternet, hasInternet); }
 
-    public Boolean getHasCableTV() { return hasCableTV; }
-    public void setHasCableTV(Boolean hasCableTV) { this.hasCableTV = hasCableTV; }
+    public Boolean getHasCableTV() { return details.getHasCableTV(); }
+    public void setHasCableTV(Boolean hasCableTV) { setDetail(RealEstateDetails::getHasCableTV, RealEstateDetails::setHasCableTV, hasCableTV); }
 
-    public Boolean getHasSecurity() { return hasSecurity; }
-    public void setHasSecurity(Boolean hasSecurity) { this.hasSecurity = hasSecurity; }
+    public Boolean getHasSecurity() { return details.getHasSecurity(); }
+    public void setHasSecurity(Boolean hasSecurity) { setDetail(RealEstateDetails::getHasSecurity, RealEstateDetails::setHasSecurity, hasSecurity); }
 
     public Boolean getHasParking() { return hasParking; }
     public void setHasParking(Boolean hasParking) { this.hasParking = hasParking; }
 
-    public Integer getParkingSpaces() { return parkingSpaces; }
-    public void setParkingSpaces(Integer parkingSpaces) { this.parkingSpaces = parkingSpaces; }
+    public Integer getParkingSpaces() { return details.getParkingSpaces(); }
+    public void setParkingSpaces(Integer parkingSpaces) { setDetail(RealEstateDetails::getParkingSpaces, RealEstateDetails::setParkingSpaces, parkingSpaces); }
 
-    public Boolean getHasGarden() { return hasGarden; }
-    public void setHasGarden(Boolean hasGarden) { this.hasGarden = hasGarden; }
+    public Boolean getHasGarden() { return details.getHasGarden(); }
+    public void setHasGarden(Boolean hasGarden) { setDetail(RealEstateDetails::getHasGarden, RealEstateDetails::setHasGarden, hasGarden); }
 
-    public BigDecimal getGardenSizeSqMt() { return gardenSizeSqMt; }
-    public void setGardenSizeSqMt(BigDecimal gardenSizeSqMt) { this.gardenSizeSqMt = gardenSizeSqMt; }
+    public BigDecimal getGardenSizeSqMt() { return details.getGardenSizeSqMt(); }
+    public void setGardenSizeSqMt(BigDecimal gardenSizeSqMt) { setDetail(RealEstateDetails::getGardenSizeSqMt, RealEstateDetails::setGardenSizeSqMt, gardenSizeSqMt); }
 
-    public Boolean getHasTerrace() { return hasTerrace; }
-    public void setHasTerrace(Boolean hasTerrace) { this.hasTerrace = hasTerrace; }
+    public Boolean getHasTerrace() { return details.getHasTerrace(); }
+    public void setHasTerrace(Boolean hasTerrace) { setDetail(RealEstateDetails::getHasTerrace, RealEstateDetails::setHasTerrace, hasTerrace); }
 
-    public Boolean getHasBalcony() { return hasBalcony; }
-    public void setHasBalcony(Boolean hasBalcony) { this.hasBalcony = hasBalcony; }
+    public Boolean getHasBalcony() { return details.getHasBalcony(); }
+    public void setHasBalcony(Boolean hasBalcony) { setDetail(RealEstateDetails::getHasBalcony, RealEstateDetails::setHasBalcony, hasBalcony); }
 
     public EnergyEfficiency getEnergyEfficiency() { return energyEfficiency; }
     public void setEnergyEfficiency(EnergyEfficiency energyEfficiency) { this.energyEfficiency = energyEfficiency; }
 
-    public Boolean getHasSewage() { return hasSewage; }
-    public void setHasSewage(Boolean hasSewage) { this.hasSewage = hasSewage; }
+    public Boolean getHasSewage() { return details.getHasSewage(); }
+    public void setHasSewage(Boolean hasSewage) { setDetail(RealEstateDetails::getHasSewage, RealEstateDetails::setHasSewage, hasSewage); }
 
-    public Boolean getHasElectricity() { return hasElectricity; }
-    public void setHasElectricity(Boolean hasElectricity) { this.hasElectricity = hasElectricity; }
+    public Boolean getHasElectricity() { return details.getHasElectricity(); }
+    public void setHasElectricity(Boolean hasElectricity) { setDetail(RealEstateDetails::getHasElectricity, RealEstateDetails::setHasElectricity, hasElectricity); }
 
-    public Boolean getHasGas() { return hasGas; }
-    public void setHasGas(Boolean hasGas) { this.hasGas = hasGas; }
+    public Boolean getHasGas() { return details.getHasGas(); }
+    public void setHasGas(Boolean hasGas) { setDetail(RealEstateDetails::getHasGas, RealEstateDetails::setHasGas, hasGas); }
 
-    public Boolean getHasConstructionPermit() { return hasConstructionPermit; }
-    public void setHasConstructionPermit(Boolean hasConstructionPermit) { this.hasConstructionPermit = hasConstructionPermit; }
+    public Boolean getHasConstructionPermit() { return details.getHasConstructionPermit(); }
+    public void setHasConstructionPermit(Boolean hasConstructionPermit) { setDetail(RealEstateDetails::getHasConstructionPermit, RealEstateDetails::setHasConstructionPermit, hasConstructionPermit); }
 
-    public Boolean getHasUsePermit() { return hasUsePermit; }
-    public void setHasUsePermit(Boolean hasUsePermit) { this.hasUsePermit = hasUsePermit; }
+    public Boolean getHasUsePermit() { return details.getHasUsePermit(); }
+    public void setHasUsePermit(Boolean hasUsePermit) { setDetail(RealEstateDetails::getHasUsePermit, RealEstateDetails::setHasUsePermit, hasUsePermit); }
 
-    public OwnershipType getOwnershipType() { return ownershipType; }
-    public void setOwnershipType(OwnershipType ownershipType) { this.ownershipType = ownershipType; }
+    public OwnershipType getOwnershipType() { return details.getOwnershipType(); }
+    public void setOwnershipType(OwnershipType ownershipType) { setDetail(RealEstateDetails::getOwnershipType, RealEstateDetails::setOwnershipType, ownershipType); }
 
-    public String getOtherOwnershipTypeDescription() { return otherOwnershipTypeDescription; }
-    public void setOtherOwnershipTypeDescription(String otherOwnershipTypeDescription) { this.otherOwnershipTypeDescription = otherOwnershipTypeDescription; }
+    public String getOtherOwnershipTypeDescription() { return details.getOtherOwnershipTypeDescription(); }
+    public void setOtherOwnershipTypeDescription(String otherOwnershipTypeDescription) { setDetail(RealEstateDetails::getOtherOwnershipTypeDescription, RealEstateDetails::setOtherOwnershipTypeDescription, otherOwnershipTypeDescription); }
 
-    public Boolean getIsRegistered() { return isRegistered; }
-    public void setIsRegistered(Boolean isRegistered) { this.isRegistered = isRegistered; }
+    public Boolean getIsRegistered() { return details.getIsRegistered(); }
+    public void setIsRegistered(Boolean isRegistered) { setDetail(RealEstateDetails::getIsRegistered, RealEstateDetails::setIsRegistered, isRegistered); }
 
-    public Boolean getHasShowcaseWindow() { return hasShowcaseWindow; }
-    public void setHasShowcaseWindow(Boolean hasShowcaseWindow) { this.hasShowcaseWindow = hasShowcaseWindow; }
+    public Boolean getHasShowcaseWindow() { return details.getHasShowcaseWindow(); }
+    public void setHasShowcaseWindow(Boolean hasShowcaseWindow) { setDetail(RealEstateDetails::getHasShowcaseWindow, RealEstateDetails::setHasShowcaseWindow, hasShowcaseWindow); }
 
-    public Boolean getHasStorageRoom() { return hasStorageRoom; }
-    public void setHasStorageRoom(Boolean hasStorageRoom) { this.hasStorageRoom = hasStorageRoom; }
+    public Boolean getHasStorageRoom() { return details.getHasStorageRoom(); }
+    public void setHasStorageRoom(Boolean hasStorageRoom) { setDetail(RealEstateDetails::getHasStorageRoom, RealEstateDetails::setHasStorageRoom, hasStorageRoom); }
 
-    public Integer getEmployeeCapacity() { return employeeCapacity; }
-    public void setEmployeeCapacity(Integer employeeCapacity) { this.employeeCapacity = employeeCapacity; }
+    public Integer getEmployeeCapacity() { return details.getEmployeeCapacity(); }
+    public void setEmployeeCapacity(Integer employeeCapacity) { setDetail(RealEstateDetails::getEmployeeCapacity, RealEstateDetails::setEmployeeCapacity, employeeCapacity); }
 
-    public Boolean getHasElectricityAccess() { return hasElectricityAccess; }
-    public void setHasElectricityAccess(Boolean hasElectricityAccess) { this.hasElectricityAccess = hasElectricityAccess; }
+    public Boolean getHasElectricityAccess() { return details.getHasElectricityAccess(); }
+    public void setHasElectricityAccess(Boolean hasElectricityAccess) { setDetail(RealEstateDetails::getHasElectricityAccess, RealEstateDetails::setHasElectricityAccess, hasElectricityAccess); }
 
-    public Boolean getHasRoadAccess() { return hasRoadAccess; }
-    public void setHasRoadAccess(Boolean hasRoadAccess) { this.hasRoadAccess = hasRoadAccess; }
+    public Boolean getHasRoadAccess() { return details.getHasRoadAccess(); }
+    public void setHasRoadAccess(Boolean hasRoadAccess) { setDetail(RealEstateDetails::getHasRoadAccess, RealEstateDetails::setHasRoadAccess, hasRoadAccess); }
 
     public User getOwner() { return owner; }
     public void setOwner(User owner) { this.owner = owner; }
@@ -1687,32 +1502,65 @@ public class RealEstate {
     public Agency getAgency() { return agency; }
     public void setAgency(Agency agency) { this.agency = agency; }
 
-    public String getAgentName() { return agentName; }
-    public void setAgentName(String agentName) { this.agentName = agentName; }
+    public String getAgentName() { return details.getAgentName(); }
+    public void setAgentName(String agentName) { setDetail(RealEstateDetails::getAgentName, RealEstateDetails::setAgentName, agentName); }
+
+    public String getAgentPhone() { return details.getAgentPhone(); }
+    public void setAgentPhone(String agentPhone) { setDetail(RealEstateDetails::getAgentPhone, RealEstateDetails::setAgentPhone, agentPhone); }
+
+    public String getAgentLicense() { return details.getAgentLicense(); }
+    public void setAgentLicense(String agentLicense) { setDetail(RealEstateDetails::getAgentLicense, RealEstateDetails::setAgentLicense, agentLicense); }
 
-    public String getAgentPhone() { return agentPhone; }
-    public void setAgentPhone(String agentPhone) { this.agentPhone = agentPhone; }
+    public String getContactEmail() { return details.getContactEmail(); }
+    public void setContactEmail(String contactEmail) { setDetail(RealEstateDetails::getContactEmail, RealEstateDetails::setContactEmail, contactEmail); }
 
-    public String getAgentLicense() { return agentLicense; }
-    public void setAgentLicense(String agentLicense) { this.agentLicense = agentLicense; }
+    public String getPreferredContactMethod() { return details.getPreferredContactMethod(); }
+    public void setPreferredContactMethod(String preferredContactMethod) { setDetail(RealEstateDetails::getPreferredContactMethod, RealEstateDetails::setPreferredContactMethod, preferredContactMethod); }
 
-    public String getContactEmail() { return contactEmail; }
-    public void setContactEmail(String contactEmail) { this.contactEmail = contactEmail; }
+    public LocalDate getAvailableFrom() { return details.getAvailableFrom(); }
+    public void setAvailableFrom(LocalDate availableFrom) { setDetail(RealEstateDetails::getAvailableFrom, RealEstateDetails::setAvailableFrom, availableFrom); }
 
-    public String getPreferredContactMethod() { return preferredContactMethod; }
-    public void setPreferredContactMethod(String preferredContactMethod) { this.preferredContactMethod = preferredContactMethod; }
+    public Integer getMinimumRentPeriod() { return details.getMinimumRentPeriod(); }
+    public void setMinimumRentPeriod(Integer minimumRentPeriod) { setDetail(RealEstateDetails::getMinimumRentPeriod, RealEstateDetails::setMinimumRentPeriod, minimumRentPeriod); }
 
-    public LocalDate getAvailableFrom() { return availableFrom; }
-    public void setAvailableFrom(LocalDate availableFrom) { this.availableFrom = availableFrom; }
+    public List<ListingImage> getListingImages() { return listingImages; }
 
-    public Integer getMinimumRentPeriod() { return minimumRentPeriod; }
-    public void setMinimumRentPeriod(Integer minimumRentPeriod) { this.minimumRentPeriod = minimumRentPeriod; }
+    /**
+     * Image URLs in display order (read-only view)
+     */
+    public List<String> getImages() {
+        return listingImages.stream().map(ListingImage::getUrl).toList();
+    }
+
+    /**
+     * Make the images match the given URLs in order. Images whose URL is kept retain their row
+     * (and metadata) and only get a position update if they moved; others are inserted or deleted.
+     */
+    public void setImages(List<String> imageUrls) {
+        List<String> urls = imageUrls != null ? imageUrls.stream().distinct().toList() : List.of();
+        Map<String, ListingImage> existing = new HashMap<>();
+        for (ListingImage image : listingImages) {
+            existing.put(image.getUrl(), image);
+        }
 
-    public List<String> getImages() { return images; }
-    public void setImages(List<String> images) {
-        this.images = images;
-        // Sync the image count
-        this.imageCount = images != null ? images.size() : 0;
+        Set<String> kept = new HashSet<>(urls);
+        boolean changed = listingImages.removeIf(image -> !kept.contains(image.getUrl()));
+        for (int i = 0; i < urls.size(); i++) {
+            ListingImage image = existing.get(urls.get(i));
+            if (image == null) {
+                listingImages.add(new ListingImage(this, urls.get(i), i));
+                changed = true;
+            } else if (image.getPosition() == null || image.getPosition() != i) {
+                image.setPosition(i);
+                changed = true;
+            }
+        }
+        listingImages.sort(Comparator.comparing(ListingImage::getPosition));
+        this.imageCount = listingImages.size();
+        // A pure reorder only touches image rows; bump updated_at so the listing's ETag changes
+        if (changed) {
+            this.updatedAt = LocalDateTime.now();
+        }
     }
 
     public Boolean getIsActive() { return isActive; }
@@ -1811,11 +1659,8 @@ public class RealEstate {
 
 	public void setImageCount(Integer imageCount) {
 		this.imageCount = imageCount;
-	    // Ensure consistency - if images list exists, trust it over the count field
-	    if (this.images != null && imageCount != null && this.images.size() != imageCount) {
-	        // If there's a mismatch, trust the actual images list
-	        this.imageCount = this.images.size();
-	    }
+	    // Ensure consistency - if the images are loaded, trust them over the count field
+	    updateImageCount();
 	}
 
 	public Point getLocationPoint() {
@@ -1826,6 +1671,14 @@ public class RealEstate {
 		this.locationPoint = locationPoint;
 	}
 
+	public Double getRankScore() {
+		return rankScore;
+	}
+
+	public void setRankScore(Double rankScore) {
+		this.rankScore = rankScore;
+	}
+
 	public PropertyMetrics getPropertyMetrics() {
 		return propertyMetrics;
 	}
@@ -1859,19 +1712,19 @@ public class RealEstate {
 	}
 
 	public String getGeocodingAccuracy() {
-		return geocodingAccuracy;
+		return details.getGeocodingAccuracy();
 	}
 
 	public void setGeocodingAccuracy(String geocodingAccuracy) {
-		this.geocodingAccuracy = geocodingAccuracy;
+		setDetail(RealEstateDetails::getGeocodingAccuracy, RealEstateDetails::setGeocodingAccuracy, geocodingAccuracy);
 	}
 
 	public String getGeocodedAddress() {
-		return geocodedAddress;
+		return details.getGeocodedAddress();
 	}
 
 	public void setGeocodedAddress(String geocodedAddress) {
-		this.geocodedAddress = geocodedAddress;
+		setDetail(RealEstateDetails::getGeocodedAddress, RealEstateDetails::setGeocodedAddress, geocodedAddress);
 	}
 
 	public Integer getDataQualityScore() {
@@ -1882,76 +1735,60 @@ public class RealEstate {
 		this.dataQualityScore = dataQualityScore;
 	}
 
-	public String getCompletenessJson() {
-		return completenessJson;
-	}
-
-	public void setCompletenessJson(String completenessJson) {
-		this.completenessJson = completenessJson;
-	}
-
-	public String getWarningFlagsJson() {
-		return warningFlagsJson;
-	}
-
-	public void setWarningFlagsJson(String warningFlagsJson) {
-		this.warningFlagsJson = warningFlagsJson;
-	}
-
 	public LocalDateTime getLastDataQualityCheck() {
-		return lastDataQualityCheck;
+		return details.getLastDataQualityCheck();
 	}
 
 	public void setLastDataQualityCheck(LocalDateTime lastDataQualityCheck) {
-		this.lastDataQualityCheck = lastDataQualityCheck;
+		setDetail(RealEstateDetails::getLastDataQualityCheck, RealEstateDetails::setLastDataQualityCheck, lastDataQualityCheck);
 	}
 
 	public BigDecimal getTerraceSizeSqMt() {
-		return terraceSizeSqMt;
+		return details.getTerraceSizeSqMt();
 	}
 
 	public void setTerraceSizeSqMt(BigDecimal terraceSizeSqMt) {
-		this.terraceSizeSqMt = terraceSizeSqMt;
+		setDetail(RealEstateDetails::getTerraceSizeSqMt, RealEstateDetails::setTerraceSizeSqMt, terraceSizeSqMt);
 	}
 
 	public BigDecimal getBalconySizeSqMt() {
-		return balconySizeSqMt;
+		return details.getBalconySizeSqMt();
 	}
 
 	public void setBalconySizeSqMt(BigDecimal balconySizeSqMt) {
-		this.balconySizeSqMt = balconySizeSqMt;
+		setDetail(RealEstateDetails::getBalconySizeSqMt, RealEstateDetails::setBalconySizeSqMt, balconySizeSqMt);
 	}
 
 	public BigDecimal getLoggiaSizeSqMt() {
-		return loggiaSizeSqMt;
+		return details.getLoggiaSizeSqMt();
 	}
 
 	public void setLoggiaSizeSqMt(BigDecimal loggiaSizeSqMt) {
-		this.loggiaSizeSqMt = loggiaSizeSqMt;
+		setDetail(RealEstateDetails::getLoggiaSizeSqMt, RealEstateDetails::setLoggiaSizeSqMt, loggiaSizeSqMt);
 	}
 
 	public BigDecimal getBasementSizeSqMt() {
-		return basementSizeSqMt;
+		return details.getBasementSizeSqMt();
 	}
 
 	public void setBasementSizeSqMt(BigDecimal basementSizeSqMt) {
-		this.basementSizeSqMt = basementSizeSqMt;
+		setDetail(RealEstateDetails::getBasementSizeSqMt, RealEstateDetails::setBasementSizeSqMt, basementSizeSqMt);
 	}
 
 	public BigDecimal getAtticSizeSqMt() {
-		return atticSizeSqMt;
+		return details.getAtticSizeSqMt();
 	}
 
 	public void setAtticSizeSqMt(BigDecimal atticSizeSqMt) {
-		this.atticSizeSqMt = atticSizeSqMt;
+		setDetail(RealEstateDetails::getAtticSizeSqMt, RealEstateDetails::setAtticSizeSqMt, atticSizeSqMt);
 	}
 
 	public BigDecimal getPlotSizeSqMt() {
-		return plotSizeSqMt;
+		return details.getPlotSizeSqMt();
 	}
 
 	public void setPlotSizeSqMt(BigDecimal plotSizeSqMt) {
-		this.plotSizeSqMt = plotSizeSqMt;
+		setDetail(RealEstateDetails::getPlotSizeSqMt, RealEstateDetails::setPlotSizeSqMt, plotSizeSqMt);
 	}
 
 	public FurnitureStatus getFurnitureStatus() {
@@ -1963,19 +1800,27 @@ public class RealEstate {
 	}
 
 	public Set<WaterSourceType> getWaterSources() {
-		return waterSources;
+		return WaterSourceType.fromMask(waterSourceMask != null ? waterSourceMask : 0);
 	}
 
 	public void setWaterSources(Set<WaterSourceType> waterSources) {
-		this.waterSources = waterSources;
+		this.waterSourceMask = WaterSourceType.toMask(waterSources);
+	}
+
+	public Short getWaterSourceMask() {
+		return waterSourceMask;
+	}
+
+	public void setWaterSourceMask(Short waterSourceMask) {
+		this.waterSourceMask = waterSourceMask;
 	}
 
 	public String getOtherWaterSourceDescription() {
-		return otherWaterSourceDescription;
+		return details.getOtherWaterSourceDescription();
 	}
 
 	public void setOtherWaterSourceDescription(String otherWaterSourceDescription) {
-		this.otherWaterSourceDescription = otherWaterSourceDescription;
+		setDetail(RealEstateDetails::getOtherWaterSourceDescription, RealEstateDetails::setOtherWaterSourceDescription, otherWaterSourceDescription);
 	}
 
 	public LocalDateTime getLastAdminCheck() {
@@ -1991,11 +1836,11 @@ public class RealEstate {
 	}
 
 	public Boolean getHasLoggia() {
-		return hasLoggia;
+		return details.getHasLoggia();
 	}
 
 	public void setHasLoggia(Boolean hasLoggia) {
-		this.hasLoggia = hasLoggia;
+		setDetail(RealEstateDetails::getHasLoggia, RealEstateDetails::setHasLoggia, hasLoggia);
 	}
 
 	public Set<PropertyFeature> getFeatures() {
@@ -2006,19 +1851,27 @@ public class RealEstate {
 		this.features = features;
 	}
 
+	public Long getFeatureMask() {
+		return featureMask;
+	}
+
+	public void setFeatureMask(Long featureMask) {
+		this.featureMask = featureMask;
+	}
+
 	public String getBusinessType() {
-		return businessType;
+		return details.getBusinessType();
 	}
 
 	public void setBusinessType(String businessType) {
-		this.businessType = businessType;
+		setDetail(RealEstateDetails::getBusinessType, RealEstateDetails::setBusinessType, businessType);
 	}
 
 	public String getLandType() {
-		return landType;
+		return details.getLandType();
 	}
 
 	public void setLandType(String landType) {
-		this.landType = landType;
+		setDetail(RealEstateDetails::getLandType, RealEstateDetails::setLandType, landType);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,404 @@
+package com.doublez.backend.entity.realestate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.type.SqlTypes;
+
+import com.doublez.backend.enums.property.OwnershipType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Descriptive columns of a listing (text, secondary amenities and sizes, legal, contact
+ * overrides, availability, geocoding and data-quality JSON), kept out of real_estates so
+ * search and list queries read narrow rows. Shares the listing's primary key; RealEstate
+ * exposes these fields through delegating accessors and loads the row lazily, in batches
+ * when a page of listings touches it.
+ */
+@Entity
+@DynamicUpdate
+@BatchSize(size = 50)
+@Table(name = "real_estate_details")
+public class RealEstateDetails {
+
+    @Id
+    @Column(name = "property_id")
+    private Long propertyId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "property_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private RealEstate property;
+
+    // ===== BASIC INFORMATION =====
+    @Column(name = "description", length = 2000)
+    private String description;	// Detailed property description
+
+    // ===== PRICE & FINANCIAL =====
+    @Column(name = "price_negotiable")
+    private Boolean priceNegotiable = true;	// Whether price is negotiable
+
+    @Column(name = "includes_utilities")
+    private Boolean includesUtilities;	// For rentals: whether utilities included
+
+    @Column(name = "deposit_amount", precision = 15, scale = 2)
+    private BigDecimal depositAmount;	// Security deposit for rentals
+
+    // ===== LOCATION INFORMATION =====
+    @Column(name = "street_number", length = 20)
+    private String streetNumber;	// House/building number
+
+    @Column(name = "location_description", length = 500)
+    private String locationDescription;	// Description of location advantages
+
+    @Column(name = "geocoding_accuracy", length = 50)
+    private String geocodingAccuracy; // "ROOFTOP", "STREET", "CITY", "APPROXIMATE"
+
+    @Column(name = "geocoded_address", length = 500)
+    private String geocodedAddress; // Normalized address from geocoding service
+
+    // ===== PROPERTY CHARACTERISTICS =====
+    @Column(name = "other_heating_type_description", length = 100)
+    private String otherHeatingTypeDescription;	// Required when heatingType is OTHER
+
+    @Column(name = "other_water_source_description", length = 100)
+    private String otherWaterSourceDescription;
+
+    // ===== AMENITIES & COMFORT =====
+    @Column(name = "has_air_conditioning")
+    private Boolean hasAirConditioning;	// Air conditioning installed
+
+    @Column(name = "has_internet")
+    private Boolean hasInternet;	// Internet connection available
+
+    @Column(name = "has_cable_tv")
+    private Boolean hasCableTV;	// Cable TV installed
+
+    @Column(name = "has_security")
+    private Boolean hasSecurity;	// Security system/alarm
+
+    @Column(name = "parking_spaces")
+    private Integer parkingSpaces;	// Number of parking spaces
+
+    @Column(name = "has_garden")
+    private Boolean hasGarden;	// Private garden available
+
+    @Column(name = "garden_size_sqmt", precision = 10, scale = 2)
+    private BigDecimal gardenSizeSqMt;	// Garden size in square meters
+
+    @Column(name = "has_terrace")
+    private Boolean hasTerrace;	// Terrace available
+
+    @Column(name = "balcony_count")
+    private Integer balconyCount;	// Number of balconies
+
+    @Column(name = "has_balcony")
+    private Boolean hasBalcony;	// Balcony available (useful for filtering)
+
+    @Column(name = "terrace_size_sqmt", precision = 10, scale = 2)
+    private BigDecimal terraceSizeSqMt;	// Terrace size
+
+    @Column(name = "balcony_size_sqmt", precision = 10, scale = 2)
+    private BigDecimal balconySizeSqMt;	// Total balcony size
+
+    @Column(name = "has_loggia")
+    private Boolean hasLoggia;	// Loggia available
+
+    @Column(name = "loggia_size_sqmt", precision = 10, scale = 2)
+    private BigDecimal loggiaSizeSqMt;	// Loggia/covered balcony size
+
+    @Column(name = "basement_size_sqmt", precision = 10, scale = 2)
+    private BigDecimal basementSizeSqMt;	// Basement size
+
+    @Column(name = "attic_size_sqmt", precision = 10, scale = 2)
+    private BigDecimal atticSizeSqMt;	// Attic/loft size
+
+    @Column(name = "plot_size_sqmt", precision = 12, scale = 2)
+    private BigDecimal plotSizeSqMt;	// Total plot/land size (for houses)
+
+    // ===== ENERGY & UTILITIES =====
+    @Column(name = "has_sewage")
+    private Boolean hasSewage;	// Sewage system available
+
+    @Column(name = "has_electricity")
+    private Boolean hasElectricity;	// Electricity connection available
+
+    @Column(name = "has_gas")
+    private Boolean hasGas;	// Gas connection available
+
+    // ===== LEGAL & DOCUMENTATION =====
+    @Column(name = "has_construction_permit")
+    private Boolean hasConstructionPermit;	// Has construction permit (građevinska dozvola)
+
+    @Column(name = "has_use_permit")
+    private Boolean hasUsePermit;	// Has use permit (upotrebna dozvola)
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ownership_type")
+    private OwnershipType ownershipType;	// Type of ownership
+
+    @Column(name = "other_ownership_type_description", length = 100)
+    private String otherOwnershipTypeDescription;	// Required when ownershipType is OTHER
+
+    @Column(name = "is_registered")
+    private Boolean isRegistered;	// Property is registered in cadastre (uknjiženo)
+
+    // ===== COMMERCIAL-SPECIFIC FIELDS =====
+    @Column(name = "business_type", length = 100)
+    @Size(max = 100, message = "Business type cannot exceed 100 characters")
+    private String businessType;
+
+    @Column(name = "has_showcase_window")
+    private Boolean hasShowcaseWindow;	// Has storefront/showcase window
+
+    @Column(name = "has_storage_room")
+    private Boolean hasStorageRoom;	// Has separate storage room
+
+    @Column(name = "employee_capacity")
+    @Min(value = 0, message = "Employee capacity cannot be negative")
+    @Max(value = 1000, message = "Employee capacity cannot exceed 1000")
+    private Integer employeeCapacity;
+
+    // ===== LAND-SPECIFIC FIELDS =====
+    @Column(name = "land_type", length = 50)
+    @Size(max = 50, message = "Land type cannot exceed 50 characters")
+    private String landType;
+
+    @Column(name = "has_electricity_access")
+    private Boolean hasElectricityAccess;	// Electricity access available
+
+    @Column(name = "has_road_access")
+    private Boolean hasRoadAccess;	// Road access available
+
+    // ===== AGENT OVERRIDES =====
+    @Column(name = "agent_name")
+    private String agentName;	// Specific agent name for this listing
+
+    @Column(name = "agent_phone")
+    private String agentPhone;	// Specific agent phone for this listing
+
+    @Column(name = "agent_license")
+    private String agentLicense;	// Specific agent license for this listing
+
+    @Column(name = "contact_email")
+    private String contactEmail;	// Specific contact email for this listing
+
+    @Column(name = "preferred_contact_method", length = 20)
+    private String preferredContactMethod;	// Preferred contact method (phone/email/both)
+
+    // ===== AVAILABILITY =====
+    @Column(name = "available_from")
+    private LocalDate availableFrom;	// Date when property becomes available
+
+    @Column(name = "minimum_rent_period")
+    private Integer minimumRentPeriod;	// Minimum rental period in months
+
+    // ===== DATA QUALITY =====
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "completeness_json", columnDefinition = "jsonb")
+    private Map<String, Integer> completeness; // {"basic_info": 85, "photos": 70, "location": 90}
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "warning_flags_json", columnDefinition = "jsonb")
+    private Map<String, Boolean> warningFlags; // {"no_photos": true, "incomplete_address": false}
+
+    @Column(name = "last_data_quality_check")
+    private LocalDateTime lastDataQualityCheck;
+
+    @Column(name = "data_quality_version")
+    private Integer dataQualityVersion;	// DataQualityRules.RULES_VERSION the score was computed with
+
+    // CONSTRUCTORS
+    public RealEstateDetails() {
+    }
+
+    public RealEstateDetails(RealEstate property) {
+        this.property = property;
+    }
+
+    // GETTERS AND SETTERS
+    public Long getPropertyId() { return propertyId; }
+
+    public RealEstate getProperty() { return property; }
+    public void setProperty(RealEstate property) { this.property = property; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Boolean getPriceNegotiable() { return priceNegotiable; }
+    public void setPriceNegotiable(Boolean priceNegotiable) { this.priceNegotiable = priceNegotiable; }
+
+    public Boolean getIncludesUtilities() { return includesUtilities; }
+    public void setIncludesUtilities(Boolean includesUtilities) { this.includesUtilities = includesUtilities; }
+
+    public BigDecimal getDepositAmount() { return depositAmount; }
+    public void setDepositAmount(BigDecimal depositAmount) { this.depositAmount = depositAmount; }
+
+    public String getStreetNumber() { return streetNumber; }
+    public void setStreetNumber(String streetNumber) { this.streetNumber = streetNumber; }
+
+    public String getLocationDescription() { return locationDescription; }
+    public void setLocationDescription(String locationDescription) { this.locationDescription = locationDescription; }
+
+    public String getGeocodingAccuracy() { return geocodingAccuracy; }
+    public void setGeocodingAccuracy(String geocodingAccuracy) { this.geocodingAccuracy = geocodingAccuracy; }
+
+    public String getGeocodedAddress() { return geocodedAddress; }
+    public void setGeocodedAddress(String geocodedAddress) { this.geocodedAddress = geocodedAddress; }
+
+    public String getOtherHeatingTypeDescription() { return otherHeatingTypeDescription; }
+    public void setOtherHeatingTypeDescription(String otherHeatingTypeDescription) { this.otherHeatingTypeDescription = otherHeatingTypeDescription; }
+
+    public String getOtherWaterSourceDescription() { return otherWaterSourceDescription; }
+    public void setOtherWaterSourceDescription(String otherWaterSourceDescription) { this.otherWaterSourceDescription = otherWaterSourceDescription; }
+
+    public Boolean getHasAirConditioning() { return hasAirConditioning; }
+    public void setHasAirConditioning(Boolean hasAirConditioning) { this.hasAirConditioning = hasAirConditioning; }
+
+    public Boolean getHasInternet() { return hasInternet; }
+    public void setHasInternet(Boolean hasInternet) { this.hasInternet = hasInternet; }
+
+    public Boolean getHasCableTV() { return hasCableTV; }
+    public void setHasCableTV(Boolean hasCableTV) { this.hasCableTV = hasCableTV; }
+
+    public Boolean getHasSecurity() { return hasSecurity; }
+    public void setHasSecurity(Boolean hasSecurity) { this.hasSecurity = hasSecurity; }
+
+    public Integer getParkingSpaces() { return parkingSpaces; }
+    public void setParkingSpaces(Integer parkingSpaces) { this.parkingSpaces = parkingSpaces; }
+
+    public Boolean getHasGarden() { return hasGarden; }
+    public void setHasGarden(Boolean hasGarden) { this.hasGarden = hasGarden; }
+
+    public BigDecimal getGardenSizeSqMt() { return gardenSizeSqMt; }
+    public void setGardenSizeSqMt(BigDecimal gardenSizeSqMt) { this.gardenSizeSqMt = gardenSizeSqMt; }
+
+    public Boolean getHasTerrace() { return hasTerrace; }
+    public void setHasTerrace(Boolean hasTerrace) { this.hasTerrace = hasTerrace; }
+
+    public Integer getBalconyCount() { return balconyCount; }
+    public void setBalconyCount(Integer balconyCount) { this.balconyCount = balconyCount; }
+
+    public Boolean getHasBalcony() { return hasBalcony; }
+    public void setHasBalcony(Boolean hasBalcony) { this.hasBalcony = hasBalcony; }
+
+    public BigDecimal getTerraceSizeSqMt() { return terraceSizeSqMt; }
+    public void setTerraceSizeSqMt(BigDecimal terraceSizeSqMt) { this.terraceSizeSqMt = terraceSizeSqMt; }
+
+    public BigDecimal getBalconySizeSqMt() { return balconySizeSqMt; }
+    public void setBalconySizeSqMt(BigDecimal balconySizeSqMt) { this.balconySizeSqMt = balconySizeSqMt; }
+
+    public Boolean getHasLoggia() { return hasLoggia; }
+    public void setHasLoggia(Boolean hasLoggia) { this.hasLoggia = hasLoggia; }
+
+    public BigDecimal getLoggiaSizeSqMt() { return loggiaSizeSqMt; }
+    public void setLoggiaSizeSqMt(BigDecimal loggiaSizeSqMt) { this.loggiaSizeSqMt = loggiaSizeSqMt; }
+
+    public BigDecimal getBasementSizeSqMt() { return basementSizeSqMt; }
+    public void setBasementSizeSqMt(BigDecimal basementSizeSqMt) { this.basementSizeSqMt = basementSizeSqMt; }
+
+    public BigDecimal getAtticSizeSqMt() { return atticSizeSqMt; }
+    public void setAtticSizeSqMt(BigDecimal atticSizeSqMt) { this.atticSizeSqMt = atticSizeSqMt; }
+
+    public BigDecimal getPlotSizeSqMt() { return plotSizeSqMt; }
+    public void setPlotSizeSqMt(BigDecimal plotSizeSqMt) { this.plotSizeSqMt = plotSizeSqMt; }
+
+    public Boolean getHasSewage() { return hasSewage; }
+    public void setHasSewage(Boolean hasSewage) { this.hasSewage = hasSewage; }
+
+    public Boolean getHasElectricity() { return hasElectricity; }
+    public void setHasElectricity(Boolean hasElectricity) { this.hasElectricity = hasElectricity; }
+
+    public Boolean getHasGas() { return hasGas; }
+    public void setHasGas(Boolean hasGas) { this.hasGas = hasGas; }
+
+    public Boolean getHasConstructionPermit() { return hasConstructionPermit; }
+    public void setHasConstructionPermit(Boolean hasConstructionPermit) { this.hasConstructionPermit = hasConstructionPermit; }
+
+    public Boolean getHasUsePermit() { return hasUsePermit; }
+    public void setHasUsePermit(Boolean hasUsePermit) { this.hasUsePermit = hasUsePermit; }
+
+    public OwnershipType getOwnershipType() { return ownershipType; }
+    public void setOwnershipType(OwnershipType ownershipType) { this.ownershipType = ownershipType; }
+
+    public String getOtherOwnershipTypeDescription() { return otherOwnershipTypeDescription; }
+    public void setOtherOwnershipTypeDescription(String otherOwnershipTypeDescription) { this.otherOwnershipTypeDescription = otherOwnershipTypeDescription; }
+
+    public Boolean getIsRegistered() { return isRegistered; }
+    public void setIsRegistered(Boolean isRegistered) { this.isRegistered = isRegistered; }
+
+    public String getBusinessType() { return businessType; }
+    public void setBusinessType(String businessType) { this.businessType = businessType; }
+
+    public Boolean getHasShowcaseWindow() { return hasShowcaseWindow; }
+    public void setHasShowcaseWindow(Boolean hasShowcaseWindow) { this.hasShowcaseWindow = hasShowcaseWindow; }
+
+    public Boolean getHasStorageRoom() { return hasStorageRoom; }
+    public void setHasStorageRoom(Boolean hasStorageRoom) { this.hasStorageRoom = hasStorageRoom; }
+
+    public Integer getEmployeeCapacity() { return employeeCapacity; }
+    public void setEmployeeCapacity(Integer employeeCapacity) { this.employeeCapacity = employeeCapacity; }
+
+    public String getLandType() { return landType; }
+    public void setLandType(String landType) { this.landType = landType; }
+
+    public Boolean getHasElectricityAccess() { return hasElectricityAccess; }
+    public void setHasElectricityAccess(Boolean hasElectricityAccess) { this.hasElectricityAccess = hasElectricityAccess; }
+
+    public Boolean getHasRoadAccess() { return hasRoadAccess; }
+    public void setHasRoadAccess(Boolean hasRoadAccess) { this.hasRoadAccess = hasRoadAccess; }
+
+    public String getAgentName() { return agentName; }
+    public void setAgentName(String agentName) { this.agentName = agentName; }
+
+    public String getAgentPhone() { return agentPhone; }
+    public void setAgentPhone(String agentPhone) { this.agentPhone = agentPhone; }
+
+    public String getAgentLicense() { return agentLicense; }
+    public void setAgentLicense(String agentLicense) { this.agentLicense = agentLicense; }
+
+    public String getContactEmail() { return contactEmail; }
+    public void setContactEmail(String contactEmail) { this.contactEmail = contactEmail; }
+
+    public String getPreferredContactMethod() { return preferredContactMethod; }
+    public void setPreferredContactMethod(String preferredContactMethod) { this.preferredContactMethod = preferredContactMethod; }
+
+    public LocalDate getAvailableFrom() { return availableFrom; }
+    public void setAvailableFrom(LocalDate availableFrom) { this.availableFrom = availableFrom; }
+
+    public Integer getMinimumRentPeriod() { return minimumRentPeriod; }
+    public void setMinimumRentPeriod(Integer minimumRentPeriod) { this.minimumRentPeriod = minimumRentPeriod; }
+
+    public Map<String, Integer> getCompleteness() { return completeness; }
+    public void setCompleteness(Map<String, Integer> completeness) { this.completeness = completeness; }
+
+    public Map<String, Boolean> getWarningFlags() { return warningFlags; }
+    public void setWarningFlags(Map<String, Boolean> warningFlags) { this.warningFlags = warningFlags; }
+
+    public LocalDateTime getLastDataQualityCheck() { return lastDataQualityCheck; }
+    public void setLastDataQualityCheck(LocalDateTime lastDataQualityCheck) { this.lastDataQualityCheck = lastDataQualityCheck; }
+
+    public Integer getDataQualityVersion() { return dataQualityVersion; }
+    public void setDataQualityVersion(Integer dataQualityVersion) { this.dataQualityVersion = dataQualityVersion; }
+}
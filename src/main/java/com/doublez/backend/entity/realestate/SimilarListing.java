@@ -0,0 +1,89 @@
+package com.doublez.backend.entity.realestate;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Precomputed nearest neighbour of a listing (one row per neighbour, ordered by rank).
+ * Written in bulk by SimilarListingService; read by the /similar endpoints.
+ */
+@Entity
+@Table(name = "similar_listings",
+       indexes = {
+           @Index(name = "uk_similar_listings_listing_rank", columnList = "listing_id,neighbour_rank", unique = true),
+           @Index(name = "idx_similar_listings_similar", columnList = "similar_listing_id")
+       })
+public class SimilarListing {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "listing_id", nullable = false)
+    private Long listingId;
+
+    @Column(name = "similar_listing_id", nullable = false)
+    private Long similarListingId;
+
+    @Column(name = "neighbour_rank", nullable = false)
+    private Integer neighbourRank; // 1 = closest
+
+    @Column(name = "distance", nullable = false)
+    private Double distance;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    public SimilarListing() {}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getListingId() {
+		return listingId;
+	}
+
+	public void setListingId(Long listingId) {
+		this.listingId = listingId;
+	}
+
+	public Long getSimilarListingId() {
+		return similarListingId;
+	}
+
+	public void setSimilarListingId(Long similarListingId) {
+		this.similarListingId = similarListingId;
+	}
+
+	public Integer getNeighbourRank() {
+		return neighbourRank;
+	}
+
+	public void setNeighbourRank(Integer neighbourRank) {
+		this.neighbourRank = neighbourRank;
+	}
+
+	public Double getDistance() {
+		return distance;
+	}
+
+	public void setDistance(Double distance) {
+		this.distance = distance;
+	}
+
+	public LocalDateTime getComputedAt() {
+		return computedAt;
+	}
+
+	public void setComputedAt(LocalDateTime computedAt) {
+		this.computedAt = computedAt;
+	}
+}
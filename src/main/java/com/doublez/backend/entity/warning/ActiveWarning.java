@@ -2,12 +2,15 @@ package com.doublez.backend.entity.warning;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import com.doublez.backend.entity.agency.Agency;
 import com.doublez.backend.entity.user.User;
 import com.doublez.backend.enums.warnings.WarningStatus;
-import com.doublez.backend.utils.JsonUtils;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -100,8 +103,9 @@ public class ActiveWarning {
     private LocalDateTime snoozedUntil;
     
     // === CONTEXT DATA ===
-    @Column(name = "details_json", columnDefinition = "JSON")
-    private String detailsJson; // Additional context
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "details_json", columnDefinition = "jsonb")
+    private Map<String, Object> details; // Additional context
     
     @Column(name = "action_taken", length = 500)
     private String actionTaken; // What user did to resolve
@@ -199,16 +203,15 @@ public class ActiveWarning {
     /**
      * Get details as map (convenience method for JSON field)
      */
-    @Transient
     public Map<String, Object> getDetails() {
-        return JsonUtils.parseStringObjectMap(detailsJson);
+        return details != null ? details : new HashMap<>();
     }
 
     /**
      * Set details from map (convenience method for JSON field)
      */
     public void setDetails(Map<String, Object> details) {
-        this.detailsJson = JsonUtils.toJson(details);
+        this.details = details;
     }
 
     /**
@@ -385,14 +388,6 @@ public class ActiveWarning {
 		this.snoozedUntil = snoozedUntil;
 	}
 
-	public String getDetailsJson() {
-		return detailsJson;
-	}
-
-	public void setDetailsJson(String detailsJson) {
-		this.detailsJson = detailsJson;
-	}
-
 	public String getActionTaken() {
 		return actionTaken;
 	}
@@ -0,0 +1,8 @@
+package com.doublez.backend.enums;
+
+public enum BulkOperationType {
+    UPDATE_STATUS,
+    TRANSFER_OWNERSHIP,
+    DELETE_LISTINGS,
+    DELETE_USER
+}
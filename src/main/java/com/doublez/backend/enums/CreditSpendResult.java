@@ -0,0 +1,24 @@
+package com.doublez.backend.enums;
+
+public enum CreditSpendResult {
+    SPENT("Credits deducted"),
+    ALREADY_PROCESSED("Request with this idempotency key was already applied"),
+    INSUFFICIENT_CREDITS("Insufficient credits");
+    
+    private final String description;
+    
+    CreditSpendResult(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    /**
+     * True when the caller may treat the purchase as paid (first time or replay)
+     */
+    public boolean isSuccessful() {
+        return this != INSUFFICIENT_CREDITS;
+    }
+}
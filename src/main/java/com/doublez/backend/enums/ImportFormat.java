@@ -0,0 +1,23 @@
+package com.doublez.backend.enums;
+
+public enum ImportFormat {
+    CSV,
+    XML;
+
+    /**
+     * Format from an uploaded file name's extension, or null when unsupported
+     */
+    public static ImportFormat fromFilename(String filename) {
+        if (filename == null) {
+            return null;
+        }
+        String lower = filename.toLowerCase();
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".xml")) {
+            return XML;
+        }
+        return null;
+    }
+}
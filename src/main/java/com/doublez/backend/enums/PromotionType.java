@@ -0,0 +1,33 @@
+package com.doublez.backend.enums;
+
+/**
+ * Time-limited listing promotions stored on real_estates.
+ * Each one has an expiry column and the columns to reset when it lapses.
+ */
+public enum PromotionType {
+    FEATURED("featured_until", "is_featured = false, featured_at = NULL"),
+    BOOST("boosted_until", "boost_type = NULL"),
+    URGENT_BADGE("urgent_badge_until", "has_urgent_badge = false"),
+    HIGHLIGHTED("highlighted_until", "is_highlighted = false"),
+    CATEGORY_FEATURED("category_featured_until", "is_category_featured = false"),
+    CROSS_PROMOTION("cross_promotion_until", null);
+    
+    private final String untilColumn;
+    private final String resetAssignments;
+    
+    PromotionType(String untilColumn, String resetAssignments) {
+        this.untilColumn = untilColumn;
+        this.resetAssignments = resetAssignments;
+    }
+    
+    public String getUntilColumn() {
+        return untilColumn;
+    }
+    
+    /**
+     * Extra SET assignments besides clearing the expiry column (may be null)
+     */
+    public String getResetAssignments() {
+        return resetAssignments;
+    }
+}
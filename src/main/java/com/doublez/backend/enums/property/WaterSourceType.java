@@ -1,22 +1,54 @@
 package com.doublez.backend.enums.property;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum WaterSourceType {
-    CITY_NETWORK("Gradski vodovod"),
-    WELL("Bunar"),
-    SPRING("Izvor"),
-    RAINWATER("Kišnica"),
-    TANK("Rezervoar"),
-    OTHER("Ostalo");
+    // Bit positions are persisted in real_estates.water_source_mask - never renumber
+    CITY_NETWORK("Gradski vodovod", 0),
+    WELL("Bunar", 1),
+    SPRING("Izvor", 2),
+    RAINWATER("Kišnica", 3),
+    TANK("Rezervoar", 4),
+    OTHER("Ostalo", 5);
 
     private final String displayName;
+    private final int bitPosition;
 
-    WaterSourceType(String displayName) {
+    WaterSourceType(String displayName, int bitPosition) {
         this.displayName = displayName;
+        this.bitPosition = bitPosition;
     }
 
     public String getDisplayName() {
         return displayName;
     }
-}
 
+    public int getBitPosition() {
+        return bitPosition;
+    }
+
+    public short bit() {
+        return (short) (1 << bitPosition);
+    }
 
+    public static short toMask(Set<WaterSourceType> sources) {
+        short mask = 0;
+        if (sources != null) {
+            for (WaterSourceType source : sources) {
+                mask |= source.bit();
+            }
+        }
+        return mask;
+    }
+
+    public static Set<WaterSourceType> fromMask(short mask) {
+        Set<WaterSourceType> sources = EnumSet.noneOf(WaterSourceType.class);
+        for (WaterSourceType source : values()) {
+            if ((mask & source.bit()) != 0) {
+                sources.add(source);
+            }
+        }
+        return sources;
+    }
+}
@@ -32,7 +32,8 @@ public class GlobalExceptionHandler {
         LimitationExceededException.class,
         UserNotFoundException.class,
         FeatureNotImplementedException.class,  // 🆕 ADDED
-        BusinessRuleException.class           // 🆕 ADDED (if you have this)
+        BusinessRuleException.class,          // 🆕 ADDED (if you have this)
+        PermissionException.class
     })
     public ResponseEntity<ApiResponse<?>> handleCustomExceptions(Exception ex) {
         HttpStatus status = determineStatus(ex);
@@ -96,6 +97,15 @@ public class GlobalExceptionHandler {
                 ));
         }
 
+        if (ex instanceof PermissionException permissionEx) {
+            return ResponseEntity.status(status)
+                .body(ApiResponse.error(
+                    ex.getMessage(),
+                    Map.of("errorType", "PERMISSION_DENIED",
+                           "permission", String.valueOf(permissionEx.getPermission()))
+                ));
+        }
+
         if (ex instanceof ImageOperationException) {
             return ResponseEntity.status(status)
                 .body(ApiResponse.error("Image operation failed: " + ex.getMessage()));
@@ -136,6 +146,7 @@ public class GlobalExceptionHandler {
         if (ex instanceof UserNotFoundException) return HttpStatus.NOT_FOUND;
         if (ex instanceof FeatureNotImplementedException) return HttpStatus.NOT_IMPLEMENTED; // 🆕 501 status
         if (ex instanceof BusinessRuleException) return HttpStatus.BAD_REQUEST;             // 🆕 400 status
+        if (ex instanceof PermissionException) return HttpStatus.FORBIDDEN;
         return HttpStatus.INTERNAL_SERVER_ERROR;
     }
 }
\ No newline at end of file
@@ -12,10 +12,17 @@ import com.doublez.backend.entity.agency.Agency;
 import com.doublez.backend.entity.agency.Agent;
 import com.doublez.backend.entity.agency.Invitation;
 import com.doublez.backend.entity.user.User;
+import com.doublez.backend.service.user.ActivityTrackingService;
 
 @Component
 public class AgentMapper {
     
+    private final ActivityTrackingService activityTrackingService;
+    
+    public AgentMapper(ActivityTrackingService activityTrackingService) {
+        this.activityTrackingService = activityTrackingService;
+    }
+    
     // ===== AGENT MAPPING =====
     
     public AgentResponseDTO toResponseDTO(Agent agent) {
@@ -46,7 +53,7 @@ public class AgentMapper {
         dto.setRoleDisplayName(agent.getRole() != null ? agent.getRole().getDisplayName() : null);
         dto.setIsActive(agent.getIsActive());
         dto.setJoinDate(agent.getJoinDate());
-        dto.setLastActiveDate(agent.getLastActiveDate());
+        dto.setLastActiveDate(activityTrackingService.lastActive(agent));
         dto.setMaxListings(agent.getMaxListings());
         dto.setCanManageListings(agent.getCanManageListings());
         dto.setCanViewAnalytics(agent.getCanViewAnalytics());
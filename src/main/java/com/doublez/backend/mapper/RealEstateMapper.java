@@ -12,20 +12,21 @@ import org.springframework.stereotype.Component;
 
 import com.doublez.backend.dto.realestate.RealEstateCreateDTO;
 import com.doublez.backend.dto.realestate.RealEstateResponseDTO;
+import com.doublez.backend.dto.realestate.RealEstateSummaryDTO;
 import com.doublez.backend.dto.realestate.RealEstateUpdateDTO;
 import com.doublez.backend.entity.realestate.PropertyFeature;
 import com.doublez.backend.entity.realestate.RealEstate;
 import com.doublez.backend.entity.user.User;
 import com.doublez.backend.enums.property.FurnitureStatus;
-import com.doublez.backend.repository.realestate.PropertyFeatureRepository;
+import com.doublez.backend.service.realestate.FeatureCatalog;
 
 @Component
 public class RealEstateMapper {
 
-    private final PropertyFeatureRepository featureRepository;
+    private final FeatureCatalog featureCatalog;
     
-    public RealEstateMapper(PropertyFeatureRepository featureRepository) {
-        this.featureRepository = featureRepository;
+    public RealEstateMapper(FeatureCatalog featureCatalog) {
+        this.featureCatalog = featureCatalog;
     }
 
     public RealEstate toEntity(RealEstateCreateDTO createDto, User owner, List<String> imageUrls) {
@@ -147,7 +148,7 @@ public class RealEstateMapper {
         // ===== MEDIA & FEATURES =====
         if (createDto.getFeatureCodes() != null && !createDto.getFeatureCodes().isEmpty()) {
             Set<PropertyFeature> features = convertFeatureCodesToFeatures(createDto.getFeatureCodes());
-            entity.setFeatures(features);
+            applyFeatures(entity, features);
         }
         
         if (imageUrls != null && !imageUrls.isEmpty()) {
@@ -161,12 +162,20 @@ public class RealEstateMapper {
         return entity;
     }
 
+    /**
+     * Set the feature collection and its denormalized feature_mask together
+     */
+    private void applyFeatures(RealEstate entity, Set<PropertyFeature> features) {
+        entity.setFeatures(features);
+        entity.setFeatureMask(featureCatalog.snapshot().maskOf(features));
+    }
+
     private Set<PropertyFeature> convertFeatureCodesToFeatures(List<String> featureCodes) {
         if (featureCodes == null || featureCodes.isEmpty()) {
             return new HashSet<>();
         }
         
-        List<PropertyFeature> features = featureRepository.findByCodeIn(featureCodes);
+        List<PropertyFeature> features = featureCatalog.snapshot().resolve(featureCodes);
         
         // Check if all requested features were found
         Set<String> foundCodes = features.stream()
@@ -185,7 +194,14 @@ public class RealEstateMapper {
     }
 
     public RealEstateResponseDTO toResponseDto(RealEstate entity) {
-        return new RealEstateResponseDTO(entity);
+        return new RealEstateResponseDTO(entity, featureCatalog.snapshot());
+    }
+
+    /**
+     * List and search form; never touches the lazy details row
+     */
+    public RealEstateSummaryDTO toSummaryDto(RealEstate entity) {
+        return new RealEstateSummaryDTO(entity, featureCatalog.snapshot());
     }
 
     public void updateEntity(RealEstateUpdateDTO updateDto, RealEstate entity) {
@@ -310,7 +326,7 @@ public class RealEstateMapper {
             if (Boolean.TRUE.equals(updateDto.getReplaceFeatures())) {
                 // Replace all features with new ones
                 Set<PropertyFeature> newFeatures = convertFeatureCodesToFeatures(updateDto.getFeatureCodes());
-                entity.setFeatures(newFeatures);
+                applyFeatures(entity, newFeatures);
             } else {
                 // Merge features: add new ones, keep existing
                 Set<PropertyFeature> currentFeatures = entity.getFeatures();
@@ -320,7 +336,7 @@ public class RealEstateMapper {
                 
                 Set<PropertyFeature> newFeatures = convertFeatureCodesToFeatures(updateDto.getFeatureCodes());
                 currentFeatures.addAll(newFeatures);
-                entity.setFeatures(currentFeatures);
+                applyFeatures(entity, currentFeatures);
             }
         }
         
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.doublez.backend.dto.agent.AgentMembership;
 import com.doublez.backend.entity.agency.Agency;
 import com.doublez.backend.entity.agency.Agent;
 import com.doublez.backend.entity.user.User;
@@ -22,6 +23,13 @@ public interface AgentRepository extends JpaRepository<Agent, Long> {
     // Find agent by user ID and agency ID
     @Query("SELECT a FROM Agent a WHERE a.user.id = :userId AND a.agency.id = :agencyId")
     Optional<Agent> findByUserIdAndAgencyId(@Param("userId") Long userId, @Param("agencyId") Long agencyId);
+
+    // All of a user's agent seats as flat rows (see AgentMembershipService)
+    @Query("SELECT new com.doublez.backend.dto.agent.AgentMembership(a.id, a.agency.id, a.role, " +
+           "COALESCE(a.isActive, false), COALESCE(a.canManageListings, false), COALESCE(a.canViewAnalytics, false), " +
+           "COALESCE(a.canManageBilling, false), COALESCE(a.canInviteAgents, false)) " +
+           "FROM Agent a WHERE a.user.id = :userId")
+    List<AgentMembership> findMembershipsByUserId(@Param("userId") Long userId);
     
     // Find all agents for an agency
     List<Agent> findByAgency(Agency agency);
@@ -32,6 +40,10 @@ public interface AgentRepository extends JpaRepository<Agent, Long> {
     // Find all agents for an agency that are active
     List<Agent> findByAgencyAndIsActive(Agency agency, Boolean isActive);
     
+    // User ids of active agents, in agent order (used for bulk credit distribution)
+    @Query("SELECT a.user.id FROM Agent a WHERE a.agency.id = :agencyId AND a.isActive = true ORDER BY a.id")
+    List<Long> findActiveUserIdsByAgencyId(@Param("agencyId") Long agencyId);
+    
     // Find all agents for a user
     List<Agent> findByUser(User user);
     
@@ -45,7 +45,7 @@ public interface UserRepository extends JpaRepository<User, Long>{
     @Query("SELECT COUNT(re) FROM RealEstate re WHERE re.owner.id = :userId")
     Long countActiveRealEstatesByUser(@Param("userId") Long userId);
     
-    @Query("SELECT COUNT(i) FROM RealEstate re JOIN re.images i WHERE re.owner.id = :userId")
+    @Query("SELECT COALESCE(SUM(re.imageCount), 0) FROM RealEstate re WHERE re.owner.id = :userId")
     Long countImagesByUser(@Param("userId") Long userId);
     
     // 🆕 TRIAL-RELATED QUERIES
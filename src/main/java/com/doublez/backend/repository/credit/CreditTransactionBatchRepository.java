@@ -0,0 +1,81 @@
+package com.doublez.backend.repository.credit;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.doublez.backend.enums.CreditTransactionType;
+import com.doublez.backend.enums.PaymentStatus;
+
+/**
+ * JDBC-batched inserts into credit_transactions for bulk ledger writes.
+ *
+ * CreditTransaction uses IDENTITY ids, which makes Hibernate insert row by row;
+ * this goes through the same connection (and transaction) as the JPA repositories
+ * but sends the rows as JDBC batches.
+ */
+@Repository
+public class CreditTransactionBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO credit_transactions (user_id, agency_id, credit_change, balance_after, transaction_type, " +
+        "payment_status, description, reference_number, created_at, processed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CreditTransactionBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert one completed transaction per user (user id -> credit change), with the user's
+     * balance after the change from balancesByUserId
+     */
+    public int insertCompleted(Map<Long, Integer> creditsByUserId, Map<Long, Integer> balancesByUserId, Long agencyId,
+                               CreditTransactionType type, String description, String referenceNumber,
+                               LocalDateTime now) {
+        if (creditsByUserId.isEmpty()) {
+            return 0;
+        }
+
+        List<Map.Entry<Long, Integer>> rows = new ArrayList<>(creditsByUserId.entrySet());
+        Timestamp timestamp = Timestamp.valueOf(now);
+
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.getKey());
+            if (agencyId != null) {
+                ps.setLong(2, agencyId);
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setInt(3, row.getValue());
+            Integer balanceAfter = balancesByUserId.get(row.getKey());
+            if (balanceAfter != null) {
+                ps.setInt(4, balanceAfter);
+            } else {
+                ps.setNull(4, Types.INTEGER);
+            }
+            ps.setString(5, type.name());
+            ps.setString(6, PaymentStatus.COMPLETED.name());
+            ps.setString(7, description);
+            ps.setString(8, referenceNumber);
+            ps.setTimestamp(9, timestamp);
+            ps.setTimestamp(10, timestamp);
+        });
+
+        // Drivers may report SUCCESS_NO_INFO (-2) for rewritten batches; count rows sent instead
+        int inserted = 0;
+        for (int[] batch : counts) {
+            inserted += batch.length;
+        }
+        return inserted;
+    }
+}
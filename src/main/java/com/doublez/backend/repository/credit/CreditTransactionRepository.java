@@ -55,4 +55,6 @@ public interface CreditTransactionRepository extends JpaRepository<CreditTransac
             Pageable pageable);
     
     Page<CreditTransaction> findByAgencyOrderByCreatedAtDesc(Agency agency, Pageable pageable);
+    
+    boolean existsByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
 }
\ No newline at end of file
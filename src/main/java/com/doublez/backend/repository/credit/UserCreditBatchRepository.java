@@ -0,0 +1,70 @@
+package com.doublez.backend.repository.credit;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Bulk balance updates on user_credits that report the new balances (UPDATE ... RETURNING),
+ * so the matching ledger rows can carry balance_after.
+ *
+ * Pending JPA changes are flushed before the statement and the persistence context is cleared
+ * after it, as the JPA repositories do for their bulk updates, so no stale UserCredit stays managed.
+ */
+@Repository
+public class UserCreditBatchRepository {
+
+    // Every user gets the credits, the bonus user also gets the bonus
+    private static final String INCREMENT_SQL =
+        "UPDATE user_credits SET " +
+        "current_balance = current_balance + ? + CASE WHEN id = ? THEN ? ELSE 0 END, " +
+        "lifetime_credits_earned = lifetime_credits_earned + ? + CASE WHEN id = ? THEN ? ELSE 0 END, " +
+        "last_updated = ? " +
+        "WHERE id = ANY(?) RETURNING id, current_balance";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UserCreditBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add credits to every user (plus bonus for bonusUserId); returns user id -> new balance
+     * for the rows that were updated
+     */
+    public Map<Long, Integer> incrementBalances(List<Long> userIds, int credits, Long bonusUserId, int bonus,
+                                                LocalDateTime now) {
+        Map<Long, Integer> balances = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return balances;
+        }
+
+        entityManager.flush();
+        Long[] ids = userIds.toArray(Long[]::new);
+        jdbcTemplate.query(INCREMENT_SQL, ps -> {
+            ps.setInt(1, credits);
+            ps.setLong(2, bonusUserId);
+            ps.setInt(3, bonus);
+            ps.setInt(4, credits);
+            ps.setLong(5, bonusUserId);
+            ps.setInt(6, bonus);
+            ps.setTimestamp(7, Timestamp.valueOf(now));
+            ps.setArray(8, ps.getConnection().createArrayOf("bigint", ids));
+        }, rs -> {
+            balances.put(rs.getLong("id"), rs.getInt("current_balance"));
+        });
+        entityManager.clear();
+        return balances;
+    }
+}
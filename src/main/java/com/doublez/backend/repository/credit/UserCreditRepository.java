@@ -1,13 +1,16 @@
 package com.doublez.backend.repository.credit;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.doublez.backend.dto.credit.TeamCreditAggregate;
 import com.doublez.backend.entity.credit.UserCredit;
 import com.doublez.backend.entity.user.User;
 
@@ -24,4 +27,41 @@ public interface UserCreditRepository extends JpaRepository<UserCredit, Long> {
     // ADD THIS METHOD:
     Optional<UserCredit> findByUser(User user);
     
+    // ===== ATOMIC LEDGER OPERATIONS =====
+    // Single conditional UPDATE: the row lock taken by the statement serializes concurrent
+    // spends, and the balance check happens in the same statement, so no lost updates.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserCredit uc SET uc.currentBalance = uc.currentBalance - :credits, " +
+           "uc.lifetimeCreditsSpent = uc.lifetimeCreditsSpent + :credits, uc.lastUpdated = :now " +
+           "WHERE uc.id = :userId AND uc.currentBalance >= :credits")
+    int deductIfSufficient(@Param("userId") Long userId, 
+                           @Param("credits") Integer credits, 
+                           @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserCredit uc SET uc.currentBalance = uc.currentBalance + :credits, " +
+           "uc.lifetimeCreditsEarned = uc.lifetimeCreditsEarned + :credits, uc.lastUpdated = :now " +
+           "WHERE uc.id = :userId")
+    int incrementBalance(@Param("userId") Long userId, 
+                         @Param("credits") Integer credits, 
+                         @Param("now") LocalDateTime now);
+    
+    @Query("SELECT uc.currentBalance FROM UserCredit uc WHERE uc.id = :userId")
+    Optional<Integer> findBalanceByUserId(@Param("userId") Long userId);
+    
+    // ===== BULK TEAM OPERATIONS =====
+    // Create zero-balance rows for users that never had one, so the bulk UPDATE covers everyone
+    @Modifying
+    @Query(value = "INSERT INTO user_credits (id, current_balance, lifetime_credits_earned, lifetime_credits_spent, last_updated) " +
+                   "SELECT u.id, 0, 0, 0, :now FROM users u WHERE u.id IN (:userIds) " +
+                   "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    int createMissingForUsers(@Param("userIds") List<Long> userIds, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT new com.doublez.backend.dto.credit.TeamCreditAggregate(" +
+           "COUNT(a), COALESCE(SUM(uc.currentBalance), 0L), " +
+           "COALESCE(SUM(CASE WHEN uc.currentBalance > 0 THEN 1L ELSE 0L END), 0L)) " +
+           "FROM Agent a LEFT JOIN UserCredit uc ON uc.id = a.user.id " +
+           "WHERE a.agency.id = :agencyId AND a.isActive = true")
+    TeamCreditAggregate getTeamCreditAggregate(@Param("agencyId") Long agencyId);
+    
 }
@@ -0,0 +1,14 @@
+package com.doublez.backend.repository.realestate;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.doublez.backend.entity.realestate.BulkOperationJob;
+
+@Repository
+public interface BulkOperationJobRepository extends JpaRepository<BulkOperationJob, Long> {
+
+    List<BulkOperationJob> findTop50ByOrderByIdDesc();
+}
@@ -0,0 +1,14 @@
+package com.doublez.backend.repository.realestate;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.doublez.backend.entity.realestate.ListingImage;
+
+@Repository
+public interface ListingImageRepository extends JpaRepository<ListingImage, Long> {
+
+    List<ListingImage> findByPropertyPropertyIdOrderByPositionAsc(Long propertyId);
+}
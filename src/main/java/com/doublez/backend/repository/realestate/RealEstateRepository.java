@@ -43,7 +43,7 @@ public interface RealEstateRepository extends JpaRepository<RealEstate, Long>, J
     @Query("SELECT re FROM RealEstate re WHERE " +
            "(LOWER(re.city) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(re.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(re.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(re.details.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(re.address) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
            "re.isActive = true")
     Page<RealEstate> fullTextSearch(@Param("searchTerm") String searchTerm, Pageable pageable);
@@ -109,7 +109,8 @@ public interface RealEstateRepository extends JpaRepository<RealEstate, Long>, J
     // ===== NEW ENHANCED METHODS =====
 
     // NEW: Find popular properties by view count
-    @Query("SELECT re FROM RealEstate re WHERE re.isActive = true ORDER BY re.viewCount DESC, re.createdAt DESC")
+    @Query("SELECT re FROM RealEstate re JOIN re.propertyMetrics pm WHERE re.isActive = true " +
+           "ORDER BY pm.viewCount DESC, re.createdAt DESC")
     List<RealEstate> findPopularProperties(Pageable pageable);
 
     // NEW: Find recently added properties
@@ -123,7 +124,7 @@ public interface RealEstateRepository extends JpaRepository<RealEstate, Long>, J
            "re.price BETWEEN :minPrice AND :maxPrice AND " +
            "re.propertyId != :excludeId AND " +
            "re.isActive = true " +
-           "ORDER BY ABS(re.price - :targetPrice), re.viewCount DESC")
+           "ORDER BY ABS(re.price - :targetPrice), re.rankScore DESC")
     List<RealEstate> findSimilarProperties(
             @Param("propertyType") PropertyType propertyType,
             @Param("city") String city,
@@ -131,6 +132,11 @@ public interface RealEstateRepository extends JpaRepository<RealEstate, Long>, J
             @Param("excludeId") Long excludeId,
             Pageable pageable);
 
+    // Precomputed neighbours (similar_listings), closest first
+    @Query("SELECT re FROM SimilarListing sl JOIN RealEstate re ON re.propertyId = sl.similarListingId " +
+           "WHERE sl.listingId = :listingId AND re.isActive = true ORDER BY sl.neighbourRank")
+    List<RealEstate> findPrecomputedSimilar(@Param("listingId") Long listingId, Pageable pageable);
+
     // NEW: Find properties by multiple criteria for advanced search
     @Query("SELECT re FROM RealEstate re WHERE " +
            "(:propertyType IS NULL OR re.propertyType = :propertyType) AND " +
@@ -188,10 +194,10 @@ public interface RealEstateRepository extends JpaRepository<RealEstate, Long>, J
     List<RealEstate> findFeaturedPropertiesExpiringSoon(@Param("thresholdDate") LocalDateTime thresholdDate);
 
     // NEW: Find properties with high engagement
-    @Query("SELECT re FROM RealEstate re WHERE " +
+    @Query("SELECT re FROM RealEstate re JOIN re.propertyMetrics pm WHERE " +
            "re.isActive = true AND " +
-           "(re.viewCount > :minViews OR re.contactCount > :minContacts OR re.favoriteCount > :minFavorites) " +
-           "ORDER BY (re.viewCount + re.contactCount * 2 + re.favoriteCount * 3) DESC")
+           "(pm.viewCount > :minViews OR pm.contactCount > :minContacts OR pm.favoriteCount > :minFavorites) " +
+           "ORDER BY (pm.viewCount + pm.contactCount * 2 + pm.favoriteCount * 3) DESC")
     List<RealEstate> findHighEngagementProperties(
             @Param("minViews") Long minViews,
             @Param("minContacts") Long minContacts,
@@ -209,18 +215,72 @@ public interface RealEstateRepository extends JpaRepository<RealEstate, Long>, J
             @Param("listingType") ListingType listingType,
             Pageable pageable);
 
-    // NEW: Bulk update methods
+    // NEW: Bulk update methods (called with bounded id chunks by BulkListingOperationService)
+    @Modifying
+    @Query("UPDATE RealEstate re SET re.updatedAt = :updatedAt WHERE re.propertyId = :propertyId")
+    int touchUpdatedAt(@Param("propertyId") Long propertyId, @Param("updatedAt") LocalDateTime updatedAt);
+
     @Modifying
-    @Query("UPDATE RealEstate re SET re.isActive = :isActive WHERE re.propertyId IN :propertyIds")
+    @Query("UPDATE RealEstate re SET re.isActive = :isActive, re.updatedAt = :updatedAt WHERE re.propertyId IN :propertyIds")
     int bulkUpdateActiveStatus(@Param("propertyIds") List<Long> propertyIds, 
-                              @Param("isActive") Boolean isActive);
+                              @Param("isActive") Boolean isActive,
+                              @Param("updatedAt") LocalDateTime updatedAt);
 
     @Modifying
-    @Query("UPDATE RealEstate re SET re.isFeatured = :isFeatured, re.featuredAt = :featuredAt, re.featuredUntil = :featuredUntil WHERE re.propertyId IN :propertyIds")
+    @Query("UPDATE RealEstate re SET re.isFeatured = :isFeatured, re.featuredAt = :featuredAt, re.featuredUntil = :featuredUntil, " +
+           "re.updatedAt = :updatedAt WHERE re.propertyId IN :propertyIds")
     int bulkUpdateFeaturedStatus(@Param("propertyIds") List<Long> propertyIds,
                                 @Param("isFeatured") Boolean isFeatured,
                                 @Param("featuredAt") LocalDateTime featuredAt,
-                                @Param("featuredUntil") LocalDateTime featuredUntil);
+                                @Param("featuredUntil") LocalDateTime featuredUntil,
+                                @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE RealEstate re SET re.owner = :owner, re.updatedAt = :updatedAt WHERE re.propertyId IN :propertyIds")
+    int bulkTransferOwnership(@Param("propertyIds") List<Long> propertyIds,
+                              @Param("owner") User owner,
+                              @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query(value = "SELECT DISTINCT user_id FROM real_estates WHERE property_id IN (:propertyIds) AND user_id IS NOT NULL",
+           nativeQuery = true)
+    List<Long> findOwnerIdsByPropertyIds(@Param("propertyIds") List<Long> propertyIds);
+
+    @Query(value = "SELECT image_url FROM listing_images WHERE property_id IN (:propertyIds)", nativeQuery = true)
+    List<String> findImageUrlsByPropertyIds(@Param("propertyIds") List<Long> propertyIds);
+
+    // Keyset walk over a user's own and agency listings (account deletion)
+    @Query(value = "SELECT property_id FROM real_estates WHERE (user_id = :userId OR agency_id = :agencyId) " +
+                   "AND property_id > :afterId ORDER BY property_id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsByOwnerOrAgencyAfter(@Param("userId") Long userId, @Param("agencyId") Long agencyId,
+                                           @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM real_estates WHERE user_id = :userId OR agency_id = :agencyId", nativeQuery = true)
+    long countByOwnerOrAgency(@Param("userId") Long userId, @Param("agencyId") Long agencyId);
+
+    // Set-based listing deletion: child rows first, then the listings (no entity loading or cascades)
+    @Modifying
+    @Query(value = "DELETE FROM real_estate_features_map WHERE property_id IN (:propertyIds)", nativeQuery = true)
+    int deleteFeatureMappingsByPropertyIds(@Param("propertyIds") List<Long> propertyIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM listing_images WHERE property_id IN (:propertyIds)", nativeQuery = true)
+    int deleteImageRowsByPropertyIds(@Param("propertyIds") List<Long> propertyIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM property_metrics WHERE property_id IN (:propertyIds)", nativeQuery = true)
+    int deleteMetricsByPropertyIds(@Param("propertyIds") List<Long> propertyIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM real_estate_location_metadata WHERE property_id IN (:propertyIds)", nativeQuery = true)
+    int deleteLocationMetadataByPropertyIds(@Param("propertyIds") List<Long> propertyIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM leads WHERE property_id IN (:propertyIds)", nativeQuery = true)
+    int deleteLeadsByPropertyIds(@Param("propertyIds") List<Long> propertyIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM real_estates WHERE property_id IN (:propertyIds)", nativeQuery = true)
+    int deleteByPropertyIds(@Param("propertyIds") List<Long> propertyIds);
 
     // NEW: Analytics methods
     @Query("SELECT AVG(re.price) FROM RealEstate re WHERE re.isActive = true AND re.listingType = :listingType")
@@ -251,6 +311,16 @@ public interface RealEstateRepository extends JpaRepository<RealEstate, Long>, J
     @Query("SELECT re.imageCount FROM RealEstate re WHERE re.id = :realEstateId")
     Integer getImageCountByRealEstateId(@Param("realEstateId") Long realEstateId);
     
+    // Image keys in byte order, keyset-paged so they can be merged against the S3 listing
+    // without loading the catalogue. Backed by idx_listing_images_s3_key.
+    @Query(value = "SELECT s3_key COLLATE \"C\" AS image_key FROM listing_images " +
+           "WHERE s3_key COLLATE \"C\" > :afterKey " +
+           "ORDER BY 1 LIMIT :limit", nativeQuery = true)
+    List<String> findImageKeysAfter(@Param("afterKey") String afterKey, @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM listing_images WHERE s3_key IS NOT NULL", nativeQuery = true)
+    long countImageReferences();
+    
  // Custom query methods for visibility
     @Query("SELECT re FROM RealEstate re WHERE " +
            "re.isActive = true OR " +
@@ -0,0 +1,96 @@
+package com.doublez.backend.service.agency;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.doublez.backend.dto.agent.AgentMembership;
+import com.doublez.backend.repository.AgentRepository;
+
+/**
+ * A user's agent memberships (agency, role and permission flags) for authorization checks.
+ *
+ * Loaded with one query per user and cached in "agentMemberships" with a short TTL, so
+ * repeated checks across requests do not go back to the agents table. Writes to a user's
+ * agent rows must call evict(userId); it runs after commit so a concurrent reader cannot
+ * re-cache the old rows. Per-request memoization is done by RequestSecurityContext.
+ */
+@Service
+public class AgentMembershipService {
+
+    public static final String CACHE_NAME = "agentMemberships";
+
+    private final AgentRepository agentRepository;
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+
+    public AgentMembershipService(AgentRepository agentRepository, ObjectProvider<CacheManager> cacheManagerProvider) {
+        this.agentRepository = agentRepository;
+        this.cacheManagerProvider = cacheManagerProvider;
+    }
+
+    public List<AgentMembership> getMemberships(Long userId) {
+        Cache cache = getCache();
+        if (cache != null) {
+            AgentMembership[] cached = cache.get(userId, AgentMembership[].class);
+            if (cached != null) {
+                return List.of(cached);
+            }
+        }
+
+        List<AgentMembership> memberships = agentRepository.findMembershipsByUserId(userId);
+        if (cache != null) {
+            cache.put(userId, memberships.toArray(new AgentMembership[0]));
+        }
+        return memberships;
+    }
+
+    public Optional<AgentMembership> getMembership(Long userId, Long agencyId) {
+        return findIn(getMemberships(userId), agencyId);
+    }
+
+    public static Optional<AgentMembership> findIn(List<AgentMembership> memberships, Long agencyId) {
+        if (agencyId == null) {
+            return Optional.empty();
+        }
+        return memberships.stream()
+                .filter(membership -> agencyId.equals(membership.agencyId()))
+                .findFirst();
+    }
+
+    /**
+     * Evict a user's cached memberships once the current transaction commits
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        } else {
+            evictNow(userId);
+        }
+    }
+
+    private void evictNow(Long userId) {
+        Cache cache = getCache();
+        if (cache != null) {
+            cache.evict(userId);
+        }
+    }
+
+    private Cache getCache() {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        return cacheManager != null ? cacheManager.getCache(CACHE_NAME) : null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.doublez.backend.service.agency;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -10,6 +11,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.doublez.backend.config.SchedulingConfig;
 import com.doublez.backend.dto.agent.AgentCreateDTO;
 import com.doublez.backend.dto.invitation.AcceptInvitationDTO;
 import com.doublez.backend.dto.invitation.InvitationCreateDTO;
@@ -25,6 +27,7 @@ import com.doublez.backend.repository.AgencyRepository;
 import com.doublez.backend.repository.InvitationRepository;
 import com.doublez.backend.repository.UserRepository;
 import com.doublez.backend.service.email.ResendEmailService;
+import com.doublez.backend.service.scheduling.ClusterJobService;
 
 @Service
 @Transactional
@@ -50,6 +53,9 @@ public class InvitationService {
     @Autowired
     private ResendEmailService emailService;
     
+    @Autowired
+    private ClusterJobService clusterJobService;
+    
     /**
      * Send team invitation
      */
@@ -215,21 +221,24 @@ public class InvitationService {
     }
     
     /**
-     * Scheduled task to mark expired invitations
+     * Scheduled task to mark expired invitations (one instance per night)
      */
-    @Scheduled(cron = "0 0 2 * * ?") // Run daily at 2 AM
+    @Scheduled(cron = "0 0 2 * * ?", scheduler = SchedulingConfig.CLUSTER_JOB_SCHEDULER) // Run daily at 2 AM
     public void markExpiredInvitations() {
-        logger.info("Running scheduled task to mark expired invitations");
-        
-        List<Invitation> expiredInvitations = invitationRepository.findExpiredPendingInvitations(LocalDateTime.now());
-        
-        for (Invitation invitation : expiredInvitations) {
-            invitation.markAsExpired();
-            invitationRepository.save(invitation);
-            logger.debug("Marked invitation as expired: {}", invitation.getId());
-        }
-        
-        logger.info("Marked {} invitations as expired", expiredInvitations.size());
+        clusterJobService.run("mark-expired-invitations", Duration.ofMinutes(5), Duration.ofHours(1), job -> {
+            logger.info("Running scheduled task to mark expired invitations");
+            
+            List<Invitation> expiredInvitations = invitationRepository.findExpiredPendingInvitations(LocalDateTime.now());
+            
+            for (Invitation invitation : expiredInvitations) {
+                invitation.markAsExpired();
+                invitationRepository.save(invitation);
+                logger.debug("Marked invitation as expired: {}", invitation.getId());
+            }
+            
+            logger.info("Marked {} invitations as expired", expiredInvitations.size());
+            return expiredInvitations.size();
+        });
     }
     
     /**
@@ -17,6 +17,9 @@ public class SuperAgentSeatService {
     @Autowired
     private TierLimitationService tierLimitationService;
     
+    @Autowired
+    private AgentMembershipService agentMembershipService;
+    
     public boolean canAddSuperAgent(Agency agency) {
         long currentSuperAgentCount = agentRepository.countByAgencyAndRole(agency, AgentRole.SUPER_AGENT);
         int maxSuperAgents = tierLimitationService.getMaxSuperAgentsForAgency(agency);
@@ -41,6 +44,7 @@ public class SuperAgentSeatService {
                         agent.setCanViewAnalytics(true);
                         agent.setCanInviteAgents(true);
                         agentRepository.save(agent);
+                        agentMembershipService.evict(agent.getUser().getId());
                         return true;
                     }
                     return false;
@@ -56,6 +60,7 @@ public class SuperAgentSeatService {
                         agent.setCanViewAnalytics(false);
                         agent.setCanInviteAgents(false);
                         agentRepository.save(agent);
+                        agentMembershipService.evict(agent.getUser().getId());
                         return true;
                     }
                     return false;
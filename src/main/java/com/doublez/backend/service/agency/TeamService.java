@@ -27,6 +27,7 @@ import com.doublez.backend.repository.AgentRepository;
 import com.doublez.backend.repository.UserRepository;
 import com.doublez.backend.service.usage.PermissionService;
 import com.doublez.backend.service.usage.TierLimitationService;
+import com.doublez.backend.service.user.ActivityTrackingService;
 
 @Service
 @Transactional
@@ -58,6 +59,12 @@ public class TeamService {
     @Autowired
     private PermissionService permissionService;
     
+    @Autowired
+    private ActivityTrackingService activityTrackingService;
+    
+    @Autowired
+    private AgentMembershipService agentMembershipService;
+    
     /**
      * Add a new agent to an agency
      */
@@ -98,6 +105,7 @@ public class TeamService {
         // Create agent
         Agent agent = agentMapper.toEntity(agentCreateDTO, user, agency, currentUser);
         Agent savedAgent = agentRepository.save(agent);
+        agentMembershipService.evict(user.getId());
         
         logger.info("Agent added successfully: {} to agency: {}", user.getEmail(), agency.getName());
         
@@ -125,6 +133,7 @@ public class TeamService {
         }
         
         Agent updatedAgent = agentRepository.save(agent);
+        agentMembershipService.evict(agent.getUser().getId());
         logger.info("Agent updated successfully: {}", updatedAgent.getId());
         
         return agentMapper.toResponseDTO(updatedAgent);
@@ -150,6 +159,7 @@ public class TeamService {
         // Deactivate agent
         agent.setIsActive(false);
         agentRepository.save(agent);
+        agentMembershipService.evict(agent.getUser().getId());
         
         logger.info("Agent removed successfully: {}", agentId);
     }
@@ -293,13 +303,10 @@ public class TeamService {
     }
     
     /**
-     * Update agent's last active date
+     * Update agent's last active date (write-behind, flushed in batches by ActivityTrackingService)
      */
     public void updateAgentLastActive(Long agentId) {
-        agentRepository.findById(agentId).ifPresent(agent -> {
-            agent.setLastActiveDate(java.time.LocalDateTime.now());
-            agentRepository.save(agent);
-        });
+        activityTrackingService.recordAgentActivity(agentId);
     }
     
     /**
@@ -1,5 +1,6 @@
 package com.doublez.backend.service.agency;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -14,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.doublez.backend.config.SchedulingConfig;
 import com.doublez.backend.dto.warning.SystemWarningDTO;
 import com.doublez.backend.entity.agency.Agency;
 import com.doublez.backend.entity.agency.Agent;
@@ -24,6 +26,8 @@ import com.doublez.backend.repository.AgentRepository;
 import com.doublez.backend.repository.InvitationRepository;
 import com.doublez.backend.repository.realestate.RealEstateRepository;
 import com.doublez.backend.service.email.ResendEmailService;
+import com.doublez.backend.service.scheduling.ClusterJobService;
+import com.doublez.backend.service.scheduling.JobContext;
 
 @Service
 public class WarningService {
@@ -45,6 +49,9 @@ public class WarningService {
     @Autowired
     private ResendEmailService emailService;
     
+    @Autowired
+    private ClusterJobService clusterJobService;
+    
     @Value("${app.warnings.enabled:true}")
     private boolean warningsEnabled;
     
@@ -55,20 +62,30 @@ public class WarningService {
     // WARNING GENERATION
     // ========================
     
-    @Scheduled(fixedDelayString = "${app.warnings.check-interval:3600000}")
+    /**
+     * Agencies are hash-partitioned across live instances; each partition is processed (and
+     * its emails sent) at most once per 50 minutes cluster-wide
+     */
+    @Scheduled(fixedDelayString = "${app.warnings.check-interval:3600000}", scheduler = SchedulingConfig.CLUSTER_JOB_SCHEDULER)
     public void generateWarnings() {
         if (!warningsEnabled) return;
         
-        logger.info("Generating system warnings...");
+        clusterJobService.runPartitioned("generate-warnings", Duration.ofMinutes(10), Duration.ofMinutes(50),
+                this::generateWarnings);
+    }
+    
+    private int generateWarnings(JobContext job) {
+        logger.info("Generating system warnings for partitions {}...", job.getOwnedSlots());
         
         // Check for various warning conditions
-        checkInactiveAgents();
-        checkListingLimits();
-        checkExpiringTrials();
-        checkLowPerformance();
+        int generated = checkInactiveAgents(job)
+                + checkListingLimits(job)
+                + checkExpiringTrials(job)
+                + checkLowPerformance(job);
         checkUnusedCredits();
         
-        logger.info("Warning generation completed");
+        logger.info("Warning generation completed ({} warnings)", generated);
+        return generated;
     }
     
     public List<SystemWarningDTO> getActiveWarningsForAgency(Long agencyId) {
@@ -89,15 +106,19 @@ public class WarningService {
     // SPECIFIC WARNING CHECKS
     // ========================
     
-    private void checkInactiveAgents() {
+    private int checkInactiveAgents(JobContext job) {
         LocalDateTime threshold = LocalDateTime.now().minusDays(30);
+        int generated = 0;
         
-        // Get all active agents from all agencies
+        // Get active agents of the agencies in this instance's partitions
         List<Agent> allAgents = agentRepository.findAll().stream()
                 .filter(Agent::getIsActive)
+                .filter(agent -> job.owns(agent.getAgency().getId()))
                 .collect(Collectors.toList());
         
         for (Agent agent : allAgents) {
+            // Stop before sending more emails once another instance may own the partition
+            job.checkLease();
             if (agent.getLastActiveDate() != null && 
                     agent.getLastActiveDate().isBefore(threshold)) {
                 createWarning(
@@ -108,15 +129,20 @@ public class WarningService {
                     "MEDIUM",
                     agent.getId()
                 );
+                generated++;
                 
                 sendInactiveAgentWarning(agent);
             }
         }
+        return generated;
     }
     
-    private void checkListingLimits() {
-        // Get all agencies
-        List<Agency> agencies = agencyRepository.findAll();
+    private int checkListingLimits(JobContext job) {
+        int generated = 0;
+        // Get the agencies in this instance's partitions
+        List<Agency> agencies = agencyRepository.findAll().stream()
+                .filter(agency -> job.owns(agency.getId()))
+                .collect(Collectors.toList());
         
         for (Agency agency : agencies) {
             Long activeListings = realEstateRepository.countActiveRealEstatesByAgency(agency.getId());
@@ -134,6 +160,7 @@ public class WarningService {
                         "HIGH",
                         null
                     );
+                    generated++;
                 } else if (utilization >= 75) {
                     createWarning(
                         agency.getId(),
@@ -143,13 +170,17 @@ public class WarningService {
                         "MEDIUM",
                         null
                     );
+                    generated++;
                 }
             }
         }
+        return generated;
     }
     
-    private void checkExpiringTrials() {
+    private int checkExpiringTrials(JobContext job) {
+        int generated = 0;
         List<Agency> trialAgencies = agencyRepository.findAll().stream()
+                .filter(agency -> job.owns(agency.getId()))
                 .filter(agency -> agency.isInTrialPeriod())
                 .collect(Collectors.toList());
         
@@ -165,6 +196,7 @@ public class WarningService {
                     "HIGH",
                     null
                 );
+                generated++;
             } else if (daysRemaining <= 7) {
                 createWarning(
                     agency.getId(),
@@ -174,15 +206,19 @@ public class WarningService {
                     "MEDIUM",
                     null
                 );
+                generated++;
             }
         }
+        return generated;
     }
     
-    private void checkLowPerformance() {
+    private int checkLowPerformance(JobContext job) {
         LocalDateTime monthAgo = LocalDateTime.now().minusMonths(1);
+        int generated = 0;
         
         List<Agent> agents = agentRepository.findAll().stream()
                 .filter(Agent::getIsActive)
+                .filter(agent -> job.owns(agent.getAgency().getId()))
                 .collect(Collectors.toList());
         
         for (Agent agent : agents) {
@@ -203,9 +239,11 @@ public class WarningService {
                         "LOW",
                         agent.getId()
                     );
+                    generated++;
                 }
             }
         }
+        return generated;
     }
     
     private void checkUnusedCredits() {
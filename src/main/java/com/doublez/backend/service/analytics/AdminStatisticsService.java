@@ -0,0 +1,165 @@
+package com.doublez.backend.service.analytics;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.doublez.backend.dto.analytics.ListingStatisticsSnapshot;
+import com.doublez.backend.dto.analytics.TrialStatisticsSnapshot;
+import com.doublez.backend.enums.property.ListingType;
+
+/**
+ * Admin dashboard statistics computed in the database.
+ *
+ * Each dashboard is one or two aggregate queries (COUNT(*) FILTER (WHERE ...)) instead
+ * of per-metric counts or loading whole tables to count in Java. Snapshots are kept in
+ * memory for app.analytics.cache-duration seconds; dashboards tolerate that staleness.
+ */
+@Service
+public class AdminStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminStatisticsService.class);
+
+    private static final String LISTING_COUNTS_SQL =
+        "SELECT COUNT(*) AS total," +
+        "       COUNT(*) FILTER (WHERE is_active) AS active," +
+        "       COUNT(*) FILTER (WHERE NOT is_active) AS inactive," +
+        "       COUNT(*) FILTER (WHERE is_featured) AS featured," +
+        "       COUNT(*) FILTER (WHERE is_featured AND is_active" +
+        "                          AND (featured_until IS NULL OR featured_until > now())) AS featured_active," +
+        "       COUNT(*) FILTER (WHERE is_featured AND featured_until < now()) AS featured_expired," +
+        "       COUNT(*) FILTER (WHERE listing_type = '" + ListingType.FOR_SALE.name() + "') AS for_sale," +
+        "       COUNT(*) FILTER (WHERE listing_type = '" + ListingType.FOR_RENT.name() + "') AS for_rent," +
+        "       COUNT(*) FILTER (WHERE created_at BETWEEN now() - INTERVAL '7 days' AND now()) AS added_7d" +
+        "  FROM real_estates";
+
+    private static final String LISTING_DISTRIBUTION_SQL =
+        "SELECT GROUPING(property_type) AS by_city, property_type, city, COUNT(*) AS cnt" +
+        "  FROM real_estates" +
+        " WHERE is_active = true" +
+        " GROUP BY GROUPING SETS ((property_type), (city))";
+
+    private static final String TRIAL_COUNTS_SQL =
+        "SELECT COUNT(*) AS total," +
+        "       COUNT(*) FILTER (WHERE in_trial) AS in_trial," +
+        "       COUNT(*) FILTER (WHERE trial_used AND trial_end_date < now()) AS expired," +
+        "       COUNT(*) FILTER (WHERE trial_used IS NOT TRUE) AS never_used," +
+        "       COUNT(*) FILTER (WHERE agency) AS agency_users," +
+        "       COUNT(*) FILTER (WHERE agency AND in_trial) AS agency_in_trial" +
+        "  FROM (SELECT u.trial_used, u.trial_end_date," +
+        "               (u.trial_used AND u.trial_end_date > now()) IS TRUE AS in_trial," +
+        "               EXISTS (SELECT 1 FROM user_roles ur JOIN roles r ON r.id = ur.role_id" +
+        "                        WHERE ur.user_id = u.id AND r.name = 'ROLE_AGENCY') AS agency" +
+        "          FROM users u) u";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.analytics.cache-enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${app.analytics.cache-duration:300}")
+    private long cacheDurationSeconds;
+
+    private volatile Cached<ListingStatisticsSnapshot> listingStatistics;
+    private volatile Cached<TrialStatisticsSnapshot> trialStatistics;
+
+    public AdminStatisticsService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public ListingStatisticsSnapshot getListingStatistics() {
+        Cached<ListingStatisticsSnapshot> cached = listingStatistics;
+        if (isFresh(cached)) {
+            return cached.value();
+        }
+        synchronized (this) {
+            if (!isFresh(listingStatistics)) {
+                listingStatistics = cache(this::computeListingStatistics);
+            }
+            return listingStatistics.value();
+        }
+    }
+
+    public TrialStatisticsSnapshot getTrialStatistics() {
+        Cached<TrialStatisticsSnapshot> cached = trialStatistics;
+        if (isFresh(cached)) {
+            return cached.value();
+        }
+        synchronized (this) {
+            if (!isFresh(trialStatistics)) {
+                trialStatistics = cache(this::computeTrialStatistics);
+            }
+            return trialStatistics.value();
+        }
+    }
+
+    /**
+     * Drop cached snapshots (next request recomputes)
+     */
+    public void evict() {
+        listingStatistics = null;
+        trialStatistics = null;
+    }
+
+    private ListingStatisticsSnapshot computeListingStatistics() {
+        long start = System.currentTimeMillis();
+
+        Map<String, Long> byType = new LinkedHashMap<>();
+        Map<String, Long> byCity = new LinkedHashMap<>();
+        jdbcTemplate.query(LISTING_DISTRIBUTION_SQL, rs -> {
+            if (rs.getInt("by_city") == 1) {
+                byCity.put(rs.getString("city"), rs.getLong("cnt"));
+            } else {
+                byType.put(rs.getString("property_type"), rs.getLong("cnt"));
+            }
+        });
+
+        ListingStatisticsSnapshot snapshot = jdbcTemplate.queryForObject(LISTING_COUNTS_SQL, (rs, rowNum) ->
+            new ListingStatisticsSnapshot(
+                rs.getLong("total"),
+                rs.getLong("active"),
+                rs.getLong("inactive"),
+                rs.getLong("featured"),
+                rs.getLong("featured_active"),
+                rs.getLong("featured_expired"),
+                rs.getLong("for_sale"),
+                rs.getLong("for_rent"),
+                rs.getLong("added_7d"),
+                byType,
+                byCity,
+                LocalDateTime.now()));
+
+        logger.debug("Computed listing statistics in {} ms", System.currentTimeMillis() - start);
+        return snapshot;
+    }
+
+    private TrialStatisticsSnapshot computeTrialStatistics() {
+        return jdbcTemplate.queryForObject(TRIAL_COUNTS_SQL, (rs, rowNum) ->
+            new TrialStatisticsSnapshot(
+                rs.getLong("total"),
+                rs.getLong("in_trial"),
+                rs.getLong("expired"),
+                rs.getLong("never_used"),
+                rs.getLong("agency_users"),
+                rs.getLong("agency_in_trial"),
+                LocalDateTime.now()));
+    }
+
+    private <T> Cached<T> cache(Supplier<T> loader) {
+        long ttlMillis = cacheEnabled ? cacheDurationSeconds * 1000 : 0;
+        return new Cached<>(loader.get(), System.currentTimeMillis() + ttlMillis);
+    }
+
+    private boolean isFresh(Cached<?> cached) {
+        return cached != null && System.currentTimeMillis() < cached.expiresAt();
+    }
+
+    private record Cached<T>(T value, long expiresAt) {}
+}
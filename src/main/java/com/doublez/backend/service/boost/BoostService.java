@@ -12,6 +12,7 @@ import com.doublez.backend.dto.boost.BoostPackageOption;
 import com.doublez.backend.entity.agency.Agency;
 import com.doublez.backend.entity.realestate.RealEstate;
 import com.doublez.backend.entity.user.User;
+import com.doublez.backend.enums.CreditSpendResult;
 import com.doublez.backend.exception.FeatureNotImplementedException;
 import com.doublez.backend.repository.AgencyRepository;
 import com.doublez.backend.repository.UserRepository;
@@ -42,16 +43,12 @@ public class BoostService {
 
     // ===== LISTING BOOSTS =====
 
-    public boolean applyTopPositioningBoost(Long listingId, Long userId, int durationDays) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.TOP_POSITIONING_BOOST_7DAYS)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applyTopPositioningBoost(Long listingId, Long userId, int durationDays, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.TOP_POSITIONING_BOOST_7DAYS, 
-            "Top positioning boost for listing " + listingId + " for " + durationDays + " days");
+            "Top positioning boost for listing " + listingId + " for " + durationDays + " days", idempotencyKey);
             
-        if (deducted) {
+        if (result == CreditSpendResult.SPENT) {
             RealEstate listing = realEstateRepository.findById(listingId)
                 .orElseThrow(() -> new EntityNotFoundException("Listing not found"));
             
@@ -60,19 +57,15 @@ public class BoostService {
             realEstateRepository.save(listing);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
-    public boolean applyUrgentBadge(Long listingId, Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.URGENT_BADGE_14DAYS)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applyUrgentBadge(Long listingId, Long userId, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.URGENT_BADGE_14DAYS, 
-            "Urgent badge for listing " + listingId);
+            "Urgent badge for listing " + listingId, idempotencyKey);
             
-        if (deducted) {
+        if (result == CreditSpendResult.SPENT) {
             RealEstate listing = realEstateRepository.findById(listingId)
                 .orElseThrow(() -> new EntityNotFoundException("Listing not found"));
             
@@ -81,19 +74,15 @@ public class BoostService {
             realEstateRepository.save(listing);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
-    public boolean applyHighlightedListing(Long listingId, Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.HIGHLIGHTED_LISTING_30DAYS)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applyHighlightedListing(Long listingId, Long userId, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.HIGHLIGHTED_LISTING_30DAYS, 
-            "Highlighted listing " + listingId);
+            "Highlighted listing " + listingId, idempotencyKey);
             
-        if (deducted) {
+        if (result == CreditSpendResult.SPENT) {
             RealEstate listing = realEstateRepository.findById(listingId)
                 .orElseThrow(() -> new EntityNotFoundException("Listing not found"));
             
@@ -102,19 +91,15 @@ public class BoostService {
             realEstateRepository.save(listing);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
-    public boolean applyCategoryFeature(Long listingId, Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.FEATURED_IN_CATEGORY_15DAYS)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applyCategoryFeature(Long listingId, Long userId, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.FEATURED_IN_CATEGORY_15DAYS, 
-            "Category feature for listing " + listingId);
+            "Category feature for listing " + listingId, idempotencyKey);
             
-        if (deducted) {
+        if (result == CreditSpendResult.SPENT) {
             RealEstate listing = realEstateRepository.findById(listingId)
                 .orElseThrow(() -> new EntityNotFoundException("Listing not found"));
             
@@ -123,7 +108,7 @@ public class BoostService {
             realEstateRepository.save(listing);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
     // ===== VISIBILITY BOOSTS =====
@@ -161,7 +146,7 @@ public class BoostService {
 //            CreditPricingConfiguration.CROSS_PROMOTION, 
 //            "Cross-promotion for listing " + listingId);
 //            
-//        if (deducted) {
+//        if (result == CreditSpendResult.SPENT) {
 //            RealEstate listing = realEstateRepository.findById(listingId)
 //                .orElseThrow(() -> new EntityNotFoundException("Listing not found"));
 //            
@@ -185,16 +170,12 @@ public class BoostService {
 
     // ===== PROFILE BOOSTS =====
 
-    public boolean applyVerifiedBadge(Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.VERIFIED_BADGE_30DAYS)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applyVerifiedBadge(Long userId, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.VERIFIED_BADGE_30DAYS, 
-            "Verified badge for user profile");
+            "Verified badge for user profile", idempotencyKey);
             
-        if (deducted) {
+        if (result == CreditSpendResult.SPENT) {
             User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
             
@@ -203,19 +184,15 @@ public class BoostService {
             userRepository.save(user);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
-    public boolean applyPremiumProfileBadge(Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.PREMIUM_PROFILE_BADGE_30DAYS)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applyPremiumProfileBadge(Long userId, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.PREMIUM_PROFILE_BADGE_30DAYS, 
-            "Premium profile badge");
+            "Premium profile badge", idempotencyKey);
             
-        if (deducted) {
+        if (result == CreditSpendResult.SPENT) {
             User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
             
@@ -224,19 +201,15 @@ public class BoostService {
             userRepository.save(user);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
-    public boolean applyAgencyFeaturedProfile(Long agencyId, Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.AGENCY_FEATURED_PROFILE_15DAYS)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applyAgencyFeaturedProfile(Long agencyId, Long userId, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.AGENCY_FEATURED_PROFILE_15DAYS, 
-            "Featured agency profile for agency " + agencyId);
+            "Featured agency profile for agency " + agencyId, idempotencyKey);
             
-        if (deducted) {
+        if (result == CreditSpendResult.SPENT) {
             Agency agency = agencyRepository.findById(agencyId)
                 .orElseThrow(() -> new EntityNotFoundException("Agency not found"));
             
@@ -245,21 +218,17 @@ public class BoostService {
             agencyRepository.save(agency);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
     // ===== AGENCY-SPECIFIC BOOSTS =====
 
-    public boolean applyMultipleListingBoost(Long userId, List<Long> listingIds) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.MULTIPLE_LISTING_BOOST_7DAYS)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applyMultipleListingBoost(Long userId, List<Long> listingIds, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.MULTIPLE_LISTING_BOOST_7DAYS, 
-            "Multiple listing boost for " + listingIds.size() + " listings");
+            "Multiple listing boost for " + listingIds.size() + " listings", idempotencyKey);
             
-        if (deducted && listingIds != null && !listingIds.isEmpty()) {
+        if (result == CreditSpendResult.SPENT && listingIds != null && !listingIds.isEmpty()) {
             List<RealEstate> listings = realEstateRepository.findAllById(listingIds);
             for (RealEstate listing : listings) {
                 listing.setBoostedUntil(LocalDateTime.now().plusDays(7));
@@ -268,19 +237,15 @@ public class BoostService {
             realEstateRepository.saveAll(listings);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
-    public boolean applyAgencyShowcaseFeature(Long agencyId, Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.AGENCY_SHOWCASE_FEATURE_30DAYS)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applyAgencyShowcaseFeature(Long agencyId, Long userId, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.AGENCY_SHOWCASE_FEATURE_30DAYS, 
-            "Agency showcase feature for agency " + agencyId);
+            "Agency showcase feature for agency " + agencyId, idempotencyKey);
             
-        if (deducted) {
+        if (result == CreditSpendResult.SPENT) {
             Agency agency = agencyRepository.findById(agencyId)
                 .orElseThrow(() -> new EntityNotFoundException("Agency not found"));
             
@@ -289,19 +254,15 @@ public class BoostService {
             agencyRepository.save(agency);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
-    public boolean applyPremiumAgencyBadge(Long agencyId, Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.PREMIUM_AGENCY_BADGE_30DAYS)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applyPremiumAgencyBadge(Long agencyId, Long userId, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.PREMIUM_AGENCY_BADGE_30DAYS, 
-            "Premium agency badge for agency " + agencyId);
+            "Premium agency badge for agency " + agencyId, idempotencyKey);
             
-        if (deducted) {
+        if (result == CreditSpendResult.SPENT) {
             Agency agency = agencyRepository.findById(agencyId)
                 .orElseThrow(() -> new EntityNotFoundException("Agency not found"));
             
@@ -310,31 +271,23 @@ public class BoostService {
             agencyRepository.save(agency);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
-    public boolean applyAgencyPrioritySupport(Long agencyId, Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.AGENCY_PRIORITY_SUPPORT_30DAYS)) {
-            return false;
-        }
-        
-        return creditService.deductCredits(userId, 
+    public boolean applyAgencyPrioritySupport(Long agencyId, Long userId, String idempotencyKey) {
+        return creditService.spendCredits(userId, 
             CreditPricingConfiguration.AGENCY_PRIORITY_SUPPORT_30DAYS,
-            "Agency priority support for agency " + agencyId);
+            "Agency priority support for agency " + agencyId, idempotencyKey).isSuccessful();
     }
 
     // ===== BOOST PACKAGES =====
 
-    public boolean applyBronzeBoostPackage(Long listingId, Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.BRONZE_BOOST_PACKAGE)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applyBronzeBoostPackage(Long listingId, Long userId, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.BRONZE_BOOST_PACKAGE, 
-            "Bronze boost package for listing " + listingId);
+            "Bronze boost package for listing " + listingId, idempotencyKey);
             
-        if (deducted) {
+        if (result == CreditSpendResult.SPENT) {
             RealEstate listing = realEstateRepository.findById(listingId)
                 .orElseThrow(() -> new EntityNotFoundException("Listing not found"));
             
@@ -346,19 +299,15 @@ public class BoostService {
             realEstateRepository.save(listing);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
-    public boolean applySilverBoostPackage(Long listingId, Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.SILVER_BOOST_PACKAGE)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applySilverBoostPackage(Long listingId, Long userId, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.SILVER_BOOST_PACKAGE, 
-            "Silver boost package for listing " + listingId);
+            "Silver boost package for listing " + listingId, idempotencyKey);
             
-        if (deducted) {
+        if (result == CreditSpendResult.SPENT) {
             RealEstate listing = realEstateRepository.findById(listingId)
                 .orElseThrow(() -> new EntityNotFoundException("Listing not found"));
             
@@ -374,19 +323,15 @@ public class BoostService {
             realEstateRepository.save(listing);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
-    public boolean applyGoldBoostPackage(Long listingId, Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.GOLD_BOOST_PACKAGE)) {
-            return false;
-        }
-        
-        boolean deducted = creditService.deductCredits(userId, 
+    public boolean applyGoldBoostPackage(Long listingId, Long userId, String idempotencyKey) {
+        CreditSpendResult result = creditService.spendCredits(userId, 
             CreditPricingConfiguration.GOLD_BOOST_PACKAGE, 
-            "Gold boost package for listing " + listingId);
+            "Gold boost package for listing " + listingId, idempotencyKey);
             
-        if (deducted) {
+        if (result == CreditSpendResult.SPENT) {
             RealEstate listing = realEstateRepository.findById(listingId)
                 .orElseThrow(() -> new EntityNotFoundException("Listing not found"));
             
@@ -411,39 +356,27 @@ public class BoostService {
             userRepository.save(user);
         }
         
-        return deducted;
+        return result.isSuccessful();
     }
 
     // ===== EXTRA ALLOWANCES =====
 
-    public boolean purchaseExtraListingSlot(Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.EXTRA_LISTING_SLOT)) {
-            return false;
-        }
-        
-        return creditService.deductCredits(userId, 
+    public boolean purchaseExtraListingSlot(Long userId, String idempotencyKey) {
+        return creditService.spendCredits(userId, 
             CreditPricingConfiguration.EXTRA_LISTING_SLOT,
-            "Extra listing slot purchase");
+            "Extra listing slot purchase", idempotencyKey).isSuccessful();
     }
 
-    public boolean purchaseExtraImageSlots(Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.EXTRA_IMAGE_SLOT_10IMAGES)) {
-            return false;
-        }
-        
-        return creditService.deductCredits(userId, 
+    public boolean purchaseExtraImageSlots(Long userId, String idempotencyKey) {
+        return creditService.spendCredits(userId, 
             CreditPricingConfiguration.EXTRA_IMAGE_SLOT_10IMAGES,
-            "Extra image slots (10 images) purchase");
+            "Extra image slots (10 images) purchase", idempotencyKey).isSuccessful();
     }
 
-    public boolean purchasePremiumSupport(Long userId) {
-        if (!creditService.hasSufficientCredits(userId, CreditPricingConfiguration.PREMIUM_SUPPORT_7DAYS)) {
-            return false;
-        }
-        
-        return creditService.deductCredits(userId, 
+    public boolean purchasePremiumSupport(Long userId, String idempotencyKey) {
+        return creditService.spendCredits(userId, 
             CreditPricingConfiguration.PREMIUM_SUPPORT_7DAYS,
-            "Premium support for 7 days");
+            "Premium support for 7 days", idempotencyKey).isSuccessful();
     }
 
     // ===== VALIDATION & QUERY METHODS =====
@@ -1,5 +1,9 @@
 package com.doublez.backend.service.credit;
 
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import com.doublez.backend.dto.credit.CreditBalanceDTO;
@@ -10,6 +14,7 @@ import com.doublez.backend.entity.credit.CreditPackage;
 import com.doublez.backend.entity.credit.CreditTransaction;
 import com.doublez.backend.entity.credit.UserCredit;
 import com.doublez.backend.entity.user.User;
+import com.doublez.backend.enums.CreditSpendResult;
 import com.doublez.backend.enums.CreditTransactionType;
 import com.doublez.backend.repository.UserRepository;
 import com.doublez.backend.repository.credit.CreditPackageRepository;
@@ -23,6 +28,8 @@ import jakarta.transaction.Transactional;
 @Transactional
 public class CreditService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CreditService.class);
+
 	private final UserCreditRepository userCreditRepository;
     private final CreditTransactionRepository creditTransactionRepository;
     private final UserRepository userRepository;
@@ -102,21 +109,19 @@ public class CreditService {
     
     /**
      * Add credits to user (existing method)
+     * Uses an atomic increment so concurrent grants never overwrite each other.
      */
     public void addCredits(Long userId, Integer credits, String description, CreditTransactionType transactionType) {
-        UserCredit userCredit = userCreditRepository.findByUserId(userId)
-            .orElseThrow(() -> new EntityNotFoundException("User credit not found for user: " + userId));
+        if (credits == null || credits <= 0) {
+            return;
+        }
         
-        userCredit.addCredits(credits, description);
-        userCreditRepository.save(userCredit);
+        int updated = userCreditRepository.incrementBalance(userId, credits, LocalDateTime.now());
+        if (updated == 0) {
+            throw new EntityNotFoundException("User credit not found for user: " + userId);
+        }
         
-        // Log transaction
-        CreditTransaction transaction = new CreditTransaction(
-            userCredit.getUser(), credits, transactionType, description
-        );
-        transaction.setBalanceAfter(userCredit.getCurrentBalance()); 
-        transaction.completeTransaction();
-        creditTransactionRepository.save(transaction);
+        recordTransaction(userId, credits, transactionType, description, null);
     }
     
     /**
@@ -142,46 +147,73 @@ public class CreditService {
     }
 
     /**
-     * Check if user has sufficient credits
+     * Check if user has sufficient credits.
+     * Informational only: spending must go through spendCredits, which re-checks atomically.
      */
     public boolean hasSufficientCredits(Long userId, Integer requiredCredits) {
-        UserCredit userCredit = userCreditRepository.findByUserId(userId)
-            .orElseThrow(() -> new EntityNotFoundException("User credit not found for user: " + userId));
-        
-        return userCredit.hasSufficientCredits(requiredCredits);
+        return getCurrentBalance(userId) >= requiredCredits;
     }
 
     /**
      * Deduct credits from user balance
      */
     public boolean deductCredits(Long userId, Integer credits, String description) {
-        UserCredit userCredit = userCreditRepository.findByUserId(userId)
-            .orElseThrow(() -> new EntityNotFoundException("User credit not found for user: " + userId));
+        return spendCredits(userId, credits, description, null).isSuccessful();
+    }
+
+    /**
+     * Atomically spend credits: one conditional UPDATE (balance >= credits) plus the
+     * ledger insert, in the caller's transaction.
+     *
+     * When an idempotency key is given, a retry of an already applied request by the same
+     * user returns ALREADY_PROCESSED without touching the balance (keys are scoped per user,
+     * so another user's key never suppresses a charge). Two concurrent requests with the
+     * same key race on the unique (user_id, idempotency_key) index; the loser's transaction
+     * rolls back, including its deduction, so the key is never charged twice.
+     */
+    public CreditSpendResult spendCredits(Long userId, Integer credits, String description, String idempotencyKey) {
+        if (credits == null || credits <= 0) {
+            throw new IllegalArgumentException("Credits to spend must be positive");
+        }
         
-        boolean success = userCredit.deductCredits(credits, description);
-        if (success) {
-            userCreditRepository.save(userCredit);
-            
-            // Log transaction
-            CreditTransaction transaction = new CreditTransaction(
-                userCredit.getUser(), -credits, CreditTransactionType.PURCHASE, description
-            );
-            transaction.setBalanceAfter(userCredit.getCurrentBalance()); 
-            transaction.completeTransaction();
-            creditTransactionRepository.save(transaction);
+        if (idempotencyKey != null && creditTransactionRepository.existsByUserIdAndIdempotencyKey(userId, idempotencyKey)) {
+            logger.info("Credit spend already applied for user {} and idempotency key {}", userId, idempotencyKey);
+            return CreditSpendResult.ALREADY_PROCESSED;
+        }
+        
+        int updated = userCreditRepository.deductIfSufficient(userId, credits, LocalDateTime.now());
+        if (updated == 0) {
+            if (!userCreditRepository.existsById(userId)) {
+                throw new EntityNotFoundException("User credit not found for user: " + userId);
+            }
+            return CreditSpendResult.INSUFFICIENT_CREDITS;
         }
         
-        return success;
+        recordTransaction(userId, -credits, CreditTransactionType.PURCHASE, description, idempotencyKey);
+        return CreditSpendResult.SPENT;
+    }
+
+    /**
+     * Insert the ledger row for a balance change that was already applied in SQL
+     */
+    private void recordTransaction(Long userId, Integer creditChange, CreditTransactionType transactionType,
+                                   String description, String idempotencyKey) {
+        // Reference only: the ledger row needs the FK, not a loaded User
+        User user = userRepository.getReferenceById(userId);
+        
+        CreditTransaction transaction = new CreditTransaction(user, creditChange, transactionType, description);
+        transaction.setIdempotencyKey(idempotencyKey);
+        transaction.setBalanceAfter(getCurrentBalance(userId));
+        transaction.completeTransaction();
+        creditTransactionRepository.save(transaction);
     }
 
     /**
      * Get current credit balance
      */
     public Integer getCurrentBalance(Long userId) {
-        UserCredit userCredit = userCreditRepository.findByUserId(userId)
+        return userCreditRepository.findBalanceByUserId(userId)
             .orElseThrow(() -> new EntityNotFoundException("User credit not found for user: " + userId));
-        
-        return userCredit.getCurrentBalance();
     }
 
     /**
@@ -193,4 +225,4 @@ public class CreditService {
         
         return userCredit.toBalanceDTO();
     }
-}
\ No newline at end of file
+}
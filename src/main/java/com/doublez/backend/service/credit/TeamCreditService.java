@@ -3,7 +3,9 @@ package com.doublez.backend.service.credit;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +19,7 @@ import com.doublez.backend.dto.credit.AgencyCreditPurchaseDTO;
 import com.doublez.backend.dto.credit.AgencyPurchaseQuoteDTO;
 import com.doublez.backend.dto.credit.CreditTransactionCreateDTO;
 import com.doublez.backend.dto.credit.CreditTransactionResponseDTO;
+import com.doublez.backend.dto.credit.TeamCreditAggregate;
 import com.doublez.backend.dto.credit.TeamCreditPackageResponseDTO;
 import com.doublez.backend.dto.credit.TeamCreditSummaryDTO;
 import com.doublez.backend.entity.agency.Agency;
@@ -24,7 +27,6 @@ import com.doublez.backend.entity.agency.Agent;
 import com.doublez.backend.entity.credit.AgencyCredit;
 import com.doublez.backend.entity.credit.CreditPackage;
 import com.doublez.backend.entity.credit.CreditTransaction;
-import com.doublez.backend.entity.credit.UserCredit;
 import com.doublez.backend.entity.user.User;
 import com.doublez.backend.enums.CreditTransactionType;
 import com.doublez.backend.enums.agency.AgentRole;
@@ -35,10 +37,15 @@ import com.doublez.backend.repository.AgencyRepository;
 import com.doublez.backend.repository.AgentRepository;
 import com.doublez.backend.repository.credit.AgencyCreditRepository;
 import com.doublez.backend.repository.credit.CreditPackageRepository;
+import com.doublez.backend.repository.credit.CreditTransactionBatchRepository;
 import com.doublez.backend.repository.credit.CreditTransactionRepository;
+import com.doublez.backend.repository.credit.UserCreditBatchRepository;
 import com.doublez.backend.repository.credit.UserCreditRepository;
 
+import jakarta.transaction.Transactional;
+
 @Service
+@Transactional
 public class TeamCreditService {
 
 	@Autowired
@@ -62,6 +69,12 @@ public class TeamCreditService {
 	@Autowired
 	private UserCreditRepository userCreditRepository;
 
+	@Autowired
+	private UserCreditBatchRepository userCreditBatchRepository;
+
+	@Autowired
+	private CreditTransactionBatchRepository creditTransactionBatchRepository;
+
 	/**
 	 * Get agency-specific credit packages
 	 */
@@ -207,15 +220,14 @@ public class TeamCreditService {
 	}
 	
 	/**
-     * Distribute agency credits to team agents
+     * Distribute agency credits to team agents.
+     * One bulk balance UPDATE and one batched ledger insert for the whole team,
+     * inside the purchase transaction, so either every agent is credited or none is.
      */
 	private void distributeAgencyCreditsToTeam(Long agencyId, Integer totalCredits, Long sourceTransactionId) {
-        Agency agency = agencyRepository.findById(agencyId)
-                .orElseThrow(() -> new ResourceNotFoundException("Agency not found"));
+        List<Long> agentUserIds = agentRepository.findActiveUserIdsByAgencyId(agencyId);
         
-        List<Agent> agents = agentRepository.findByAgencyAndIsActive(agency, true);
-        
-        if (agents.isEmpty()) {
+        if (agentUserIds.isEmpty()) {
             return;
         }
         
@@ -230,48 +242,41 @@ public class TeamCreditService {
             return;
         }
         
-        // Simple equal distribution
-        int creditsPerAgent = creditsToDistribute / agents.size();
-        int remainingCredits = creditsToDistribute % agents.size();
+        // Simple equal distribution, remainder goes to the first agent
+        int creditsPerAgent = creditsToDistribute / agentUserIds.size();
+        int remainingCredits = creditsToDistribute % agentUserIds.size();
+        Long firstUserId = agentUserIds.get(0);
         
-        for (int i = 0; i < agents.size(); i++) {
-            Agent agent = agents.get(i);
-            int agentCredits = creditsPerAgent;
-            
-            // Distribute remaining credits
-            if (i == 0) {
-                agentCredits += remainingCredits;
-            }
-            
-            if (agentCredits > 0) {
-                // Use your existing CreditService to add to user
-                creditService.addCreditsToUser(
-                    agent.getUser().getId(),
-                    agentCredits,
-                    "Team distribution from agency purchase #" + sourceTransactionId
-                );
-                
-                // Deduct from agency pool
-                if (agencyCredit != null) {
-                    agencyCredit.deductCredits(agentCredits);
-                }
-                
-                // Create distribution transaction
-                CreditTransaction distributionTx = new CreditTransaction(
-                    agent.getUser(),
-                    agentCredits,
-                    CreditTransactionType.TRANSFER,
-                    "Credits distributed from agency purchase",
-                    agency
-                );
-                distributionTx.setReferenceNumber("AGENCY_DIST_" + sourceTransactionId);
-                creditTransactionRepository.save(distributionTx);
-            }
+        // Agents that would receive 0 credits get no update and no ledger row
+        List<Long> recipients = creditsPerAgent > 0 ? agentUserIds : List.of(firstUserId);
+        Map<Long, Integer> creditsByUserId = new LinkedHashMap<>();
+        for (Long userId : recipients) {
+            creditsByUserId.put(userId, userId.equals(firstUserId) ? creditsPerAgent + remainingCredits : creditsPerAgent);
         }
         
-        if (agencyCredit != null) {
-            agencyCreditRepository.save(agencyCredit);
+        LocalDateTime now = LocalDateTime.now();
+        userCreditRepository.createMissingForUsers(recipients, now);
+        Map<Long, Integer> balances = userCreditBatchRepository.incrementBalances(
+            recipients, creditsPerAgent, firstUserId, remainingCredits, now);
+        if (balances.size() != recipients.size()) {
+            throw new BusinessRuleException("Credit distribution updated " + balances.size() + " of " + recipients.size() + " agents");
         }
+        
+        creditTransactionBatchRepository.insertCompleted(
+            creditsByUserId,
+            balances,
+            agencyId,
+            CreditTransactionType.TRANSFER,
+            "Team distribution from agency purchase #" + sourceTransactionId,
+            "AGENCY_DIST_" + sourceTransactionId,
+            now
+        );
+        
+        // Deduct the distributed total from agency pool (re-read: the balance update cleared the context)
+        agencyCreditRepository.findByAgencyId(agencyId).ifPresent(pool -> {
+            pool.deductCredits(creditsToDistribute);
+            agencyCreditRepository.save(pool);
+        });
     }
 	
 	/**
@@ -284,25 +289,17 @@ public class TeamCreditService {
 	    AgencyCredit agencyCredit = agencyCreditRepository.findByAgencyId(agencyId)
 	            .orElse(new AgencyCredit(agency));
 	    
-	    List<Agent> agents = agentRepository.findByAgencyAndIsActive(agency, true);
-	    
-	    // Calculate total team credits
-	    int totalTeamCredits = 0;
-	    for (Agent agent : agents) {
-	        UserCredit userCredit = userCreditRepository.findByUserId(agent.getUser().getId()).orElse(null);
-	        if (userCredit != null) {
-	            totalTeamCredits += userCredit.getCurrentBalance();
-	        }
-	    }
+	    // Team totals in one aggregate query instead of a lookup per agent
+	    TeamCreditAggregate team = userCreditRepository.getTeamCreditAggregate(agencyId);
 	    
 	    AgencyCreditBalanceDTO balanceDTO = new AgencyCreditBalanceDTO();
 	    balanceDTO.setAgencyId(agencyId);
 	    balanceDTO.setAgencyName(agency.getName());
 	    balanceDTO.setAgencyPoolBalance(agencyCredit.getCurrentBalance());
-	    balanceDTO.setTotalTeamCredits(totalTeamCredits);
+	    balanceDTO.setTotalTeamCredits(team.totalCredits().intValue());
 	    balanceDTO.setTeamDistributionEnabled(agencyCredit.getTeamDistributionEnabled());
 	    balanceDTO.setDistributionPercentage(agencyCredit.getDistributionPercentage());
-	    balanceDTO.setTotalAgents(agents.size());
+	    balanceDTO.setTotalAgents(team.agentCount().intValue());
 	    
 	    // Get recent agency transactions and convert to DTOs
 	    Pageable pageable = PageRequest.of(0, 10);
@@ -374,31 +371,16 @@ public class TeamCreditService {
 	    Agency agency = agencyRepository.findById(agencyId)
 	            .orElseThrow(() -> new ResourceNotFoundException("Agency not found"));
 
-	    List<Agent> agents = agentRepository.findByAgencyAndIsActive(agency, true);
+	    // Team totals in one aggregate query instead of a lookup per agent
+	    TeamCreditAggregate team = userCreditRepository.getTeamCreditAggregate(agencyId);
 
 	    TeamCreditSummaryDTO summary = new TeamCreditSummaryDTO();
 	    summary.setAgencyId(agencyId);
 	    summary.setAgencyName(agency.getName());
-	    summary.setTotalAgents(agents.size());
-
-	    // Calculate team credit totals
-	    int totalCredits = 0;
-	    int agentWithCredits = 0;
-
-	    for (Agent agent : agents) {
-	        UserCredit userCredit = userCreditRepository.findByUserId(agent.getUser().getId()).orElse(null);
-	        if (userCredit != null && userCredit.getCurrentBalance() != null) {
-	            int balance = userCredit.getCurrentBalance();
-	            totalCredits += balance;
-	            if (balance > 0) {
-	                agentWithCredits++;
-	            }
-	        }
-	    }
-
-	    summary.setTotalTeamCredits(totalCredits);
-	    summary.setAgentsWithCredits(agentWithCredits);
-	    summary.setAverageCreditsPerAgent(agents.isEmpty() ? 0 : totalCredits / agents.size());
+	    summary.setTotalAgents(team.agentCount().intValue());
+	    summary.setTotalTeamCredits(team.totalCredits().intValue());
+	    summary.setAgentsWithCredits(team.agentsWithCredits().intValue());
+	    summary.setAverageCreditsPerAgent(team.averageCreditsPerAgent());
 
 	    // Get recent agency transactions and convert to DTOs
 	    Pageable pageable = PageRequest.of(0, 5);
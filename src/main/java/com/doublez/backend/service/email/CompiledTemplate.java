@@ -0,0 +1,144 @@
+package com.doublez.backend.service.email;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-parsed form of a {{variable}} template, safe to share between threads. The
+ * segments never change; only the volatile output-size hint is updated by renders.
+ *
+ * The source is split once into alternating literal and variable segments so
+ * rendering is a single pass over the segment list with a pre-sized buffer,
+ * instead of one String.replace per variable per send.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private static final CompiledTemplate EMPTY = new CompiledTemplate(new String[0], new boolean[0], 0);
+
+    // Average expected size of a substituted value, used only for buffer sizing
+    private static final int VARIABLE_SIZE_HINT = 16;
+
+    private final String[] segments;
+    private final boolean[] variable;
+    private final int literalLength;
+
+    // Largest output seen so far; lets repeated renders (digests, invitations) allocate once
+    private volatile int renderedLengthHint;
+
+    private CompiledTemplate(String[] segments, boolean[] variable, int literalLength) {
+        this.segments = segments;
+        this.variable = variable;
+        this.literalLength = literalLength;
+        int variables = 0;
+        for (boolean isVariable : variable) {
+            if (isVariable) variables++;
+        }
+        this.renderedLengthHint = literalLength + variables * VARIABLE_SIZE_HINT;
+    }
+
+    /**
+     * Parse template source into segments. Unterminated "{{" is kept as literal text.
+     */
+    public static CompiledTemplate compile(String source) {
+        if (source == null || source.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<String> parts = new ArrayList<>();
+        List<Boolean> kinds = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+            if (open < 0 || close < 0) {
+                break;
+            }
+
+            if (open > position) {
+                parts.add(source.substring(position, open));
+                kinds.add(Boolean.FALSE);
+                literalLength += open - position;
+            }
+            parts.add(source.substring(open + OPEN.length(), close));
+            kinds.add(Boolean.TRUE);
+            position = close + CLOSE.length();
+        }
+
+        if (position < source.length()) {
+            parts.add(source.substring(position));
+            kinds.add(Boolean.FALSE);
+            literalLength += source.length() - position;
+        }
+
+        boolean[] variable = new boolean[kinds.size()];
+        for (int i = 0; i < variable.length; i++) {
+            variable[i] = kinds.get(i);
+        }
+        return new CompiledTemplate(parts.toArray(new String[0]), variable, literalLength);
+    }
+
+    /**
+     * Render with the given variables. Placeholders without a matching key are left
+     * untouched and null values render as empty strings, same as the old replace loop.
+     */
+    public String render(Map<String, ?> variables) {
+        return render(variables, Collections.emptyMap());
+    }
+
+    /**
+     * Render with variables, falling back to template default values for missing keys.
+     */
+    public String render(Map<String, ?> variables, Map<String, ?> defaults) {
+        if (segments.length == 0) {
+            return "";
+        }
+
+        StringBuilder out = new StringBuilder(renderedLengthHint);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (!variable[i]) {
+                out.append(segment);
+                continue;
+            }
+
+            if (variables != null && variables.containsKey(segment)) {
+                Object value = variables.get(segment);
+                if (value != null) out.append(value);
+            } else if (defaults != null && defaults.containsKey(segment)) {
+                Object value = defaults.get(segment);
+                if (value != null) out.append(value);
+            } else {
+                out.append(OPEN).append(segment).append(CLOSE);
+            }
+        }
+
+        if (out.length() > renderedLengthHint) {
+            renderedLengthHint = out.length();
+        }
+        return out.toString();
+    }
+
+    /**
+     * Variable names referenced by this template, in order of appearance.
+     */
+    public List<String> getVariableNames() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < segments.length; i++) {
+            if (variable[i] && !names.contains(segments[i])) {
+                names.add(segments[i]);
+            }
+        }
+        return names;
+    }
+
+    public int getLiteralLength() {
+        return literalLength;
+    }
+}
@@ -0,0 +1,29 @@
+package com.doublez.backend.service.email;
+
+import org.springframework.stereotype.Component;
+
+import com.doublez.backend.entity.notifications.NotificationTemplate;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Evicts compiled forms of a NotificationTemplate whenever its row changes.
+ * Registered on the entity via @EntityListeners; Hibernate resolves it through
+ * the Spring bean container so the renderer can be injected.
+ */
+@Component
+public class NotificationTemplateCacheListener {
+
+    private final NotificationTemplateRenderer renderer;
+
+    public NotificationTemplateCacheListener(NotificationTemplateRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onTemplateChanged(NotificationTemplate template) {
+        renderer.evict(template.getCode());
+    }
+}
@@ -0,0 +1,124 @@
+package com.doublez.backend.service.email;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.doublez.backend.entity.notifications.NotificationTemplate;
+
+/**
+ * Renders NotificationTemplate rows from compiled, in-memory cached forms.
+ *
+ * Each template is parsed once per (code, version, locale). Because the entity bumps
+ * its version on every update, an edited row never hits a stale entry; the JPA
+ * listener additionally evicts old versions so the cache does not grow.
+ */
+@Component
+public class NotificationTemplateRenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationTemplateRenderer.class);
+
+    private final Map<TemplateKey, CompiledNotificationTemplate> cache = new ConcurrentHashMap<>();
+
+    public String renderSubject(NotificationTemplate template, Map<String, ?> variables) {
+        CompiledNotificationTemplate compiled = getCompiled(template);
+        return compiled.subject().render(variables, compiled.defaults());
+    }
+
+    /**
+     * Render body wrapped with the template's header and footer (if any)
+     */
+    public String renderBody(NotificationTemplate template, Map<String, ?> variables) {
+        return renderBody(getCompiled(template), variables);
+    }
+
+    private String renderBody(CompiledNotificationTemplate compiled, Map<String, ?> variables) {
+        String header = compiled.header().render(variables, compiled.defaults());
+        String body = compiled.body().render(variables, compiled.defaults());
+        String footer = compiled.footer().render(variables, compiled.defaults());
+
+        if (header.isEmpty() && footer.isEmpty()) {
+            return body;
+        }
+        return new StringBuilder(header.length() + body.length() + footer.length())
+            .append(header).append(body).append(footer)
+            .toString();
+    }
+
+    public String renderSms(NotificationTemplate template, Map<String, ?> variables) {
+        CompiledNotificationTemplate compiled = getCompiled(template);
+        return compiled.sms().render(variables, compiled.defaults());
+    }
+
+    public String renderPush(NotificationTemplate template, Map<String, ?> variables) {
+        CompiledNotificationTemplate compiled = getCompiled(template);
+        return compiled.push().render(variables, compiled.defaults());
+    }
+
+    /**
+     * Render the same template for many recipients (digests, bulk invitations).
+     * The template is resolved once and every message reuses the compiled segments.
+     */
+    public List<String> renderBodies(NotificationTemplate template, List<? extends Map<String, ?>> recipients) {
+        CompiledNotificationTemplate compiled = getCompiled(template);
+        return recipients.stream()
+            .map(variables -> renderBody(compiled, variables))
+            .toList();
+    }
+
+    /**
+     * Drop all cached versions of a template (called after update/delete)
+     */
+    public void evict(String code) {
+        if (code == null) return;
+        cache.keySet().removeIf(key -> code.equals(key.code()));
+        logger.debug("Evicted compiled notification template: {}", code);
+    }
+
+    public void evictAll() {
+        cache.clear();
+    }
+
+    public int getCachedTemplateCount() {
+        return cache.size();
+    }
+
+    private CompiledNotificationTemplate getCompiled(NotificationTemplate template) {
+        TemplateKey key = new TemplateKey(template.getCode(), template.getVersion(), resolveLocale(template));
+        return cache.computeIfAbsent(key, k -> compile(template));
+    }
+
+    private CompiledNotificationTemplate compile(NotificationTemplate template) {
+        logger.debug("Compiling notification template {} v{}", template.getCode(), template.getVersion());
+        return new CompiledNotificationTemplate(
+            CompiledTemplate.compile(template.getSubjectTemplate()),
+            CompiledTemplate.compile(template.getBodyTemplate()),
+            CompiledTemplate.compile(template.getHeaderTemplate()),
+            CompiledTemplate.compile(template.getFooterTemplate()),
+            CompiledTemplate.compile(template.getSmsTemplate()),
+            CompiledTemplate.compile(template.getPushTemplate()),
+            Collections.unmodifiableMap(new HashMap<>(template.getDefaultValues()))
+        );
+    }
+
+    private String resolveLocale(NotificationTemplate template) {
+        return template.getLocale() != null ? template.getLocale() : template.getLanguageCode();
+    }
+
+    private record TemplateKey(String code, Integer version, String locale) {}
+
+    private record CompiledNotificationTemplate(
+            CompiledTemplate subject,
+            CompiledTemplate body,
+            CompiledTemplate header,
+            CompiledTemplate footer,
+            CompiledTemplate sms,
+            CompiledTemplate push,
+            Map<String, String> defaults) {}
+}
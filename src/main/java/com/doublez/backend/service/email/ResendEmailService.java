@@ -2,6 +2,8 @@ package com.doublez.backend.service.email;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +25,153 @@ public class ResendEmailService {
     
     private static final Logger logger = LoggerFactory.getLogger(ResendEmailService.class);
     
+    // Invitation templates are parsed once; bulk invitations only pay for rendering
+    private static final CompiledTemplate TEAM_INVITATION_HTML = CompiledTemplate.compile("""
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #4CAF50; color: white; padding: 20px; text-align: center; }
+                    .content { padding: 30px; background-color: #f9f9f9; }
+                    .button { display: inline-block; padding: 12px 24px; background-color: #4CAF50; 
+                             color: white; text-decoration: none; border-radius: 4px; margin: 20px 0; }
+                    .footer { margin-top: 30px; padding-top: 20px; border-top: 1px solid #ddd; 
+                             font-size: 12px; color: #666; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>Pozivnica za tim</h1>
+                    </div>
+                    <div class="content">
+                        <h2>Pozdrav {{userName}},</h2>
+                        <p><strong>{{inviterName}}</strong> vas poziva da se pridružite timu agencije <strong>{{agencyName}}</strong>.</p>
+                        <p>Pozicija: <strong>{{role}}</strong></p>
+                        <p>Pozivnica važi 7 dana.</p>
+                        <a href="{{invitationLink}}" class="button">Prihvati pozivnicu</a>
+                        <p>Ili kopirajte ovaj link u pretraživač: {{invitationLink}}</p>
+                        <p>Ako niste zainteresovani, ignorišite ovaj email.</p>
+                    </div>
+                    <div class="footer">
+                        <p>Ovo je automatski generisan email. Molimo ne odgovarajte na njega.</p>
+                        <p>&copy; 2024 Real Estate Platform. Sva prava zadržana.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """);
+    
+    private static final CompiledTemplate INVITATION_ACCEPTED_HTML = CompiledTemplate.compile("""
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #4CAF50; color: white; padding: 20px; text-align: center; }
+                    .content { padding: 30px; background-color: #f9f9f9; }
+                    .footer { margin-top: 30px; padding-top: 20px; border-top: 1px solid #ddd; 
+                             font-size: 12px; color: #666; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>Pozivnica prihvaćena</h1>
+                    </div>
+                    <div class="content">
+                        <h2>Poštovani/poštovana {{inviterName}},</h2>
+                        <p><strong>{{newMemberName}}</strong> je prihvatio/la vašu pozivnicu i sada je deo tima agencije <strong>{{agencyName}}</strong>.</p>
+                        <p>Pozicija: <strong>{{role}}</strong></p>
+                        <p>Novi član tima je sada aktivan i može početi sa radom.</p>
+                        <p>Pozdrav,<br>Real Estate Platform Team</p>
+                    </div>
+                    <div class="footer">
+                        <p>Ovo je automatski generisan email. Molimo ne odgovarajte na njega.</p>
+                        <p>&copy; 2024 Real Estate Platform. Sva prava zadržana.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """);
+    
+    private static final CompiledTemplate INVITATION_REJECTED_HTML = CompiledTemplate.compile("""
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #f44336; color: white; padding: 20px; text-align: center; }
+                    .content { padding: 30px; background-color: #f9f9f9; }
+                    .footer { margin-top: 30px; padding-top: 20px; border-top: 1px solid #ddd; 
+                             font-size: 12px; color: #666; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>Pozivnica odbijena</h1>
+                    </div>
+                    <div class="content">
+                        <h2>Poštovani/poštovana {{inviterName}},</h2>
+                        <p><strong>{{rejecterName}}</strong> je odbio/la vašu pozivnicu za pridruživanje timu agencije <strong>{{agencyName}}</strong>.</p>
+                        <p>Možete poslati novu pozivnicu drugom kandidatu ili kontaktirati ovu osobu direktno za više informacija.</p>
+                        <p>Pozdrav,<br>Real Estate Platform Team</p>
+                    </div>
+                    <div class="footer">
+                        <p>Ovo je automatski generisan email. Molimo ne odgovarajte na njega.</p>
+                        <p>&copy; 2024 Real Estate Platform. Sva prava zadržana.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """);
+    
+    private static final CompiledTemplate TEAM_INVITATION_TEXT = CompiledTemplate.compile("""
+            Pozdrav {{userName}},
+            
+            {{inviterName}} vas poziva da se pridružite timu agencije {{agencyName}}.
+            
+            Pozicija: {{role}}
+            
+            Pozivnica važi 7 dana.
+            
+            Prihvatite pozivnicu ovde: {{invitationLink}}
+            
+            Ako niste zainteresovani, ignorišite ovaj email.
+            
+            Pozdrav,
+            Real Estate Platform Team
+            """);
+    
+    private static final CompiledTemplate INVITATION_ACCEPTED_TEXT = CompiledTemplate.compile("""
+            Poštovani/poštovana {{inviterName}},
+            
+            {{newMemberName}} je prihvatio/la vašu pozivnicu i sada je deo tima agencije {{agencyName}}.
+            
+            Pozicija: {{role}}
+            
+            Novi član tima je sada aktivan i može početi sa radom.
+            
+            Pozdrav,
+            Real Estate Platform Team
+            """);
+    
+    private static final CompiledTemplate INVITATION_REJECTED_TEXT = CompiledTemplate.compile("""
+            Poštovani/poštovana {{inviterName}},
+            
+            {{rejecterName}} je odbio/la vašu pozivnicu za pridruživanje timu agencije {{agencyName}}.
+            
+            Možete poslati novu pozivnicu drugom kandidatu ili kontaktirati ovu osobu direktno za više informacija.
+            
+            Pozdrav,
+            Real Estate Platform Team
+            """);
+    
     private final Resend resend;
     private final String fromAddress;
     private final String supportEmail;
@@ -521,115 +670,28 @@ public class ResendEmailService {
                                            String role, String token) {
         String invitationLink = "https://yourdomain.com/accept-invitation?token=" + token;
         
-        return """
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #4CAF50; color: white; padding: 20px; text-align: center; }
-                    .content { padding: 30px; background-color: #f9f9f9; }
-                    .button { display: inline-block; padding: 12px 24px; background-color: #4CAF50; 
-                             color: white; text-decoration: none; border-radius: 4px; margin: 20px 0; }
-                    .footer { margin-top: 30px; padding-top: 20px; border-top: 1px solid #ddd; 
-                             font-size: 12px; color: #666; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>Pozivnica za tim</h1>
-                    </div>
-                    <div class="content">
-                        <h2>Pozdrav %s,</h2>
-                        <p><strong>%s</strong> vas poziva da se pridružite timu agencije <strong>%s</strong>.</p>
-                        <p>Pozicija: <strong>%s</strong></p>
-                        <p>Pozivnica važi 7 dana.</p>
-                        <a href="%s" class="button">Prihvati pozivnicu</a>
-                        <p>Ili kopirajte ovaj link u pretraživač: %s</p>
-                        <p>Ako niste zainteresovani, ignorišite ovaj email.</p>
-                    </div>
-                    <div class="footer">
-                        <p>Ovo je automatski generisan email. Molimo ne odgovarajte na njega.</p>
-                        <p>&copy; 2024 Real Estate Platform. Sva prava zadržana.</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """.formatted(userName, inviterName, agencyName, role, invitationLink, invitationLink);
+        return TEAM_INVITATION_HTML.render(templateVars(
+            "userName", userName,
+            "inviterName", inviterName,
+            "agencyName", agencyName,
+            "role", role,
+            "invitationLink", invitationLink));
     }
 
     private String createInvitationAcceptedHtml(String inviterName, String newMemberName, 
                                               String agencyName, String role) {
-        return """
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #4CAF50; color: white; padding: 20px; text-align: center; }
-                    .content { padding: 30px; background-color: #f9f9f9; }
-                    .footer { margin-top: 30px; padding-top: 20px; border-top: 1px solid #ddd; 
-                             font-size: 12px; color: #666; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>Pozivnica prihvaćena</h1>
-                    </div>
-                    <div class="content">
-                        <h2>Poštovani/poštovana %s,</h2>
-                        <p><strong>%s</strong> je prihvatio/la vašu pozivnicu i sada je deo tima agencije <strong>%s</strong>.</p>
-                        <p>Pozicija: <strong>%s</strong></p>
-                        <p>Novi član tima je sada aktivan i može početi sa radom.</p>
-                        <p>Pozdrav,<br>Real Estate Platform Team</p>
-                    </div>
-                    <div class="footer">
-                        <p>Ovo je automatski generisan email. Molimo ne odgovarajte na njega.</p>
-                        <p>&copy; 2024 Real Estate Platform. Sva prava zadržana.</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """.formatted(inviterName, newMemberName, agencyName, role);
+        return INVITATION_ACCEPTED_HTML.render(templateVars(
+            "inviterName", inviterName,
+            "newMemberName", newMemberName,
+            "agencyName", agencyName,
+            "role", role));
     }
 
     private String createInvitationRejectedHtml(String inviterName, String rejecterName, String agencyName) {
-        return """
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #f44336; color: white; padding: 20px; text-align: center; }
-                    .content { padding: 30px; background-color: #f9f9f9; }
-                    .footer { margin-top: 30px; padding-top: 20px; border-top: 1px solid #ddd; 
-                             font-size: 12px; color: #666; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>Pozivnica odbijena</h1>
-                    </div>
-                    <div class="content">
-                        <h2>Poštovani/poštovana %s,</h2>
-                        <p><strong>%s</strong> je odbio/la vašu pozivnicu za pridruživanje timu agencije <strong>%s</strong>.</p>
-                        <p>Možete poslati novu pozivnicu drugom kandidatu ili kontaktirati ovu osobu direktno za više informacija.</p>
-                        <p>Pozdrav,<br>Real Estate Platform Team</p>
-                    </div>
-                    <div class="footer">
-                        <p>Ovo je automatski generisan email. Molimo ne odgovarajte na njega.</p>
-                        <p>&copy; 2024 Real Estate Platform. Sva prava zadržana.</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """.formatted(inviterName, rejecterName, agencyName);
+        return INVITATION_REJECTED_HTML.render(templateVars(
+            "inviterName", inviterName,
+            "rejecterName", rejecterName,
+            "agencyName", agencyName));
     }
 
     // PLAIN TEXT TEMPLATES
@@ -741,50 +803,36 @@ public class ResendEmailService {
                                            String role, String token) {
         String invitationLink = "https://yourdomain.com/accept-invitation?token=" + token;
         
-        return """
-            Pozdrav %s,
-            
-            %s vas poziva da se pridružite timu agencije %s.
-            
-            Pozicija: %s
-            
-            Pozivnica važi 7 dana.
-            
-            Prihvatite pozivnicu ovde: %s
-            
-            Ako niste zainteresovani, ignorišite ovaj email.
-            
-            Pozdrav,
-            Real Estate Platform Team
-            """.formatted(userName, inviterName, agencyName, role, invitationLink);
+        return TEAM_INVITATION_TEXT.render(templateVars(
+            "userName", userName,
+            "inviterName", inviterName,
+            "agencyName", agencyName,
+            "role", role,
+            "invitationLink", invitationLink));
     }
 
     private String createInvitationAcceptedText(String inviterName, String newMemberName, 
                                               String agencyName, String role) {
-        return """
-            Poštovani/poštovana %s,
-            
-            %s je prihvatio/la vašu pozivnicu i sada je deo tima agencije %s.
-            
-            Pozicija: %s
-            
-            Novi član tima je sada aktivan i može početi sa radom.
-            
-            Pozdrav,
-            Real Estate Platform Team
-            """.formatted(inviterName, newMemberName, agencyName, role);
+        return INVITATION_ACCEPTED_TEXT.render(templateVars(
+            "inviterName", inviterName,
+            "newMemberName", newMemberName,
+            "agencyName", agencyName,
+            "role", role));
     }
 
     private String createInvitationRejectedText(String inviterName, String rejecterName, String agencyName) {
-        return """
-            Poštovani/poštovana %s,
-            
-            %s je odbio/la vašu pozivnicu za pridruživanje timu agencije %s.
-            
-            Možete poslati novu pozivnicu drugom kandidatu ili kontaktirati ovu osobu direktno za više informacija.
-            
-            Pozdrav,
-            Real Estate Platform Team
-            """.formatted(inviterName, rejecterName, agencyName);
+        return INVITATION_REJECTED_TEXT.render(templateVars(
+            "inviterName", inviterName,
+            "rejecterName", rejecterName,
+            "agencyName", agencyName));
+    }
+
+    // Map.of rejects null values; template variables may legitimately be null
+    private static Map<String, Object> templateVars(Object... keyValues) {
+        Map<String, Object> variables = new HashMap<>(keyValues.length);
+        for (int i = 0; i < keyValues.length; i += 2) {
+            variables.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return variables;
     }
 }
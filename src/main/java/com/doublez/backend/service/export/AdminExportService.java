@@ -0,0 +1,254 @@
+package com.doublez.backend.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.doublez.backend.enums.ExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Streaming admin exports of listings, users and agencies as CSV or NDJSON.
+ *
+ * Rows are read through a forward-only scroll with a JDBC fetch size and written
+ * straight to the response stream, so heap use does not grow with the table and the
+ * first rows go out before the last are read. The queries select flat columns
+ * rather than entities: the inverse one-to-one associations (listing metrics, user
+ * profiles) would otherwise cost a query per row. The session is still cleared every
+ * few hundred rows so nothing accumulates in the persistence context.
+ */
+@Service
+public class AdminExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminExportService.class);
+
+    private static final int PROGRESS_INTERVAL = 50_000;
+
+    private static final ExportSpec LISTINGS = new ExportSpec("listings",
+        "SELECT re.propertyId, re.title, re.propertyType, re.listingType, re.price, re.currency," +
+        "       re.city, re.municipality, re.neighborhood, re.address, re.sizeInSqMt, re.roomCount," +
+        "       re.isActive, re.isFeatured, re.featuredUntil, re.owner.id, re.agency.id," +
+        "       re.createdAt, re.updatedAt" +
+        "  FROM RealEstate re ORDER BY re.propertyId",
+        List.of("propertyId", "title", "propertyType", "listingType", "price", "currency",
+                "city", "municipality", "neighborhood", "address", "sizeInSqMt", "roomCount",
+                "isActive", "isFeatured", "featuredUntil", "ownerId", "agencyId",
+                "createdAt", "updatedAt"));
+
+    private static final ExportSpec USERS = new ExportSpec("users",
+        "SELECT u.id, u.email, u.firstName, u.lastName, u.phone, u.tier," +
+        "       (SELECT listagg(r.name, ',') WITHIN GROUP (ORDER BY r.name)" +
+        "          FROM User ru JOIN ru.roles r WHERE ru.id = u.id)," +
+        "       u.isActive, u.emailVerified, u.suspended, u.trialUsed, u.trialEndDate," +
+        "       u.lastLoginAt, u.createdAt" +
+        "  FROM User u ORDER BY u.id",
+        List.of("id", "email", "firstName", "lastName", "phone", "tier",
+                "roles",
+                "isActive", "emailVerified", "suspended", "trialUsed", "trialEndDate",
+                "lastLoginAt", "createdAt"));
+
+    private static final ExportSpec AGENCIES = new ExportSpec("agencies",
+        "SELECT a.id, a.name, a.contactEmail, a.contactPhone, a.city, a.licenseNumber, a.pib," +
+        "       a.tier, a.isActive, a.verificationStatus, a.isFeatured, a.admin.id, a.createdAt" +
+        "  FROM Agency a ORDER BY a.id",
+        List.of("id", "name", "contactEmail", "contactPhone", "city", "licenseNumber", "pib",
+                "tier", "isActive", "verificationStatus", "isFeatured", "adminUserId", "createdAt"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${app.export.clear-interval:1000}")
+    private int clearInterval;
+
+    public AdminExportService(PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public long exportListings(ExportFormat format, OutputStream out) {
+        return export(LISTINGS, format, out);
+    }
+
+    public long exportUsers(ExportFormat format, OutputStream out) {
+        return export(USERS, format, out);
+    }
+
+    public long exportAgencies(ExportFormat format, OutputStream out) {
+        return export(AGENCIES, format, out);
+    }
+
+    private long export(ExportSpec spec, ExportFormat format, OutputStream out) {
+        long start = System.currentTimeMillis();
+        logger.info("📤 Starting {} export ({})", spec.name(), format);
+
+        // Postgres only honours the fetch size inside a transaction
+        Long rows = readOnlyTransaction.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            try (RowWriter writer = rowWriter(format, spec.columns(), out);
+                 ScrollableResults<Object[]> results = session.createSelectionQuery(spec.hql(), Object[].class)
+                         .setFetchSize(fetchSize)
+                         .setReadOnly(true)
+                         .setCacheMode(CacheMode.IGNORE)
+                         .scroll(ScrollMode.FORWARD_ONLY)) {
+
+                writer.writeHeader();
+                long count = 0;
+                while (results.next()) {
+                    writer.writeRow(results.get());
+                    count++;
+
+                    if (count % clearInterval == 0) {
+                        writer.flush();
+                        session.clear();
+                    }
+                    if (count % PROGRESS_INTERVAL == 0) {
+                        logger.info("📤 {} export: {} rows written", spec.name(), count);
+                    }
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write " + spec.name() + " export", e);
+            }
+        });
+
+        logger.info("✅ {} export finished: {} rows in {} ms",
+                    spec.name(), rows, System.currentTimeMillis() - start);
+        return rows != null ? rows : 0;
+    }
+
+    private RowWriter rowWriter(ExportFormat format, List<String> columns, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRowWriter(columns, out);
+            case NDJSON -> new NdjsonRowWriter(columns, objectMapper, out);
+        };
+    }
+
+    private record ExportSpec(String name, String hql, List<String> columns) {}
+
+    // Closing a writer flushes it but leaves the response stream open
+    private interface RowWriter extends AutoCloseable {
+        void writeHeader() throws IOException;
+        void writeRow(Object[] row) throws IOException;
+        void flush() throws IOException;
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final List<String> columns;
+        private final Writer writer;
+
+        CsvRowWriter(List<String> columns, OutputStream out) {
+            this.columns = columns;
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            writeLine(columns.toArray());
+        }
+
+        @Override
+        public void writeRow(Object[] row) throws IOException {
+            writeLine(row);
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value instanceof Enum<?> e ? e.name() : value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final List<String> columns;
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(List<String> columns, ObjectMapper objectMapper, OutputStream out) throws IOException {
+            this.columns = columns;
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+        }
+
+        @Override
+        public void writeHeader() {
+            // Every line carries its own field names
+        }
+
+        @Override
+        public void writeRow(Object[] row) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < row.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                generator.writeObject(row[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,580 @@
+package com.doublez.backend.service.feed;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.SelectionQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.doublez.backend.config.SchedulingConfig;
+import com.doublez.backend.dto.feed.FeedManifest;
+import com.doublez.backend.dto.feed.FeedManifest.FeedFile;
+import com.doublez.backend.service.s3.S3DeletionQueueService;
+import com.doublez.backend.service.s3.S3Service;
+import com.doublez.backend.service.scheduling.ClusterJobService;
+import com.doublez.backend.service.scheduling.JobContext;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Listing feed for partner portals and crawlers, generated ahead of time so feed
+ * traffic is served from S3 and never queries the listings.
+ *
+ * A full snapshot of active listings is written nightly: gzipped sitemaps and NDJSON
+ * listing files chunked at the sitemap limit of 50k URLs, plus a sitemap index. Between
+ * snapshots, delta files with the listings whose updatedAt passed the watermark
+ * (including deactivated ones, marked REMOVED) are added to it. Generation runs on one
+ * instance under a ClusterJobService lease; files are staged in a temp directory,
+ * uploaded under app.feed.s3-prefix and then published in listing_feed_snapshots /
+ * listing_feed_files, which also hold the watermark. Every instance serves the published
+ * files from a list it refreshes every app.feed.refresh-interval-ms. A new snapshot
+ * supersedes the previous one and its deltas, whose objects go to the S3 deletion queue.
+ * Hard-deleted listings only drop out with the next snapshot.
+ */
+@Service
+public class ListingFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingFeedService.class);
+
+    public static final int MAX_URLS_PER_FILE = 50_000;
+    public static final String SITEMAP_INDEX = "sitemap-index.xml";
+
+    private static final String SNAPSHOT_JOB = "listing-feed-snapshot";
+    private static final String DELTA_JOB = "listing-feed-delta";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(10);
+    private static final Duration SNAPSHOT_MIN_INTERVAL = Duration.ofHours(1);
+
+    private static final String SNAPSHOT_PREFIX = "full-";
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("sitemap-index\\.xml|(sitemap-\\d+\\.xml|listings-\\d+\\.ndjson)\\.gz");
+    private static final Pattern DELTA_FILE = Pattern.compile("delta-\\d+\\.ndjson\\.gz");
+
+    private static final String SELECT_LISTINGS =
+        "SELECT re.propertyId, re.title, re.propertyType, re.listingType, re.price, re.currency," +
+        "       re.city, re.municipality, re.neighborhood, re.sizeInSqMt, re.roomCount," +
+        "       re.isActive, re.updatedAt" +
+        "  FROM RealEstate re ";
+    private static final List<String> FIELDS = List.of(
+        "id", "title", "propertyType", "listingType", "price", "currency",
+        "city", "municipality", "neighborhood", "sizeInSqMt", "roomCount",
+        "isActive", "updatedAt");
+    private static final int ID = 0;
+    private static final int IS_ACTIVE = 11;
+    private static final int UPDATED_AT = 12;
+
+    private static final String SNAPSHOT_HQL = SELECT_LISTINGS +
+        "WHERE re.isActive = true ORDER BY re.propertyId";
+    private static final String DELTA_HQL = SELECT_LISTINGS +
+        "WHERE re.updatedAt > :from AND re.updatedAt <= :to ORDER BY re.updatedAt, re.propertyId";
+
+    private static final String CURRENT_SNAPSHOT_SQL =
+        "SELECT id, watermark FROM listing_feed_snapshots ORDER BY id DESC LIMIT 1";
+    private static final String INSERT_SNAPSHOT_SQL =
+        "INSERT INTO listing_feed_snapshots (watermark, created_at) VALUES (?, now()) RETURNING id";
+    private static final String INSERT_FILE_SQL =
+        "INSERT INTO listing_feed_files (snapshot_id, file_name, s3_key, byte_size, created_at) VALUES (?, ?, ?, ?, now())";
+    private static final String PUBLISHED_FILES_SQL =
+        "SELECT file_name, s3_key, byte_size, created_at FROM listing_feed_files WHERE snapshot_id = ? ORDER BY file_name";
+    // A delta only lands on the snapshot it was read against, and only if that is still the newest
+    private static final String ADVANCE_WATERMARK_SQL =
+        "UPDATE listing_feed_snapshots SET watermark = ? " +
+        "WHERE id = ? AND watermark = ? AND id = (SELECT MAX(id) FROM listing_feed_snapshots)";
+    // Locking first waits for a delta still being published to an older snapshot, so its key is collected too
+    private static final String LOCK_OLD_SNAPSHOTS_SQL =
+        "SELECT id FROM listing_feed_snapshots WHERE id < ? FOR UPDATE";
+    private static final String OLD_FILE_KEYS_SQL =
+        "SELECT s3_key FROM listing_feed_files WHERE snapshot_id < ?";
+    private static final String DELETE_OLD_SNAPSHOTS_SQL =
+        "DELETE FROM listing_feed_snapshots WHERE id < ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final S3Service s3Service;
+    private final S3DeletionQueueService s3DeletionQueueService;
+    private final ClusterJobService clusterJobService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    // What this instance serves; replaced as a whole on refresh
+    private volatile Published published = Published.NONE;
+
+    @Value("${app.feed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.feed.s3-prefix:feeds}")
+    private String s3Prefix;
+
+    @Value("${app.feed.site-url:${frontend.url:http://localhost:3000}}")
+    private String siteUrl;
+
+    @Value("${app.feed.public-url:http://localhost:8080}")
+    private String publicUrl;
+
+    @Value("${app.feed.delta-interval-ms:900000}")
+    private long deltaIntervalMs;
+
+    @Value("${app.feed.delta-lag-seconds:60}")
+    private long deltaLagSeconds;
+
+    @Value("${app.feed.fetch-size:500}")
+    private int fetchSize;
+
+    public ListingFeedService(JdbcTemplate jdbcTemplate, S3Service s3Service,
+                              S3DeletionQueueService s3DeletionQueueService, ClusterJobService clusterJobService,
+                              PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.s3Service = s3Service;
+        this.s3DeletionQueueService = s3DeletionQueueService;
+        this.clusterJobService = clusterJobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Nightly full snapshot (default 1 AM), on one instance
+     */
+    @Scheduled(cron = "${app.feed.full-cron:0 0 1 * * *}", scheduler = SchedulingConfig.CLUSTER_JOB_SCHEDULER)
+    public void scheduledFullSnapshot() {
+        if (enabled) {
+            clusterJobService.run(SNAPSHOT_JOB, LEASE_TTL, SNAPSHOT_MIN_INTERVAL, this::writeSnapshot);
+        }
+    }
+
+    /**
+     * Delta feed every app.feed.delta-interval-ms; writes a first snapshot if none is published yet
+     */
+    @Scheduled(fixedDelayString = "${app.feed.delta-interval-ms:900000}", initialDelayString = "${app.feed.initial-delay-ms:120000}",
+               scheduler = SchedulingConfig.CLUSTER_JOB_SCHEDULER)
+    public void scheduledDelta() {
+        if (!enabled) {
+            return;
+        }
+        if (currentSnapshot() == null) {
+            clusterJobService.run(SNAPSHOT_JOB, LEASE_TTL, SNAPSHOT_MIN_INTERVAL, this::writeSnapshot);
+        } else {
+            generateDelta();
+        }
+    }
+
+    /**
+     * Write a full snapshot of active listings and publish it, replacing the previous one.
+     * Returns 0 when another instance is generating one.
+     */
+    public int generateFullSnapshot() {
+        return clusterJobService.run(SNAPSHOT_JOB, LEASE_TTL, Duration.ZERO, this::writeSnapshot);
+    }
+
+    /**
+     * Write the listings changed since the watermark as a delta of the current snapshot
+     */
+    public int generateDelta() {
+        return clusterJobService.run(DELTA_JOB, LEASE_TTL, Duration.ofMillis(deltaIntervalMs / 2), this::writeDelta);
+    }
+
+    /**
+     * Published feed file by name, or null when it does not exist (names outside the feed are rejected)
+     */
+    public PublishedFile resolveFile(String fileName) {
+        if (fileName == null || !(SNAPSHOT_FILE.matcher(fileName).matches() || DELTA_FILE.matcher(fileName).matches())) {
+            return null;
+        }
+        return published.files().stream()
+                .filter(file -> file.name().equals(fileName))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Stream a published file's content from S3; the caller closes the stream
+     */
+    public InputStream openFile(PublishedFile file) {
+        return s3Service.getObject(file.s3Key());
+    }
+
+    /**
+     * What is currently published, as last refreshed from the database
+     */
+    public FeedManifest getManifest() {
+        Published current = published;
+        if (current.watermark() == null) {
+            return new FeedManifest(null, List.of(), List.of());
+        }
+
+        List<FeedFile> snapshot = new ArrayList<>();
+        List<FeedFile> deltas = new ArrayList<>();
+        for (PublishedFile file : current.files()) {
+            FeedFile described = new FeedFile(file.name(), file.size(), file.lastModified());
+            if (SNAPSHOT_FILE.matcher(file.name()).matches()) {
+                snapshot.add(described);
+            } else if (DELTA_FILE.matcher(file.name()).matches()) {
+                deltas.add(described);
+            }
+        }
+        deltas.sort(Comparator.comparingLong(f -> epochMillisOf(f.name())));
+        return new FeedManifest(current.watermark(), snapshot, deltas);
+    }
+
+    /**
+     * Reload the published snapshot and its files; keeps serving the previous list if that fails
+     */
+    @Scheduled(fixedDelayString = "${app.feed.refresh-interval-ms:60000}")
+    public void refreshPublished() {
+        try {
+            CurrentSnapshot snapshot = currentSnapshot();
+            if (snapshot == null) {
+                published = Published.NONE;
+                return;
+            }
+            List<PublishedFile> files = jdbcTemplate.query(PUBLISHED_FILES_SQL, (rs, rowNum) -> new PublishedFile(
+                    rs.getString("file_name"),
+                    rs.getString("s3_key"),
+                    rs.getLong("byte_size"),
+                    rs.getObject("created_at", LocalDateTime.class)),
+                snapshot.id());
+            published = new Published(snapshot.watermark(), files);
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Failed to refresh the published listing feed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A file of the published feed and where its content lives
+     */
+    public record PublishedFile(String name, String s3Key, long size, LocalDateTime lastModified) {
+
+        public long lastModifiedMillis() {
+            return toEpochMillis(lastModified);
+        }
+    }
+
+    private record Published(LocalDateTime watermark, List<PublishedFile> files) {
+        static final Published NONE = new Published(null, List.of());
+    }
+
+    private record CurrentSnapshot(long id, LocalDateTime watermark) {}
+
+    // ===== GENERATION =====
+
+    private int writeSnapshot(JobContext job) {
+        long start = System.currentTimeMillis();
+        // Rows changed during the lag window may appear again in the next delta; partners upsert by id
+        LocalDateTime watermark = LocalDateTime.now().minusSeconds(deltaLagSeconds);
+        String name = SNAPSHOT_PREFIX + toEpochMillis(watermark);
+        Path staging = null;
+        List<String> uploaded = new ArrayList<>();
+        try {
+            staging = Files.createTempDirectory("listing-feed-");
+            long rows;
+            try (SnapshotWriter writer = new SnapshotWriter(staging)) {
+                rows = scroll(SNAPSHOT_HQL, Map.of(), writer::write);
+            }
+
+            job.checkLease();
+            List<Path> files;
+            try (Stream<Path> listed = Files.list(staging)) {
+                files = listed.sorted().toList();
+            }
+            List<Object[]> fileRows = new ArrayList<>(files.size());
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String key = s3Prefix + "/" + name + "/" + fileName;
+                long size = upload(key, file);
+                uploaded.add(key);
+                fileRows.add(new Object[] { fileName, key, size });
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                Long snapshotId = jdbcTemplate.queryForObject(INSERT_SNAPSHOT_SQL, Long.class, watermark);
+                jdbcTemplate.batchUpdate(INSERT_FILE_SQL, fileRows.stream()
+                        .map(file -> new Object[] { snapshotId, file[0], file[1], file[2] })
+                        .toList());
+                jdbcTemplate.queryForList(LOCK_OLD_SNAPSHOTS_SQL, Long.class, snapshotId);
+                s3DeletionQueueService.enqueue(jdbcTemplate.queryForList(OLD_FILE_KEYS_SQL, String.class, snapshotId));
+                jdbcTemplate.update(DELETE_OLD_SNAPSHOTS_SQL, snapshotId);
+            });
+            uploaded.clear();
+            refreshPublished();
+
+            logger.info("📰 Listing feed snapshot {} published: {} listings in {} ms",
+                        name, rows, System.currentTimeMillis() - start);
+            return (int) rows;
+        } catch (IOException e) {
+            logger.error("❌ Failed to write listing feed snapshot", e);
+            throw new UncheckedIOException(e);
+        } finally {
+            // Objects of a snapshot that was never published
+            s3DeletionQueueService.enqueue(uploaded);
+            deleteQuietly(staging);
+        }
+    }
+
+    private int writeDelta(JobContext job) {
+        CurrentSnapshot snapshot = currentSnapshot();
+        if (snapshot == null) {
+            logger.warn("⚠️ No listing feed snapshot published yet, skipping delta");
+            return 0;
+        }
+        LocalDateTime from = snapshot.watermark();
+        LocalDateTime to = LocalDateTime.now().minusSeconds(deltaLagSeconds);
+        if (!to.isAfter(from)) {
+            return 0;
+        }
+
+        String name = "delta-" + toEpochMillis(to) + ".ndjson.gz";
+        String key = s3Prefix + "/" + name;
+        Path staging = null;
+        try {
+            staging = Files.createTempFile("listing-feed-", ".ndjson.gz");
+            long rows;
+            try (JsonGenerator generator = ndjsonGenerator(Files.newOutputStream(staging))) {
+                rows = scroll(DELTA_HQL, Map.of("from", from, "to", to), row -> writeListing(generator, row, true));
+            }
+            // Publishing the file is what advances the watermark; an empty window is simply queried again
+            if (rows == 0) {
+                return 0;
+            }
+
+            job.checkLease();
+            long size = upload(key, staging);
+            Boolean publishedDelta = transactionTemplate.execute(status -> {
+                if (jdbcTemplate.update(ADVANCE_WATERMARK_SQL, to, snapshot.id(), from) == 0) {
+                    return false;
+                }
+                jdbcTemplate.update(INSERT_FILE_SQL, snapshot.id(), name, key, size);
+                return true;
+            });
+            if (!Boolean.TRUE.equals(publishedDelta)) {
+                logger.info("📰 Listing feed delta {} superseded by a newer snapshot, discarding", name);
+                s3DeletionQueueService.enqueue(List.of(key));
+                return 0;
+            }
+            refreshPublished();
+
+            logger.info("📰 Listing feed delta {}: {} changed listings", name, rows);
+            return (int) rows;
+        } catch (IOException e) {
+            logger.error("❌ Failed to write listing feed delta", e);
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteQuietly(staging);
+        }
+    }
+
+    private long upload(String key, Path file) throws IOException {
+        long size = Files.size(file);
+        String contentType = file.getFileName().toString().endsWith(".gz") ? "application/gzip" : "application/xml";
+        try (InputStream data = Files.newInputStream(file)) {
+            s3Service.putObject(key, data, size, contentType);
+        }
+        return size;
+    }
+
+    private CurrentSnapshot currentSnapshot() {
+        List<CurrentSnapshot> rows = jdbcTemplate.query(CURRENT_SNAPSHOT_SQL, (rs, rowNum) ->
+                new CurrentSnapshot(rs.getLong("id"), rs.getObject("watermark", LocalDateTime.class)));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    // ===== QUERYING =====
+
+    private long scroll(String hql, Map<String, Object> parameters, RowSink sink) {
+        Long rows = readOnlyTransaction.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            SelectionQuery<Object[]> query = session.createSelectionQuery(hql, Object[].class);
+            parameters.forEach(query::setParameter);
+
+            try (ScrollableResults<Object[]> results = query
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true)
+                    .setCacheMode(CacheMode.IGNORE)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                long count = 0;
+                while (results.next()) {
+                    sink.accept(results.get());
+                    if (++count % CLEAR_INTERVAL == 0) {
+                        session.clear();
+                    }
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows != null ? rows : 0;
+    }
+
+    @FunctionalInterface
+    private interface RowSink {
+        void accept(Object[] row) throws IOException;
+    }
+
+    // ===== WRITING =====
+
+    /**
+     * Sitemap and NDJSON chunks rotated together every MAX_URLS_PER_FILE listings, then the sitemap index
+     */
+    private class SnapshotWriter implements AutoCloseable {
+
+        private final Path dir;
+        private final List<String> sitemaps = new ArrayList<>();
+        private Writer sitemap;
+        private JsonGenerator listings;
+        private long written;
+
+        SnapshotWriter(Path dir) {
+            this.dir = dir;
+        }
+
+        void write(Object[] row) throws IOException {
+            if (written % MAX_URLS_PER_FILE == 0) {
+                closeChunk();
+                openChunk(sitemaps.size() + 1);
+            }
+            sitemap.write("<url><loc>" + escapeXml(listingUrl(row[ID])) + "</loc>");
+            if (row[UPDATED_AT] instanceof LocalDateTime updatedAt) {
+                sitemap.write("<lastmod>" + updatedAt.toLocalDate() + "</lastmod>");
+            }
+            sitemap.write("</url>\n");
+            writeListing(listings, row, false);
+            written++;
+        }
+
+        private void openChunk(int chunk) throws IOException {
+            String name = "sitemap-" + chunk + ".xml.gz";
+            sitemaps.add(name);
+            sitemap = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(dir.resolve(name))), StandardCharsets.UTF_8));
+            sitemap.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            sitemap.write("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+            listings = ndjsonGenerator(Files.newOutputStream(dir.resolve("listings-" + chunk + ".ndjson.gz")));
+        }
+
+        private void closeChunk() throws IOException {
+            if (sitemap != null) {
+                sitemap.write("</urlset>\n");
+                sitemap.close();
+                listings.close();
+                sitemap = null;
+                listings = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            closeChunk();
+            String lastmod = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(
+                    Instant.now().atZone(ZoneId.systemDefault()).withNano(0));
+            try (Writer index = Files.newBufferedWriter(dir.resolve(SITEMAP_INDEX), StandardCharsets.UTF_8)) {
+                index.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+                index.write("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+                for (String name : sitemaps) {
+                    index.write("<sitemap><loc>" + escapeXml(publicUrl + "/api/feeds/" + name) + "</loc>" +
+                                "<lastmod>" + lastmod + "</lastmod></sitemap>\n");
+                }
+                index.write("</sitemapindex>\n");
+            }
+        }
+    }
+
+    private JsonGenerator ndjsonGenerator(OutputStream out) throws IOException {
+        return objectMapper.getFactory()
+                .createGenerator(new GZIPOutputStream(out))
+                .setRootValueSeparator(null);
+    }
+
+    private void writeListing(JsonGenerator generator, Object[] row, boolean withStatus) throws IOException {
+        generator.writeStartObject();
+        if (withStatus) {
+            boolean active = Boolean.TRUE.equals(row[IS_ACTIVE]);
+            generator.writeStringField("status", active ? "ACTIVE" : "REMOVED");
+            if (!active) {
+                // Partners only need the id to take a listing down
+                generator.writeObjectField(FIELDS.get(ID), row[ID]);
+                generator.writeObjectField(FIELDS.get(UPDATED_AT), row[UPDATED_AT]);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                return;
+            }
+        }
+        for (int i = 0; i < row.length; i++) {
+            generator.writeObjectField(FIELDS.get(i), row[i]);
+        }
+        generator.writeStringField("url", listingUrl(row[ID]));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private String listingUrl(Object propertyId) {
+        return siteUrl + "/real-estates/" + propertyId;
+    }
+
+    private static String escapeXml(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                    .replace("\"", "&quot;").replace("'", "&apos;");
+    }
+
+    // ===== FILES & WATERMARK =====
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path entry : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(entry);
+            }
+        } catch (IOException e) {
+            logger.warn("⚠️ Failed to remove feed staging files {}: {}", path, e.getMessage());
+        }
+    }
+
+    // "delta-1700000000000.ndjson.gz"
+    private static long epochMillisOf(String name) {
+        String digits = name.replaceAll("^[a-z]+-(\\d+).*$", "$1");
+        return digits.equals(name) ? 0 : Long.parseLong(digits);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
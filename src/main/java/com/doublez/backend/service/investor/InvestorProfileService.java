@@ -1,23 +1,19 @@
 package com.doublez.backend.service.investor;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import com.doublez.backend.dto.realestate.RealEstateResponseDTO;
+import com.doublez.backend.dto.realestate.PortfolioStatsDTO;
 import com.doublez.backend.entity.profile.InvestorProfile;
 import com.doublez.backend.entity.user.User;
-import com.doublez.backend.enums.property.PropertyType;
 import com.doublez.backend.exception.IllegalOperationException;
 import com.doublez.backend.exception.ResourceNotFoundException;
 import com.doublez.backend.exception.UserNotFoundException;
@@ -167,38 +163,25 @@ public class InvestorProfileService {
         logger.info("📈 Calculating portfolio statistics for investor: {}", investorId);
         
         try {
-            // Get investor's properties
-            List<RealEstateResponseDTO> properties = realEstateService.getInvestorProperties(investorId);
-            
-            long totalProperties = properties.size();
-            long activeProperties = properties.stream()
-                    .filter(property -> property.getIsActive() != null && property.getIsActive())
-                    .count();
-                    
-            BigDecimal totalPortfolioValue = properties.stream()
-                    .map(RealEstateResponseDTO::getPrice)
-                    .filter(Objects::nonNull)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            // Group by property type
-            Map<PropertyType, Long> propertiesByType = properties.stream()
-                    .collect(Collectors.groupingBy(RealEstateResponseDTO::getPropertyType, Collectors.counting()));
-
-            // Group by city
-            Map<String, Long> propertiesByCity = properties.stream()
-                    .collect(Collectors.groupingBy(RealEstateResponseDTO::getCity, Collectors.counting()));
+            // Aggregated in SQL and cached per investor
+            PortfolioStatsDTO portfolio = realEstateService.getInvestmentPortfolioStats(investorId);
+            long totalProperties = portfolio.getTotalProperties();
+            long activeProperties = portfolio.getActiveProperties();
+            BigDecimal totalPortfolioValue = portfolio.getTotalPortfolioValue();
 
             Map<String, Object> stats = new HashMap<>();
             stats.put("totalProperties", totalProperties);
             stats.put("activeProperties", activeProperties);
-            stats.put("inactiveProperties", totalProperties - activeProperties);
+            stats.put("inactiveProperties", portfolio.getInactiveProperties());
             stats.put("totalPortfolioValue", totalPortfolioValue);
-            stats.put("averagePropertyValue", totalProperties > 0 ? 
-                    totalPortfolioValue.divide(BigDecimal.valueOf(totalProperties), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO);
-            stats.put("propertiesByType", propertiesByType);
-            stats.put("propertiesByCity", propertiesByCity);
-            stats.put("portfolioHealth", calculatePortfolioHealth(properties));
+            stats.put("averagePropertyValue", portfolio.getAveragePropertyValue());
+            stats.put("propertiesByType", portfolio.getPropertiesByType());
+            stats.put("propertiesByCity", portfolio.getPropertiesByCity());
+            stats.put("portfolioHealth", portfolio.getPortfolioHealth());
             stats.put("activationRate", totalProperties > 0 ? (double) activeProperties / totalProperties * 100 : 0.0);
+            stats.put("averageSalePricePerSqm", portfolio.getAverageSalePricePerSqm());
+            stats.put("averageRentPricePerSqm", portfolio.getAverageRentPricePerSqm());
+            stats.put("estimatedGrossYield", portfolio.getEstimatedGrossYield());
 
             logger.info("📊 Portfolio stats calculated - {} properties, ${} total value", 
                     totalProperties, totalPortfolioValue);
@@ -221,24 +204,6 @@ public class InvestorProfileService {
         }
     }
 
-    /**
-     * Calculate portfolio health based on various factors
-     */
-    private String calculatePortfolioHealth(List<RealEstateResponseDTO> properties) {
-        if (properties.isEmpty()) return "EMPTY";
-        
-        long activeCount = properties.stream()
-                .filter(property -> property.getIsActive() != null && property.getIsActive())
-                .count();
-        
-        double activeRatio = (double) activeCount / properties.size();
-        
-        if (activeRatio >= 0.8) return "EXCELLENT";
-        if (activeRatio >= 0.6) return "GOOD";
-        if (activeRatio >= 0.4) return "FAIR";
-        return "NEEDS_ATTENTION";
-    }
-
     /**
      * Get recent activity for investor
      */
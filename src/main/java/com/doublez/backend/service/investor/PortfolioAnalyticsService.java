@@ -0,0 +1,197 @@
+package com.doublez.backend.service.investor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.doublez.backend.dto.realestate.PortfolioStatsDTO;
+import com.doublez.backend.enums.property.ListingType;
+import com.doublez.backend.enums.property.PropertyType;
+
+/**
+ * Investor portfolio statistics aggregated in one GROUPING SETS query (totals plus
+ * by-type, by-city and by-listing-type breakdowns) instead of mapping every listing
+ * through RealEstateResponseDTO and counting in Java.
+ *
+ * Results are cached per investor in "portfolioStats" and evicted after commit when
+ * one of the investor's listings is written (see ListingChangeListener); engagement
+ * counters only refresh with the cache TTL.
+ */
+@Service
+public class PortfolioAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioAnalyticsService.class);
+
+    public static final String CACHE_NAME = "portfolioStats";
+
+    private static final String FOR_SALE = "'" + ListingType.FOR_SALE.name() + "'";
+    private static final String FOR_RENT = "'" + ListingType.FOR_RENT.name() + "'";
+
+    private static final String PORTFOLIO_SQL =
+        "SELECT GROUPING(re.property_type) AS g_type, GROUPING(re.city) AS g_city," +
+        "       GROUPING(re.listing_type) AS g_listing," +
+        "       re.property_type, re.city, re.listing_type," +
+        "       COUNT(*) AS cnt," +
+        "       COUNT(*) FILTER (WHERE re.is_active) AS active," +
+        "       COALESCE(SUM(re.price), 0) AS total_value," +
+        "       AVG(re.price / NULLIF(re.size_in_sqmt, 0)) FILTER (WHERE re.listing_type = " + FOR_SALE + ") AS sale_ppm2," +
+        "       AVG(re.price / NULLIF(re.size_in_sqmt, 0)) FILTER (WHERE re.listing_type = " + FOR_RENT + ") AS rent_ppm2," +
+        "       COALESCE(SUM(pm.view_count), 0) AS views," +
+        "       COALESCE(SUM(pm.contact_count), 0) AS contacts" +
+        "  FROM real_estates re" +
+        "  LEFT JOIN property_metrics pm ON pm.property_id = re.property_id" +
+        " WHERE re.user_id = ?" +
+        " GROUP BY GROUPING SETS ((), (re.property_type), (re.city), (re.listing_type))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+
+    public PortfolioAnalyticsService(JdbcTemplate jdbcTemplate, ObjectProvider<CacheManager> cacheManagerProvider) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManagerProvider = cacheManagerProvider;
+    }
+
+    /**
+     * Portfolio statistics for the investor's listings (authorization is the caller's job)
+     */
+    public PortfolioStatsDTO getPortfolioStats(Long investorId) {
+        Cache cache = getCache();
+        if (cache != null) {
+            PortfolioStatsDTO cached = cache.get(investorId, PortfolioStatsDTO.class);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        PortfolioStatsDTO stats = computePortfolioStats(investorId);
+        if (cache != null) {
+            cache.put(investorId, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Evict an investor's cached statistics once the current transaction commits
+     */
+    public void evict(Long investorId) {
+        if (investorId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(investorId);
+                }
+            });
+        } else {
+            evictNow(investorId);
+        }
+    }
+
+    private void evictNow(Long investorId) {
+        Cache cache = getCache();
+        if (cache != null) {
+            cache.evict(investorId);
+        }
+    }
+
+    private PortfolioStatsDTO computePortfolioStats(Long investorId) {
+        long start = System.currentTimeMillis();
+
+        Map<PropertyType, Long> byType = new LinkedHashMap<>();
+        Map<String, Long> byCity = new LinkedHashMap<>();
+        Map<ListingType, Long> byListingType = new LinkedHashMap<>();
+        Totals totals = new Totals();
+
+        jdbcTemplate.query(PORTFOLIO_SQL, rs -> {
+            long count = rs.getLong("cnt");
+            if (rs.getInt("g_type") == 0) {
+                byType.put(PropertyType.valueOf(rs.getString("property_type")), count);
+            } else if (rs.getInt("g_city") == 0) {
+                byCity.put(rs.getString("city"), count);
+            } else if (rs.getInt("g_listing") == 0) {
+                byListingType.put(ListingType.valueOf(rs.getString("listing_type")), count);
+            } else {
+                totals.count = count;
+                totals.active = rs.getLong("active");
+                totals.value = rs.getBigDecimal("total_value");
+                totals.salePricePerSqm = rs.getBigDecimal("sale_ppm2");
+                totals.rentPricePerSqm = rs.getBigDecimal("rent_ppm2");
+                totals.views = rs.getLong("views");
+                totals.contacts = rs.getLong("contacts");
+            }
+        }, investorId);
+
+        PortfolioStatsDTO stats = new PortfolioStatsDTO(
+                totals.count,
+                totals.active,
+                totals.value != null ? totals.value : BigDecimal.ZERO,
+                byType,
+                byCity,
+                byListingType,
+                portfolioHealth(totals.count, totals.active),
+                totals.views,
+                totals.contacts);
+        stats.setAverageSalePricePerSqm(scale(totals.salePricePerSqm));
+        stats.setAverageRentPricePerSqm(scale(totals.rentPricePerSqm));
+        stats.setEstimatedGrossYield(grossYield(totals.salePricePerSqm, totals.rentPricePerSqm));
+
+        logger.debug("Computed portfolio stats for investor {} ({} listings) in {} ms",
+                     investorId, totals.count, System.currentTimeMillis() - start);
+        return stats;
+    }
+
+    /**
+     * Annual rent per m² over sale price per m², in percent; null unless the portfolio has both kinds
+     */
+    private static BigDecimal grossYield(BigDecimal salePricePerSqm, BigDecimal rentPricePerSqm) {
+        if (salePricePerSqm == null || rentPricePerSqm == null || salePricePerSqm.signum() == 0) {
+            return null;
+        }
+        return rentPricePerSqm.multiply(BigDecimal.valueOf(12 * 100))
+                .divide(salePricePerSqm, 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal scale(BigDecimal value) {
+        return value != null ? value.setScale(2, RoundingMode.HALF_UP) : null;
+    }
+
+    public static String portfolioHealth(long total, long active) {
+        if (total == 0) return "EMPTY";
+
+        double activeRatio = (double) active / total;
+
+        if (activeRatio >= 0.8) return "EXCELLENT";
+        if (activeRatio >= 0.6) return "GOOD";
+        if (activeRatio >= 0.4) return "FAIR";
+        return "NEEDS_ATTENTION";
+    }
+
+    private Cache getCache() {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        return cacheManager != null ? cacheManager.getCache(CACHE_NAME) : null;
+    }
+
+    // Grand-total row of the grouping-sets result
+    private static class Totals {
+        long count;
+        long active;
+        BigDecimal value;
+        BigDecimal salePricePerSqm;
+        BigDecimal rentPricePerSqm;
+        long views;
+        long contacts;
+    }
+}
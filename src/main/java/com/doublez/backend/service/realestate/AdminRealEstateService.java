@@ -1,7 +1,6 @@
 package com.doublez.backend.service.realestate;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -18,7 +17,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.doublez.backend.dto.analytics.ListingStatisticsSnapshot;
 import com.doublez.backend.dto.realestate.RealEstateResponseDTO;
+import com.doublez.backend.dto.realestate.RealEstateSummaryDTO;
 import com.doublez.backend.dto.realestate.RealEstateUpdateDTO;
 import com.doublez.backend.entity.realestate.RealEstate;
 import com.doublez.backend.entity.user.User;
@@ -29,6 +30,7 @@ import com.doublez.backend.exception.ResourceNotFoundException;
 import com.doublez.backend.mapper.RealEstateMapper;
 import com.doublez.backend.repository.UserRepository;
 import com.doublez.backend.repository.realestate.RealEstateRepository;
+import com.doublez.backend.service.analytics.AdminStatisticsService;
 
 import jakarta.transaction.Transactional;
 import jakarta.validation.ValidationException;
@@ -42,16 +44,22 @@ public class AdminRealEstateService {
     private final RealEstateMapper realEstateMapper;
     private final UserRepository userRepository;
     private final RealEstateImageService realEstateImageService;
+    private final AdminStatisticsService statisticsService;
+    private final ListingVersionService listingVersionService;
     private static final Logger logger = LoggerFactory.getLogger(AdminRealEstateService.class);
 
     public AdminRealEstateService(RealEstateRepository realEstateRepository,
                                 RealEstateMapper realEstateMapper,
                                 UserRepository userRepository,
-                                RealEstateImageService realEstateImageService) {
+                                RealEstateImageService realEstateImageService,
+                                AdminStatisticsService statisticsService,
+                                ListingVersionService listingVersionService) {
         this.realEstateRepository = realEstateRepository;
         this.realEstateMapper = realEstateMapper;
         this.userRepository = userRepository;
         this.realEstateImageService = realEstateImageService;
+        this.statisticsService = statisticsService;
+        this.listingVersionService = listingVersionService;
     }
 
     // ENHANCED: Update with proper validation and furniture status support
@@ -188,39 +196,6 @@ public class AdminRealEstateService {
 //        return updateRealEstate(propertyId, updateDto, images, null);
 //    }
     
-    // NEW: Bulk update methods
-    @Transactional
-    public void bulkUpdateStatus(List<Long> propertyIds, Boolean isActive, Boolean isFeatured) {
-        if (propertyIds == null || propertyIds.isEmpty()) {
-            throw new IllegalArgumentException("Property IDs cannot be null or empty");
-        }
-        
-        List<RealEstate> properties = realEstateRepository.findAllById(propertyIds);
-        
-        if (properties.size() != propertyIds.size()) {
-            throw new ResourceNotFoundException("Some properties not found");
-        }
-        
-        for (RealEstate property : properties) {
-            if (isActive != null) {
-                property.setIsActive(isActive);
-            }
-            if (isFeatured != null) {
-                property.setIsFeatured(isFeatured);
-                if (isFeatured) {
-                    property.setFeaturedAt(LocalDateTime.now());
-                } else {
-                    property.setFeaturedAt(null);
-                    property.setFeaturedUntil(null);
-                }
-            }
-            property.preUpdate();
-        }
-        
-        realEstateRepository.saveAll(properties);
-        logger.info("✅ Admin bulk updated {} properties", properties.size());
-    }
-    
     // NEW: Feature property with duration
     @Transactional
     public void featureProperty(Long propertyId, Integer featuredDays) {
@@ -259,9 +234,9 @@ public class AdminRealEstateService {
                    propertyId, entity.getTitle(), 
                    entity.getOwner() != null ? entity.getOwner().getEmail() : "Unknown");
         
-        // Delete associated images from S3 FIRST
+        // Queue associated images for S3 deletion (removed once this transaction commits)
         if (entity.getImages() != null && !entity.getImages().isEmpty()) {
-            logger.info("🗑️ Deleting {} images from S3 for property {}", entity.getImages().size(), propertyId);
+            logger.info("🗑️ Queueing {} images for S3 deletion for property {}", entity.getImages().size(), propertyId);
             realEstateImageService.deleteImages(entity.getImages());
         }
         
@@ -270,48 +245,23 @@ public class AdminRealEstateService {
         logger.info("✅ Admin successfully deleted real estate with ID: {}", propertyId);
     }
     
-    // NEW: Bulk delete
-    @Transactional
-    public void bulkDeleteRealEstates(List<Long> propertyIds) {
-        if (propertyIds == null || propertyIds.isEmpty()) {
-            throw new IllegalArgumentException("Property IDs cannot be null or empty");
-        }
-        
-        List<RealEstate> properties = realEstateRepository.findAllById(propertyIds);
-        
-        if (properties.size() != propertyIds.size()) {
-            throw new ResourceNotFoundException("Some properties not found");
-        }
-        
-        // Delete images first
-        for (RealEstate property : properties) {
-            if (property.getImages() != null && !property.getImages().isEmpty()) {
-                realEstateImageService.deleteImages(property.getImages());
-            }
-        }
-        
-        // Then delete properties
-        realEstateRepository.deleteAll(properties);
-        logger.info("✅ Admin bulk deleted {} properties", properties.size());
-    }
-
     // ENHANCED: Get all with pagination
-    public Page<RealEstateResponseDTO> getAllRealEstates(Pageable pageable) {
+    public Page<RealEstateSummaryDTO> getAllRealEstates(Pageable pageable) {
         return realEstateRepository.findAll(pageable)
-                .map(realEstateMapper::toResponseDto);
+                .map(realEstateMapper::toSummaryDto);
     }
     
     // Keep existing method for backward compatibility
-    public List<RealEstateResponseDTO> getAllRealEstates() {
+    public List<RealEstateSummaryDTO> getAllRealEstates() {
         return realEstateRepository.findAll().stream()
-                .map(realEstateMapper::toResponseDto)
+                .map(realEstateMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
     
     // NEW: Get with filters
-    public Page<RealEstateResponseDTO> getRealEstatesWithFilters(Boolean isActive, Boolean isFeatured, 
+    public Page<RealEstateSummaryDTO> getRealEstatesWithFilters(Boolean isActive, Boolean isFeatured, 
                                                                 PropertyType propertyType, ListingType listingType,
-                                                                Pageable pageable) {
+                                                                String warningFlag, Pageable pageable) {
         Specification<RealEstate> spec = Specification.where(null);
         
         if (isActive != null) {
@@ -326,9 +276,14 @@ public class AdminRealEstateService {
         if (listingType != null) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("listingType"), listingType));
         }
+        if (warningFlag != null && !warningFlag.isBlank()) {
+            // Served by the GIN index on real_estate_details.warning_flags_json
+            spec = spec.and((root, query, cb) -> cb.isTrue(cb.function("jsonb_flag_set", Boolean.class,
+                    root.get("details").get("warningFlags"), cb.literal(warningFlag))));
+        }
         
         return realEstateRepository.findAll(spec, pageable)
-                .map(realEstateMapper::toResponseDto);
+                .map(realEstateMapper::toSummaryDto);
     }
 
     public RealEstateResponseDTO getRealEstateById(Long propertyId) {
@@ -350,41 +305,26 @@ public class AdminRealEstateService {
 //        return realEstateMapper.toResponseDto(realEstate);
 //    }
     
-    // NEW: Admin analytics
+    // Admin analytics (aggregated in SQL, cached by AdminStatisticsService)
     public Map<String, Object> getAdminAnalytics() {
+        ListingStatisticsSnapshot stats = statisticsService.getListingStatistics();
         Map<String, Object> analytics = new LinkedHashMap<>();
         
         // Basic counts
-        analytics.put("totalProperties", realEstateRepository.count());
-        analytics.put("activeProperties", realEstateRepository.countByIsActive(true));
-        analytics.put("inactiveProperties", realEstateRepository.countByIsActive(false));
-        analytics.put("featuredProperties", realEstateRepository.countByIsFeatured(true));
-        analytics.put("forSaleProperties", realEstateRepository.countByListingType(ListingType.FOR_SALE));
-        analytics.put("forRentProperties", realEstateRepository.countByListingType(ListingType.FOR_RENT));
-        
-        // Property type distribution
-        List<Object[]> typeCounts = realEstateRepository.countByPropertyType();
-        Map<String, Long> propertiesByType = typeCounts.stream()
-                .collect(Collectors.toMap(
-                    obj -> ((PropertyType) obj[0]).name(),
-                    obj -> (Long) obj[1]
-                ));
-        analytics.put("propertiesByType", propertiesByType);
+        analytics.put("totalProperties", stats.totalProperties());
+        analytics.put("activeProperties", stats.activeProperties());
+        analytics.put("inactiveProperties", stats.inactiveProperties());
+        analytics.put("featuredProperties", stats.featuredProperties());
+        analytics.put("forSaleProperties", stats.forSaleProperties());
+        analytics.put("forRentProperties", stats.forRentProperties());
         
-        // City distribution
-        List<Object[]> cityCounts = realEstateRepository.countByCity();
-        Map<String, Long> propertiesByCity = cityCounts.stream()
-                .collect(Collectors.toMap(
-                    obj -> (String) obj[0],
-                    obj -> (Long) obj[1]
-                ));
-        analytics.put("propertiesByCity", propertiesByCity);
+        // Distributions (active listings)
+        analytics.put("propertiesByType", stats.propertiesByType());
+        analytics.put("propertiesByCity", stats.propertiesByCity());
         
         // Recent activity
-        LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-        List<RealEstate> recentProperties = realEstateRepository.findByCreatedAtBetween(
-            weekAgo, LocalDateTime.now());
-        analytics.put("propertiesAddedLast7Days", recentProperties.size());
+        analytics.put("propertiesAddedLast7Days", stats.propertiesAddedLast7Days());
+        analytics.put("computedAt", stats.computedAt());
         
         return analytics;
     }
@@ -402,27 +342,15 @@ public class AdminRealEstateService {
         property.setOwner(newOwner);
         property.preUpdate();
         realEstateRepository.save(property);
+        // The change listener bumps the new owner's list version; the old owner's list changes too
+        if (oldOwner != null) {
+            listingVersionService.bump(List.of(ListingVersionService.ownerScope(oldOwner.getId())));
+        }
         
         logger.info("✅ Admin transferred property ID: {} from {} to {}", 
                    propertyId, 
                    oldOwner != null ? oldOwner.getEmail() : "Unknown", 
                    newOwner.getEmail());
     }
-    
-    // NEW: Reassign multiple properties
-    @Transactional
-    public void bulkTransferOwnership(List<Long> propertyIds, Long newOwnerId) {
-        User newOwner = userRepository.findById(newOwnerId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + newOwnerId));
-        
-        for (Long propertyId : propertyIds) {
-            RealEstate property = realEstateRepository.findById(propertyId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Real estate not found with id: " + propertyId));
-            
-            property.setOwner(newOwner);
-            property.preUpdate();
-        }
-        
-        logger.info("✅ Admin transferred {} properties to user: {}", propertyIds.size(), newOwner.getEmail());
-    }
-}
\ No newline at end of file
+
+}
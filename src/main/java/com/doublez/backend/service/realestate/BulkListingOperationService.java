@@ -0,0 +1,489 @@
+package com.doublez.backend.service.realestate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.doublez.backend.dto.realestate.BulkOperationStatusDTO;
+import com.doublez.backend.entity.realestate.BulkOperationJob;
+import com.doublez.backend.enums.BulkJobStatus;
+import com.doublez.backend.enums.BulkOperationType;
+import com.doublez.backend.exception.BusinessRuleException;
+import com.doublez.backend.exception.ResourceNotFoundException;
+import com.doublez.backend.exception.UserNotFoundException;
+import com.doublez.backend.repository.AgencyRepository;
+import com.doublez.backend.repository.UserRepository;
+import com.doublez.backend.repository.realestate.BulkOperationJobRepository;
+import com.doublez.backend.repository.realestate.RealEstateRepository;
+import com.doublez.backend.service.investor.PortfolioAnalyticsService;
+import com.doublez.backend.service.scheduling.ClusterJobService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Set-based bulk changes to listings: status updates, ownership transfers, deletions
+ * and account deletion with all of a user's (and their agency's) listings.
+ *
+ * Work is applied with @Modifying UPDATE/DELETE statements over chunks of
+ * app.bulk.chunk-size listing ids, one transaction per chunk, so no request holds
+ * locks on real_estates for the whole selection. Selections that fit in one chunk are
+ * applied within the caller's request; larger ones become a background job with
+ * progress, cancellation between chunks, and resume after a restart. Entity listeners
+ * do not see bulk statements, so the rank, similar-listing, facet and portfolio caches
+ * are invalidated here; S3 images of deleted listings are queued for deletion
+ * with the chunk and removed after it commits.
+ *
+ * A job runs on the one instance that claims it (owner_id, with heartbeat_at refreshed
+ * by every chunk); another instance takes it over only once that heartbeat is older
+ * than app.bulk.stale-after-seconds.
+ */
+@Service
+public class BulkListingOperationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkListingOperationService.class);
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private static final String INSERT_TARGET_SQL =
+        "INSERT INTO bulk_operation_targets (job_id, target_id) VALUES (?, ?)";
+    private static final String NEXT_TARGETS_SQL =
+        "SELECT target_id FROM bulk_operation_targets WHERE job_id = ? AND target_id > ? ORDER BY target_id LIMIT ?";
+    private static final String QUEUED_SQL =
+        "UPDATE bulk_operation_jobs SET owner_id = ?, heartbeat_at = now() WHERE id = ?";
+    // A queued job is claimed by the instance that queued it; any job is claimed once its owner stopped heartbeating
+    private static final String CLAIM_SQL =
+        "UPDATE bulk_operation_jobs SET status = 'RUNNING', owner_id = ?, heartbeat_at = now()," +
+        "       started_at = COALESCE(started_at, now()) " +
+        "WHERE id = ? AND status IN ('QUEUED', 'RUNNING') AND ((status = 'QUEUED' AND owner_id = ?)" +
+        "       OR heartbeat_at IS NULL OR heartbeat_at < now() - make_interval(secs => ?))";
+    private static final String STALE_JOBS_SQL =
+        "SELECT id FROM bulk_operation_jobs WHERE status IN ('QUEUED', 'RUNNING')" +
+        "   AND (heartbeat_at IS NULL OR heartbeat_at < now() - make_interval(secs => ?)) ORDER BY id";
+    // First statement of every chunk transaction: fences out a previous owner and holds the job row
+    // until the chunk commits, so nobody can claim the job while a chunk is in flight
+    private static final String HEARTBEAT_SQL =
+        "UPDATE bulk_operation_jobs SET heartbeat_at = now() WHERE id = ? AND owner_id = ? AND status = 'RUNNING'";
+    private static final String PROGRESS_SQL =
+        "UPDATE bulk_operation_jobs SET processed_count = processed_count + ?, affected_count = affected_count + ?," +
+        "       last_processed_id = ?, heartbeat_at = now() WHERE id = ?";
+    private static final String FINISH_SQL =
+        "UPDATE bulk_operation_jobs SET status = ?, error_message = ?, finished_at = now() " +
+        "WHERE id = ? AND owner_id = ? AND status = 'RUNNING'";
+
+    private final BulkOperationJobRepository jobRepository;
+    private final RealEstateRepository realEstateRepository;
+    private final UserRepository userRepository;
+    private final AgencyRepository agencyRepository;
+    private final RealEstateImageService imageService;
+    private final ListingRankingService rankingService;
+    private final SimilarListingService similarListingService;
+    private final SearchFacetService searchFacetService;
+    private final PortfolioAnalyticsService portfolioAnalyticsService;
+    private final ListingVersionService listingVersionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId;
+
+    // Jobs run one after another; each chunk is short, so user traffic interleaves between them
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "bulk-operations"));
+
+    @Value("${app.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.bulk.stale-after-seconds:300}")
+    private int staleAfterSeconds;
+
+    public BulkListingOperationService(BulkOperationJobRepository jobRepository,
+                                       RealEstateRepository realEstateRepository,
+                                       UserRepository userRepository,
+                                       AgencyRepository agencyRepository,
+                                       RealEstateImageService imageService,
+                                       ListingRankingService rankingService,
+                                       SimilarListingService similarListingService,
+                                       SearchFacetService searchFacetService,
+                                       PortfolioAnalyticsService portfolioAnalyticsService,
+                                       ListingVersionService listingVersionService,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       ClusterJobService clusterJobService) {
+        this.jobRepository = jobRepository;
+        this.realEstateRepository = realEstateRepository;
+        this.userRepository = userRepository;
+        this.agencyRepository = agencyRepository;
+        this.imageService = imageService;
+        this.rankingService = rankingService;
+        this.similarListingService = similarListingService;
+        this.searchFacetService = searchFacetService;
+        this.portfolioAnalyticsService = portfolioAnalyticsService;
+        this.listingVersionService = listingVersionService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.instanceId = clusterJobService.getInstanceId();
+    }
+
+    // ========================
+    // OPERATIONS
+    // ========================
+
+    public BulkOperationStatusDTO updateStatus(List<Long> propertyIds, Boolean isActive, Boolean isFeatured,
+                                               Long requestedBy) {
+        if (isActive == null && isFeatured == null) {
+            throw new BusinessRuleException("Nothing to update: pass isActive and/or isFeatured");
+        }
+        BulkOperationJob job = newJob(BulkOperationType.UPDATE_STATUS, requestedBy);
+        job.setActiveFlag(isActive);
+        job.setFeaturedFlag(isFeatured);
+        return start(job, propertyIds);
+    }
+
+    public BulkOperationStatusDTO transferOwnership(List<Long> propertyIds, Long newOwnerId, Long requestedBy) {
+        if (newOwnerId == null || !userRepository.existsById(newOwnerId)) {
+            throw new ResourceNotFoundException("User not found with id: " + newOwnerId);
+        }
+        BulkOperationJob job = newJob(BulkOperationType.TRANSFER_OWNERSHIP, requestedBy);
+        job.setNewOwnerId(newOwnerId);
+        return start(job, propertyIds);
+    }
+
+    public BulkOperationStatusDTO deleteListings(List<Long> propertyIds, Long requestedBy) {
+        return start(newJob(BulkOperationType.DELETE_LISTINGS, requestedBy), propertyIds);
+    }
+
+    /**
+     * Delete a user's listings and their agency's listings chunk by chunk, then the
+     * agency and the account itself
+     */
+    public BulkOperationStatusDTO deleteUser(Long userId, Long requestedBy) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        BulkOperationJob job = newJob(BulkOperationType.DELETE_USER, requestedBy);
+        job.setTargetUserId(userId);
+
+        Long agencyId = ownedAgencyId(userId);
+        long total = realEstateRepository.countByOwnerOrAgency(userId, agencyId);
+        job.setTotalCount(total);
+
+        if (total <= chunkSize) {
+            return runInline(job, realEstateRepository.findIdsByOwnerOrAgencyAfter(userId, agencyId, 0L, chunkSize));
+        }
+        return queue(job, null);
+    }
+
+    // ========================
+    // JOB API
+    // ========================
+
+    public BulkOperationStatusDTO getJob(Long jobId) {
+        return BulkOperationStatusDTO.of(findJob(jobId));
+    }
+
+    public List<BulkOperationStatusDTO> getRecentJobs() {
+        return jobRepository.findTop50ByOrderByIdDesc().stream()
+            .map(BulkOperationStatusDTO::of)
+            .toList();
+    }
+
+    /**
+     * Stop a job before its next chunk; chunks already committed stay applied
+     */
+    public BulkOperationStatusDTO cancelJob(Long jobId) {
+        BulkOperationJob job = findJob(jobId);
+        if (job.getStatus().isFinished()) {
+            throw new BusinessRuleException("Bulk operation " + jobId + " is already " + job.getStatus());
+        }
+        jdbcTemplate.update("UPDATE bulk_operation_jobs SET cancel_requested = true WHERE id = ?", jobId);
+        // A job still waiting in the queue never starts
+        jdbcTemplate.update("UPDATE bulk_operation_jobs SET status = 'CANCELLED', finished_at = now() " +
+                            "WHERE id = ? AND status = 'QUEUED'", jobId);
+
+        logger.info("🛑 Cancellation requested for bulk operation {}", jobId);
+        return BulkOperationStatusDTO.of(findJob(jobId));
+    }
+
+    /**
+     * Jobs whose owner stopped heartbeating (crash, restart) continue after their last
+     * committed chunk on whichever instance claims them first
+     */
+    @Scheduled(fixedDelayString = "${app.bulk.resume-interval-ms:60000}")
+    public void resumeInterruptedJobs() {
+        List<Long> stale = jdbcTemplate.queryForList(STALE_JOBS_SQL, Long.class, staleAfterSeconds);
+        for (Long jobId : stale) {
+            executor.submit(() -> runJob(jobId));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private BulkOperationJob findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+            .orElseThrow(() -> new ResourceNotFoundException("BulkOperationJob", "id", jobId));
+    }
+
+    private BulkOperationJob newJob(BulkOperationType operation, Long requestedBy) {
+        BulkOperationJob job = new BulkOperationJob();
+        job.setOperation(operation);
+        job.setRequestedBy(requestedBy);
+        return job;
+    }
+
+    private BulkOperationStatusDTO start(BulkOperationJob job, List<Long> propertyIds) {
+        List<Long> ids = propertyIds == null ? List.of() : propertyIds.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .sorted()
+            .toList();
+        if (ids.isEmpty()) {
+            throw new BusinessRuleException("Property IDs cannot be null or empty");
+        }
+        job.setTotalCount((long) ids.size());
+
+        if (ids.size() <= chunkSize) {
+            return runInline(job, ids);
+        }
+        return queue(job, ids);
+    }
+
+    /**
+     * Small selection: one chunk in the caller's transaction (or a new one), no job row
+     */
+    private BulkOperationStatusDTO runInline(BulkOperationJob job, List<Long> ids) {
+        job.setStartedAt(LocalDateTime.now());
+        int affected = transactionTemplate.execute(status -> {
+            int count = ids.isEmpty() ? 0 : applyChunk(job, ids);
+            if (job.getOperation() == BulkOperationType.DELETE_USER) {
+                deleteAccount(job.getTargetUserId());
+            }
+            return count;
+        });
+
+        job.setProcessedCount((long) ids.size());
+        job.setAffectedCount((long) affected);
+        job.setStatus(BulkJobStatus.COMPLETED);
+        job.setFinishedAt(LocalDateTime.now());
+        logger.info("✅ Bulk {} applied to {} of {} listings", job.getOperation(), affected, ids.size());
+        return BulkOperationStatusDTO.of(job);
+    }
+
+    private BulkOperationStatusDTO queue(BulkOperationJob job, List<Long> ids) {
+        BulkOperationJob saved = jobRepository.save(job);
+        jdbcTemplate.update(QUEUED_SQL, instanceId, saved.getId());
+        if (ids != null) {
+            List<Object[]> args = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                args.add(new Object[] { saved.getId(), id });
+            }
+            jdbcTemplate.batchUpdate(INSERT_TARGET_SQL, args);
+        }
+
+        logger.info("📋 Bulk {} of {} listings queued as job {}", saved.getOperation(), saved.getTotalCount(), saved.getId());
+        submitAfterCommit(saved.getId());
+        return BulkOperationStatusDTO.of(saved);
+    }
+
+    private void submitAfterCommit(Long jobId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.submit(() -> runJob(jobId));
+                }
+            });
+        } else {
+            executor.submit(() -> runJob(jobId));
+        }
+    }
+
+    // ========================
+    // WORKER
+    // ========================
+
+    private void runJob(Long jobId) {
+        // Another instance (or an earlier submit here) already runs or finished it
+        if (jdbcTemplate.update(CLAIM_SQL, instanceId, jobId, instanceId, staleAfterSeconds) == 0) {
+            return;
+        }
+        BulkOperationJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        if (job.getLastProcessedId() > 0) {
+            logger.info("🔁 Resuming bulk operation {} ({}) after listing {}",
+                        jobId, job.getOperation(), job.getLastProcessedId());
+        }
+
+        long start = System.currentTimeMillis();
+        long lastId = job.getLastProcessedId();
+        Long agencyId = job.getOperation() == BulkOperationType.DELETE_USER ? ownedAgencyId(job.getTargetUserId()) : null;
+        try {
+            while (true) {
+                if (isCancelRequested(jobId)) {
+                    finish(jobId, BulkJobStatus.CANCELLED, null);
+                    logger.info("🛑 Bulk operation {} cancelled after listing {}", jobId, lastId);
+                    return;
+                }
+
+                List<Long> ids = nextChunk(job, agencyId, lastId);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                long chunkLastId = ids.get(ids.size() - 1);
+                transactionTemplate.executeWithoutResult(status -> {
+                    heartbeat(jobId);
+                    int affected = applyChunk(job, ids);
+                    jdbcTemplate.update(PROGRESS_SQL, ids.size(), affected, chunkLastId, jobId);
+                });
+                lastId = chunkLastId;
+            }
+
+            if (job.getOperation() == BulkOperationType.DELETE_USER) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    heartbeat(jobId);
+                    deleteAccount(job.getTargetUserId());
+                });
+            }
+            finish(jobId, BulkJobStatus.COMPLETED, null);
+            logger.info("✅ Bulk operation {} ({}) completed in {} ms",
+                        jobId, job.getOperation(), System.currentTimeMillis() - start);
+        } catch (JobClaimLostException e) {
+            logger.warn("⚠️ Bulk operation {} was taken over by another instance after listing {}", jobId, lastId);
+        } catch (Exception e) {
+            logger.error("❌ Bulk operation {} failed after listing {}: {}", jobId, lastId, e.getMessage(), e);
+            finish(jobId, BulkJobStatus.FAILED, truncate(e.getMessage()));
+        }
+    }
+
+    private List<Long> nextChunk(BulkOperationJob job, Long agencyId, long afterId) {
+        if (job.getOperation() == BulkOperationType.DELETE_USER) {
+            return realEstateRepository.findIdsByOwnerOrAgencyAfter(job.getTargetUserId(), agencyId, afterId, chunkSize);
+        }
+        return jdbcTemplate.queryForList(NEXT_TARGETS_SQL, Long.class, job.getId(), afterId, chunkSize);
+    }
+
+    private boolean isCancelRequested(Long jobId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT cancel_requested FROM bulk_operation_jobs WHERE id = ?", Boolean.class, jobId));
+    }
+
+    private void finish(Long jobId, BulkJobStatus status, String errorMessage) {
+        jdbcTemplate.update(FINISH_SQL, status.name(), errorMessage, jobId, instanceId);
+    }
+
+    /**
+     * Refresh this instance's claim on the job inside the current transaction
+     */
+    private void heartbeat(Long jobId) {
+        if (jdbcTemplate.update(HEARTBEAT_SQL, jobId, instanceId) == 0) {
+            throw new JobClaimLostException();
+        }
+    }
+
+    // ========================
+    // CHUNK STATEMENTS
+    // ========================
+
+    /**
+     * Apply the job's operation to one chunk of listing ids; returns the rows changed
+     */
+    private int applyChunk(BulkOperationJob job, List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> ownerIds = new HashSet<>(realEstateRepository.findOwnerIdsByPropertyIds(ids));
+        // Before the switch: deleted rows no longer tell which owner/agency lists they were in
+        listingVersionService.listingsChanged(ids);
+
+        int affected = switch (job.getOperation()) {
+            case UPDATE_STATUS -> {
+                int updated = 0;
+                if (job.getActiveFlag() != null) {
+                    updated = realEstateRepository.bulkUpdateActiveStatus(ids, job.getActiveFlag(), now);
+                }
+                if (job.getFeaturedFlag() != null) {
+                    updated = Math.max(updated, realEstateRepository.bulkUpdateFeaturedStatus(
+                            ids, job.getFeaturedFlag(), job.getFeaturedFlag() ? now : null, null, now));
+                }
+                yield updated;
+            }
+            case TRANSFER_OWNERSHIP -> {
+                ownerIds.add(job.getNewOwnerId());
+                listingVersionService.bump(List.of(ListingVersionService.ownerScope(job.getNewOwnerId())));
+                yield realEstateRepository.bulkTransferOwnership(
+                        ids, userRepository.getReferenceById(job.getNewOwnerId()), now);
+            }
+            case DELETE_LISTINGS, DELETE_USER -> deleteChunk(ids);
+        };
+
+        // What ListingChangeListener would have done per entity
+        for (Long id : ids) {
+            rankingService.markDirty(id);
+            similarListingService.markDirty(id);
+        }
+        searchFacetService.markStale();
+        ownerIds.forEach(portfolioAnalyticsService::evict);
+        return affected;
+    }
+
+    private int deleteChunk(List<Long> ids) {
+        List<String> imageUrls = realEstateRepository.findImageUrlsByPropertyIds(ids);
+
+        realEstateRepository.deleteFeatureMappingsByPropertyIds(ids);
+        realEstateRepository.deleteImageRowsByPropertyIds(ids);
+        realEstateRepository.deleteMetricsByPropertyIds(ids);
+        realEstateRepository.deleteLocationMetadataByPropertyIds(ids);
+        realEstateRepository.deleteLeadsByPropertyIds(ids);
+        int deleted = realEstateRepository.deleteByPropertyIds(ids);
+
+        // Queued in this transaction, deleted from S3 after it commits
+        imageService.deleteImages(imageUrls);
+        return deleted;
+    }
+
+    private void deleteAccount(Long userId) {
+        userRepository.findById(userId).ifPresent(user -> {
+            user.getOwnedAgency().ifPresent(agencyRepository::delete);
+            userRepository.delete(user);
+            logger.info("🗑️ Deleted user {} after removing their listings", userId);
+        });
+    }
+
+    /**
+     * Agency administered by the user, or -1 so "agency_id = ?" matches nothing
+     */
+    private Long ownedAgencyId(Long userId) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM agencies WHERE admin_id = ?", Long.class, userId);
+        return ids.isEmpty() ? -1L : ids.get(0);
+    }
+
+    /**
+     * The job was claimed by another instance (this one stalled past app.bulk.stale-after-seconds)
+     */
+    private static class JobClaimLostException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+}
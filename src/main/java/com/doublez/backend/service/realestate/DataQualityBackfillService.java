@@ -0,0 +1,218 @@
+package com.doublez.backend.service.realestate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.doublez.backend.config.SchedulingConfig;
+import com.doublez.backend.enums.property.HeatingType;
+import com.doublez.backend.service.scheduling.ClusterJobService;
+import com.doublez.backend.service.scheduling.JobContext;
+import com.doublez.backend.utils.DataQualityRules;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Rescores listings whose data-quality score was computed by older rules (or never), e.g.
+ * after DataQualityRules.RULES_VERSION is bumped. Runs on one instance; chunks of listing
+ * ids are read and written with plain JDBC, each chunk in its own transaction on a small
+ * worker pool. A listing edited while its chunk is in flight is skipped (its updated_at no
+ * longer matches) and picked up by the next run.
+ */
+@Service
+public class DataQualityBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataQualityBackfillService.class);
+
+    private static final String STALE_IDS_SQL =
+        "SELECT property_id FROM real_estate_details WHERE data_quality_version IS DISTINCT FROM ? " +
+        "AND property_id > ? ORDER BY property_id LIMIT ?";
+    private static final String ROWS_SQL =
+        "SELECT re.property_id, re.updated_at, re.title, d.description, re.image_count, re.latitude, re.longitude, " +
+        "       re.address, re.city, re.size_in_sqmt, re.room_count, re.property_condition, re.construction_year, " +
+        "       re.floor, re.total_floors, re.heating_type, d.other_heating_type_description, re.price, " +
+        "       re.water_source_mask, d.has_electricity, d.has_sewage, d.has_gas, re.energy_efficiency, " +
+        "       re.has_elevator, d.has_air_conditioning, d.has_internet, re.has_parking " +
+        "FROM real_estates re JOIN real_estate_details d ON d.property_id = re.property_id " +
+        "WHERE re.property_id = ANY(?)";
+    private static final String UPDATE_SCORE_SQL =
+        "UPDATE real_estates SET data_quality_score = ? WHERE property_id = ? AND updated_at IS NOT DISTINCT FROM ?";
+    private static final String UPDATE_DETAILS_SQL =
+        "UPDATE real_estate_details SET completeness_json = CAST(? AS jsonb), last_data_quality_check = ?, " +
+        "       data_quality_version = ? WHERE property_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterJobService clusterJobService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int threads;
+    private final ExecutorService workers;
+
+    @Value("${app.data-quality.backfill-chunk-size:500}")
+    private int chunkSize;
+
+    public DataQualityBackfillService(JdbcTemplate jdbcTemplate,
+                                      ClusterJobService clusterJobService,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.data-quality.backfill-threads:4}") int threads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterJobService = clusterJobService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.threads = threads;
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> new Thread(runnable, "data-quality-backfill"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Shortly after startup (rule changes ship with a deploy) and every few hours after that
+     */
+    @Scheduled(initialDelayString = "${app.data-quality.backfill-initial-delay-ms:120000}",
+               fixedDelayString = "${app.data-quality.backfill-interval-ms:21600000}",
+               scheduler = SchedulingConfig.CLUSTER_JOB_SCHEDULER)
+    public void scheduledBackfill() {
+        clusterJobService.run("data-quality-backfill", Duration.ofMinutes(10), Duration.ofHours(1), this::rescoreStale);
+    }
+
+    /**
+     * Rescore every listing not scored by the current rules; returns the number rescored
+     */
+    public int rescoreStale(JobContext job) {
+        long start = System.currentTimeMillis();
+        List<Future<Integer>> inFlight = new ArrayList<>();
+        int rescored = 0;
+        long afterId = 0;
+        try {
+            while (true) {
+                job.checkLease();
+                List<Long> ids = jdbcTemplate.queryForList(STALE_IDS_SQL, Long.class,
+                        DataQualityRules.RULES_VERSION, afterId, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                inFlight.add(workers.submit(() -> transactionTemplate.execute(status -> rescoreChunk(ids))));
+                // At most two chunks per worker in flight, so the id scan does not run far ahead
+                if (inFlight.size() >= threads * 2) {
+                    rescored += await(inFlight.remove(0));
+                }
+            }
+            for (Future<Integer> chunk : inFlight) {
+                rescored += await(chunk);
+            }
+        } catch (RuntimeException e) {
+            inFlight.forEach(chunk -> chunk.cancel(true));
+            throw e;
+        }
+
+        if (rescored > 0) {
+            logger.info("🧮 Rescored data quality of {} listings in {} ms", rescored, System.currentTimeMillis() - start);
+        }
+        return rescored;
+    }
+
+    private record Scored(long propertyId, Timestamp updatedAt, DataQualityRules.Result result) {}
+
+    private int rescoreChunk(List<Long> ids) {
+        Long[] idArray = ids.toArray(new Long[0]);
+        List<Scored> scored = new ArrayList<>(ids.size());
+        jdbcTemplate.query(ROWS_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", idArray)),
+            (ResultSet rs) -> {
+                scored.add(new Scored(rs.getLong("property_id"), rs.getTimestamp("updated_at"),
+                        DataQualityRules.score(toInput(rs))));
+            });
+        if (scored.isEmpty()) {
+            return 0;
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, scored.stream()
+                .map(row -> new Object[] { row.result().score(), row.propertyId(), row.updatedAt() })
+                .toList());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> details = new ArrayList<>(scored.size());
+        for (int i = 0; i < scored.size(); i++) {
+            if (updated[i] != 0) {
+                Scored row = scored.get(i);
+                details.add(new Object[] { toJson(row), now, DataQualityRules.RULES_VERSION, row.propertyId() });
+            }
+        }
+        jdbcTemplate.batchUpdate(UPDATE_DETAILS_SQL, details);
+        return details.size();
+    }
+
+    private static DataQualityRules.Input toInput(ResultSet rs) throws SQLException {
+        String heatingType = rs.getString("heating_type");
+        Integer waterSourceMask = rs.getObject("water_source_mask", Integer.class);
+        return new DataQualityRules.Input(
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getObject("image_count", Integer.class),
+            rs.getBigDecimal("latitude"),
+            rs.getBigDecimal("longitude"),
+            rs.getString("address"),
+            rs.getString("city"),
+            rs.getBigDecimal("size_in_sqmt"),
+            rs.getBigDecimal("room_count"),
+            rs.getString("property_condition") != null,
+            rs.getObject("construction_year", Integer.class),
+            rs.getObject("floor", Integer.class),
+            rs.getObject("total_floors", Integer.class),
+            heatingType != null ? HeatingType.valueOf(heatingType) : null,
+            rs.getString("other_heating_type_description"),
+            rs.getBigDecimal("price"),
+            waterSourceMask != null ? waterSourceMask.shortValue() : null,
+            rs.getObject("has_electricity", Boolean.class),
+            rs.getObject("has_sewage", Boolean.class),
+            rs.getObject("has_gas", Boolean.class),
+            rs.getString("energy_efficiency") != null,
+            rs.getObject("has_elevator", Boolean.class),
+            rs.getObject("has_air_conditioning", Boolean.class),
+            rs.getObject("has_internet", Boolean.class),
+            rs.getObject("has_parking", Boolean.class));
+    }
+
+    private String toJson(Scored row) {
+        try {
+            return objectMapper.writeValueAsString(row.result().completeness());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize completeness of listing " + row.propertyId(), e);
+        }
+    }
+
+    private static int await(Future<Integer> chunk) {
+        try {
+            Integer rescored = chunk.get();
+            return rescored != null ? rescored : 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Data quality backfill interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+}
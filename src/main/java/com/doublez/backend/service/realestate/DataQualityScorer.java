@@ -0,0 +1,104 @@
+package com.doublez.backend.service.realestate;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import com.doublez.backend.entity.realestate.RealEstate;
+import com.doublez.backend.entity.realestate.RealEstateDetails;
+import com.doublez.backend.utils.DataQualityRules;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Rescores managed listings at flush time, only when an attribute the data-quality rules
+ * read differs from its loaded state. View counters, promotion flags and status flips no
+ * longer pay for a rescore, and the details row is only loaded when a listing column the
+ * rules read has changed.
+ *
+ * Runs as a listener prepended to Hibernate's flush and auto-flush events, so the new score
+ * is in place before Hibernate's own dirty check (an entity callback runs mid-flush, where
+ * changes to the details row would be lost). New listings are scored in RealEstate.prePersist.
+ */
+@Component
+public class DataQualityScorer implements FlushEventListener, AutoFlushEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public DataQualityScorer(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.prependListeners(EventType.FLUSH, this);
+        registry.prependListeners(EventType.AUTO_FLUSH, this);
+    }
+
+    @Override
+    public void onFlush(FlushEvent event) {
+        scoreChangedListings(event.getSession());
+    }
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) {
+        scoreChangedListings(event.getSession());
+    }
+
+    private void scoreChangedListings(EventSource session) {
+        PersistenceContext context = session.getPersistenceContextInternal();
+        if (context.getNumberOfManagedEntities() == 0) {
+            return;
+        }
+        for (Map.Entry<Object, EntityEntry> entry : context.reentrantSafeEntityEntries()) {
+            if (entry.getKey() instanceof RealEstate listing && needsScoring(listing, entry.getValue(), context, session)) {
+                listing.applyDataQuality(DataQualityRules.score(DataQualityRules.Input.of(listing)));
+            }
+        }
+    }
+
+    // Package-private for tests
+    boolean needsScoring(RealEstate listing, EntityEntry entry, PersistenceContext context, EventSource session) {
+        if (entry.getStatus() != Status.MANAGED || entry.getLoadedState() == null) {
+            return false;
+        }
+        // What @PreUpdate would do anyway, so a changed image list counts as a change
+        listing.updateImageCount();
+        if (changed(listing, entry, DataQualityRules.LISTING_FIELDS, session)) {
+            return true;
+        }
+        // An unloaded details row cannot have changed
+        RealEstateDetails details = listing.getLoadedDetails();
+        EntityEntry detailsEntry = details != null ? context.getEntry(details) : null;
+        return detailsEntry != null && detailsEntry.getLoadedState() != null
+            && changed(details, detailsEntry, DataQualityRules.DETAIL_FIELDS, session);
+    }
+
+    private static boolean changed(Object entity, EntityEntry entry, Set<String> fields, EventSource session) {
+        EntityPersister persister = entry.getPersister();
+        Object[] loaded = entry.getLoadedState();
+        for (String field : fields) {
+            int index = persister.getPropertyIndex(field);
+            if (persister.getPropertyTypes()[index].isDirty(loaded[index], persister.getValue(entity, index), session)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
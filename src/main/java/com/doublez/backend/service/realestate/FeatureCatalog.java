@@ -0,0 +1,221 @@
+package com.doublez.backend.service.realestate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.doublez.backend.dto.feature.PropertyFeatureResponseDTO;
+import com.doublez.backend.entity.realestate.PropertyFeature;
+import com.doublez.backend.repository.realestate.PropertyFeatureRepository;
+
+/**
+ * In-memory copy of the property_features catalogue.
+ *
+ * The catalogue is small and almost static, so it is loaded once into an immutable
+ * {@link Snapshot} (lookup by code and id, display order and category groups
+ * precomputed) and swapped as a whole when a feature changes. The snapshot's
+ * entities are detached; they are only ever attached to listings as association
+ * targets, which needs nothing but their id.
+ */
+@Component
+public class FeatureCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeatureCatalog.class);
+
+    private final PropertyFeatureRepository featureRepository;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+
+    public FeatureCatalog(PropertyFeatureRepository featureRepository) {
+        this.featureRepository = featureRepository;
+    }
+
+    /**
+     * Current snapshot; reloaded on first use and after an invalidation
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null || stale) {
+            current = reload();
+        }
+        return current;
+    }
+
+    /**
+     * Drop the snapshot once the current transaction commits (next reader reloads it)
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stale = true;
+                }
+            });
+        } else {
+            stale = true;
+        }
+    }
+
+    private synchronized Snapshot reload() {
+        if (snapshot == null || stale) {
+            // Cleared before loading so an invalidation during the load is not lost
+            stale = false;
+            snapshot = Snapshot.of(featureRepository.findAll());
+            logger.info("🏷️ Feature catalogue loaded: {} features", snapshot.size());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Immutable view of the catalogue at one point in time
+     */
+    public static final class Snapshot {
+
+        // Same order the listing DTO used to sort into per row
+        private static final Comparator<PropertyFeature> DISPLAY_ORDER = Comparator
+            .<PropertyFeature, Integer>comparing(f -> f.getCategory().ordinal())
+            .thenComparing(PropertyFeature::getDisplayOrder)
+            .thenComparing(PropertyFeature::getName);
+
+        private final List<PropertyFeature> ordered;
+        private final Map<String, PropertyFeature> byCode;
+        private final Map<Long, PropertyFeature> byId;
+        private final Map<Long, Integer> positionById;
+        private final Map<Long, PropertyFeatureResponseDTO> dtoById;
+        private final Map<String, List<PropertyFeatureResponseDTO>> byCategory;
+
+        private Snapshot(List<PropertyFeature> features) {
+            List<PropertyFeature> sorted = new ArrayList<>(features);
+            sorted.sort(DISPLAY_ORDER);
+
+            Map<String, PropertyFeature> codes = new HashMap<>();
+            Map<Long, PropertyFeature> ids = new HashMap<>();
+            Map<Long, Integer> positions = new HashMap<>();
+            Map<Long, PropertyFeatureResponseDTO> dtos = new HashMap<>();
+            Map<String, List<PropertyFeatureResponseDTO>> groups = new LinkedHashMap<>();
+
+            for (int i = 0; i < sorted.size(); i++) {
+                PropertyFeature feature = sorted.get(i);
+                PropertyFeatureResponseDTO dto = new PropertyFeatureResponseDTO(feature);
+                codes.put(feature.getCode(), feature);
+                ids.put(feature.getId(), feature);
+                positions.put(feature.getId(), i);
+                dtos.put(feature.getId(), dto);
+                groups.computeIfAbsent(feature.getCategory().getDisplayName(), k -> new ArrayList<>()).add(dto);
+            }
+            groups.replaceAll((category, list) -> Collections.unmodifiableList(list));
+
+            this.ordered = Collections.unmodifiableList(sorted);
+            this.byCode = Collections.unmodifiableMap(codes);
+            this.byId = Collections.unmodifiableMap(ids);
+            this.positionById = Collections.unmodifiableMap(positions);
+            this.dtoById = Collections.unmodifiableMap(dtos);
+            this.byCategory = Collections.unmodifiableMap(groups);
+        }
+
+        public static Snapshot of(Collection<PropertyFeature> features) {
+            return new Snapshot(features != null ? new ArrayList<>(features) : List.of());
+        }
+
+        public int size() {
+            return ordered.size();
+        }
+
+        /**
+         * All features in display order (category, then display order, then name)
+         */
+        public List<PropertyFeature> getFeatures() {
+            return ordered;
+        }
+
+        /**
+         * Whole catalogue grouped by category display name, categories and features in display order
+         */
+        public Map<String, List<PropertyFeatureResponseDTO>> getFeaturesByCategory() {
+            return byCategory;
+        }
+
+        public PropertyFeature findByCode(String code) {
+            return byCode.get(code);
+        }
+
+        /**
+         * Catalogued features for the given codes; unknown codes are skipped
+         */
+        public List<PropertyFeature> resolve(Collection<String> codes) {
+            List<PropertyFeature> found = new ArrayList<>();
+            if (codes != null) {
+                for (String code : codes) {
+                    PropertyFeature feature = byCode.get(code);
+                    if (feature != null && !found.contains(feature)) {
+                        found.add(feature);
+                    }
+                }
+            }
+            return found;
+        }
+
+        /**
+         * feature_mask for a listing's features, looked up by id so lazy proxies stay uninitialized
+         */
+        public long maskOf(Collection<PropertyFeature> features) {
+            long mask = 0L;
+            if (features != null) {
+                for (PropertyFeature feature : features) {
+                    PropertyFeature catalogued = byId.get(feature.getId());
+                    mask |= (catalogued != null ? catalogued : feature).mask();
+                }
+            }
+            return mask;
+        }
+
+        /**
+         * A listing's features as the response DTO shows them, using the precomputed order and DTOs
+         */
+        public FeatureView describe(Collection<PropertyFeature> features) {
+            if (features == null || features.isEmpty()) {
+                return new FeatureView(new ArrayList<>(), new ArrayList<>(), new LinkedHashMap<>());
+            }
+
+            List<PropertyFeature> sorted = new ArrayList<>(features);
+            // Features newer than this snapshot sort after the catalogued ones
+            sorted.sort(Comparator.comparingInt(f -> positionById.getOrDefault(f.getId(), Integer.MAX_VALUE)));
+
+            List<PropertyFeatureResponseDTO> dtos = new ArrayList<>(sorted.size());
+            List<String> codes = new ArrayList<>(sorted.size());
+            Map<String, List<PropertyFeatureResponseDTO>> grouped = new LinkedHashMap<>();
+            for (PropertyFeature feature : sorted) {
+                PropertyFeatureResponseDTO dto = dtoById.get(feature.getId());
+                if (dto == null) {
+                    dto = new PropertyFeatureResponseDTO(feature);
+                }
+                dtos.add(dto);
+                codes.add(dto.getCode());
+                grouped.computeIfAbsent(dto.getCategoryDisplayName(), k -> new ArrayList<>()).add(dto);
+            }
+            return new FeatureView(dtos, codes, grouped);
+        }
+    }
+
+    /**
+     * Per-listing feature lists in display order
+     */
+    public record FeatureView(
+        List<PropertyFeatureResponseDTO> features,
+        List<String> featureCodes,
+        Map<String, List<PropertyFeatureResponseDTO>> featuresByCategory
+    ) {}
+}
@@ -0,0 +1,30 @@
+package com.doublez.backend.service.realestate;
+
+import org.springframework.stereotype.Component;
+
+import com.doublez.backend.entity.realestate.PropertyFeature;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Invalidates the FeatureCatalog snapshot whenever a PropertyFeature row changes
+ * through JPA (admin edits); the next reader loads the new catalogue.
+ */
+@Component
+public class FeatureCatalogListener {
+
+    private final FeatureCatalog featureCatalog;
+
+    public FeatureCatalogListener(FeatureCatalog featureCatalog) {
+        this.featureCatalog = featureCatalog;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onFeatureChanged(PropertyFeature feature) {
+        featureCatalog.invalidate();
+    }
+}
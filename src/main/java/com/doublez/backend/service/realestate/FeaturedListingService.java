@@ -1,14 +1,15 @@
 package com.doublez.backend.service.realestate;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.doublez.backend.entity.realestate.RealEstate;
+import com.doublez.backend.enums.PromotionType;
 import com.doublez.backend.exception.IllegalOperationException;
 import com.doublez.backend.exception.LimitationExceededException;
 import com.doublez.backend.exception.ResourceNotFoundException;
@@ -26,13 +27,16 @@ public class FeaturedListingService {
     private final RealEstateRepository realEstateRepository;
     private final RealEstateAuthorizationService authService; 
     private final UserService userService; 
+    private final PromotionExpiryService promotionExpiryService;
 
     public FeaturedListingService(RealEstateRepository realEstateRepository, 
                                 RealEstateAuthorizationService authService,
-                                UserService userService) { 
+                                UserService userService,
+                                PromotionExpiryService promotionExpiryService) { 
         this.realEstateRepository = realEstateRepository;
         this.authService = authService;
         this.userService = userService;
+        this.promotionExpiryService = promotionExpiryService;
     }
 
 //    public boolean canFeatureRealEstate(Long userId, Long realEstateId) {
@@ -72,18 +76,12 @@ public class FeaturedListingService {
         return realEstateRepository.save(realEstate);
     }
 
-    @Scheduled(cron = "0 0 2 * * ?")
-    public void unfeatureExpiredListings() {
-        List<RealEstate> expiredFeatured = realEstateRepository.findExpiredFeaturedRealEstates();
-
-        for (RealEstate realEstate : expiredFeatured) {
-            realEstate.setFeatured(false, null);
-            realEstateRepository.save(realEstate);
-        }
-
-        if (!expiredFeatured.isEmpty()) {
-            logger.info("Unfeatured {} expired featured listings", expiredFeatured.size());
-        }
+    /**
+     * Expire lapsed featured listings now (the scheduled run is in PromotionExpiryService)
+     */
+    public int unfeatureExpiredListings() {
+        return promotionExpiryService.expireAll(LocalDateTime.now())
+                .getOrDefault(PromotionType.FEATURED, 0);
     }
 
     public List<RealEstate> getActiveFeaturedListings(int limit) {
@@ -0,0 +1,56 @@
+package com.doublez.backend.service.realestate;
+
+import org.springframework.stereotype.Component;
+
+import com.doublez.backend.entity.realestate.PropertyMetrics;
+import com.doublez.backend.entity.realestate.RealEstate;
+import com.doublez.backend.service.investor.PortfolioAnalyticsService;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Marks a listing's rank score dirty when the listing (promotions) or its
+ * PropertyMetrics (engagement counters) are written; listing writes also mark its
+ * similar-listings bucket dirty, the cached search facet counts stale, the
+ * owner's cached portfolio statistics evicted and the owner/agency list versions bumped.
+ */
+@Component
+public class ListingChangeListener {
+
+    private final ListingRankingService rankingService;
+    private final SimilarListingService similarListingService;
+    private final SearchFacetService searchFacetService;
+    private final PortfolioAnalyticsService portfolioAnalyticsService;
+    private final ListingVersionService listingVersionService;
+
+    public ListingChangeListener(ListingRankingService rankingService, SimilarListingService similarListingService,
+                                 SearchFacetService searchFacetService,
+                                 PortfolioAnalyticsService portfolioAnalyticsService,
+                                 ListingVersionService listingVersionService) {
+        this.rankingService = rankingService;
+        this.similarListingService = similarListingService;
+        this.searchFacetService = searchFacetService;
+        this.portfolioAnalyticsService = portfolioAnalyticsService;
+        this.listingVersionService = listingVersionService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onListingChanged(Object entity) {
+        if (entity instanceof RealEstate listing) {
+            rankingService.markDirty(listing.getPropertyId());
+            similarListingService.markDirty(listing.getPropertyId());
+            searchFacetService.markStale();
+            if (listing.getOwner() != null) {
+                portfolioAnalyticsService.evict(listing.getOwner().getId());
+            }
+            listingVersionService.listingChanged(listing);
+        } else if (entity instanceof PropertyMetrics metrics && metrics.getProperty() != null) {
+            // Id getter on a lazy proxy does not initialize it
+            rankingService.markDirty(metrics.getProperty().getPropertyId());
+        }
+    }
+}
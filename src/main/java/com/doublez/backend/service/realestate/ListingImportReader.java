@@ -0,0 +1,214 @@
+package com.doublez.backend.service.realestate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.doublez.backend.enums.ImportFormat;
+
+/**
+ * Streams the data rows of an import file one at a time, as field name to raw value.
+ *
+ * CSV: first line is the header (RealEstateCreateDTO property names), quoted fields
+ * may contain separators and line breaks. XML: one &lt;listing&gt; element per row with
+ * one child element per field; repeated children (e.g. &lt;featureCodes&gt;) are joined
+ * with {@link #LIST_SEPARATOR}. Rows are numbered from 1 so a job can skip the rows
+ * it already processed.
+ */
+abstract class ListingImportReader implements AutoCloseable {
+
+    static final String LIST_SEPARATOR = "|";
+
+    // Set by a reader on a row it could not split into fields
+    private static final String ERROR_KEY = "\u0000error";
+
+    private long rowNumber;
+
+    static ListingImportReader open(ImportFormat format, Path file) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+            case XML -> new XmlReader(Files.newInputStream(file));
+        };
+    }
+
+    /**
+     * Next row, or null at the end of the file
+     */
+    ImportRow next() throws IOException {
+        Map<String, String> values = readValues();
+        if (values == null) {
+            return null;
+        }
+        rowNumber++;
+        String error = values.remove(ERROR_KEY);
+        return new ImportRow(rowNumber, values, error);
+    }
+
+    protected abstract Map<String, String> readValues() throws IOException;
+
+    @Override
+    public abstract void close() throws IOException;
+
+    record ImportRow(long number, Map<String, String> values, String error) {}
+
+    private static final class CsvReader extends ListingImportReader {
+
+        private final BufferedReader reader;
+        private List<String> header;
+
+        CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        protected Map<String, String> readValues() throws IOException {
+            if (header == null) {
+                header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+                if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+                    header.set(0, header.get(0).substring(1)); // UTF-8 BOM from spreadsheet exports
+                }
+            }
+
+            List<String> fields;
+            do {
+                fields = readRecord();
+            } while (fields != null && fields.size() == 1 && fields.get(0).isEmpty()); // Blank lines
+
+            if (fields == null) {
+                return null;
+            }
+
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < Math.min(header.size(), fields.size()); i++) {
+                values.put(header.get(i).trim(), fields.get(i));
+            }
+            if (fields.size() != header.size()) {
+                values.put(ERROR_KEY, "Expected " + header.size() + " columns but found " + fields.size());
+            }
+            return values;
+        }
+
+        /**
+         * One CSV record (RFC 4180), or null at end of input
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class XmlReader extends ListingImportReader {
+
+        private static final String ROW_ELEMENT = "listing";
+
+        private final InputStream input;
+        private final XMLStreamReader xml;
+
+        XmlReader(InputStream input) throws IOException {
+            this.input = input;
+            try {
+                XMLInputFactory factory = XMLInputFactory.newFactory();
+                // Uploaded files are untrusted: no DTDs or external entities
+                factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+                factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+                this.xml = factory.createXMLStreamReader(input, StandardCharsets.UTF_8.name());
+            } catch (XMLStreamException e) {
+                throw new IOException("Invalid XML import file", e);
+            }
+        }
+
+        @Override
+        protected Map<String, String> readValues() throws IOException {
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && ROW_ELEMENT.equals(xml.getLocalName())) {
+                        return readListing();
+                    }
+                }
+                return null;
+            } catch (XMLStreamException e) {
+                throw new IOException("Invalid XML: " + e.getMessage(), e);
+            }
+        }
+
+        private Map<String, String> readListing() throws XMLStreamException {
+            Map<String, String> values = new LinkedHashMap<>();
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = xml.getLocalName();
+                    String text = xml.getElementText().trim();
+                    values.merge(name, text, (existing, added) -> existing + LIST_SEPARATOR + added);
+                } else if (event == XMLStreamConstants.END_ELEMENT && ROW_ELEMENT.equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                xml.close();
+            } catch (XMLStreamException e) {
+                // Closing the underlying stream below is what matters
+            }
+            input.close();
+        }
+    }
+}
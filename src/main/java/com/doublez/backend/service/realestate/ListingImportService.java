@@ -0,0 +1,850 @@
+package com.doublez.backend.service.realestate;
+
+import java.awt.Dimension;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.Header;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.doublez.backend.dto.realestate.ListingImportStatusDTO;
+import com.doublez.backend.dto.realestate.ListingImportStatusDTO.RowError;
+import com.doublez.backend.dto.realestate.RealEstateCreateDTO;
+import com.doublez.backend.entity.agency.Agency;
+import com.doublez.backend.entity.realestate.ListingImage;
+import com.doublez.backend.entity.realestate.ListingImportJob;
+import com.doublez.backend.entity.realestate.RealEstate;
+import com.doublez.backend.entity.user.User;
+import com.doublez.backend.entity.user.UserTier;
+import com.doublez.backend.enums.ImportFormat;
+import com.doublez.backend.enums.ImportJobStatus;
+import com.doublez.backend.exception.BusinessRuleException;
+import com.doublez.backend.exception.ResourceNotFoundException;
+import com.doublez.backend.exception.UnauthorizedAccessException;
+import com.doublez.backend.mapper.RealEstateMapper;
+import com.doublez.backend.repository.AgencyRepository;
+import com.doublez.backend.repository.realestate.ListingImportJobRepository;
+import com.doublez.backend.repository.realestate.RealEstateRepository;
+import com.doublez.backend.service.realestate.ListingImportReader.ImportRow;
+import com.doublez.backend.service.s3.S3DeletionQueueService;
+import com.doublez.backend.service.s3.S3Service;
+import com.doublez.backend.service.scheduling.ClusterJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Bulk import of an agency's listings from an uploaded CSV or XML file.
+ *
+ * The upload is stored in S3 (app.import.s3-prefix) and a job row is created; a
+ * background worker then streams the file and imports it in batches of
+ * app.import.batch-size rows. Each
+ * batch is one transaction: rows are validated against RealEstateCreateDTO's rules,
+ * the agency's tier quota is checked once for the whole batch against a counter
+ * loaded when the job starts, features resolve from the in-memory catalogue, and the
+ * listings are persisted through Hibernate JDBC batching (sequence ids). The job's
+ * processedRows advances in the same transaction, so an interrupted job resumes after
+ * its last committed batch. Remote image URLs are queued in
+ * listing_import_image_fetches with the batch and fetched and uploaded to S3 on a
+ * separate pool after it commits; the job completes only once that queue is empty.
+ * Failures of any kind are recorded per row.
+ *
+ * A job runs on the one instance that claims it (owner_id, with heartbeat_at refreshed
+ * by every batch); another instance takes it over, reading the same upload from S3,
+ * only once that heartbeat is older than app.import.stale-after-seconds.
+ */
+@Service
+public class ListingImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingImportService.class);
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+    private static final Set<String> LIST_FIELDS = Set.of("featureCodes", "images", "waterSources");
+    private static final int MAX_REDIRECTS = 5;
+    private static final long FETCH_WAIT_SECONDS = 30;
+    private static final Set<Integer> REDIRECT_STATUSES = Set.of(301, 302, 303, 307, 308);
+
+    private static final String QUEUED_SQL =
+        "UPDATE listing_import_jobs SET owner_id = ?, heartbeat_at = now() WHERE id = ?";
+    // A queued job is claimed by the instance that queued it; any job is claimed once its owner stopped heartbeating
+    private static final String CLAIM_SQL =
+        "UPDATE listing_import_jobs SET status = 'RUNNING', owner_id = ?, heartbeat_at = now()," +
+        "       started_at = COALESCE(started_at, now()) " +
+        "WHERE id = ? AND status IN ('QUEUED', 'RUNNING') AND ((status = 'QUEUED' AND owner_id = ?)" +
+        "       OR heartbeat_at IS NULL OR heartbeat_at < now() - make_interval(secs => ?))";
+    private static final String STALE_JOBS_SQL =
+        "SELECT id FROM listing_import_jobs WHERE status IN ('QUEUED', 'RUNNING')" +
+        "   AND (heartbeat_at IS NULL OR heartbeat_at < now() - make_interval(secs => ?)) ORDER BY id";
+    // First statement of every batch transaction: fences out a previous owner and holds the job row
+    // until the batch commits, so nobody can claim the job while a batch is in flight
+    private static final String HEARTBEAT_SQL =
+        "UPDATE listing_import_jobs SET heartbeat_at = now() WHERE id = ? AND owner_id = ? AND status = 'RUNNING'";
+    private static final String UPDATE_PROGRESS_SQL =
+        "UPDATE listing_import_jobs SET processed_rows = ?, imported_count = imported_count + ?," +
+        "       failed_count = failed_count + ?, heartbeat_at = now() WHERE id = ?";
+    private static final String FINISH_SQL =
+        "UPDATE listing_import_jobs SET status = ?, error_message = ?, finished_at = now() " +
+        "WHERE id = ? AND owner_id = ? AND status = 'RUNNING'";
+    private static final String INSERT_ERROR_SQL =
+        "INSERT INTO listing_import_errors (job_id, row_number, property_id, message, created_at) VALUES (?, ?, ?, ?, now())";
+    private static final String SELECT_ERRORS_SQL =
+        "SELECT row_number, property_id, message FROM listing_import_errors WHERE job_id = ? ORDER BY row_number, id LIMIT ?";
+    private static final String INSERT_IMAGE_SQL =
+        "INSERT INTO listing_images (property_id, position, image_url, s3_key, width, height, byte_size, content_type, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, now())";
+    private static final String INSERT_FETCH_SQL =
+        "INSERT INTO listing_import_image_fetches (property_id, job_id, row_number, image_urls, created_at) " +
+        "VALUES (?, ?, ?, ?, now())";
+    private static final String SELECT_FETCHES_SQL =
+        "SELECT property_id, row_number, image_urls FROM listing_import_image_fetches WHERE job_id = ? ORDER BY property_id";
+    private static final String DELETE_FETCH_SQL =
+        "DELETE FROM listing_import_image_fetches WHERE property_id = ?";
+    private static final String UPDATE_IMAGE_COUNT_SQL =
+        "UPDATE real_estates SET image_count = COALESCE(image_count, 0) + ?, updated_at = now() WHERE property_id = ?";
+
+    private final ListingImportJobRepository jobRepository;
+    private final AgencyRepository agencyRepository;
+    private final RealEstateRepository realEstateRepository;
+    private final RealEstateMapper realEstateMapper;
+    private final RealEstateImageService imageService;
+    private final FeatureCatalog featureCatalog;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ListingVersionService listingVersionService;
+    private final S3Service s3Service;
+    private final S3DeletionQueueService s3DeletionQueueService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // One job at a time keeps imports from competing with user traffic for connections
+    private final ExecutorService importExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "listing-import"));
+    private final ExecutorService imageExecutor;
+    private final CloseableHttpClient httpClient;
+
+    @Value("${app.import.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.import.s3-prefix:imports}")
+    private String s3Prefix;
+
+    @Value("${app.import.stale-after-seconds:300}")
+    private int staleAfterSeconds;
+
+    @Value("${app.import.max-image-bytes:15728640}")
+    private int maxImageBytes;
+
+    @Value("#{'${app.upload.allowed-mime-types:image/jpeg,image/png,image/webp}'.split(',')}")
+    private List<String> allowedImageTypes;
+
+    public ListingImportService(ListingImportJobRepository jobRepository,
+                                AgencyRepository agencyRepository,
+                                RealEstateRepository realEstateRepository,
+                                RealEstateMapper realEstateMapper,
+                                RealEstateImageService imageService,
+                                FeatureCatalog featureCatalog,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                ListingVersionService listingVersionService,
+                                S3Service s3Service,
+                                S3DeletionQueueService s3DeletionQueueService,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ClusterJobService clusterJobService,
+                                @Value("${app.import.image-fetch-threads:4}") int imageFetchThreads) {
+        this.jobRepository = jobRepository;
+        this.agencyRepository = agencyRepository;
+        this.realEstateRepository = realEstateRepository;
+        this.realEstateMapper = realEstateMapper;
+        this.imageService = imageService;
+        this.featureCatalog = featureCatalog;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.listingVersionService = listingVersionService;
+        this.s3Service = s3Service;
+        this.s3DeletionQueueService = s3DeletionQueueService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.instanceId = clusterJobService.getInstanceId();
+        // Bounded queue; when it is full the import thread fetches images itself, which slows parsing down
+        this.imageExecutor = new ThreadPoolExecutor(imageFetchThreads, imageFetchThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1000), runnable -> new Thread(runnable, "listing-import-images"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        // The client connects only to addresses resolvePublic has checked, so a second DNS
+        // answer cannot point the request elsewhere; redirects are followed by hand for the same reason
+        this.httpClient = HttpClients.custom()
+                .setDnsResolver(ListingImportService::resolvePublic)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(10_000)
+                        .setConnectionRequestTimeout(30_000)
+                        .setSocketTimeout(30_000)
+                        .build())
+                .disableRedirectHandling()
+                .setMaxConnTotal(imageFetchThreads)
+                .setMaxConnPerRoute(imageFetchThreads)
+                .build();
+    }
+
+    // ========================
+    // JOB API
+    // ========================
+
+    /**
+     * Store the uploaded file in S3 and queue an import job for the agency the user administers
+     */
+    public ListingImportStatusDTO createJob(User user, MultipartFile file) {
+        Agency agency = user.getOwnedAgency()
+            .orElseThrow(() -> new BusinessRuleException("Only agency administrators can import listings"));
+        if (file == null || file.isEmpty()) {
+            throw new BusinessRuleException("Import file is empty");
+        }
+        ImportFormat format = ImportFormat.fromFilename(file.getOriginalFilename());
+        if (format == null) {
+            throw new BusinessRuleException("Unsupported import file type; upload a .csv or .xml file");
+        }
+
+        // Any instance may end up running the job, so the file goes where all of them can read it
+        String key = s3Prefix + "/" + UUID.randomUUID() + "." + format.name().toLowerCase();
+        try (InputStream in = file.getInputStream()) {
+            s3Service.putObject(key, in, file.getSize(),
+                    file.getContentType() != null ? file.getContentType() : "application/octet-stream");
+        } catch (IOException | RuntimeException e) {
+            throw new BusinessRuleException("Could not store import file: " + e.getMessage());
+        }
+
+        ListingImportJob job = new ListingImportJob();
+        job.setUserId(user.getId());
+        job.setAgencyId(agency.getId());
+        job.setFormat(format);
+        job.setOriginalFilename(file.getOriginalFilename());
+        job.setStoredFile(key);
+        job = jobRepository.save(job);
+        jdbcTemplate.update(QUEUED_SQL, instanceId, job.getId());
+
+        logger.info("📥 Listing import job {} queued for agency {} ({}, {} bytes)",
+                    job.getId(), agency.getId(), format, file.getSize());
+        submitAfterCommit(job.getId());
+        return ListingImportStatusDTO.of(job, List.of());
+    }
+
+    public ListingImportStatusDTO getJobStatus(Long jobId, User user, int errorLimit) {
+        ListingImportJob job = getAccessibleJob(jobId, user);
+        return ListingImportStatusDTO.of(job, loadErrors(jobId, errorLimit));
+    }
+
+    public List<ListingImportStatusDTO> getJobs(User user) {
+        return jobRepository.findByUserIdOrderByIdDesc(user.getId()).stream()
+            .map(job -> ListingImportStatusDTO.of(job, List.of()))
+            .toList();
+    }
+
+    /**
+     * Re-queue a failed job; it continues after the last committed batch
+     */
+    public ListingImportStatusDTO resumeJob(Long jobId, User user) {
+        ListingImportJob job = getAccessibleJob(jobId, user);
+        if (job.getStatus() != ImportJobStatus.FAILED) {
+            throw new BusinessRuleException("Only failed import jobs can be resumed (job is " + job.getStatus() + ")");
+        }
+        job.setStatus(ImportJobStatus.QUEUED);
+        job.setErrorMessage(null);
+        job.setFinishedAt(null);
+        job = jobRepository.save(job);
+        jdbcTemplate.update(QUEUED_SQL, instanceId, jobId);
+
+        logger.info("🔁 Listing import job {} re-queued at row {}", jobId, job.getProcessedRows() + 1);
+        submitAfterCommit(jobId);
+        return ListingImportStatusDTO.of(job, List.of());
+    }
+
+    /**
+     * Jobs whose owner stopped heartbeating (crash, restart) pick up where their last
+     * batch committed, on whichever instance claims them first
+     */
+    @Scheduled(fixedDelayString = "${app.import.resume-interval-ms:60000}")
+    public void resumeInterruptedJobs() {
+        List<Long> stale = jdbcTemplate.queryForList(STALE_JOBS_SQL, Long.class, staleAfterSeconds);
+        for (Long jobId : stale) {
+            importExecutor.submit(() -> runJob(jobId));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdownNow();
+        imageExecutor.shutdownNow();
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close the import HTTP client: {}", e.getMessage());
+        }
+    }
+
+    private ListingImportJob getAccessibleJob(Long jobId, User user) {
+        ListingImportJob job = jobRepository.findById(jobId)
+            .orElseThrow(() -> new ResourceNotFoundException("ListingImportJob", "id", jobId));
+        if (!job.getUserId().equals(user.getId()) && !user.isAdmin()) {
+            throw new UnauthorizedAccessException("You don't have access to this import job");
+        }
+        return job;
+    }
+
+    private void submitAfterCommit(Long jobId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    importExecutor.submit(() -> runJob(jobId));
+                }
+            });
+        } else {
+            importExecutor.submit(() -> runJob(jobId));
+        }
+    }
+
+    // ========================
+    // WORKER
+    // ========================
+
+    private void runJob(Long jobId) {
+        // Another instance (or an earlier submit here) already runs or finished it
+        if (jdbcTemplate.update(CLAIM_SQL, instanceId, jobId, instanceId, staleAfterSeconds) == 0) {
+            return;
+        }
+        ListingImportJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        if (job.getProcessedRows() > 0) {
+            logger.info("🔁 Resuming listing import job {} at row {}", jobId, job.getProcessedRows() + 1);
+        }
+
+        long start = System.currentTimeMillis();
+        long alreadyProcessed = job.getProcessedRows();
+        Path file = null;
+        try {
+            file = downloadUpload(job);
+            importFile(job, file, alreadyProcessed);
+
+            finish(jobId, ImportJobStatus.COMPLETED, null);
+            logger.info("✅ Listing import job {} completed in {} ms", jobId, System.currentTimeMillis() - start);
+        } catch (ImportClaimLostException e) {
+            logger.warn("⚠️ Listing import job {} was taken over by another instance", jobId);
+        } catch (Exception e) {
+            logger.error("❌ Listing import job {} failed: {}", jobId, e.getMessage(), e);
+            finish(jobId, ImportJobStatus.FAILED, truncate(e.getMessage()));
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Import the remaining rows, then wait until every queued image fetch of the job is done
+     */
+    private void importFile(ListingImportJob job, Path file, long alreadyProcessed)
+            throws IOException, InterruptedException {
+        List<Future<?>> fetches = new ArrayList<>();
+        try (ListingImportReader reader = ListingImportReader.open(job.getFormat(), file)) {
+            Quota quota = loadQuota(job.getAgencyId());
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                if (row.number() <= alreadyProcessed) {
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    submitFetches(job.getId(), importBatch(job, batch, quota), fetches);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                submitFetches(job.getId(), importBatch(job, batch, quota), fetches);
+            }
+        }
+        awaitFetches(job.getId(), fetches);
+
+        // Fetches queued before a restart, and any whose images could not be stored the first time
+        fetches.clear();
+        submitFetches(job.getId(), loadFetches(job.getId()), fetches);
+        awaitFetches(job.getId(), fetches);
+
+        int pending = loadFetches(job.getId()).size();
+        if (pending > 0) {
+            throw new IllegalStateException(pending + " listings still have images to fetch; resume the job to retry");
+        }
+    }
+
+    /**
+     * Copy the job's upload from S3 to a local temp file; the reader runs for the whole
+     * job, longer than an S3 response stream should stay open
+     */
+    private Path downloadUpload(ListingImportJob job) throws IOException {
+        Path file = Files.createTempFile("listing-import-" + job.getId() + "-", "." + job.getFormat().name().toLowerCase());
+        try (InputStream in = s3Service.getObject(job.getStoredFile())) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private void finish(Long jobId, ImportJobStatus status, String errorMessage) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            int updated = jdbcTemplate.update(FINISH_SQL, status.name(), errorMessage, jobId, instanceId);
+            // A failed job keeps its upload so it can be resumed
+            if (updated > 0 && status == ImportJobStatus.COMPLETED) {
+                jobRepository.findById(jobId).ifPresent(job -> s3DeletionQueueService.enqueue(List.of(job.getStoredFile())));
+            }
+        });
+    }
+
+    /**
+     * Refresh this instance's claim on the job inside the current transaction
+     */
+    private void heartbeat(Long jobId) {
+        if (jdbcTemplate.update(HEARTBEAT_SQL, jobId, instanceId) == 0) {
+            throw new ImportClaimLostException();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not delete import temp file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Validate, quota-check and insert one batch; job progress and the listings' image
+     * fetches commit with the listings. Returns the fetches to start.
+     */
+    private List<PendingImages> importBatch(ListingImportJob job, List<ImportRow> rows, Quota quota) {
+        List<RowError> errors = new ArrayList<>();
+        List<PendingImages> images = new ArrayList<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            heartbeat(job.getId());
+            List<ValidRow> valid = new ArrayList<>(rows.size());
+            for (ImportRow row : rows) {
+                String error = row.error();
+                RealEstateCreateDTO dto = null;
+                if (error == null) {
+                    try {
+                        dto = toCreateDto(row.values());
+                        error = validate(dto);
+                    } catch (IllegalArgumentException e) {
+                        error = "Invalid value: " + rootMessage(e);
+                    }
+                }
+                if (error != null) {
+                    errors.add(new RowError(row.number(), null, error));
+                } else {
+                    valid.add(new ValidRow(row, dto));
+                }
+            }
+
+            // Tier limit checked once for the batch; rows past the limit are reported, not imported
+            int allowed = quota.claim(valid.size());
+            for (ValidRow row : valid.subList(allowed, valid.size())) {
+                errors.add(new RowError(row.row().number(), null,
+                        "Listing limit reached for tier " + quota.tier().getDisplayName()));
+            }
+
+            User owner = entityManager.getReference(User.class, job.getUserId());
+            Agency agency = entityManager.getReference(Agency.class, job.getAgencyId());
+            for (ValidRow row : valid.subList(0, allowed)) {
+                RealEstate entity = realEstateMapper.toEntity(row.dto(), owner, null);
+                entity.setAgency(agency);
+                entity.setIsFeatured(false); // Featuring is paid for per listing, never imported
+                entityManager.persist(entity);
+
+                List<String> imageUrls = row.dto().getImages();
+                if (imageUrls != null && !imageUrls.isEmpty()) {
+                    images.add(new PendingImages(row.row().number(), entity.getPropertyId(),
+                            imageUrls.subList(0, Math.min(imageUrls.size(), quota.maxImagesPerListing()))));
+                }
+            }
+            // Inserts go out as JDBC batches here; clearing keeps the context from growing across batches
+            entityManager.flush();
+            entityManager.clear();
+
+            insertErrors(job.getId(), errors);
+            insertFetches(job.getId(), images);
+            long processed = rows.get(rows.size() - 1).number();
+            jdbcTemplate.update(UPDATE_PROGRESS_SQL, processed, allowed, errors.size(), job.getId());
+        });
+
+        logger.debug("📥 Import job {}: rows up to {} committed ({} failed)",
+                     job.getId(), rows.get(rows.size() - 1).number(), errors.size());
+        return images;
+    }
+
+    private Quota loadQuota(Long agencyId) {
+        return transactionTemplate.execute(status -> {
+            Agency agency = agencyRepository.findById(agencyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Agency", "id", agencyId));
+            UserTier tier = agency.getEffectiveTier();
+            long current = realEstateRepository.countActiveRealEstatesByAgency(agencyId);
+            Integer maxImages = tier.getMaxImagesPerListing();
+            return new Quota(tier, new AtomicLong(Math.max(0, tier.getMaxListingsSafe() - current)),
+                             maxImages != null ? maxImages : Integer.MAX_VALUE);
+        });
+    }
+
+    // ========================
+    // ROW MAPPING & VALIDATION
+    // ========================
+
+    private RealEstateCreateDTO toCreateDto(Map<String, String> values) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        values.forEach((name, value) -> {
+            if (!StringUtils.hasText(value)) {
+                return; // Empty cells keep the DTO defaults
+            }
+            String trimmed = value.trim();
+            if (LIST_FIELDS.contains(name)) {
+                fields.put(name, Arrays.stream(trimmed.split("\\" + ListingImportReader.LIST_SEPARATOR))
+                        .map(String::trim)
+                        .filter(StringUtils::hasText)
+                        .toList());
+            } else {
+                fields.put(name, trimmed);
+            }
+        });
+        return objectMapper.convertValue(fields, RealEstateCreateDTO.class);
+    }
+
+    /**
+     * First problem with the row (DTO constraints, then unknown feature codes), or null when valid
+     */
+    private String validate(RealEstateCreateDTO dto) {
+        Set<ConstraintViolation<RealEstateCreateDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            List<String> messages = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+            return truncate(String.join("; ", messages));
+        }
+
+        FeatureCatalog.Snapshot catalog = featureCatalog.snapshot();
+        List<String> unknown = dto.getFeatureCodes().stream()
+            .filter(code -> catalog.findByCode(code) == null)
+            .toList();
+        return unknown.isEmpty() ? null : "Unknown feature codes: " + unknown;
+    }
+
+    // ========================
+    // IMAGES
+    // ========================
+
+    private void insertFetches(Long jobId, List<PendingImages> fetches) {
+        if (fetches.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(fetches.size());
+        for (PendingImages pending : fetches) {
+            args.add(new Object[] { pending.propertyId(), jobId, pending.rowNumber(), String.join("\n", pending.urls()) });
+        }
+        jdbcTemplate.batchUpdate(INSERT_FETCH_SQL, args);
+    }
+
+    private List<PendingImages> loadFetches(Long jobId) {
+        return jdbcTemplate.query(SELECT_FETCHES_SQL, (rs, rowNum) -> new PendingImages(
+                rs.getLong("row_number"),
+                rs.getLong("property_id"),
+                List.of(rs.getString("image_urls").split("\n"))),
+            jobId);
+    }
+
+    private void submitFetches(Long jobId, List<PendingImages> fetches, List<Future<?>> futures) {
+        futures.removeIf(Future::isDone);
+        for (PendingImages pending : fetches) {
+            futures.add(imageExecutor.submit(() -> fetchImages(jobId, pending)));
+        }
+    }
+
+    /**
+     * Wait for the fetches, keeping the job's heartbeat fresh while images download
+     */
+    private void awaitFetches(Long jobId, List<Future<?>> futures) throws InterruptedException {
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get(FETCH_WAIT_SECONDS, TimeUnit.SECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    transactionTemplate.executeWithoutResult(status -> heartbeat(jobId));
+                } catch (ExecutionException e) {
+                    break; // fetchImages logs its own failures; the fetch row stays queued
+                }
+            }
+        }
+    }
+
+    /**
+     * Download a listing's images, then store them, the per-image errors and the removal
+     * of its fetch row in one transaction
+     */
+    private void fetchImages(Long jobId, PendingImages pending) {
+        List<UploadedImage> uploaded = new ArrayList<>();
+        List<RowError> errors = new ArrayList<>();
+
+        for (String url : pending.urls()) {
+            try {
+                uploaded.add(downloadAndUpload(url));
+            } catch (Exception e) {
+                errors.add(new RowError(pending.rowNumber(), pending.propertyId(),
+                        truncate("Image " + url + " skipped: " + rootMessage(e))));
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                heartbeat(jobId);
+                if (!uploaded.isEmpty()) {
+                    List<Object[]> args = new ArrayList<>(uploaded.size());
+                    for (int i = 0; i < uploaded.size(); i++) {
+                        UploadedImage image = uploaded.get(i);
+                        args.add(new Object[] { pending.propertyId(), i, image.url(), ListingImage.keyOf(image.url()),
+                                image.width(), image.height(), image.byteSize(), image.contentType() });
+                    }
+                    jdbcTemplate.batchUpdate(INSERT_IMAGE_SQL, args);
+                    jdbcTemplate.update(UPDATE_IMAGE_COUNT_SQL, uploaded.size(), pending.propertyId());
+                    listingVersionService.listingsChanged(List.of(pending.propertyId()));
+                }
+                insertErrors(jobId, errors);
+                jdbcTemplate.update(DELETE_FETCH_SQL, pending.propertyId());
+            });
+        } catch (Exception e) {
+            // Uploaded objects stay unreferenced and are removed by the orphan cleanup
+            logger.error("❌ Failed to store imported images for listing {}: {}", pending.propertyId(), e.getMessage());
+        }
+    }
+
+    private UploadedImage downloadAndUpload(String url) throws IOException {
+        try (CloseableHttpResponse response = fetchPublic(URI.create(url));
+             InputStream body = response.getEntity() != null ? response.getEntity().getContent() : InputStream.nullInputStream()) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode != 200) {
+                throw new IOException("HTTP " + statusCode);
+            }
+            Header contentTypeHeader = response.getFirstHeader("Content-Type");
+            String contentType = (contentTypeHeader != null ? contentTypeHeader.getValue() : "")
+                    .split(";")[0].trim().toLowerCase();
+            if (!allowedImageTypes.contains(contentType)) {
+                throw new IOException("unsupported content type '" + contentType + "'");
+            }
+            byte[] data = body.readNBytes(maxImageBytes + 1);
+            if (data.length > maxImageBytes) {
+                throw new IOException("image larger than " + maxImageBytes + " bytes");
+            }
+            Dimension size = readDimensions(data);
+            return new UploadedImage(imageService.uploadImageBytes(data, contentType),
+                    size != null ? size.width : null, size != null ? size.height : null,
+                    (long) data.length, contentType);
+        }
+    }
+
+    /**
+     * GET a URL, following up to MAX_REDIRECTS redirects; the target of every hop must be public
+     */
+    private CloseableHttpResponse fetchPublic(URI uri) throws IOException {
+        for (int hop = 0; ; hop++) {
+            checkUrl(uri);
+            CloseableHttpResponse response = httpClient.execute(new HttpGet(uri));
+            if (!REDIRECT_STATUSES.contains(response.getStatusLine().getStatusCode())) {
+                return response;
+            }
+            Header location = response.getFirstHeader("Location");
+            response.close();
+            if (hop == MAX_REDIRECTS) {
+                throw new IOException("too many redirects");
+            }
+            if (location == null) {
+                throw new IOException("redirect without Location");
+            }
+            uri = uri.resolve(location.getValue());
+        }
+    }
+
+    private static void checkUrl(URI uri) throws IOException {
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+            throw new IOException("only http(s) URLs are supported");
+        }
+        if (uri.getHost() == null) {
+            throw new IOException("URL has no host");
+        }
+    }
+
+    // Never fetch from our own network on behalf of an uploaded file; the addresses
+    // returned here are the ones the client connects to
+    private static InetAddress[] resolvePublic(String host) throws UnknownHostException {
+        InetAddress[] addresses = InetAddress.getAllByName(host);
+        for (InetAddress address : addresses) {
+            if (!isPublicAddress(address)) {
+                throw new UnknownHostException("host is not publicly reachable");
+            }
+        }
+        return addresses;
+    }
+
+    private static boolean isPublicAddress(InetAddress address) {
+        if (address.isLoopbackAddress() || address.isSiteLocalAddress() || address.isLinkLocalAddress()
+                || address.isAnyLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            // 100.64.0.0/10 carrier-grade NAT
+            return !((bytes[0] & 0xff) == 100 && (bytes[1] & 0xc0) == 64);
+        }
+        if (address instanceof Inet6Address) {
+            // fc00::/7 unique local (isSiteLocalAddress only covers the deprecated fec0::/10)
+            return (bytes[0] & 0xfe) != 0xfc;
+        }
+        return true;
+    }
+
+    // Reads only the image header; null when no ImageIO reader handles the format (e.g. WebP)
+    private static Dimension readDimensions(byte[] data) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // ========================
+    // ERRORS
+    // ========================
+
+    private void insertErrors(Long jobId, List<RowError> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(errors.size());
+        for (RowError error : errors) {
+            args.add(new Object[] { jobId, error.rowNumber(), error.propertyId(), truncate(error.message()) });
+        }
+        jdbcTemplate.batchUpdate(INSERT_ERROR_SQL, args);
+    }
+
+    private List<RowError> loadErrors(Long jobId, int limit) {
+        return jdbcTemplate.query(SELECT_ERRORS_SQL, (rs, rowNum) -> new RowError(
+                rs.getLong("row_number"),
+                rs.getObject("property_id", Long.class),
+                rs.getString("message")),
+            jobId, Math.max(0, limit));
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    /**
+     * The job was claimed by another instance (this one stalled past app.import.stale-after-seconds)
+     */
+    private static class ImportClaimLostException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private record ValidRow(ImportRow row, RealEstateCreateDTO dto) {}
+
+    private record PendingImages(long rowNumber, Long propertyId, List<String> urls) {}
+
+    private record UploadedImage(String url, Integer width, Integer height, Long byteSize, String contentType) {}
+
+    /**
+     * Listings the agency may still add; loaded once per job run and drawn down per batch
+     */
+    private record Quota(UserTier tier, AtomicLong remaining, int maxImagesPerListing) {
+
+        int claim(int requested) {
+            long granted = Math.min(requested, Math.max(0, remaining.get()));
+            remaining.addAndGet(-granted);
+            return (int) granted;
+        }
+    }
+}
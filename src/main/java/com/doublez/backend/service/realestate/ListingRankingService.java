@@ -0,0 +1,134 @@
+package com.doublez.backend.service.realestate;
+
+import static com.doublez.backend.utils.RankingWeights.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.doublez.backend.config.SchedulingConfig;
+import com.doublez.backend.service.scheduling.ClusterJobService;
+
+/**
+ * Maintains real_estates.rank_score, the precomputed "relevance" order for search.
+ *
+ * Listings whose promotions or metrics change are marked dirty (after commit) and
+ * recomputed in one set-based UPDATE per flush, so search can read ranked pages
+ * straight off idx_real_estates_active_rank instead of sorting all matches.
+ */
+@Service
+public class ListingRankingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingRankingService.class);
+
+    private static final int RECOMPUTE_CHUNK_SIZE = 1000;
+
+    private static final String RANK_SCORE_SQL =
+        "UPDATE real_estates re SET rank_score = " +
+        "  CASE WHEN re.boosted_until > now() THEN " + TOP_BOOST + " ELSE 0 END" +
+        "+ CASE WHEN re.is_featured AND (re.featured_until IS NULL OR re.featured_until > now()) THEN " + FEATURED + " ELSE 0 END" +
+        "+ CASE WHEN re.category_featured_until > now() THEN " + CATEGORY_FEATURED + " ELSE 0 END" +
+        "+ CASE WHEN re.highlighted_until > now() THEN " + HIGHLIGHTED + " ELSE 0 END" +
+        "+ CASE WHEN re.urgent_badge_until > now() THEN " + URGENT_BADGE + " ELSE 0 END" +
+        "+ " + ENGAGEMENT + " * COALESCE((SELECT ln(1.0 + pm.view_count + " + CONTACT_WEIGHT + " * pm.contact_count + " +
+        FAVORITE_WEIGHT + " * pm.favorite_count) FROM property_metrics pm WHERE pm.property_id = re.property_id), 0)" +
+        "+ EXTRACT(EPOCH FROM re.created_at) / " + FRESHNESS_SECONDS;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterJobService clusterJobService;
+    private final Set<Long> dirtyListingIds = ConcurrentHashMap.newKeySet();
+
+    public ListingRankingService(JdbcTemplate jdbcTemplate, ClusterJobService clusterJobService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterJobService = clusterJobService;
+    }
+
+    /**
+     * Queue a listing for recompute once the current transaction commits
+     */
+    public void markDirty(Long listingId) {
+        if (listingId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirtyListingIds.add(listingId);
+                }
+            });
+        } else {
+            dirtyListingIds.add(listingId);
+        }
+    }
+
+    /**
+     * Recompute listings changed since the last flush
+     */
+    @Scheduled(fixedDelayString = "${app.ranking.flush-interval-ms:30000}")
+    public void flushDirty() {
+        if (dirtyListingIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>();
+        Iterator<Long> iterator = dirtyListingIds.iterator();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+
+        // Taken ids go back into the queue if the recompute fails (recomputing a chunk twice is harmless)
+        try {
+            int updated = recompute(ids);
+            logger.debug("Recomputed rank score for {} listings", updated);
+        } catch (RuntimeException e) {
+            dirtyListingIds.addAll(ids);
+            logger.warn("Rank score recompute failed for {} listings, retrying on the next run: {}",
+                       ids.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute the given listings now (in the caller's transaction, if any)
+     */
+    public int recompute(Collection<Long> listingIds) {
+        if (listingIds == null || listingIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(listingIds);
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += RECOMPUTE_CHUNK_SIZE) {
+            Long[] chunk = ids.subList(from, Math.min(from + RECOMPUTE_CHUNK_SIZE, ids.size())).toArray(new Long[0]);
+            updated += jdbcTemplate.update(RANK_SCORE_SQL + " WHERE re.property_id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", chunk)));
+        }
+        return updated;
+    }
+
+    /**
+     * Nightly full recompute on one instance; a safety net for changes made outside the application
+     */
+    @Scheduled(cron = "0 30 3 * * *", scheduler = SchedulingConfig.CLUSTER_JOB_SCHEDULER)
+    public void recomputeAll() {
+        clusterJobService.run("rank-score-recompute", Duration.ofMinutes(10), Duration.ofHours(1), job -> {
+            long start = System.currentTimeMillis();
+            int updated = jdbcTemplate.update(RANK_SCORE_SQL);
+            logger.info("📈 Recomputed rank score for {} listings in {} ms", updated, System.currentTimeMillis() - start);
+            return updated;
+        });
+    }
+}
@@ -0,0 +1,211 @@
+package com.doublez.backend.service.realestate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.doublez.backend.entity.realestate.RealEstate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Validators for conditional GETs (ETag / Last-Modified) on listing responses, read with one
+ * indexed lookup before anything is loaded or mapped.
+ *
+ * A listing detail gets a strong ETag from its id and updated_at. A list page gets a weak
+ * ETag from its scope's row in listing_change_counters (an owner's or an agency's listings)
+ * plus a digest of the request parameters. Counters are bumped in the writing transaction:
+ * by ListingChangeListener for entity writes, once per scope just before the transaction
+ * commits, and directly by the bulk and native-SQL write paths.
+ *
+ * Both validators include the current date, since responses carry date-relative fields
+ * (availability, featured and discount state). Engagement counters (views, contacts,
+ * favorites) are not part of the validators, so a 304 may carry slightly older counts.
+ */
+@Service
+public class ListingVersionService {
+
+    private static final String BUMP_SQL =
+        "INSERT INTO listing_change_counters (scope, version, changed_at) VALUES (?, 1, clock_timestamp()) " +
+        "ON CONFLICT (scope) DO UPDATE SET version = listing_change_counters.version + 1, " +
+        "       changed_at = GREATEST(listing_change_counters.changed_at, clock_timestamp())";
+    private static final String SCOPES_SQL =
+        "SELECT DISTINCT user_id, agency_id FROM real_estates WHERE property_id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ListingVersionService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * ETag plus Last-Modified in epoch millis
+     */
+    public record Validator(String eTag, long lastModified) {}
+
+    public static String ownerScope(Long userId) {
+        return "owner:" + userId;
+    }
+
+    public static String agencyScope(Long agencyId) {
+        return "agency:" + agencyId;
+    }
+
+    /**
+     * Stable digest of request parameters, so each page/filter combination has its own ETag
+     */
+    public static String variantOf(Map<String, String[]> parameters) {
+        String canonical = new TreeSet<>(parameters.keySet()).stream()
+            .map(name -> name + "=" + String.join(",", Arrays.asList(parameters.get(name))))
+            .collect(Collectors.joining("&"));
+        return Integer.toHexString(canonical.hashCode());
+    }
+
+    // ===== VALIDATORS =====
+
+    /**
+     * Strong validator for one listing; empty if it does not exist
+     */
+    public Optional<Validator> detailValidator(Long propertyId) {
+        List<Timestamp> updated = jdbcTemplate.queryForList(
+            "SELECT updated_at FROM real_estates WHERE property_id = ?", Timestamp.class, propertyId);
+        if (updated.isEmpty()) {
+            return Optional.empty();
+        }
+        long updatedAt = updated.get(0) != null ? updated.get(0).getTime() : 0L;
+        long day = LocalDate.now().toEpochDay();
+        return Optional.of(new Validator(
+            "\"re-" + propertyId + "-" + updatedAt + "-" + day + "\"",
+            Math.max(updatedAt, startOfToday())));
+    }
+
+    /**
+     * Weak validator for a list page over one scope
+     */
+    public Validator listValidator(String scope, String variant) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT version, changed_at FROM listing_change_counters WHERE scope = ?", scope);
+        long version = rows.isEmpty() ? 0L : ((Number) rows.get(0).get("version")).longValue();
+        long changedAt = rows.isEmpty() || rows.get(0).get("changed_at") == null
+            ? 0L : ((Timestamp) rows.get(0).get("changed_at")).getTime();
+        long day = LocalDate.now().toEpochDay();
+        return new Validator(
+            "W/\"" + scope.replace(':', '-') + "-v" + version + "-" + day + "-" + variant + "\"",
+            Math.max(changedAt, startOfToday()));
+    }
+
+    // ===== CHANGE COUNTERS =====
+
+    /**
+     * Bump the owner and agency scopes of a listing written through JPA. Inside a transaction
+     * the scopes are collected and each is bumped once, after Hibernate's commit-time flush
+     * and before the commit, so a batch of entity writes costs one statement batch and the
+     * counter rows stay locked only while committing.
+     */
+    public void listingChanged(RealEstate listing) {
+        TreeSet<String> scopes = new TreeSet<>();
+        // Id getters on lazy proxies do not initialize them
+        if (listing.getOwner() != null) {
+            scopes.add(ownerScope(listing.getOwner().getId()));
+        }
+        if (listing.getAgency() != null) {
+            scopes.add(agencyScope(listing.getAgency().getId()));
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(scopes);
+            return;
+        }
+
+        // Keyed by session, so a REQUIRES_NEW transaction inside this one collects its own scopes
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        PendingBumps pending = (PendingBumps) TransactionSynchronizationManager.getResource(session);
+        if (pending == null) {
+            pending = new PendingBumps(session);
+            TransactionSynchronizationManager.bindResource(session, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+            // A Hibernate process rather than beforeCommit: that runs before the commit-time flush
+            // whose @PostUpdate callbacks land here
+            session.getActionQueue().registerProcess(pending);
+        }
+        pending.scopes.addAll(scopes);
+    }
+
+    /**
+     * Scopes changed by the current transaction; bumped before it commits, unbound when it ends
+     */
+    private class PendingBumps implements BeforeTransactionCompletionProcess, TransactionSynchronization {
+
+        private final SessionImplementor session;
+        private final Set<String> scopes = new TreeSet<>();
+
+        PendingBumps(SessionImplementor session) {
+            this.session = session;
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            bump(scopes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(session);
+        }
+    }
+
+    /**
+     * Bump the scopes of listings changed by bulk or native SQL; call before deleting them
+     */
+    public void listingsChanged(Collection<Long> propertyIds) {
+        if (propertyIds == null || propertyIds.isEmpty()) {
+            return;
+        }
+        TreeSet<String> scopes = new TreeSet<>();
+        Long[] ids = propertyIds.toArray(Long[]::new);
+        jdbcTemplate.query(SCOPES_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)), rs -> {
+            long userId = rs.getLong("user_id");
+            if (!rs.wasNull()) {
+                scopes.add(ownerScope(userId));
+            }
+            long agencyId = rs.getLong("agency_id");
+            if (!rs.wasNull()) {
+                scopes.add(agencyScope(agencyId));
+            }
+        });
+        bump(scopes);
+    }
+
+    /**
+     * Bump the given scopes in sorted order (concurrent writers lock counter rows in the same order)
+     */
+    public void bump(Collection<String> scopes) {
+        if (scopes.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new TreeSet<>(scopes).stream().map(scope -> new Object[] { scope }).toList();
+        jdbcTemplate.batchUpdate(BUMP_SQL, args);
+    }
+
+    private static long startOfToday() {
+        return LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
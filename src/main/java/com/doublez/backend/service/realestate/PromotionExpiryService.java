@@ -0,0 +1,132 @@
+package com.doublez.backend.service.realestate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.doublez.backend.config.SchedulingConfig;
+import com.doublez.backend.enums.PromotionType;
+import com.doublez.backend.service.scheduling.ClusterJobService;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Expires every time-limited listing promotion with one set-based UPDATE per type.
+ *
+ * Each *_until column has a partial index (WHERE col IS NOT NULL) and an expired
+ * promotion has its column nulled, so the index only ever holds live promotions and
+ * each run touches exactly the rows that lapsed since the previous minute.
+ */
+@Service
+public class PromotionExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromotionExpiryService.class);
+
+    private static final String PROPERTY_DETAILS_CACHE = "propertyDetails";
+    private static final String PROPERTY_SEARCH_CACHE = "propertySearch";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ListingRankingService rankingService;
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+    private final ClusterJobService clusterJobService;
+    private final ListingVersionService listingVersionService;
+    private final Map<PromotionType, String> expirySql = new EnumMap<>(PromotionType.class);
+
+    public PromotionExpiryService(JdbcTemplate jdbcTemplate,
+                                  ListingRankingService rankingService,
+                                  ObjectProvider<CacheManager> cacheManagerProvider,
+                                  ClusterJobService clusterJobService,
+                                  ListingVersionService listingVersionService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rankingService = rankingService;
+        this.cacheManagerProvider = cacheManagerProvider;
+        this.clusterJobService = clusterJobService;
+        this.listingVersionService = listingVersionService;
+        for (PromotionType type : PromotionType.values()) {
+            expirySql.put(type, buildExpirySql(type));
+        }
+    }
+
+    /**
+     * Runs every minute (on one instance) so lapsed promotions drop out of ranking right away
+     */
+    @Scheduled(cron = "0 * * * * *", scheduler = SchedulingConfig.CLUSTER_JOB_SCHEDULER)
+    public void scheduledPromotionExpiry() {
+        clusterJobService.run("promotion-expiry", Duration.ofMinutes(2), Duration.ofSeconds(30),
+                job -> expireAll(LocalDateTime.now()).values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    /**
+     * Clear all promotions that expired at or before the given time.
+     * Returns the number of listings affected per promotion type.
+     */
+    @Transactional
+    public Map<PromotionType, Integer> expireAll(LocalDateTime now) {
+        Map<PromotionType, Integer> expired = new EnumMap<>(PromotionType.class);
+        Set<Long> affectedIds = new HashSet<>();
+        Timestamp cutoff = Timestamp.valueOf(now);
+
+        for (PromotionType type : PromotionType.values()) {
+            List<Long> ids = jdbcTemplate.queryForList(expirySql.get(type), Long.class, cutoff, cutoff);
+            if (!ids.isEmpty()) {
+                expired.put(type, ids.size());
+                affectedIds.addAll(ids);
+            }
+        }
+
+        if (!affectedIds.isEmpty()) {
+            // Lapsed promotions leave the ranking in the same transaction
+            rankingService.recompute(affectedIds);
+            listingVersionService.listingsChanged(affectedIds);
+            evictCaches(affectedIds);
+            logger.info("⏰ Expired promotions on {} listings: {}", affectedIds.size(), expired);
+        }
+        return expired;
+    }
+
+    /**
+     * UPDATE ... RETURNING property_id, built from enum constants only (no user input)
+     */
+    private static String buildExpirySql(PromotionType type) {
+        String column = type.getUntilColumn();
+        StringBuilder sql = new StringBuilder("UPDATE real_estates SET ")
+            .append(column).append(" = NULL, updated_at = ?");
+        if (type.getResetAssignments() != null) {
+            sql.append(", ").append(type.getResetAssignments());
+        }
+        return sql.append(" WHERE ").append(column).append(" IS NOT NULL AND ")
+            .append(column).append(" <= ? RETURNING property_id")
+            .toString();
+    }
+
+    private void evictCaches(Set<Long> listingIds) {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        if (cacheManager == null) {
+            return; // Caching is only configured in prod
+        }
+
+        Cache details = cacheManager.getCache(PROPERTY_DETAILS_CACHE);
+        if (details != null) {
+            listingIds.forEach(details::evict);
+        }
+        // Search pages embed promotion flags and ordering; any expiry invalidates them
+        Cache search = cacheManager.getCache(PROPERTY_SEARCH_CACHE);
+        if (search != null) {
+            search.clear();
+        }
+    }
+}
@@ -140,8 +140,9 @@ public class RealEstateAuthorizationService {
         User currentUser = userService.getAuthenticatedUser();
         if (!currentUser.isAgencyAdmin()) return false;
         
-        return agencyRepository.findById(agencyId)
-                .map(agency -> agency.getAdmin().getId().equals(currentUser.getId()))
+        // The owned agency is resolved with the user; no extra agency lookup
+        return currentUser.getOwnedAgency()
+                .map(agency -> agency.getId().equals(agencyId))
                 .orElse(false);
     }
 
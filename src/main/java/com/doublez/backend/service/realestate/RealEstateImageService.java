@@ -17,7 +17,7 @@ import org.springframework.web.multipart.MultipartFile;
 import com.doublez.backend.exception.image.ImageUploadException;
 import com.doublez.backend.service.cloudfront.CloudFrontService;
 import com.doublez.backend.service.image.ImageProcessingService;
-import com.doublez.backend.service.s3.RealS3Service;
+import com.doublez.backend.service.s3.S3DeletionQueueService;
 import com.doublez.backend.service.s3.S3Service;
 import com.doublez.backend.service.validation.FileValidationService;
 
@@ -31,6 +31,7 @@ public class RealEstateImageService {
     private final ImageProcessingService imageProcessingService;
     private final FileValidationService validationService;
     private final CloudFrontService cloudFrontService;
+    private final S3DeletionQueueService s3DeletionQueue;
     
     @Value("${app.s3.folder:real-estates}")
     private String s3Folder;
@@ -38,11 +39,13 @@ public class RealEstateImageService {
     public RealEstateImageService(S3Service s3Service, 
                                  ImageProcessingService imageProcessingService,
                                  FileValidationService validationService,
-                                 CloudFrontService cloudFrontService) {
+                                 CloudFrontService cloudFrontService,
+                                 S3DeletionQueueService s3DeletionQueue) {
         this.s3Service = s3Service;
         this.imageProcessingService = imageProcessingService;
         this.validationService = validationService;
         this.cloudFrontService = cloudFrontService;
+        this.s3DeletionQueue = s3DeletionQueue;
     }
 
     // Sequential upload with processing - MEMORY SAFE
@@ -252,6 +255,19 @@ public class RealEstateImageService {
         return uploadImageWithRetry(file, customFilename);
     }
 
+    // Upload image bytes fetched elsewhere (bulk import from remote URLs); stored as-is, no re-encoding
+    public String uploadImageBytes(byte[] data, String contentType) throws IOException {
+        String extension = switch (contentType) {
+            case "image/png" -> "png";
+            case "image/webp" -> "webp";
+            default -> "jpg";
+        };
+        String filename = String.format("%s/%s.%s", s3Folder, UUID.randomUUID(), extension);
+        String presignedUrl = s3Service.generatePresignedUrl(filename);
+        s3Service.uploadFile(presignedUrl, data, contentType);
+        return extractPublicUrl(presignedUrl);
+    }
+
     // Presigned URL generation
     public String generatePresignedUrl(String fileName) {
         return s3Service.generatePresignedUrl(fileName);
@@ -306,59 +322,24 @@ public class RealEstateImageService {
         return cloudFrontService.convertToCdnUrl(s3Url);
     }
 
- // In RealEstateImageService.java - enhance deleteImages method
+    /**
+     * Schedule images for deletion from S3. Keys are queued in the caller's transaction
+     * and deleted by S3DeletionQueueService after it commits (nothing is deleted if it rolls back).
+     */
     public void deleteImages(List<String> imageUrls) {
         if (imageUrls == null || imageUrls.isEmpty()) {
             return;
         }
 
-        List<String> failedDeletions = new ArrayList<>();
         List<String> s3Keys = new ArrayList<>();
-        
-        // Extract S3 keys first
         for (String url : imageUrls) {
             try {
-                String key = extractS3Key(url);
-                s3Keys.add(key);
+                s3Keys.add(extractS3Key(url));
             } catch (Exception e) {
                 logger.warn("⚠️ Could not extract S3 key from URL: {}", url);
-                failedDeletions.add(url);
-            }
-        }
-        
-        // Use batch delete if available
-        if (s3Service instanceof RealS3Service && !s3Keys.isEmpty()) {
-            try {
-                ((RealS3Service) s3Service).deleteFiles(s3Keys);
-                logger.info("✅ Batch deleted {} images from S3", s3Keys.size());
-            } catch (Exception e) {
-                logger.warn("⚠️ Batch delete failed, falling back to individual deletes: {}", e.getMessage());
-                // Fall back to individual deletes
-                s3Keys.forEach(key -> {
-                    try {
-                        s3Service.deleteFile(key);
-                    } catch (Exception ex) {
-                        logger.error("❌ Failed to delete image from S3: {}", key, ex);
-                        failedDeletions.add(key);
-                    }
-                });
             }
-        } else {
-            // Individual deletes for non-RealS3Service implementations
-            s3Keys.forEach(key -> {
-                try {
-                    s3Service.deleteFile(key);
-                } catch (Exception e) {
-                    logger.error("❌ Failed to delete image from S3: {}", key, e);
-                    failedDeletions.add(key);
-                }
-            });
-        }
-        
-        if (!failedDeletions.isEmpty()) {
-            logger.warn("⚠️ Failed to delete {} images from S3", failedDeletions.size());
-            // Consider sending to a dead letter queue or monitoring service
         }
+        s3DeletionQueue.enqueue(s3Keys);
     }
 
     private String extractS3Key(String imageUrl) {
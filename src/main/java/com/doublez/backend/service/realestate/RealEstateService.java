@@ -2,12 +2,13 @@ package com.doublez.backend.service.realestate;
 
 import java.math.BigDecimal;
 
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -20,6 +21,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -27,11 +29,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.doublez.backend.dto.realestate.BulkOperationStatusDTO;
+import com.doublez.backend.dto.realestate.ListingImageDTO;
 import com.doublez.backend.dto.realestate.PortfolioStatsDTO;
 import com.doublez.backend.dto.realestate.RealEstateCreateDTO;
-import com.doublez.backend.dto.realestate.RealEstateResponseDTO;
+import com.doublez.backend.dto.realestate.RealEstateSummaryDTO;
+import com.doublez.backend.dto.realestate.RealEstateSearchFilter;
 import com.doublez.backend.dto.realestate.RealEstateUpdateDTO;
 import com.doublez.backend.entity.agency.Agency;
+import com.doublez.backend.entity.realestate.ListingImage;
+import com.doublez.backend.entity.realestate.PropertyFeature;
 import com.doublez.backend.entity.realestate.RealEstate;
 import com.doublez.backend.entity.user.User;
 import com.doublez.backend.enums.property.EnergyEfficiency;
@@ -49,7 +56,9 @@ import com.doublez.backend.exception.image.ImageValidationException;
 import com.doublez.backend.mapper.RealEstateMapper;
 import com.doublez.backend.repository.AgencyRepository;
 import com.doublez.backend.repository.UserRepository;
+import com.doublez.backend.repository.realestate.ListingImageRepository;
 import com.doublez.backend.repository.realestate.RealEstateRepository;
+import com.doublez.backend.service.investor.PortfolioAnalyticsService;
 import com.doublez.backend.service.user.UserService;
 
 import jakarta.annotation.Nullable;
@@ -65,6 +74,9 @@ import jakarta.validation.ValidationException;
 public class RealEstateService {
     private static final Logger logger = LoggerFactory.getLogger(RealEstateService.class);
 
+    // Pseudo sort property: ?sort=relevance orders by rank_score
+    public static final String RELEVANCE_SORT = "relevance";
+
     private final RealEstateRepository realEstateRepository;
     private final UserService userService;
     private final RealEstateImageService realEstateImageService;
@@ -72,6 +84,11 @@ public class RealEstateService {
     private final UserRepository userRepository;
     private final RealEstateAuthorizationService authService;
     private final AgencyRepository agencyRepository;
+    private final FeatureCatalog featureCatalog;
+    private final PortfolioAnalyticsService portfolioAnalyticsService;
+    private final BulkListingOperationService bulkListingOperationService;
+    private final ListingImageRepository listingImageRepository;
+    private final ListingVersionService listingVersionService;
 
     public RealEstateService(RealEstateRepository realEstateRepository, 
                            UserService userService,
@@ -79,7 +96,12 @@ public class RealEstateService {
                            RealEstateMapper realEstateMapper,
                            UserRepository userRepository,
                            RealEstateAuthorizationService authService, 
-                           AgencyRepository agencyRepository) { 
+                           AgencyRepository agencyRepository,
+                           FeatureCatalog featureCatalog,
+                           PortfolioAnalyticsService portfolioAnalyticsService,
+                           BulkListingOperationService bulkListingOperationService,
+                           ListingImageRepository listingImageRepository,
+                           ListingVersionService listingVersionService) { 
         this.realEstateRepository = realEstateRepository;
         this.userService = userService;
         this.realEstateImageService = realEstateImageService;
@@ -87,10 +109,15 @@ public class RealEstateService {
         this.userRepository = userRepository;
         this.authService = authService;
         this.agencyRepository = agencyRepository;
+        this.featureCatalog = featureCatalog;
+        this.portfolioAnalyticsService = portfolioAnalyticsService;
+        this.bulkListingOperationService = bulkListingOperationService;
+        this.listingImageRepository = listingImageRepository;
+        this.listingVersionService = listingVersionService;
     }
 
     // ENHANCED: Added furnitureStatus support and better validation
-    public Page<RealEstateResponseDTO> searchRealEstates(String searchTerm, BigDecimal priceMin, BigDecimal priceMax,
+    public Page<RealEstateSummaryDTO> searchRealEstates(String searchTerm, BigDecimal priceMin, BigDecimal priceMax,
             PropertyType propertyType, List<String> features, String city, String state, String zipCode,
             ListingType listingType, Integer minBedrooms, Integer maxBedrooms, Boolean hasParking, 
             Boolean hasElevator, EnergyEfficiency energyEfficiency, Pageable pageable) {
@@ -101,12 +128,35 @@ public class RealEstateService {
 
         // Execute the query with proper error handling
         try {
-            return realEstateRepository.findAll(spec, pageable).map(realEstateMapper::toResponseDto);
+            return realEstateRepository.findAll(spec, resolveRelevanceSort(pageable)).map(realEstateMapper::toSummaryDto);
         } catch (Exception e) {
             throw new RuntimeException("Search failed: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Public search using the shared filter DTO (also consumed by /search/facets)
+     */
+    public Page<RealEstateSummaryDTO> searchRealEstates(RealEstateSearchFilter filter, Pageable pageable) {
+        return searchRealEstates(filter.getSearchTerm(), filter.getPriceMin(), filter.getPriceMax(),
+                filter.getPropertyType(), filter.getFeatures(), filter.getCity(), filter.getState(),
+                filter.getZipCode(), filter.getListingType(), filter.getMinBedrooms(), filter.getMaxBedrooms(),
+                filter.getHasParking(), filter.getHasElevator(), filter.getEnergyEfficiency(), pageable);
+    }
+
+    /**
+     * Translate sort=relevance into the precomputed rank score (index order, ties by newest id)
+     */
+    private Pageable resolveRelevanceSort(Pageable pageable) {
+        if (pageable == null || pageable.getSort().getOrderFor(RELEVANCE_SORT) == null) {
+            return pageable;
+        }
+        Sort ranked = Sort.by(Sort.Direction.DESC, "rankScore").and(Sort.by(Sort.Direction.DESC, "propertyId"));
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), ranked)
+                : Pageable.unpaged(ranked);
+    }
+
     // ENHANCED: Added more search criteria
     private Specification<RealEstate> buildCompleteSpecification(String searchTerm, BigDecimal priceMin,
             BigDecimal priceMax, PropertyType propertyType, List<String> features, String city, String state,
@@ -139,7 +189,7 @@ public class RealEstateService {
 
             // Standard text fields
             predicates.add(cb.like(cb.lower(root.get("title")), "%" + searchTermLower + "%"));
-            predicates.add(cb.like(cb.lower(root.get("description")), "%" + searchTermLower + "%"));
+            predicates.add(cb.like(cb.lower(root.get("details").get("description")), "%" + searchTermLower + "%"));
             predicates.add(cb.like(cb.lower(root.get("city")), "%" + searchTermLower + "%"));
             predicates.add(cb.like(cb.lower(root.get("address")), "%" + searchTermLower + "%"));
             predicates.add(cb.like(cb.lower(root.get("neighborhood")), "%" + searchTermLower + "%"));
@@ -224,15 +274,32 @@ public class RealEstateService {
         return (root, query, cb) -> propertyType != null ? cb.equal(root.get("propertyType"), propertyType) : null;
     }
 
-    // Features specification (unchanged)
+    // Features specification: catalogued features compile to one feature_mask predicate
     private Specification<RealEstate> buildFeaturesSpec(List<String> features) {
         return (root, query, cb) -> {
             if (features == null || features.isEmpty())
                 return null;
 
+            List<PropertyFeature> catalogued = featureCatalog.snapshot().resolve(features);
+            if (catalogued.size() < new HashSet<>(features).size())
+                return cb.disjunction(); // Unknown feature code - nothing can match
+
             List<Predicate> featurePredicates = new ArrayList<>();
-            for (String feature : features) {
-                featurePredicates.add(cb.isMember(feature, root.get("features")));
+            long required = PropertyFeature.maskOf(catalogued);
+            if (required != 0) {
+                featurePredicates.add(cb.equal(
+                        cb.function("bitand", Long.class, root.get("featureMask"), cb.literal(required)), required));
+            }
+
+            // Features without a mask bit (catalogue beyond 63 entries) go through the join table
+            for (PropertyFeature feature : catalogued) {
+                if (feature.getBitPosition() == null) {
+                    Subquery<Long> featureSubquery = query.subquery(Long.class);
+                    Root<RealEstate> subRoot = featureSubquery.correlate(root);
+                    featureSubquery.select(cb.literal(1L))
+                            .where(cb.equal(subRoot.join("features").get("code"), feature.getCode()));
+                    featurePredicates.add(cb.exists(featureSubquery));
+                }
             }
 
             return cb.and(featurePredicates.toArray(new Predicate[0]));
@@ -524,47 +591,23 @@ public class RealEstateService {
 //        return updateRealEstate(propertyId, updateDto, null, null);
 //    }
 
-    //  Bulk update method
-    @Transactional
-    public void bulkUpdateStatus(List<Long> propertyIds, Boolean isActive, Boolean isFeatured) {
+    //  Bulk update method - set-based, chunked (large selections run as a background job)
+    public BulkOperationStatusDTO bulkUpdateStatus(List<Long> propertyIds, Boolean isActive, Boolean isFeatured) {
         User currentUser = userService.getAuthenticatedUser();
         
         if (!authService.hasRole("ADMIN") && !authService.hasRole("AGENCY_ADMIN")) {
             throw new IllegalOperationException("Only administrators can perform bulk updates");
         }
 
-        List<RealEstate> properties = realEstateRepository.findAllById(propertyIds);
-        
-        if (properties.size() != propertyIds.size()) {
-            throw new ResourceNotFoundException("Some properties not found");
-        }
-
-        for (RealEstate property : properties) {
-            if (isActive != null) {
-                property.setIsActive(isActive);
-            }
-            if (isFeatured != null) {
-                property.setIsFeatured(isFeatured);
-                if (isFeatured) {
-                    property.setFeaturedAt(LocalDateTime.now());
-                } else {
-                    property.setFeaturedAt(null);
-                    property.setFeaturedUntil(null);
-                }
-            }
-            property.preUpdate();
-        }
-
-        realEstateRepository.saveAll(properties);
-        logger.info("✅ Bulk updated {} properties", properties.size());
+        return bulkListingOperationService.updateStatus(propertyIds, isActive, isFeatured, currentUser.getId());
     }
 
     public void deleteRealEstate(Long propertyId) {
         RealEstate entity = getValidatedRealEstate(propertyId);
 
-        // Delete associated images from S3 FIRST
+        // Queue associated images for S3 deletion (removed once this transaction commits)
         if (entity.getImages() != null && !entity.getImages().isEmpty()) {
-            logger.info("🗑️ Deleting {} images from S3 for property {}", entity.getImages().size(), propertyId);
+            logger.info("🗑️ Queueing {} images for S3 deletion for property {}", entity.getImages().size(), propertyId);
             realEstateImageService.deleteImages(entity.getImages());
         }
 
@@ -588,16 +631,16 @@ public class RealEstateService {
         return counts;
     }
 
-    public List<RealEstateResponseDTO> getAllRealEstates() {
-        return realEstateRepository.findAll().stream().map(realEstateMapper::toResponseDto)
+    public List<RealEstateSummaryDTO> getAllRealEstates() {
+        return realEstateRepository.findAll().stream().map(realEstateMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
 
     // NEW: Get featured properties
-    public List<RealEstateResponseDTO> getFeaturedRealEstates(int limit) {
+    public List<RealEstateSummaryDTO> getFeaturedRealEstates(int limit) {
         return realEstateRepository.findFeaturedActiveProperties(PageRequest.of(0, limit))
                 .stream()
-                .map(realEstateMapper::toResponseDto)
+                .map(realEstateMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
 
@@ -692,14 +735,14 @@ public class RealEstateService {
 //                .collect(Collectors.toMap(Map.Entry::getKey, e -> new ArrayList<>(e.getValue())));
 //    }
 
-    public Page<RealEstateResponseDTO> getPropertiesByOwner(Long ownerId, Pageable pageable) {
+    public Page<RealEstateSummaryDTO> getPropertiesByOwner(Long ownerId, Pageable pageable) {
         Specification<RealEstate> spec = (root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId);
 
-        return realEstateRepository.findAll(spec, pageable).map(realEstateMapper::toResponseDto);
+        return realEstateRepository.findAll(spec, pageable).map(realEstateMapper::toSummaryDto);
     }
 
     // NEW: Get properties with filters for owner
-    public Page<RealEstateResponseDTO> getPropertiesByOwnerWithFilters(Long ownerId, Boolean isActive, 
+    public Page<RealEstateSummaryDTO> getPropertiesByOwnerWithFilters(Long ownerId, Boolean isActive, 
                                                                        ListingType listingType, Pageable pageable) {
         Specification<RealEstate> spec = Specification.where((root, query, cb) -> 
             cb.equal(root.get("owner").get("id"), ownerId));
@@ -712,7 +755,7 @@ public class RealEstateService {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("listingType"), listingType));
         }
 
-        return realEstateRepository.findAll(spec, pageable).map(realEstateMapper::toResponseDto);
+        return realEstateRepository.findAll(spec, pageable).map(realEstateMapper::toSummaryDto);
     }
 
     // REPLACE IMAGES METHOD WITH USAGE TRACKING (unchanged)
@@ -849,6 +892,55 @@ public class RealEstateService {
         logger.info("ℹ️ User {} - no images removed from property {} (none matched)", currentUser.getId(), propertyId);
         return property;
     }
+
+    public List<ListingImageDTO> getPropertyImages(Long propertyId) {
+        List<ListingImage> images = listingImageRepository.findByPropertyPropertyIdOrderByPositionAsc(propertyId);
+        if (images.isEmpty() && !realEstateRepository.existsById(propertyId)) {
+            throw new ResourceNotFoundException("Property not found");
+        }
+        return images.stream().map(ListingImageDTO::of).toList();
+    }
+
+    /**
+     * Put a property's images in the given order. Only the images whose position changes are
+     * updated; the listing row only gets its updated_at bumped so cached copies revalidate.
+     */
+    @Transactional
+    public List<ListingImageDTO> reorderImages(Long propertyId, List<Long> imageIds) {
+        List<ListingImage> images = listingImageRepository.findByPropertyPropertyIdOrderByPositionAsc(propertyId);
+        if (images.isEmpty() && !realEstateRepository.existsById(propertyId)) {
+            throw new ResourceNotFoundException("Property not found");
+        }
+
+        Set<Long> currentIds = images.stream().map(ListingImage::getId).collect(Collectors.toSet());
+        if (imageIds.size() != images.size() || !currentIds.equals(new HashSet<>(imageIds))) {
+            throw new ImageValidationException("Image order must list each of the property's image ids exactly once");
+        }
+
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < imageIds.size(); i++) {
+            positions.put(imageIds.get(i), i);
+        }
+
+        int moved = 0;
+        for (ListingImage image : images) {
+            int target = positions.get(image.getId());
+            if (image.getPosition() != target) {
+                image.setPosition(target);
+                moved++;
+            }
+        }
+        if (moved > 0) {
+            realEstateRepository.touchUpdatedAt(propertyId, LocalDateTime.now());
+            listingVersionService.listingsChanged(List.of(propertyId));
+        }
+
+        logger.info("🔀 Reordered images for property {} ({} of {} moved)", propertyId, moved, images.size());
+        return images.stream()
+                .sorted(Comparator.comparing(ListingImage::getPosition))
+                .map(ListingImageDTO::of)
+                .toList();
+    }
     
 //    private UserLimitation getLimitationsForUser(User user) {
 //        // Use the auth service which already has this logic
@@ -856,7 +948,7 @@ public class RealEstateService {
 //    }
     
     // Get agency properties
-    public List<RealEstateResponseDTO> getAgencyProperties(Long agencyId) {
+    public List<RealEstateSummaryDTO> getAgencyProperties(Long agencyId) {
         Agency agency = agencyRepository.findById(agencyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Agency not found"));
         
@@ -867,12 +959,12 @@ public class RealEstateService {
         
         List<RealEstate> properties = realEstateRepository.findByAgencyId(agencyId);
         return properties.stream()
-                .map(realEstateMapper::toResponseDto)
+                .map(realEstateMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
 
     // NEW: Get agency properties with pagination
-    public Page<RealEstateResponseDTO> getAgencyProperties(Long agencyId, Pageable pageable) {
+    public Page<RealEstateSummaryDTO> getAgencyProperties(Long agencyId, Pageable pageable) {
         Agency agency = agencyRepository.findById(agencyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Agency not found"));
         
@@ -882,7 +974,26 @@ public class RealEstateService {
         }
         
         return realEstateRepository.findByAgencyId(agencyId, pageable)
-                .map(realEstateMapper::toResponseDto);
+                .map(realEstateMapper::toSummaryDto);
+    }
+
+    // Agency properties filtered in the database; the text search covers the description without loading it
+    public Page<RealEstateSummaryDTO> searchAgencyProperties(Long agencyId, String searchTerm, PropertyType propertyType,
+            ListingType listingType, Pageable pageable) {
+        Agency agency = agencyRepository.findById(agencyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Agency not found"));
+
+        User currentUser = userService.getAuthenticatedUser();
+        if (!agency.getAdmin().getId().equals(currentUser.getId()) && !authService.hasRole("ADMIN")) {
+            throw new IllegalOperationException("You don't have permission to view these properties");
+        }
+
+        Specification<RealEstate> spec = Specification
+                .<RealEstate>where((root, query, cb) -> cb.equal(root.get("agency").get("id"), agencyId))
+                .and(buildTextSearchSpec(searchTerm))
+                .and(buildPropertyTypeSpec(propertyType))
+                .and(buildListingTypeSpec(listingType));
+        return realEstateRepository.findAll(spec, pageable).map(realEstateMapper::toSummaryDto);
     }
 
     // Admin activate/deactivate
@@ -979,7 +1090,7 @@ public class RealEstateService {
 //    }
     
     // Get investor properties
-    public List<RealEstateResponseDTO> getInvestorProperties(Long investorId) {
+    public List<RealEstateSummaryDTO> getInvestorProperties(Long investorId) {
         User currentUser = userService.getAuthenticatedUser();
         User investor = userRepository.findById(investorId)
                 .orElseThrow(() -> new UserNotFoundException(investorId));
@@ -996,12 +1107,12 @@ public class RealEstateService {
 
         List<RealEstate> properties = realEstateRepository.findByUserId(investorId);
         return properties.stream()
-                .map(realEstateMapper::toResponseDto)
+                .map(realEstateMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
 
     // NEW: Get investor properties with pagination
-    public Page<RealEstateResponseDTO> getInvestorProperties(Long investorId, Pageable pageable) {
+    public Page<RealEstateSummaryDTO> getInvestorProperties(Long investorId, Pageable pageable) {
         User currentUser = userService.getAuthenticatedUser();
         User investor = userRepository.findById(investorId)
                 .orElseThrow(() -> new UserNotFoundException(investorId));
@@ -1017,7 +1128,7 @@ public class RealEstateService {
         }
 
         return realEstateRepository.findByUserId(investorId, pageable)
-                .map(realEstateMapper::toResponseDto);
+                .map(realEstateMapper::toSummaryDto);
     }
     
     // Investment property analytics
@@ -1029,63 +1140,22 @@ public class RealEstateService {
             throw new IllegalOperationException("You can only view your own portfolio stats");
         }
 
-        List<RealEstateResponseDTO> properties = getInvestorProperties(investorId);
-        
-        long totalProperties = properties.size();
-        BigDecimal totalPortfolioValue = properties.stream()
-                .map(RealEstateResponseDTO::getPrice)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        long activeProperties = properties.stream()
-                .filter(property -> property.getIsActive() != null && property.getIsActive())
-                .count();
-
-        // Group by property type
-        Map<PropertyType, Long> propertiesByType = properties.stream()
-                .collect(Collectors.groupingBy(RealEstateResponseDTO::getPropertyType, Collectors.counting()));
-
-        // Group by city
-        Map<String, Long> propertiesByCity = properties.stream()
-                .collect(Collectors.groupingBy(RealEstateResponseDTO::getCity, Collectors.counting()));
-
-        // Group by listing type
-        Map<ListingType, Long> propertiesByListingType = properties.stream()
-                .collect(Collectors.groupingBy(RealEstateResponseDTO::getListingType, Collectors.counting()));
-
-        return new PortfolioStatsDTO(
-                totalProperties,
-                activeProperties,
-                totalPortfolioValue,
-                propertiesByType,
-                propertiesByCity,
-                propertiesByListingType,
-                calculatePortfolioHealth(properties),
-                properties.stream().mapToLong(p -> p.getViewCount() != null ? p.getViewCount() : 0).sum(),
-                properties.stream().mapToLong(p -> p.getContactCount() != null ? p.getContactCount() : 0).sum()
-        );
-    }
-    
-    private String calculatePortfolioHealth(List<RealEstateResponseDTO> properties) {
-        if (properties.isEmpty()) return "EMPTY";
-        
-        long activeCount = properties.stream()
-                .filter(property -> property.getIsActive() != null && property.getIsActive())
-                .count();
-        
-        double activeRatio = (double) activeCount / properties.size();
-        
-        if (activeRatio >= 0.8) return "EXCELLENT";
-        if (activeRatio >= 0.6) return "GOOD";
-        if (activeRatio >= 0.4) return "FAIR";
-        return "NEEDS_ATTENTION";
+        return portfolioAnalyticsService.getPortfolioStats(investorId);
     }
 
     // Get similar properties
-    public List<RealEstateResponseDTO> getSimilarProperties(Long propertyId, int limit) {
+    public List<RealEstateSummaryDTO> getSimilarProperties(Long propertyId, int limit) {
         RealEstate property = realEstateRepository.findById(propertyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
 
+        // Precomputed k-NN neighbours; the price-distance query only covers listings not yet computed
+        List<RealEstate> precomputed = realEstateRepository.findPrecomputedSimilar(propertyId, PageRequest.of(0, limit));
+        if (!precomputed.isEmpty()) {
+            return precomputed.stream()
+                .map(realEstateMapper::toSummaryDto)
+                .collect(Collectors.toList());
+        }
+
         return realEstateRepository.findSimilarProperties(
                 property.getPropertyType(), 
                 property.getCity(), 
@@ -1093,7 +1163,7 @@ public class RealEstateService {
                 propertyId, 
                 PageRequest.of(0, limit)
             ).stream()
-            .map(realEstateMapper::toResponseDto)
+            .map(realEstateMapper::toSummaryDto)
             .collect(Collectors.toList());
     }
 
@@ -1110,18 +1180,18 @@ public class RealEstateService {
 //    }
 
     // Get popular properties
-    public List<RealEstateResponseDTO> getPopularProperties(int limit) {
+    public List<RealEstateSummaryDTO> getPopularProperties(int limit) {
         return realEstateRepository.findPopularProperties(PageRequest.of(0, limit))
                 .stream()
-                .map(realEstateMapper::toResponseDto)
+                .map(realEstateMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
 
     // Get recently added properties
-    public List<RealEstateResponseDTO> getRecentlyAddedProperties(int limit) {
+    public List<RealEstateSummaryDTO> getRecentlyAddedProperties(int limit) {
         return realEstateRepository.findRecentlyAddedProperties(PageRequest.of(0, limit))
                 .stream()
-                .map(realEstateMapper::toResponseDto)
+                .map(realEstateMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,294 @@
+package com.doublez.backend.service.realestate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import com.doublez.backend.dto.realestate.RealEstateSearchFilter;
+import com.doublez.backend.dto.realestate.SearchFacetsDTO;
+import com.doublez.backend.entity.realestate.PropertyFeature;
+import com.doublez.backend.enums.property.ListingType;
+
+/**
+ * Facet counts for the search filters (property type, listing type, city, rooms,
+ * price band, heating type) computed in a single GROUPING SETS pass over the
+ * filtered listings, instead of one full scan per countByXxx query.
+ *
+ * Results for common filter combinations are cached in "searchFacets"; any listing
+ * write marks the cache stale after commit and the next sweep clears it, so bursts
+ * of saves cost one eviction.
+ */
+@Service
+public class SearchFacetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchFacetService.class);
+
+    public static final String CACHE_NAME = "searchFacets";
+
+    public static final String PROPERTY_TYPE = "propertyType";
+    public static final String LISTING_TYPE = "listingType";
+    public static final String CITY = "city";
+    public static final String ROOMS = "rooms";
+    public static final String PRICE_BAND = "priceBand";
+    public static final String HEATING_TYPE = "heatingType";
+
+    // Band upper bounds (EUR); the last band is open-ended
+    private static final int[] SALE_PRICE_BOUNDS = {50_000, 100_000, 150_000, 250_000, 500_000};
+    private static final int[] RENT_PRICE_BOUNDS = {300, 500, 800, 1_200, 2_000};
+    private static final int[] ROOM_BOUNDS = {1, 2, 3, 4, 5};
+
+    private static final String FACET_SQL =
+        "SELECT CASE WHEN GROUPING(property_type) = 0 THEN '" + PROPERTY_TYPE + "'" +
+        "            WHEN GROUPING(listing_type) = 0 THEN '" + LISTING_TYPE + "'" +
+        "            WHEN GROUPING(city) = 0 THEN '" + CITY + "'" +
+        "            WHEN GROUPING(rooms) = 0 THEN '" + ROOMS + "'" +
+        "            WHEN GROUPING(price_band) = 0 THEN '" + PRICE_BAND + "'" +
+        "            WHEN GROUPING(heating_type) = 0 THEN '" + HEATING_TYPE + "'" +
+        "            ELSE 'total' END AS facet," +
+        "       COALESCE(property_type, listing_type, city, rooms, price_band, heating_type) AS value," +
+        "       COUNT(*) AS cnt" +
+        "  FROM (SELECT re.property_type, re.listing_type, re.city, re.heating_type," +
+        "               " + roomsBucketSql() + " AS rooms," +
+        "               CASE WHEN re.listing_type = '" + ListingType.FOR_RENT.name() + "'" +
+        "                    THEN " + bandSql("re.price", RENT_PRICE_BOUNDS) +
+        "                    ELSE " + bandSql("re.price", SALE_PRICE_BOUNDS) + " END AS price_band" +
+        "          FROM real_estates re" +
+        "         WHERE %s) f" +
+        " GROUP BY GROUPING SETS ((property_type), (listing_type), (city), (rooms), (price_band), (heating_type), ())";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FeatureCatalog featureCatalog;
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+    private final AtomicBoolean cacheStale = new AtomicBoolean(false);
+
+    public SearchFacetService(JdbcTemplate jdbcTemplate, FeatureCatalog featureCatalog,
+                              ObjectProvider<CacheManager> cacheManagerProvider) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.featureCatalog = featureCatalog;
+        this.cacheManagerProvider = cacheManagerProvider;
+    }
+
+    /**
+     * Facet counts over the listings matching the filter (same predicates as search)
+     */
+    public SearchFacetsDTO getFacets(RealEstateSearchFilter filter) {
+        RealEstateSearchFilter effective = filter != null ? filter : new RealEstateSearchFilter();
+        Cache cache = effective.isCommonCombination() ? getCache() : null;
+        String key = effective.cacheKey();
+
+        if (cache != null) {
+            SearchFacetsDTO cached = cache.get(key, SearchFacetsDTO.class);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        SearchFacetsDTO facets = computeFacets(effective);
+        if (cache != null) {
+            cache.put(key, facets);
+        }
+        return facets;
+    }
+
+    /**
+     * Called on listing writes; the cache is cleared by the next sweep once the transaction commits
+     */
+    public void markStale() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheStale.set(true);
+                }
+            });
+        } else {
+            cacheStale.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.facets.invalidate-interval-ms:10000}")
+    public void evictIfStale() {
+        if (!cacheStale.compareAndSet(true, false)) {
+            return;
+        }
+        Cache cache = getCache();
+        if (cache != null) {
+            cache.clear();
+            logger.debug("Cleared {} cache after listing changes", CACHE_NAME);
+        }
+    }
+
+    private SearchFacetsDTO computeFacets(RealEstateSearchFilter filter) {
+        List<Object> args = new ArrayList<>();
+        String sql = String.format(FACET_SQL, buildWhereClause(filter, args));
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (String facet : List.of(PROPERTY_TYPE, LISTING_TYPE, CITY, ROOMS, PRICE_BAND, HEATING_TYPE)) {
+            facets.put(facet, new LinkedHashMap<>());
+        }
+        long[] total = {0};
+
+        jdbcTemplate.query(sql, rs -> {
+            String facet = rs.getString("facet");
+            long count = rs.getLong("cnt");
+            if ("total".equals(facet)) {
+                total[0] = count;
+                return;
+            }
+            String value = rs.getString("value");
+            if (value != null) { // Listings without a value in this dimension (e.g. no heating set)
+                facets.get(facet).put(value, count);
+            }
+        }, args.toArray());
+
+        facets.replaceAll((facet, counts) -> sortByCountDesc(counts));
+        return new SearchFacetsDTO(total[0], facets, LocalDateTime.now());
+    }
+
+    /**
+     * SQL counterpart of RealEstateService's search specifications
+     */
+    private String buildWhereClause(RealEstateSearchFilter filter, List<Object> args) {
+        List<String> predicates = new ArrayList<>();
+        predicates.add("re.is_active = true");
+
+        if (StringUtils.hasText(filter.getSearchTerm())) {
+            String like = "%" + filter.getSearchTerm().toLowerCase() + "%";
+            predicates.add("(lower(re.title) LIKE ? OR lower(re.city) LIKE ?" +
+                           " OR lower(re.address) LIKE ? OR lower(re.neighborhood) LIKE ?" +
+                           " OR EXISTS (SELECT 1 FROM real_estate_details d" +
+                           "             WHERE d.property_id = re.property_id AND lower(d.description) LIKE ?)" +
+                           " OR EXISTS (SELECT 1 FROM real_estate_features_map fm" +
+                           "              JOIN property_features pf ON pf.id = fm.feature_id" +
+                           "             WHERE fm.property_id = re.property_id AND lower(pf.name) LIKE ?))");
+            for (int i = 0; i < 6; i++) {
+                args.add(like);
+            }
+        }
+        if (filter.getPriceMin() != null) {
+            predicates.add("re.price >= ?");
+            args.add(filter.getPriceMin());
+        }
+        if (filter.getPriceMax() != null) {
+            predicates.add("re.price <= ?");
+            args.add(filter.getPriceMax());
+        }
+        if (filter.getPropertyType() != null) {
+            predicates.add("re.property_type = ?");
+            args.add(filter.getPropertyType().name());
+        }
+        if (filter.getFeatures() != null && !filter.getFeatures().isEmpty()) {
+            List<PropertyFeature> catalogued = featureCatalog.snapshot().resolve(filter.getFeatures());
+            if (catalogued.size() < new HashSet<>(filter.getFeatures()).size()) {
+                predicates.add("false"); // Unknown feature code
+            }
+            long required = PropertyFeature.maskOf(catalogued);
+            if (required != 0) {
+                predicates.add("(re.feature_mask & ?) = ?");
+                args.add(required);
+                args.add(required);
+            }
+            for (PropertyFeature feature : catalogued) {
+                if (feature.getBitPosition() == null) {
+                    predicates.add("EXISTS (SELECT 1 FROM real_estate_features_map fm" +
+                                   "         WHERE fm.property_id = re.property_id AND fm.feature_id = ?)");
+                    args.add(feature.getId());
+                }
+            }
+        }
+        if (StringUtils.hasText(filter.getCity())) {
+            predicates.add("lower(re.city) = ?");
+            args.add(filter.getCity().toLowerCase());
+        }
+        if (StringUtils.hasText(filter.getState())) {
+            predicates.add("lower(re.state) = ?");
+            args.add(filter.getState().toLowerCase());
+        }
+        if (StringUtils.hasText(filter.getZipCode())) {
+            predicates.add("re.zip_code = ?");
+            args.add(filter.getZipCode());
+        }
+        if (filter.getListingType() != null) {
+            predicates.add("re.listing_type = ?");
+            args.add(filter.getListingType().name());
+        }
+        if (filter.getMinBedrooms() != null) {
+            predicates.add("re.room_count >= ?");
+            args.add(BigDecimal.valueOf(filter.getMinBedrooms()));
+        }
+        if (filter.getMaxBedrooms() != null) {
+            predicates.add("re.room_count <= ?");
+            args.add(BigDecimal.valueOf(filter.getMaxBedrooms()));
+        }
+        if (filter.getHasParking() != null) {
+            predicates.add("re.has_parking = ?");
+            args.add(filter.getHasParking());
+        }
+        if (filter.getHasElevator() != null) {
+            predicates.add("re.has_elevator = ?");
+            args.add(filter.getHasElevator());
+        }
+        if (filter.getEnergyEfficiency() != null) {
+            predicates.add("re.energy_efficiency = ?");
+            args.add(filter.getEnergyEfficiency().name());
+        }
+
+        return String.join(" AND ", predicates);
+    }
+
+    private static Map<String, Long> sortByCountDesc(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()))
+            .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * Half-room counts (garsonjera 0.5, 1.5 ...) fall into the bucket of their whole part
+     */
+    private static String roomsBucketSql() {
+        StringBuilder sql = new StringBuilder("CASE WHEN re.room_count IS NULL THEN NULL");
+        int lower = 0;
+        for (int bound : ROOM_BOUNDS) {
+            sql.append(" WHEN re.room_count < ").append(bound).append(" THEN '").append(lower).append("'");
+            lower = bound;
+        }
+        return sql.append(" ELSE '").append(lower).append("+' END").toString();
+    }
+
+    private static String bandSql(String column, int[] bounds) {
+        StringBuilder sql = new StringBuilder("CASE");
+        int lower = 0;
+        for (int bound : bounds) {
+            sql.append(" WHEN ").append(column).append(" < ").append(bound)
+               .append(" THEN '").append(lower).append('-').append(bound).append("'");
+            lower = bound;
+        }
+        return sql.append(" ELSE '").append(lower).append("+' END").toString();
+    }
+
+    private Cache getCache() {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        return cacheManager != null ? cacheManager.getCache(CACHE_NAME) : null;
+    }
+}
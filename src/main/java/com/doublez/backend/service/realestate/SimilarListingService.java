@@ -0,0 +1,448 @@
+package com.doublez.backend.service.realestate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.doublez.backend.config.SchedulingConfig;
+import com.doublez.backend.service.scheduling.ClusterJobService;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Computes the similar_listings table: top-k nearest neighbours per active listing.
+ *
+ * Listings are bucketed by (city, property type, listing type) - a neighbour from
+ * another city or a rental next to a sale is never useful. Inside a bucket each
+ * listing is a vector of z-scored ln(price/m²), ln(size) and rooms, projected
+ * lat/lng and a feature bitset (Jaccard distance). Buckets are brute-forced; very
+ * large ones are split into a geo grid and only the surrounding 3x3 cells are
+ * searched. A listing change recomputes its whole bucket, and the bucket it left.
+ *
+ * Refreshes and the nightly rebuild hold a transaction-scoped advisory lock, so
+ * instances never write the same buckets at once. A scheduled refresh that finds
+ * the lock taken, or fails, keeps its dirty ids for the next run.
+ */
+@Service
+public class SimilarListingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarListingService.class);
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    // Buckets larger than this are searched through a geo grid instead of all pairs
+    private static final int MAX_BRUTE_FORCE_BUCKET = 2000;
+    private static final double GRID_CELL_DEGREES = 0.02; // ~2 km
+    private static final double KM_PER_DEGREE = 111.32;
+    // Distance in km that weighs as much as one standard deviation of the other dimensions
+    private static final double GEO_SCALE_KM = 3.0;
+    private static final double FEATURE_WEIGHT = 1.5;
+    private static final double MIN_STD_DEV = 1e-6;
+
+    private static final String BUCKET_FILTER =
+        " AND (lower(re.city), re.property_type, re.listing_type) IN (" +
+        "SELECT lower(d.city), d.property_type, d.listing_type FROM real_estates d WHERE d.property_id = ANY(?))";
+
+    private static final String VECTOR_SQL =
+        "SELECT re.property_id, lower(re.city) AS city, re.property_type, re.listing_type, " +
+        "re.price, re.size_in_sqmt, re.room_count, re.latitude, re.longitude " +
+        "FROM real_estates re WHERE re.is_active = true";
+
+    private static final String FEATURE_SQL =
+        "SELECT m.property_id, m.feature_id FROM real_estate_features_map m " +
+        "JOIN real_estates re ON re.property_id = m.property_id WHERE re.is_active = true";
+
+    private static final String REFERRERS_SQL =
+        "SELECT DISTINCT listing_id FROM similar_listings WHERE similar_listing_id = ANY(?)";
+
+    // Serializes refreshes and the rebuild across instances, per transaction
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('similar_listings'))";
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('similar_listings'))";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO similar_listings (listing_id, similar_listing_id, neighbour_rank, distance, computed_at) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterJobService clusterJobService;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> dirtyListingIds = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.similar.neighbours:12}")
+    private int neighbours;
+
+    public SimilarListingService(JdbcTemplate jdbcTemplate, ClusterJobService clusterJobService,
+                                 PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterJobService = clusterJobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Queue a listing's bucket for recompute once the current transaction commits
+     */
+    public void markDirty(Long listingId) {
+        if (listingId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirtyListingIds.add(listingId);
+                }
+            });
+        } else {
+            dirtyListingIds.add(listingId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.similar.refresh-interval-ms:300000}")
+    public void refreshDirty() {
+        if (dirtyListingIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>();
+        Iterator<Long> iterator = dirtyListingIds.iterator();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+
+        // Taken ids go back into the queue unless their buckets were replaced and committed
+        try {
+            Boolean refreshed = transactionTemplate.execute(status -> {
+                if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class))) {
+                    return false;
+                }
+                replaceBuckets(ids);
+                return true;
+            });
+            if (!Boolean.TRUE.equals(refreshed)) {
+                logger.debug("Similar listings are being refreshed elsewhere, {} listings wait for the next run", ids.size());
+                dirtyListingIds.addAll(ids);
+            }
+        } catch (RuntimeException e) {
+            dirtyListingIds.addAll(ids);
+            logger.warn("Similar listings refresh failed for {} listings, retrying on the next run: {}",
+                       ids.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute the buckets that contain the given listings and replace their rows
+     */
+    @Transactional
+    public int refreshBuckets(Collection<Long> listingIds) {
+        if (listingIds == null || listingIds.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.execute(LOCK_SQL);
+        return replaceBuckets(listingIds);
+    }
+
+    /**
+     * Nightly full rebuild on one instance (the lease is taken in its own transaction)
+     */
+    @Scheduled(cron = "0 0 4 * * *", scheduler = SchedulingConfig.CLUSTER_JOB_SCHEDULER)
+    @Transactional
+    public void rebuildAll() {
+        clusterJobService.run("similar-listings-rebuild", Duration.ofMinutes(10), Duration.ofHours(1), job -> {
+            long start = System.currentTimeMillis();
+            jdbcTemplate.execute(LOCK_SQL);
+            List<ListingVector> vectors = loadVectors(VECTOR_SQL, FEATURE_SQL, null);
+            Map<Long, List<Neighbour>> result = computeNeighbours(vectors);
+
+            jdbcTemplate.update("DELETE FROM similar_listings");
+            int rows = insertNeighbours(result);
+            logger.info("🧭 Rebuilt similar listings: {} listings, {} rows in {} ms",
+                       vectors.size(), rows, System.currentTimeMillis() - start);
+            return rows;
+        });
+    }
+
+    /**
+     * Replace the rows of every listing whose neighbours are recomputed; caller holds the lock
+     */
+    private int replaceBuckets(Collection<Long> listingIds) {
+        // Listings that list a changed one as a neighbour: they seed its old bucket when it
+        // was deactivated or re-bucketed, so that bucket is recomputed without it
+        Long[] changedIds = listingIds.toArray(new Long[0]);
+        Set<Long> seeds = new HashSet<>(listingIds);
+        jdbcTemplate.query(REFERRERS_SQL, ps -> bindIds(ps, changedIds), (ResultSet rs) -> {
+            seeds.add(rs.getLong("listing_id"));
+        });
+
+        Long[] ids = seeds.toArray(new Long[0]);
+        List<ListingVector> vectors = loadVectors(VECTOR_SQL + BUCKET_FILTER, FEATURE_SQL + BUCKET_FILTER, ids);
+        Map<Long, List<Neighbour>> result = computeNeighbours(vectors);
+
+        // Seeds are included: a deactivated or re-bucketed listing must lose its old rows
+        Set<Long> owners = new HashSet<>(seeds);
+        vectors.forEach(vector -> owners.add(vector.id()));
+        Long[] ownerIds = owners.toArray(new Long[0]);
+        jdbcTemplate.update("DELETE FROM similar_listings WHERE listing_id = ANY(?)",
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ownerIds)));
+
+        int rows = insertNeighbours(result);
+        logger.debug("Refreshed similar listings for {} listings ({} rows)", vectors.size(), rows);
+        return rows;
+    }
+
+    // ===== LOADING =====
+
+    private List<ListingVector> loadVectors(String vectorSql, String featureSql, Long[] bucketIds) {
+        Map<Long, ListingVector> vectors = new LinkedHashMap<>();
+        jdbcTemplate.query(vectorSql, ps -> bindIds(ps, bucketIds), (ResultSet rs) -> {
+            ListingVector vector = new ListingVector(
+                rs.getLong("property_id"),
+                rs.getString("city") + "|" + rs.getString("property_type") + "|" + rs.getString("listing_type"),
+                toDouble(rs, "price"),
+                toDouble(rs, "size_in_sqmt"),
+                toDouble(rs, "room_count"),
+                toDouble(rs, "latitude"),
+                toDouble(rs, "longitude"),
+                new BitSet());
+            vectors.put(vector.id(), vector);
+        });
+
+        jdbcTemplate.query(featureSql, ps -> bindIds(ps, bucketIds), (ResultSet rs) -> {
+            ListingVector vector = vectors.get(rs.getLong("property_id"));
+            if (vector != null) {
+                vector.features().set((int) rs.getLong("feature_id"));
+            }
+        });
+        return new ArrayList<>(vectors.values());
+    }
+
+    private static void bindIds(PreparedStatement ps, Long[] ids) throws SQLException {
+        if (ids != null) {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids));
+        }
+    }
+
+    private static Double toDouble(ResultSet rs, String column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value != null ? value.doubleValue() : null;
+    }
+
+    // ===== K-NN =====
+
+    private Map<Long, List<Neighbour>> computeNeighbours(List<ListingVector> vectors) {
+        Map<String, List<ListingVector>> buckets = new HashMap<>();
+        for (ListingVector vector : vectors) {
+            buckets.computeIfAbsent(vector.bucket(), key -> new ArrayList<>()).add(vector);
+        }
+
+        Map<Long, List<Neighbour>> result = new HashMap<>();
+        for (List<ListingVector> bucket : buckets.values()) {
+            if (bucket.size() > 1) {
+                computeBucket(bucket, result);
+            }
+        }
+        return result;
+    }
+
+    private void computeBucket(List<ListingVector> bucket, Map<Long, List<Neighbour>> result) {
+        double[][] points = normalize(bucket);
+        Map<Long, List<Integer>> grid = bucket.size() > MAX_BRUTE_FORCE_BUCKET ? buildGrid(bucket) : null;
+
+        for (int i = 0; i < bucket.size(); i++) {
+            // Max-heap on distance holding the k best candidates seen so far
+            PriorityQueue<Neighbour> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbour::distance).reversed());
+            for (int j : candidates(i, bucket, grid)) {
+                if (j == i) continue;
+                double distance = distance(points[i], points[j], bucket.get(i).features(), bucket.get(j).features());
+                if (best.size() < neighbours) {
+                    best.add(new Neighbour(bucket.get(j).id(), distance));
+                } else if (distance < best.peek().distance()) {
+                    best.poll();
+                    best.add(new Neighbour(bucket.get(j).id(), distance));
+                }
+            }
+
+            List<Neighbour> ordered = new ArrayList<>(best);
+            ordered.sort(Comparator.comparingDouble(Neighbour::distance));
+            result.put(bucket.get(i).id(), ordered);
+        }
+    }
+
+    /**
+     * Candidate indexes: the 3x3 grid neighbourhood for large buckets, falling back to
+     * the whole bucket when that neighbourhood is too sparse or the listing has no coordinates
+     */
+    private Iterable<Integer> candidates(int index, List<ListingVector> bucket, Map<Long, List<Integer>> grid) {
+        ListingVector vector = bucket.get(index);
+        if (grid != null && vector.latitude() != null && vector.longitude() != null) {
+            long row = (long) Math.floor(vector.latitude() / GRID_CELL_DEGREES);
+            long col = (long) Math.floor(vector.longitude() / GRID_CELL_DEGREES);
+            List<Integer> nearby = new ArrayList<>();
+            for (long r = row - 1; r <= row + 1; r++) {
+                for (long c = col - 1; c <= col + 1; c++) {
+                    nearby.addAll(grid.getOrDefault(cellKey(r, c), List.of()));
+                }
+            }
+            if (nearby.size() > neighbours) {
+                return nearby;
+            }
+        }
+        return () -> IntStream.range(0, bucket.size()).iterator();
+    }
+
+    private static Map<Long, List<Integer>> buildGrid(List<ListingVector> bucket) {
+        Map<Long, List<Integer>> grid = new HashMap<>();
+        for (int i = 0; i < bucket.size(); i++) {
+            ListingVector vector = bucket.get(i);
+            if (vector.latitude() == null || vector.longitude() == null) continue;
+            long row = (long) Math.floor(vector.latitude() / GRID_CELL_DEGREES);
+            long col = (long) Math.floor(vector.longitude() / GRID_CELL_DEGREES);
+            grid.computeIfAbsent(cellKey(row, col), key -> new ArrayList<>()).add(i);
+        }
+        return grid;
+    }
+
+    private static long cellKey(long row, long col) {
+        return (row << 32) ^ (col & 0xffffffffL);
+    }
+
+    /**
+     * Per-bucket vectors: [z(ln price/m²), z(ln size), z(rooms), x km/scale, y km/scale].
+     * Missing values take the bucket mean so they neither attract nor repel.
+     */
+    private static double[][] normalize(List<ListingVector> bucket) {
+        int n = bucket.size();
+        double[][] raw = new double[n][5];
+        boolean[][] present = new boolean[n][5];
+        double meanLatitude = 0;
+        int withCoordinates = 0;
+
+        for (ListingVector vector : bucket) {
+            if (vector.latitude() != null && vector.longitude() != null) {
+                meanLatitude += vector.latitude();
+                withCoordinates++;
+            }
+        }
+        double lngScale = Math.cos(Math.toRadians(withCoordinates > 0 ? meanLatitude / withCoordinates : 0));
+
+        for (int i = 0; i < n; i++) {
+            ListingVector vector = bucket.get(i);
+            if (vector.price() != null && vector.size() != null && vector.price() > 0 && vector.size() > 0) {
+                raw[i][0] = Math.log(vector.price() / vector.size());
+                present[i][0] = true;
+            }
+            if (vector.size() != null && vector.size() > 0) {
+                raw[i][1] = Math.log(vector.size());
+                present[i][1] = true;
+            }
+            if (vector.rooms() != null) {
+                raw[i][2] = vector.rooms();
+                present[i][2] = true;
+            }
+            if (vector.latitude() != null && vector.longitude() != null) {
+                raw[i][3] = vector.longitude() * KM_PER_DEGREE * lngScale / GEO_SCALE_KM;
+                raw[i][4] = vector.latitude() * KM_PER_DEGREE / GEO_SCALE_KM;
+                present[i][3] = true;
+                present[i][4] = true;
+            }
+        }
+
+        for (int d = 0; d < 5; d++) {
+            double sum = 0, sumSquares = 0;
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                if (present[i][d]) {
+                    sum += raw[i][d];
+                    sumSquares += raw[i][d] * raw[i][d];
+                    count++;
+                }
+            }
+            double mean = count > 0 ? sum / count : 0;
+            double std = count > 1 ? Math.sqrt(Math.max(sumSquares / count - mean * mean, 0)) : 1;
+            // Geo dimensions are already in scaled km; only centre them
+            boolean scale = d < 3;
+            for (int i = 0; i < n; i++) {
+                double value = present[i][d] ? raw[i][d] : mean;
+                raw[i][d] = scale ? (value - mean) / Math.max(std, MIN_STD_DEV) : value - mean;
+            }
+        }
+        return raw;
+    }
+
+    private static double distance(double[] a, double[] b, BitSet featuresA, BitSet featuresB) {
+        double sum = 0;
+        for (int d = 0; d < a.length; d++) {
+            double diff = a[d] - b[d];
+            sum += diff * diff;
+        }
+
+        int union = featuresA.cardinality() + featuresB.cardinality();
+        if (union > 0) {
+            BitSet intersection = (BitSet) featuresA.clone();
+            intersection.and(featuresB);
+            int shared = intersection.cardinality();
+            double jaccardDistance = 1.0 - (double) shared / (union - shared);
+            sum += FEATURE_WEIGHT * jaccardDistance;
+        }
+        return Math.sqrt(sum);
+    }
+
+    // ===== WRITING =====
+
+    private int insertNeighbours(Map<Long, List<Neighbour>> result) {
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp computedAt = Timestamp.valueOf(LocalDateTime.now());
+        result.forEach((listingId, neighbourList) -> {
+            for (int rank = 0; rank < neighbourList.size(); rank++) {
+                Neighbour neighbour = neighbourList.get(rank);
+                rows.add(new Object[] { listingId, neighbour.listingId(), rank + 1, neighbour.distance(), computedAt });
+            }
+        });
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, INSERT_BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, (Long) row[0]);
+            ps.setLong(2, (Long) row[1]);
+            ps.setInt(3, (Integer) row[2]);
+            ps.setDouble(4, (Double) row[3]);
+            ps.setTimestamp(5, (Timestamp) row[4]);
+        });
+        return rows.size();
+    }
+
+    private record ListingVector(Long id, String bucket, Double price, Double size, Double rooms,
+                                 Double latitude, Double longitude, BitSet features) {}
+
+    private record Neighbour(Long listingId, double distance) {}
+}
@@ -9,6 +9,7 @@ import java.net.http.HttpResponse;
 import java.net.http.HttpTimeoutException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,14 +19,21 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import com.doublez.backend.dto.s3.S3ObjectInfo;
+
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Iterable;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
@@ -61,6 +69,34 @@ public class RealS3Service implements S3Service {
         
         return objectKeys;
     }
+	
+	@Override
+    public Iterator<S3ObjectInfo> iterateObjects(String prefix, String startAfter) {
+        ListObjectsV2Request.Builder request = ListObjectsV2Request.builder()
+            .bucket(bucketName)
+            .prefix(prefix);
+        
+        if (startAfter != null && !startAfter.isEmpty()) {
+            request.startAfter(startAfter);
+        }
+        
+        // contents() is lazy: each page is requested only when the iterator reaches it
+        Iterator<S3Object> objects =
+            s3Client.listObjectsV2Paginator(request.build()).contents().iterator();
+        
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return objects.hasNext();
+            }
+            
+            @Override
+            public S3ObjectInfo next() {
+                S3Object object = objects.next();
+                return new S3ObjectInfo(object.key(), object.lastModified());
+            }
+        };
+    }
 
 	private static final Logger logger = LoggerFactory.getLogger(RealS3Service.class);
 	private final S3Presigner presigner;
@@ -173,11 +209,14 @@ public class RealS3Service implements S3Service {
 	/**
      * Batch delete multiple files (more efficient than individual deletes)
      */
-    public void deleteFiles(List<String> keys) {
+	@Override
+    public int deleteFiles(List<String> keys) {
         if (keys == null || keys.isEmpty()) {
-            return;
+            return 0;
         }
         
+        int deletedCount = 0;
+        
         // S3 supports up to 1000 objects per batch delete
         List<List<String>> batches = partitionList(keys, 1000);
         
@@ -189,20 +228,84 @@ public class RealS3Service implements S3Service {
                 
                 DeleteObjectsRequest deleteRequest = DeleteObjectsRequest.builder()
                     .bucket(bucketName)
-                    .delete(Delete.builder().objects(objects).build())
+                    .delete(Delete.builder().objects(objects).quiet(false).build())
                     .build();
                 
-                s3Client.deleteObjects(deleteRequest);
-                logger.info("✅ Batch deleted {} files from S3", batch.size());
+                DeleteObjectsResponse response = s3Client.deleteObjects(deleteRequest);
+                deletedCount += response.deleted().size();
+                
+                if (response.hasErrors() && !response.errors().isEmpty()) {
+                    response.errors().forEach(error -> 
+                        logger.error("❌ Batch delete error for {}: {} {}", error.key(), error.code(), error.message()));
+                }
+                logger.info("✅ Batch deleted {} files from S3", response.deleted().size());
                 
             } catch (S3Exception e) {
                 logger.error("❌ Batch delete failed for {} files: {}", batch.size(), e.awsErrorDetails().errorMessage());
                 // Fall back to individual deletes
-                batch.forEach(this::deleteFile);
+                for (String key : batch) {
+                    try {
+                        deleteFile(key);
+                        deletedCount++;
+                    } catch (RuntimeException individual) {
+                        // Already logged by deleteFile; only successful deletes are counted
+                    }
+                }
             }
         }
+        
+        return deletedCount;
     }
     
+    @Override
+    public List<String> deleteBatch(List<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return List.of();
+        }
+        if (keys.size() > 1000) {
+            throw new IllegalArgumentException("DeleteObjects accepts at most 1000 keys, got " + keys.size());
+        }
+
+        List<ObjectIdentifier> objects = keys.stream()
+            .map(key -> ObjectIdentifier.builder().key(key).build())
+            .collect(Collectors.toList());
+
+        // Quiet mode: the response lists only the keys that failed
+        DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+            .bucket(bucketName)
+            .delete(Delete.builder().objects(objects).quiet(true).build())
+            .build());
+
+        List<String> failed = new ArrayList<>();
+        if (response.hasErrors()) {
+            response.errors().forEach(error -> {
+                logger.warn("⚠️ S3 could not delete {}: {} {}", error.key(), error.code(), error.message());
+                failed.add(error.key());
+            });
+        }
+        return failed;
+    }
+
+    @Override
+    public void putObject(String key, InputStream data, long contentLength, String contentType) {
+        s3Client.putObject(PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .build(),
+            RequestBody.fromInputStream(data, contentLength));
+        logger.debug("📤 Uploaded {} ({} bytes)", key, contentLength);
+    }
+
+    @Override
+    public InputStream getObject(String key) {
+        return s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build());
+    }
+
     /**
      * Helper method to split a list into batches
      */
@@ -0,0 +1,214 @@
+package com.doublez.backend.service.s3;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Durable queue of S3 objects to delete.
+ *
+ * Keys are inserted into pending_s3_deletions in the caller's transaction, so they
+ * are only deleted if the database change that orphaned them commits, and a crash
+ * after commit loses nothing. A single worker drains the table after each commit
+ * (and on a schedule, for retries and leftovers from before a restart) in
+ * DeleteObjects batches. Failed keys are retried with exponential backoff up to
+ * app.s3.deletion.max-attempts; after that the rows stay in the table for inspection.
+ * Batches are claimed with FOR UPDATE SKIP LOCKED, so several instances can drain
+ * concurrently; the locks only cover queue rows.
+ */
+@Service
+public class S3DeletionQueueService {
+    private static final Logger logger = LoggerFactory.getLogger(S3DeletionQueueService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO pending_s3_deletions (object_key, attempts, next_attempt_at, created_at) VALUES (?, 0, now(), now())";
+    private static final String CLAIM_SQL =
+        "SELECT id, object_key, attempts FROM pending_s3_deletions " +
+        "WHERE next_attempt_at <= now() AND attempts < ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_SQL =
+        "DELETE FROM pending_s3_deletions WHERE id = ANY(?)";
+    private static final String RETRY_SQL =
+        "UPDATE pending_s3_deletions SET attempts = attempts + 1, last_error = ?," +
+        "       next_attempt_at = now() + LEAST(? * power(2, attempts), ?) * INTERVAL '1 second' WHERE id = ANY(?)";
+
+    private final S3Service s3Service;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "s3-deletions"));
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    // S3 DeleteObjects limit
+    @Value("${app.s3.deletion.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.s3.deletion.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.s3.deletion.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    @Value("${app.s3.deletion.retry-max-seconds:3600}")
+    private long retryMaxSeconds;
+
+    public S3DeletionQueueService(S3Service s3Service, JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager) {
+        this.s3Service = s3Service;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Record keys for deletion in the current transaction; the worker runs once it commits
+     */
+    public void enqueue(Collection<String> keys) {
+        List<String> distinct = keys == null ? List.of() : keys.stream()
+            .filter(Objects::nonNull)
+            .filter(key -> !key.isBlank())
+            .distinct()
+            .toList();
+        if (distinct.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, distinct.stream().map(key -> new Object[] { key }).toList());
+        logger.debug("🗑️ Queued {} S3 objects for deletion", distinct.size());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestDrain();
+                }
+            });
+        } else {
+            requestDrain();
+        }
+    }
+
+    /**
+     * Picks up retries that came due and anything queued before a restart
+     */
+    @Scheduled(fixedDelayString = "${app.s3.deletion.poll-interval-ms:60000}")
+    public void drainDue() {
+        requestDrain();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    // Coalesces bursts of commits into one drain; a commit during a drain schedules another
+    private void requestDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            worker.submit(() -> {
+                drainScheduled.set(false);
+                drain();
+            });
+        }
+    }
+
+    private void drain() {
+        int deleted = 0;
+        try {
+            while (true) {
+                BatchResult result = transactionTemplate.execute(status -> drainBatch());
+                if (result == null || result.claimed() == 0) {
+                    break;
+                }
+                deleted += result.deleted();
+                if (result.deleted() == 0) {
+                    break; // Whole batch failed; S3 is likely unavailable, wait for the next poll
+                }
+            }
+        } catch (Exception e) {
+            logger.error("❌ S3 deletion queue drain failed: {}", e.getMessage(), e);
+        }
+        if (deleted > 0) {
+            logger.info("✅ Deleted {} queued objects from S3", deleted);
+        }
+    }
+
+    private BatchResult drainBatch() {
+        List<PendingDeletion> batch = jdbcTemplate.query(CLAIM_SQL,
+            (rs, rowNum) -> new PendingDeletion(rs.getLong("id"), rs.getString("object_key"), rs.getInt("attempts")),
+            maxAttempts, batchSize);
+        if (batch.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        // The same key may be queued twice (e.g. listing and image removed together)
+        List<String> keys = batch.stream().map(PendingDeletion::key).distinct().toList();
+        Set<String> failed;
+        String error;
+        try {
+            failed = new HashSet<>(s3Service.deleteBatch(keys));
+            error = "DeleteObjects reported an error for this key";
+        } catch (Exception e) {
+            failed = new HashSet<>(keys);
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+
+        List<Long> doneIds = new ArrayList<>();
+        List<Long> retryIds = new ArrayList<>();
+        int exhausted = 0;
+        for (PendingDeletion pending : batch) {
+            if (failed.contains(pending.key())) {
+                retryIds.add(pending.id());
+                if (pending.attempts() + 1 >= maxAttempts) {
+                    exhausted++;
+                }
+            } else {
+                doneIds.add(pending.id());
+            }
+        }
+
+        if (!doneIds.isEmpty()) {
+            Long[] ids = doneIds.toArray(new Long[0]);
+            jdbcTemplate.update(DELETE_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+        }
+        if (!retryIds.isEmpty()) {
+            Long[] ids = retryIds.toArray(new Long[0]);
+            String lastError = error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+            jdbcTemplate.update(RETRY_SQL, ps -> {
+                ps.setString(1, lastError);
+                ps.setLong(2, retryBaseSeconds);
+                ps.setLong(3, retryMaxSeconds);
+                ps.setArray(4, ps.getConnection().createArrayOf("bigint", ids));
+            });
+            logger.warn("⚠️ {} S3 deletions failed and will be retried: {}", retryIds.size(), lastError);
+        }
+        if (exhausted > 0) {
+            logger.error("❌ {} S3 objects could not be deleted after {} attempts; left in pending_s3_deletions",
+                         exhausted, maxAttempts);
+        }
+        return new BatchResult(batch.size(), doneIds.size());
+    }
+
+    private record PendingDeletion(long id, String key, int attempts) {}
+
+    private record BatchResult(int claimed, int deleted) {}
+}
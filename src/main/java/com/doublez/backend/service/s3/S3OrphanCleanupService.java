@@ -1,12 +1,13 @@
 package com.doublez.backend.service.s3;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.NoSuchElementException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,197 +15,266 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.doublez.backend.config.SchedulingConfig;
 import com.doublez.backend.dto.s3.CleanupStats;
 import com.doublez.backend.dto.s3.OrphanCleanupResult;
+import com.doublez.backend.dto.s3.S3ObjectInfo;
+import com.doublez.backend.entity.JobCheckpoint;
+import com.doublez.backend.repository.JobCheckpointRepository;
 import com.doublez.backend.repository.realestate.RealEstateRepository;
-import com.doublez.backend.service.cloudfront.CloudFrontService;
-
-import jakarta.transaction.Transactional;
+import com.doublez.backend.service.scheduling.ClusterJobService;
 
+/**
+ * Finds S3 objects that no listing references and deletes them.
+ *
+ * Both sides are streamed in the same (byte) key order: image keys come from the
+ * database in keyset-paged chunks and the S3 listing is paged lazily, so the diff is
+ * a sorted merge with constant memory. Orphans are deleted in DeleteObjects batches
+ * and the last processed key is checkpointed so an interrupted run resumes where it
+ * stopped. Not transactional on purpose: each page is its own short query.
+ */
 @Service
-@Transactional
 public class S3OrphanCleanupService {
     private static final Logger logger = LoggerFactory.getLogger(S3OrphanCleanupService.class);
-    
+
+    private static final String JOB_NAME = "s3-orphan-cleanup";
+
+    // S3 DeleteObjects limit
+    private static final int DELETE_BATCH_SIZE = 1000;
+
     private final S3Service s3Service;
     private final RealEstateRepository realEstateRepository;
-    private final CloudFrontService cloudFrontService;
-    
+    private final JobCheckpointRepository checkpointRepository;
+    private final ClusterJobService clusterJobService;
+
     @Value("${app.s3.folder:real-estates}")
     private String s3Folder;
-    
+
     @Value("${app.s3.cleanup.enabled:true}")
     private boolean cleanupEnabled;
-    
+
     @Value("${app.s3.cleanup.dry-run:false}")
     private boolean dryRun;
 
-    public S3OrphanCleanupService(S3Service s3Service, RealEstateRepository realEstateRepository, CloudFrontService cloudFrontService) {
+    // Objects younger than this may belong to an upload whose listing is not saved yet
+    @Value("${app.s3.cleanup.grace-period-hours:24}")
+    private long gracePeriodHours;
+
+    @Value("${app.s3.cleanup.db-page-size:1000}")
+    private int dbPageSize;
+
+    public S3OrphanCleanupService(S3Service s3Service,
+                                 RealEstateRepository realEstateRepository,
+                                 JobCheckpointRepository checkpointRepository,
+                                 ClusterJobService clusterJobService) {
         this.s3Service = s3Service;
         this.realEstateRepository = realEstateRepository;
-        this.cloudFrontService = cloudFrontService;
+        this.checkpointRepository = checkpointRepository;
+        this.clusterJobService = clusterJobService;
     }
-    
+
     /**
-     * Scheduled cleanup - runs every Sunday at 2 AM
+     * Scheduled cleanup - runs every Sunday at 2 AM on one instance; the lease is renewed
+     * while the listing walk runs
      */
-    @Scheduled(cron = "0 0 2 * * SUN") // Every Sunday at 2 AM
+    @Scheduled(cron = "0 0 2 * * SUN", scheduler = SchedulingConfig.CLUSTER_JOB_SCHEDULER) // Every Sunday at 2 AM
     public void scheduledOrphanCleanup() {
         if (!cleanupEnabled) {
             logger.info("🔄 Orphan cleanup is disabled via configuration");
             return;
         }
-        
-        logger.info("🔄 Starting scheduled orphaned S3 image cleanup...");
-        cleanupOrphanedImages();
+
+        clusterJobService.run(JOB_NAME, Duration.ofMinutes(10), Duration.ofHours(1), job -> {
+            logger.info("🔄 Starting scheduled orphaned S3 image cleanup...");
+            return cleanupOrphanedImages().getDeletedCount();
+        });
     }
-    
+
     /**
-     * Manual trigger for orphan cleanup
+     * Manual trigger for orphan cleanup (uses configured dry-run flag)
      */
     public OrphanCleanupResult cleanupOrphanedImages() {
+        return cleanupOrphanedImages(dryRun);
+    }
+
+    /**
+     * Run orphan cleanup, resuming from the last checkpoint if a previous run was interrupted
+     */
+    public OrphanCleanupResult cleanupOrphanedImages(boolean dryRunMode) {
         if (!cleanupEnabled) {
             logger.info("🔄 Orphan cleanup is disabled via configuration");
             return new OrphanCleanupResult(0, 0, 0, true, "Cleanup disabled");
         }
-        
-        logger.info("🔍 Starting orphaned S3 image cleanup (Dry Run: {})...", dryRun);
-        
+
+        String prefix = s3Folder + "/";
+        // Dry runs never write checkpoints, but a real run always resumes a pending one
+        String resumeAfter = dryRunMode ? null : loadCheckpoint();
+        String startAfter = resumeAfter != null ? resumeAfter : prefix;
+        Instant graceCutoff = Instant.now().minus(Duration.ofHours(gracePeriodHours));
+
+        logger.info("🔍 Starting orphaned S3 image cleanup (Dry Run: {}, resume after: {})...",
+                   dryRunMode, resumeAfter != null ? resumeAfter : "<start>");
+
+        int dbKeyCount = 0;
+        int s3ObjectCount = 0;
+        int orphanCount = 0;
+        int deletedCount = 0;
+        int skippedRecent = 0;
+        List<String> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+
         try {
-            // 1. Get all image URLs from database
-            Set<String> allDbImageUrls = getAllDatabaseImageUrls();
-            logger.info("📊 Found {} image references in database", allDbImageUrls.size());
-            
-            // 2. List all files in S3 bucket
-            Set<String> allS3Objects = listAllS3Objects();
-            logger.info("📊 Found {} objects in S3 bucket", allS3Objects.size());
-            
-            // 3. Find orphans (in S3 but not in database)
-            Set<String> orphanedImages = findOrphanedImages(allDbImageUrls, allS3Objects);
-            
-            logger.info("📊 Analysis: {} orphaned images found", orphanedImages.size());
-            
-            // 4. Delete orphans (unless dry run)
-            int deletedCount = 0;
-            if (!orphanedImages.isEmpty() && !dryRun) {
-                deletedCount = deleteOrphanedImages(orphanedImages);
-                logger.info("✅ Orphan cleanup completed - deleted {} files", deletedCount);
-            } else if (!orphanedImages.isEmpty()) {
-                logger.info("🧪 Dry Run: Would delete {} orphaned images", orphanedImages.size());
+            Iterator<S3ObjectInfo> s3Objects = s3Service.iterateObjects(prefix, startAfter);
+            DatabaseImageKeyIterator dbKeys = new DatabaseImageKeyIterator(startAfter);
+            String dbKey = dbKeys.hasNext() ? dbKeys.next() : null;
+            String lastS3Key = null;
+
+            while (s3Objects.hasNext()) {
+                S3ObjectInfo object = s3Objects.next();
+                String s3Key = object.key();
+                s3ObjectCount++;
+                lastS3Key = s3Key;
+
+                // Advance the DB side until it catches up with the current S3 key
+                while (dbKey != null && dbKey.compareTo(s3Key) < 0) {
+                    dbKey = dbKeys.hasNext() ? dbKeys.next() : null;
+                }
+
+                if (dbKey != null && dbKey.equals(s3Key)) {
+                    continue; // Referenced
+                }
+
+                if (object.lastModified() != null && object.lastModified().isAfter(graceCutoff)) {
+                    skippedRecent++;
+                    continue; // Possibly an in-flight upload
+                }
+
+                orphanCount++;
+                batch.add(s3Key);
+
+                if (batch.size() >= DELETE_BATCH_SIZE) {
+                    deletedCount += flushBatch(batch, dryRunMode);
+                    if (!dryRunMode) {
+                        saveCheckpoint(s3Key, s3ObjectCount);
+                    }
+                }
+            }
+
+            deletedCount += flushBatch(batch, dryRunMode);
+            dbKeyCount = dbKeys.getReadCount();
+            if (!dryRunMode) {
+                clearCheckpoint();
+            }
+
+            logger.info("📊 Analysis: {} S3 objects, {} DB references, {} orphans, {} skipped (grace period), last key {}",
+                       s3ObjectCount, dbKeyCount, orphanCount, skippedRecent, lastS3Key);
+
+            if (dryRunMode) {
+                logger.info("🧪 Dry Run: Would delete {} orphaned images", orphanCount);
             } else {
-                logger.info("✅ No orphaned images found");
+                logger.info("✅ Orphan cleanup completed - deleted {} files", deletedCount);
             }
-            
+
             return new OrphanCleanupResult(
-                allDbImageUrls.size(), 
-                allS3Objects.size(), 
-                deletedCount, 
-                dryRun,
-                dryRun ? "Dry run completed" : "Cleanup completed"
+                dbKeyCount,
+                s3ObjectCount,
+                dryRunMode ? orphanCount : deletedCount,
+                dryRunMode,
+                dryRunMode ? "Dry run completed" : "Cleanup completed"
             );
-            
+
         } catch (Exception e) {
+            // Checkpoint is left at the last flushed batch so the next run resumes from there
             logger.error("❌ Orphan cleanup failed: {}", e.getMessage(), e);
-            return new OrphanCleanupResult(0, 0, 0, dryRun, "Cleanup failed: " + e.getMessage());
+            return new OrphanCleanupResult(dbKeyCount, s3ObjectCount, deletedCount, dryRunMode,
+                                          "Cleanup failed: " + e.getMessage());
         }
     }
-    
-    /**
-     * Get all image URLs from database
-     */
-    private Set<String> getAllDatabaseImageUrls() {
-        return realEstateRepository.findAll().stream()
-            .flatMap(property -> {
-                List<String> images = property.getImages();
-                // 🆕 Explicitly handle null and return Stream
-                if (images == null || images.isEmpty()) {
-                    return Stream.empty();
-                }
-                return images.stream();
-            })
-            .filter(url -> url != null && !url.trim().isEmpty())
-            .collect(Collectors.toSet());
-    }
-    
+
     /**
-     * List all objects in S3 bucket (with pagination support)
+     * Delete (or log, in dry run) the collected orphan keys and reset the batch
      */
-    private Set<String> listAllS3Objects() {
-        try {
-            // List objects with the real-estates prefix (or your configured folder)
-            List<String> s3Objects = s3Service.listObjects(s3Folder + "/");
-            logger.info("📊 Successfully listed {} objects from S3", s3Objects.size());
-            return new HashSet<>(s3Objects);
-        } catch (Exception e) {
-            logger.error("❌ Failed to list S3 objects: {}", e.getMessage());
-            return Collections.emptySet();
+    private int flushBatch(List<String> batch, boolean dryRunMode) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        int deleted = 0;
+        if (dryRunMode) {
+            logger.info("🧪 Dry Run: {} orphaned images in batch (first: {})", batch.size(), batch.get(0));
+        } else {
+            logger.warn("🗑️ Deleting {} orphaned images from S3", batch.size());
+            deleted = s3Service.deleteFiles(new ArrayList<>(batch));
         }
+        batch.clear();
+        return deleted;
     }
-    
-    /**
-     * Find orphaned images (in S3 but not in database)
-     */
-    private Set<String> findOrphanedImages(Set<String> dbImageUrls, Set<String> s3Objects) {
-        return s3Objects.stream()
-            .filter(s3Key -> {
-                // Extract the public URL format that matches what's stored in database
-                String imageUrl = convertS3KeyToUrl(s3Key);
-                return !dbImageUrls.contains(imageUrl);
-            })
-            .collect(Collectors.toSet());
+
+    private String loadCheckpoint() {
+        return checkpointRepository.findById(JOB_NAME)
+            .map(JobCheckpoint::getCheckpointValue)
+            .orElse(null);
+    }
+
+    private void saveCheckpoint(String lastKey, long processed) {
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+            .orElseGet(() -> new JobCheckpoint(JOB_NAME));
+        checkpoint.setCheckpointValue(lastKey);
+        checkpoint.setProcessedCount(processed);
+        checkpointRepository.save(checkpoint);
+    }
+
+    private void clearCheckpoint() {
+        if (checkpointRepository.existsById(JOB_NAME)) {
+            checkpointRepository.deleteById(JOB_NAME);
+        }
     }
-    
+
     /**
-     * Convert S3 key to URL format (matches what's stored in database)
+     * Get cleanup statistics (for monitoring/API)
      */
-    private String convertS3KeyToUrl(String s3Key) {
-        // Build S3 URL first, then convert to CDN
-        String s3Url = "https://mdexoawsbucket.s3.eu-north-1.amazonaws.com/" + s3Key;
-        return cloudFrontService.convertToCdnUrl(s3Url);
+    public CleanupStats getCleanupStats() {
+        long dbImageCount = realEstateRepository.countImageReferences();
+        // Note: S3 object count would require a full S3 listing
+        return new CleanupStats((int) dbImageCount, 0, dryRun, cleanupEnabled);
     }
-    
+
     /**
-     * Delete orphaned images from S3
+     * Keyset-paged iterator over image keys in the database, in the same byte order as S3 listings
      */
-    private int deleteOrphanedImages(Set<String> orphanedImages) {
-        if (orphanedImages.isEmpty()) {
-            return 0;
+    private class DatabaseImageKeyIterator implements Iterator<String> {
+        private final Deque<String> page = new ArrayDeque<>();
+        private String lastKey;
+        private boolean exhausted;
+        private int readCount;
+
+        DatabaseImageKeyIterator(String startAfter) {
+            this.lastKey = startAfter;
         }
-        
-        logger.warn("🗑️ Deleting {} orphaned images from S3", orphanedImages.size());
-        
-        int successCount = 0;
-        int failureCount = 0;
-        List<String> failedDeletions = new ArrayList<>();
-        
-        for (String s3Key : orphanedImages) {
-            try {
-                if (!dryRun) {
-                    s3Service.deleteFile(s3Key);
+
+        @Override
+        public boolean hasNext() {
+            if (page.isEmpty() && !exhausted) {
+                List<String> keys = realEstateRepository.findImageKeysAfter(lastKey, dbPageSize);
+                page.addAll(keys);
+                exhausted = keys.size() < dbPageSize;
+                if (!keys.isEmpty()) {
+                    lastKey = keys.get(keys.size() - 1);
                 }
-                successCount++;
-                logger.debug("✅ Deleted orphaned image: {}", s3Key);
-            } catch (Exception e) {
-                failureCount++;
-                failedDeletions.add(s3Key);
-                logger.error("❌ Failed to delete orphaned image {}: {}", s3Key, e.getMessage());
             }
+            return !page.isEmpty();
         }
-        
-        if (failureCount > 0) {
-            logger.error("❌ Failed to delete {} orphaned images: {}", failureCount, failedDeletions);
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            readCount++;
+            return page.poll();
+        }
+
+        int getReadCount() {
+            return readCount;
         }
-        
-        logger.info("✅ Successfully deleted {} orphaned images from S3", successCount);
-        return successCount;
-    }
-    
-    /**
-     * Get cleanup statistics (for monitoring/API)
-     */
-    public CleanupStats getCleanupStats() {
-        Set<String> dbImageUrls = getAllDatabaseImageUrls();
-        // Note: S3 object count would require actual S3 listing implementation
-        return new CleanupStats(dbImageUrls.size(), 0, dryRun, cleanupEnabled);
     }
-}
\ No newline at end of file
+}
@@ -2,12 +2,43 @@ package com.doublez.backend.service.s3;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 
+import com.doublez.backend.dto.s3.S3ObjectInfo;
+
 public interface S3Service {
 	String generatePresignedUrl(String fileName);
     void uploadFile(String presignedUrl, byte data[], String contentType) throws IOException;
     void uploadFileStreaming(String presignedUrl, InputStream data, long contentLength, String contentType) throws IOException;
     void deleteFile(String key);
     List<String> listObjects(String prefix);
+
+    /**
+     * Lazily iterate objects under a prefix in S3 key order, starting after the given key.
+     * Pages are fetched on demand so callers never hold the full listing in memory.
+     */
+    Iterator<S3ObjectInfo> iterateObjects(String prefix, String startAfter);
+
+    /**
+     * Delete keys using DeleteObjects batches (max 1000 keys per request).
+     * Returns the number of keys S3 reported as deleted.
+     */
+    int deleteFiles(List<String> keys);
+
+    /**
+     * One DeleteObjects request for at most 1000 keys. Returns the keys S3 reported
+     * errors for; throws if the request itself fails.
+     */
+    List<String> deleteBatch(List<String> keys);
+
+    /**
+     * Upload contentLength bytes from the stream under the given key
+     */
+    void putObject(String key, InputStream data, long contentLength, String contentType);
+
+    /**
+     * Stream an object's content; the caller closes the stream
+     */
+    InputStream getObject(String key);
 }
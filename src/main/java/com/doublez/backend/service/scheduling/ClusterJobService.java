@@ -0,0 +1,311 @@
+package com.doublez.backend.service.scheduling;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.doublez.backend.config.SchedulingConfig;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs scheduled jobs once across the cluster instead of once per instance.
+ *
+ * A run holds a lease row in scheduled_job_leases. The lease is taken with one upsert that
+ * only succeeds once the previous lease has lapsed, and each acquisition bumps the row's
+ * fence token; renewals and releases are conditioned on the token, so an instance that
+ * stalled past its lease cannot extend or release a lease another instance has taken since.
+ * A heartbeat thread renews held leases every third of the TTL, so long jobs keep their
+ * lease while a crashed instance's lease lapses after one TTL.
+ *
+ * A released lease stays held until minInterval after the run started, so instances whose
+ * schedule fires a little later (clock skew, fixed-delay phases) skip instead of repeating it.
+ *
+ * Partitioned jobs split their work into app.scheduling.partitions hash slots. The live
+ * instances (heartbeating in scheduler_instances) divide the slots between them and lease
+ * each slot separately; the job only processes keys for which JobContext.owns(key) is true.
+ *
+ * Every run that got a lease is recorded in scheduled_job_runs with its duration, rows
+ * processed and outcome. Lease and history writes commit on their own, outside any
+ * transaction the job runs in.
+ */
+@Service
+public class ClusterJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterJobService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final String ACQUIRE_SQL =
+        "INSERT INTO scheduled_job_leases (lock_name, owner_id, fence_token, acquired_at, heartbeat_at, lease_until, hold_until) " +
+        "VALUES (?, ?, 1, now(), now(), now() + ? * INTERVAL '1 millisecond', now() + ? * INTERVAL '1 millisecond') " +
+        "ON CONFLICT (lock_name) DO UPDATE SET owner_id = EXCLUDED.owner_id, " +
+        "       fence_token = scheduled_job_leases.fence_token + 1, acquired_at = EXCLUDED.acquired_at, " +
+        "       heartbeat_at = EXCLUDED.heartbeat_at, lease_until = EXCLUDED.lease_until, hold_until = EXCLUDED.hold_until " +
+        "WHERE scheduled_job_leases.lease_until <= now() " +
+        "RETURNING fence_token";
+    private static final String RENEW_SQL =
+        "UPDATE scheduled_job_leases SET heartbeat_at = now(), " +
+        "       lease_until = GREATEST(now() + ? * INTERVAL '1 millisecond', hold_until) " +
+        "WHERE lock_name = ? AND owner_id = ? AND fence_token = ?";
+    private static final String RELEASE_SQL =
+        "UPDATE scheduled_job_leases SET lease_until = GREATEST(now(), hold_until) " +
+        "WHERE lock_name = ? AND owner_id = ? AND fence_token = ?";
+
+    private static final String START_RUN_SQL =
+        "INSERT INTO scheduled_job_runs (job_name, instance_id, fence_token, partitions, started_at, status) " +
+        "VALUES (?, ?, ?, ?, now(), 'RUNNING') RETURNING id";
+    private static final String FINISH_RUN_SQL =
+        "UPDATE scheduled_job_runs SET finished_at = now(), duration_ms = ?, rows_processed = ?, status = ?, error_message = ? " +
+        "WHERE id = ?";
+
+    private static final String INSTANCE_HEARTBEAT_SQL =
+        "INSERT INTO scheduler_instances (instance_id, started_at, heartbeat_at) VALUES (?, now(), now()) " +
+        "ON CONFLICT (instance_id) DO UPDATE SET heartbeat_at = now()";
+    private static final String LIVE_INSTANCES_SQL =
+        "SELECT instance_id FROM scheduler_instances WHERE heartbeat_at > now() - ? * INTERVAL '1 millisecond' ORDER BY instance_id";
+    private static final String REMOVE_INSTANCE_SQL =
+        "DELETE FROM scheduler_instances WHERE instance_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ownTransaction;
+    private final String instanceId;
+
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            runnable -> new Thread(runnable, "scheduler-heartbeat"));
+
+    @Value("${app.scheduling.partitions:8}")
+    private int partitions;
+
+    @Value("${app.scheduling.instance-heartbeat-ms:10000}")
+    private long instanceHeartbeatMs;
+
+    @Value("${app.scheduling.history-retention-days:30}")
+    private int historyRetentionDays;
+
+    public ClusterJobService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             @Value("${app.scheduling.instance-id:}") String instanceId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.instanceId = instanceId.isBlank() ? defaultInstanceId() : instanceId;
+    }
+
+    @PostConstruct
+    public void start() {
+        heartbeats.scheduleAtFixedRate(this::instanceHeartbeat, 0, instanceHeartbeatMs, TimeUnit.MILLISECONDS);
+        logger.info("⏱️ Cluster job scheduler started as instance {}", instanceId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        try {
+            jdbcTemplate.update(REMOVE_INSTANCE_SQL, instanceId);
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Could not deregister scheduler instance {}: {}", instanceId, e.getMessage());
+        }
+    }
+
+    /**
+     * Run the job here if no other instance holds its lease or ran it within minInterval.
+     * Returns the task's processed-row count, or 0 when skipped.
+     */
+    public int run(String jobName, Duration leaseTtl, Duration minInterval, ToIntFunction<JobContext> task) {
+        JobContext context = new JobContext(jobName, 0, null);
+        if (!acquire(context, jobName, leaseTtl, minInterval)) {
+            logger.debug("⏭️ Job {} is held by another instance, skipping", jobName);
+            return 0;
+        }
+        return execute(context, leaseTtl, null, task);
+    }
+
+    /**
+     * Run this instance's share of a partitioned job: the hash slots assigned to it among
+     * the live instances, each under its own lease. Slots still held elsewhere are skipped.
+     */
+    public int runPartitioned(String jobName, Duration leaseTtl, Duration minInterval, ToIntFunction<JobContext> task) {
+        List<String> live = liveInstances();
+        int index = live.indexOf(instanceId);
+        if (index < 0) {
+            instanceHeartbeat();
+            live = liveInstances();
+            index = live.indexOf(instanceId);
+        }
+
+        TreeSet<Integer> slots = new TreeSet<>();
+        JobContext context = new JobContext(jobName, partitions, slots);
+        for (int slot = Math.max(index, 0); slot < partitions; slot += Math.max(live.size(), 1)) {
+            if (acquire(context, jobName + "#" + slot, leaseTtl, minInterval)) {
+                slots.add(slot);
+            }
+        }
+        if (slots.isEmpty()) {
+            logger.debug("⏭️ No free partitions of job {} for instance {}, skipping", jobName, instanceId);
+            return 0;
+        }
+        return execute(context, leaseTtl, slots.toString(), task);
+    }
+
+    /**
+     * Drop old run history and instances that stopped heartbeating without deregistering
+     */
+    @Scheduled(cron = "${app.scheduling.history-prune-cron:0 15 3 * * *}", scheduler = SchedulingConfig.CLUSTER_JOB_SCHEDULER)
+    public void pruneHistory() {
+        run("prune-job-history", Duration.ofMinutes(5), Duration.ofMinutes(30), job -> {
+            int runs = jdbcTemplate.update(
+                "DELETE FROM scheduled_job_runs WHERE started_at < now() - ? * INTERVAL '1 day'", historyRetentionDays);
+            int instances = jdbcTemplate.update(
+                "DELETE FROM scheduler_instances WHERE heartbeat_at < now() - INTERVAL '1 day'");
+            return runs + instances;
+        });
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    // ===== EXECUTION =====
+
+    private int execute(JobContext context, Duration leaseTtl, String partitionsLabel, ToIntFunction<JobContext> task) {
+        long start = System.currentTimeMillis();
+        Long runId = startRun(context, partitionsLabel);
+        long renewEvery = Math.max(leaseTtl.toMillis() / 3, 1000);
+        ScheduledFuture<?> renewal = heartbeats.scheduleAtFixedRate(
+                () -> renew(context, leaseTtl), renewEvery, renewEvery, TimeUnit.MILLISECONDS);
+
+        int rows = 0;
+        String status = "SUCCEEDED";
+        String error = null;
+        try {
+            rows = task.applyAsInt(context);
+            if (!context.isLeaseHeld()) {
+                status = "LEASE_LOST";
+            }
+            return rows;
+        } catch (RuntimeException e) {
+            status = context.isLeaseHeld() ? "FAILED" : "LEASE_LOST";
+            error = e.toString();
+            throw e;
+        } finally {
+            renewal.cancel(false);
+            release(context);
+            long duration = System.currentTimeMillis() - start;
+            finishRun(runId, duration, rows, status, error);
+            logger.info("⏱️ Job {} {} on {} in {} ms ({} rows{})", context.getJobName(), status.toLowerCase(),
+                       instanceId, duration, rows, partitionsLabel != null ? ", partitions " + partitionsLabel : "");
+        }
+    }
+
+    // ===== LEASES =====
+
+    private boolean acquire(JobContext context, String lockName, Duration leaseTtl, Duration minInterval) {
+        long deadline = System.nanoTime() + leaseTtl.toNanos();
+        List<Long> tokens = ownTransaction.execute(status -> jdbcTemplate.queryForList(ACQUIRE_SQL, Long.class,
+                lockName, instanceId, leaseTtl.toMillis(), minInterval.toMillis()));
+        if (tokens == null || tokens.isEmpty()) {
+            return false;
+        }
+        context.addLease(lockName, tokens.get(0), deadline);
+        return true;
+    }
+
+    private void renew(JobContext context, Duration leaseTtl) {
+        long deadline = System.nanoTime() + leaseTtl.toNanos();
+        try {
+            for (Map.Entry<String, Long> lease : context.getLeases().entrySet()) {
+                int updated = jdbcTemplate.update(RENEW_SQL, leaseTtl.toMillis(), lease.getKey(), instanceId, lease.getValue());
+                if (updated == 0) {
+                    context.markLeaseLost();
+                    logger.warn("⚠️ Lease {} (token {}) was taken over; job {} should stop",
+                               lease.getKey(), lease.getValue(), context.getJobName());
+                    return;
+                }
+            }
+            context.leaseRenewed(deadline);
+        } catch (RuntimeException e) {
+            // The lease keeps its old deadline; the next heartbeat tries again
+            logger.warn("⚠️ Could not renew leases for job {}: {}", context.getJobName(), e.getMessage());
+        }
+    }
+
+    private void release(JobContext context) {
+        for (Map.Entry<String, Long> lease : context.getLeases().entrySet()) {
+            try {
+                ownTransaction.executeWithoutResult(status ->
+                        jdbcTemplate.update(RELEASE_SQL, lease.getKey(), instanceId, lease.getValue()));
+            } catch (RuntimeException e) {
+                logger.warn("⚠️ Could not release lease {}: {}", lease.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    // ===== RUN HISTORY =====
+
+    private Long startRun(JobContext context, String partitionsLabel) {
+        try {
+            Long fenceToken = context.getLeases().values().iterator().next();
+            return ownTransaction.execute(status -> jdbcTemplate.queryForObject(START_RUN_SQL, Long.class,
+                    context.getJobName(), instanceId, fenceToken, partitionsLabel));
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Could not record start of job {}: {}", context.getJobName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void finishRun(Long runId, long durationMs, int rows, String status, String error) {
+        if (runId == null) {
+            return;
+        }
+        String message = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        try {
+            ownTransaction.executeWithoutResult(txStatus ->
+                    jdbcTemplate.update(FINISH_RUN_SQL, durationMs, rows, status, message, runId));
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Could not record end of job run {}: {}", runId, e.getMessage());
+        }
+    }
+
+    // ===== INSTANCES =====
+
+    private void instanceHeartbeat() {
+        try {
+            jdbcTemplate.update(INSTANCE_HEARTBEAT_SQL, instanceId);
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Scheduler instance heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    // Instances that heartbeated within three intervals, in a stable order every instance agrees on
+    private List<String> liveInstances() {
+        return jdbcTemplate.queryForList(LIVE_INSTANCES_SQL, String.class, instanceHeartbeatMs * 3);
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "instance";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,82 @@
+package com.doublez.backend.service.scheduling;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One run of a cluster job: the leases (and fence tokens) it holds and, for partitioned
+ * jobs, the hash slots this instance owns. Long jobs should call checkLease() between
+ * batches so they stop once another instance may have taken over.
+ */
+public class JobContext {
+
+    private final String jobName;
+    private final int partitionCount;
+    private final Set<Integer> ownedSlots; // null for unpartitioned jobs
+    private final Map<String, Long> leases = new LinkedHashMap<>();
+
+    private volatile long leaseDeadlineNanos;
+    private volatile boolean leaseLost;
+
+    JobContext(String jobName, int partitionCount, Set<Integer> ownedSlots) {
+        this.jobName = jobName;
+        this.partitionCount = partitionCount;
+        this.ownedSlots = ownedSlots;
+    }
+
+    /**
+     * Hash slot of a work key; the same key maps to the same slot on every instance
+     */
+    public static int slotOf(Object key, int partitionCount) {
+        return Math.floorMod(key.hashCode(), partitionCount);
+    }
+
+    /**
+     * True if this run should process the given key (always true for unpartitioned jobs)
+     */
+    public boolean owns(Object key) {
+        return ownedSlots == null || (key != null && ownedSlots.contains(slotOf(key, partitionCount)));
+    }
+
+    /**
+     * True while every lease is renewed and has not lapsed locally
+     */
+    public boolean isLeaseHeld() {
+        return !leaseLost && System.nanoTime() - leaseDeadlineNanos < 0;
+    }
+
+    public void checkLease() {
+        if (!isLeaseHeld()) {
+            throw new IllegalStateException("Lease lost for job " + jobName);
+        }
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public Set<Integer> getOwnedSlots() {
+        return ownedSlots != null ? Collections.unmodifiableSet(ownedSlots) : null;
+    }
+
+    Map<String, Long> getLeases() {
+        return leases;
+    }
+
+    void addLease(String lockName, long fenceToken, long deadlineNanos) {
+        if (leases.isEmpty() || deadlineNanos - leaseDeadlineNanos < 0) {
+            leaseDeadlineNanos = deadlineNanos;
+        }
+        leases.put(lockName, fenceToken);
+    }
+
+    void leaseRenewed(long deadlineNanos) {
+        leaseDeadlineNanos = deadlineNanos;
+    }
+
+    void markLeaseLost() {
+        leaseLost = true;
+    }
+}
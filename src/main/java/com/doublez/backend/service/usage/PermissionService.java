@@ -2,10 +2,13 @@ package com.doublez.backend.service.usage;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.doublez.backend.config.security.RequestSecurityContext;
+import com.doublez.backend.dto.agent.AgentMembership;
 import com.doublez.backend.entity.agency.Agency;
 import com.doublez.backend.entity.agency.Agent;
 import com.doublez.backend.entity.realestate.RealEstate;
@@ -13,219 +16,279 @@ import com.doublez.backend.entity.user.User;
 import com.doublez.backend.enums.agency.AgentRole;
 import com.doublez.backend.repository.AgentRepository;
 import com.doublez.backend.repository.realestate.RealEstateRepository;
+import com.doublez.backend.service.agency.AgentMembershipService;
 import com.doublez.backend.service.agency.TeamService;
 
+/**
+ * Agency, team and listing permission checks. Agent seats come from the request's
+ * RequestSecurityContext for the current user, otherwise from AgentMembershipService's
+ * cache, so repeated checks for the same user and agency do not query the agents table.
+ */
 @Service
 public class PermissionService {
-    
+
     @Autowired
     private AgentRepository agentRepository;
-    
+
     @Autowired
     private RealEstateRepository realEstateRepository;
-    
+
     @Autowired
     private TeamService teamService;
-    
+
+    @Autowired
+    private AgentMembershipService agentMembershipService;
+
+    @Autowired
+    private RequestSecurityContext requestSecurityContext;
+
     // ========================
     // AGENCY & TEAM PERMISSIONS
     // ========================
-    
+
     public boolean canViewTeam(User user, Agency agency) {
-        if (user.isAgencyAdmin() && user.getOwnedAgency().isPresent() 
-            && user.getOwnedAgency().get().getId().equals(agency.getId())) {
+        return canViewTeam(user, agency.getId());
+    }
+
+    public boolean canViewTeam(User user, Long agencyId) {
+        if (ownsAgency(user, agencyId)) {
             return true;
         }
-        
-        return agentRepository.findByUserIdAndAgencyId(user.getId(), agency.getId())
-                .map(agent -> agent.getIsActive() && 
-                     (agent.getCanViewAnalytics() || agent.getRole() == AgentRole.OWNER))
+
+        return membership(user, agencyId)
+                .map(agent -> agent.active() &&
+                     (agent.canViewAnalytics() || agent.role() == AgentRole.OWNER))
                 .orElse(false);
     }
-    
+
     public boolean canManageTeam(User user, Agency agency) {
-        if (user.isAgencyAdmin() && user.getOwnedAgency().isPresent() 
-            && user.getOwnedAgency().get().getId().equals(agency.getId())) {
+        return canManageTeam(user, agency.getId());
+    }
+
+    public boolean canManageTeam(User user, Long agencyId) {
+        if (ownsAgency(user, agencyId)) {
             return true;
         }
-        
-        return agentRepository.findByUserIdAndAgencyId(user.getId(), agency.getId())
-                .map(agent -> agent.getIsActive() && agent.getCanInviteAgents())
+
+        return membership(user, agencyId)
+                .map(agent -> agent.active() && agent.canInviteAgents())
                 .orElse(false);
     }
-    
+
     public boolean canManageAgent(User user, Agent targetAgent) {
         if (user.getId().equals(targetAgent.getUser().getId())) {
             return false;
         }
-        
-        Agent userAgent = agentRepository.findByUserIdAndAgencyId(user.getId(), targetAgent.getAgency().getId())
-                .orElse(null);
-        
-        if (userAgent == null || !userAgent.getIsActive()) {
+
+        AgentMembership userAgent = membership(user, targetAgent.getAgency().getId()).orElse(null);
+
+        if (userAgent == null || !userAgent.active()) {
             return false;
         }
-        
-        return userAgent.getRole().canManage(targetAgent.getRole());
+
+        return userAgent.role().canManage(targetAgent.getRole());
+    }
+
+    public boolean canManageAgencySettings(User user, Long agencyId) {
+        if (ownsAgency(user, agencyId)) {
+            return true;
+        }
+
+        return membership(user, agencyId)
+                .map(agent -> agent.active() && agent.role() == AgentRole.OWNER)
+                .orElse(false);
     }
-    
+
     // ========================
     // LISTING PERMISSIONS
     // ========================
-    
+
     public boolean canCreateListing(User user, Agency agency) {
-        if (agency == null) {
+        return canCreateListing(user, agency != null ? agency.getId() : null);
+    }
+
+    public boolean canCreateListing(User user, Long agencyId) {
+        if (agencyId == null) {
             return user.isOwner() || user.isAgencyAdmin();
         }
-        
-        return agentRepository.findByUserIdAndAgencyId(user.getId(), agency.getId())
-                .map(agent -> agent.getIsActive() && agent.getCanManageListings())
+
+        return membership(user, agencyId)
+                .map(agent -> agent.active() && agent.canManageListings())
                 .orElse(false);
     }
-    
+
+    public boolean canManageListings(User user, Long agencyId) {
+        if (ownsAgency(user, agencyId)) {
+            return true;
+        }
+
+        return membership(user, agencyId)
+                .map(agent -> agent.active() && agent.canManageListings())
+                .orElse(false);
+    }
+
     public boolean canViewListing(User user, RealEstate listing) {
         if (listing.getIsActive()) {
             return true;
         }
-        
+
         if (listing.getOwner().getId().equals(user.getId())) {
             return true;
         }
-        
+
         if (listing.getAgency() != null) {
-            return agentRepository.findByUserIdAndAgencyId(user.getId(), listing.getAgency().getId())
-                    .map(agent -> agent.getIsActive() && 
-                         (agent.getCanManageListings() || agent.getRole() == AgentRole.OWNER))
+            return membership(user, listing.getAgency().getId())
+                    .map(agent -> agent.active() &&
+                         (agent.canManageListings() || agent.role() == AgentRole.OWNER))
                     .orElse(false);
         }
-        
+
         return false;
     }
-    
+
     public boolean canEditListing(User user, RealEstate listing) {
         if (listing.getOwner().getId().equals(user.getId())) {
             return true;
         }
-        
+
         if (listing.getAgency() != null) {
-            return agentRepository.findByUserIdAndAgencyId(user.getId(), listing.getAgency().getId())
+            return membership(user, listing.getAgency().getId())
                     .map(agent -> {
-                        if (!agent.getIsActive() || !agent.getCanManageListings()) {
+                        if (!agent.active() || !agent.canManageListings()) {
                             return false;
                         }
-                        
-                        if (agent.getRole() == AgentRole.OWNER || agent.getRole() == AgentRole.SUPER_AGENT) {
+
+                        if (agent.hasRole(AgentRole.OWNER, AgentRole.SUPER_AGENT)) {
                             return true;
                         }
-                        
-                        return listing.getListingAgent() != null && 
-                               listing.getListingAgent().getId().equals(agent.getId());
+
+                        return listing.getListingAgent() != null &&
+                               listing.getListingAgent().getId().equals(agent.agentId());
                     })
                     .orElse(false);
         }
-        
+
         return false;
     }
-    
+
     public boolean canDeleteListing(User user, RealEstate listing) {
         if (listing.getOwner().getId().equals(user.getId())) {
             return true;
         }
-        
+
         if (listing.getAgency() != null) {
-            return agentRepository.findByUserIdAndAgencyId(user.getId(), listing.getAgency().getId())
-                    .map(agent -> agent.getIsActive() && 
-                         (agent.getRole() == AgentRole.OWNER || agent.getRole() == AgentRole.SUPER_AGENT))
+            return membership(user, listing.getAgency().getId())
+                    .map(agent -> agent.active() && agent.hasRole(AgentRole.OWNER, AgentRole.SUPER_AGENT))
                     .orElse(false);
         }
-        
+
         return false;
     }
-    
+
     // ========================
     // BILLING & FINANCIAL PERMISSIONS
     // ========================
-    
+
     public boolean canViewBilling(User user, Agency agency) {
-        if (user.isAgencyAdmin() && user.getOwnedAgency().isPresent() 
-            && user.getOwnedAgency().get().getId().equals(agency.getId())) {
+        return canViewBilling(user, agency.getId());
+    }
+
+    public boolean canViewBilling(User user, Long agencyId) {
+        if (ownsAgency(user, agencyId)) {
             return true;
         }
-        
-        return agentRepository.findByUserIdAndAgencyId(user.getId(), agency.getId())
-                .map(agent -> agent.getIsActive() && agent.getCanManageBilling())
+
+        return membership(user, agencyId)
+                .map(agent -> agent.active() && agent.canManageBilling())
                 .orElse(false);
     }
-    
+
     public boolean canManageBilling(User user, Agency agency) {
-        return agentRepository.findByUserIdAndAgencyId(user.getId(), agency.getId())
-                .map(agent -> agent.getIsActive() && agent.getRole() == AgentRole.OWNER)
+        return canManageBilling(user, agency.getId());
+    }
+
+    public boolean canManageBilling(User user, Long agencyId) {
+        return membership(user, agencyId)
+                .map(agent -> agent.active() && agent.role() == AgentRole.OWNER)
                 .orElse(false);
     }
-    
+
     // ========================
     // ANALYTICS PERMISSIONS
     // ========================
-    
+
     public boolean canViewAnalytics(User user, Agency agency) {
-        if (user.isAgencyAdmin() && user.getOwnedAgency().isPresent() 
-            && user.getOwnedAgency().get().getId().equals(agency.getId())) {
+        return canViewAnalytics(user, agency.getId());
+    }
+
+    public boolean canViewAnalytics(User user, Long agencyId) {
+        if (ownsAgency(user, agencyId)) {
             return true;
         }
-        
-        return agentRepository.findByUserIdAndAgencyId(user.getId(), agency.getId())
-                .map(agent -> agent.getIsActive() && agent.getCanViewAnalytics())
+
+        return membership(user, agencyId)
+                .map(agent -> agent.active() && agent.canViewAnalytics())
                 .orElse(false);
     }
-    
+
     // ========================
     // HELPER METHODS
     // ========================
-    
+
     public AgentRole getUserAgentRoleInAgency(User user, Agency agency) {
-        return agentRepository.findByUserIdAndAgencyId(user.getId(), agency.getId())
-                .map(Agent::getRole)
+        return membership(user, agency.getId())
+                .map(AgentMembership::role)
                 .orElse(null);
     }
-    
+
     public List<RealEstate> getVisibleListingsForAgent(User user, Agency agency) {
-        Agent agent = agentRepository.findByUserIdAndAgencyId(user.getId(), agency.getId())
-                .orElse(null);
-        
-        if (agent == null || !agent.getIsActive()) {
+        AgentMembership membership = membership(user, agency.getId()).orElse(null);
+
+        if (membership == null || !membership.active()) {
             return new ArrayList<>();
         }
-        
-        if (agent.getRole() == AgentRole.OWNER || agent.getRole() == AgentRole.SUPER_AGENT) {
+
+        if (membership.hasRole(AgentRole.OWNER, AgentRole.SUPER_AGENT)) {
             return realEstateRepository.findByAgency(agency);
         } else {
-            return realEstateRepository.findByAgencyAndListingAgent(agency, agent);
+            return realEstateRepository.findByAgencyAndListingAgent(agency, agentRepository.getReferenceById(membership.agentId()));
         }
     }
-    
+
     public boolean canAssignRole(User user, Agency agency, AgentRole roleToAssign) {
-        Agent userAgent = agentRepository.findByUserIdAndAgencyId(user.getId(), agency.getId())
-                .orElse(null);
-        
-        if (userAgent == null || !userAgent.getIsActive()) {
+        AgentMembership userAgent = membership(user, agency.getId()).orElse(null);
+
+        if (userAgent == null || !userAgent.active()) {
             return false;
         }
-        
-        return userAgent.getRole().canManage(roleToAssign);
+
+        return userAgent.role().canManage(roleToAssign);
     }
-    
+
     public boolean canViewAgentPerformance(User user, Agent targetAgent) {
         if (user.getId().equals(targetAgent.getUser().getId())) {
             return true;
         }
-        
-        Agent userAgent = agentRepository.findByUserIdAndAgencyId(user.getId(), targetAgent.getAgency().getId())
-                .orElse(null);
-        
-        if (userAgent == null || !userAgent.getIsActive()) {
+
+        AgentMembership userAgent = membership(user, targetAgent.getAgency().getId()).orElse(null);
+
+        if (userAgent == null || !userAgent.active()) {
             return false;
         }
-        
-        return userAgent.getRole() == AgentRole.OWNER || userAgent.getRole() == AgentRole.SUPER_AGENT;
+
+        return userAgent.hasRole(AgentRole.OWNER, AgentRole.SUPER_AGENT);
+    }
+
+    // The user's seat in the agency: memoized per request for the current user, cached otherwise
+    private Optional<AgentMembership> membership(User user, Long agencyId) {
+        if (RequestSecurityContext.isActive() && requestSecurityContext.isCurrentUser(user)) {
+            return requestSecurityContext.getMembership(agencyId);
+        }
+        return agentMembershipService.getMembership(user.getId(), agencyId);
+    }
+
+    private boolean ownsAgency(User user, Long agencyId) {
+        return agencyId != null && user.isAgencyAdmin() && user.getOwnedAgency().isPresent()
+            && user.getOwnedAgency().get().getId().equals(agencyId);
     }
-}
\ No newline at end of file
+}
@@ -11,11 +11,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.doublez.backend.dto.analytics.TrialStatisticsSnapshot;
 import com.doublez.backend.entity.agency.Agency;
 import com.doublez.backend.entity.user.User;
 import com.doublez.backend.exception.UserNotFoundException;
 import com.doublez.backend.repository.AgencyRepository;
 import com.doublez.backend.repository.UserRepository;
+import com.doublez.backend.service.analytics.AdminStatisticsService;
 import com.doublez.backend.service.email.ResendEmailService;
 
 import jakarta.transaction.Transactional;
@@ -30,12 +32,15 @@ public class TrialService {
     private final ResendEmailService resendEmailService;
     private final int TRIAL_MONTHS = 6;
     private final AgencyRepository agencyRepository;
+    private final AdminStatisticsService statisticsService;
 
     public TrialService(UserRepository userRepository,
-                        ResendEmailService resendEmailService, AgencyRepository agencyRepository) {
+                        ResendEmailService resendEmailService, AgencyRepository agencyRepository,
+                        AdminStatisticsService statisticsService) {
         this.userRepository = userRepository;
         this.resendEmailService = resendEmailService;
         this.agencyRepository = agencyRepository;
+        this.statisticsService = statisticsService;
     }
 
     public void startTrial(User user) {
@@ -203,19 +208,15 @@ public class TrialService {
         return user.getEmail();
     }
 
-    // stats method (same as earlier)
+    // stats method (aggregated in SQL, cached by AdminStatisticsService)
     public Map<String,Object> getTrialStatistics() {
-        List<User> all = userRepository.findAll();
-        long total = all.size();
-        long inTrial = all.stream().filter(this::isInTrial).count();
-        long expired = all.stream().filter(this::isTrialExpired).count();
-        long never = all.stream().filter(u -> !u.getTrialUsed()).count();
+        TrialStatisticsSnapshot snapshot = statisticsService.getTrialStatistics();
         Map<String,Object> stats = new HashMap<>();
-        stats.put("totalUsers", total);
-        stats.put("usersInTrial", inTrial);
-        stats.put("trialExpired", expired);
-        stats.put("neverUsedTrial", never);
-        stats.put("trialUtilizationRate", total > 0 ? (inTrial * 100.0 / total) : 0);
+        stats.put("totalUsers", snapshot.totalUsers());
+        stats.put("usersInTrial", snapshot.usersInTrial());
+        stats.put("trialExpired", snapshot.trialExpired());
+        stats.put("neverUsedTrial", snapshot.neverUsedTrial());
+        stats.put("trialUtilizationRate", snapshot.trialUtilizationRate());
         return stats;
     }
     
@@ -266,30 +267,13 @@ public class TrialService {
     
     // Enhanced trial statistics
     public Map<String, Object> getEnhancedTrialStatistics() {
-        List<User> allUsers = userRepository.findAll();
-        long total = allUsers.size();
-        long inTrial = allUsers.stream().filter(this::isInTrial).count();
-        long expired = allUsers.stream().filter(this::isTrialExpired).count();
-        long never = allUsers.stream().filter(u -> !u.getTrialUsed()).count();
-        
-        // 🆕 Agency-specific stats
-        long agencyUsers = allUsers.stream().filter(User::isAgencyAdmin).count();
-        long agencyInTrial = allUsers.stream()
-                .filter(User::isAgencyAdmin)
-                .filter(this::isInTrial)
-                .count();
-        
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalUsers", total);
-        stats.put("usersInTrial", inTrial);
-        stats.put("trialExpired", expired);
-        stats.put("neverUsedTrial", never);
-        stats.put("trialUtilizationRate", total > 0 ? (inTrial * 100.0 / total) : 0);
+        TrialStatisticsSnapshot snapshot = statisticsService.getTrialStatistics();
+        Map<String, Object> stats = getTrialStatistics();
         
         // 🆕 Agency stats
-        stats.put("agencyUsers", agencyUsers);
-        stats.put("agencyUsersInTrial", agencyInTrial);
-        stats.put("agencyTrialRate", agencyUsers > 0 ? (agencyInTrial * 100.0 / agencyUsers) : 0);
+        stats.put("agencyUsers", snapshot.agencyUsers());
+        stats.put("agencyUsersInTrial", snapshot.agencyUsersInTrial());
+        stats.put("agencyTrialRate", snapshot.agencyTrialRate());
         
         return stats;
     }
@@ -0,0 +1,134 @@
+package com.doublez.backend.service.user;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.doublez.backend.entity.agency.Agent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind last-seen timestamps for users and agents.
+ *
+ * Activity is recorded in memory and flushed every app.activity.flush-interval-ms with one
+ * UPDATE ... FROM (VALUES ...) statement per table, instead of loading and saving the entity
+ * on every request. User activity also advances the last_active_date of that user's agent rows.
+ * Timestamps only move forward, so instances flushing in any order agree. Readers should
+ * merge pending values (see lastActive(Agent)); anything still pending is flushed on shutdown.
+ */
+@Service
+public class ActivityTrackingService {
+    private static final Logger logger = LoggerFactory.getLogger(ActivityTrackingService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pendingUsers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, LocalDateTime> pendingAgents = new ConcurrentHashMap<>();
+
+    // Rows per statement (two bind parameters each)
+    @Value("${app.activity.flush-batch-size:1000}")
+    private int batchSize;
+
+    public ActivityTrackingService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void recordUserActivity(Long userId) {
+        if (userId != null) {
+            pendingUsers.merge(userId, LocalDateTime.now(), ActivityTrackingService::latest);
+        }
+    }
+
+    public void recordAgentActivity(Long agentId) {
+        if (agentId != null) {
+            pendingAgents.merge(agentId, LocalDateTime.now(), ActivityTrackingService::latest);
+        }
+    }
+
+    /**
+     * Agent's last activity including values not yet flushed
+     */
+    public LocalDateTime lastActive(Agent agent) {
+        LocalDateTime lastActive = latest(agent.getLastActiveDate(), pendingAgents.get(agent.getId()));
+        if (agent.getUser() != null) {
+            lastActive = latest(lastActive, pendingUsers.get(agent.getUser().getId()));
+        }
+        return lastActive;
+    }
+
+    @Scheduled(fixedDelayString = "${app.activity.flush-interval-ms:30000}")
+    public void flush() {
+        int users = flush(pendingUsers,
+            "UPDATE users u SET last_login_at = v.ts FROM (VALUES %s) AS v(id, ts) " +
+            "WHERE u.id = v.id AND (u.last_login_at IS NULL OR u.last_login_at < v.ts)",
+            "UPDATE agents a SET last_active_date = v.ts FROM (VALUES %s) AS v(id, ts) " +
+            "WHERE a.user_id = v.id AND (a.last_active_date IS NULL OR a.last_active_date < v.ts)");
+        int agents = flush(pendingAgents,
+            "UPDATE agents a SET last_active_date = v.ts FROM (VALUES %s) AS v(id, ts) " +
+            "WHERE a.id = v.id AND (a.last_active_date IS NULL OR a.last_active_date < v.ts)");
+        if (users + agents > 0) {
+            logger.debug("🕒 Flushed activity for {} users and {} agents", users, agents);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private int flush(ConcurrentHashMap<Long, LocalDateTime> pending, String... statements) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<Long, LocalDateTime>> snapshot = new ArrayList<>(Map.copyOf(pending).entrySet());
+        int flushed = 0;
+        for (int from = 0; from < snapshot.size(); from += batchSize) {
+            List<Map.Entry<Long, LocalDateTime>> batch = snapshot.subList(from, Math.min(from + batchSize, snapshot.size()));
+            try {
+                writeBatch(batch, statements);
+            } catch (Exception e) {
+                // Entries stay pending and are retried on the next flush
+                logger.warn("⚠️ Failed to flush {} activity timestamps: {}", batch.size(), e.getMessage());
+                continue;
+            }
+            // Only drop entries that were not advanced while the batch was written
+            for (Map.Entry<Long, LocalDateTime> entry : batch) {
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+            flushed += batch.size();
+        }
+        return flushed;
+    }
+
+    private void writeBatch(List<Map.Entry<Long, LocalDateTime>> batch, String... statements) {
+        StringBuilder values = new StringBuilder("(CAST(? AS BIGINT), CAST(? AS TIMESTAMP))");
+        for (int i = 1; i < batch.size(); i++) {
+            values.append(", (?, ?)");
+        }
+        Object[] args = new Object[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            args[i * 2] = batch.get(i).getKey();
+            args[i * 2 + 1] = batch.get(i).getValue();
+        }
+        for (String statement : statements) {
+            jdbcTemplate.update(String.format(statement, values), args);
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+}
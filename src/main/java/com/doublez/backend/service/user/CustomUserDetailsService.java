@@ -23,19 +23,21 @@ import com.doublez.backend.repository.UserRepository;
 public class CustomUserDetailsService implements UserDetailsService {
     
     private final UserRepository userRepository;
+    private final ActivityTrackingService activityTrackingService;
     
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, ActivityTrackingService activityTrackingService) {
         this.userRepository = userRepository;
+        this.activityTrackingService = activityTrackingService;
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         
-        // Update last login attempt time
-        user.recordFailedLogin(); // This records the attempt (will be cleared on success)
+        // Token authentication is the login here; record it write-behind instead of dirtying the user row
+        activityTrackingService.recordUserActivity(user.getId());
         
         // Use the PRIMARY constructor that takes the full User entity
         // This allows CustomUserDetails to access all security fields and methods
@@ -12,12 +12,14 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.doublez.backend.config.security.RequestSecurityContext;
 import com.doublez.backend.dto.agency.AgencyCreateDTO;
 import com.doublez.backend.dto.agency.AgencyResponseDTO;
 import com.doublez.backend.dto.auth.CustomUserDetails;
 import com.doublez.backend.dto.contractor.ContractorProfileUpdateDTO;
 import com.doublez.backend.dto.investor.InvestorProfileUpdateDTO;
 import com.doublez.backend.dto.owner.OwnerProfileUpdateDTO;
+import com.doublez.backend.dto.realestate.BulkOperationStatusDTO;
 import com.doublez.backend.dto.user.UserCreateDTO;
 import com.doublez.backend.dto.user.UserProfileDTO;
 import com.doublez.backend.dto.user.UserResponseDTO;
@@ -27,7 +29,6 @@ import com.doublez.backend.entity.agency.Agency;
 import com.doublez.backend.entity.profile.ContractorProfile;
 import com.doublez.backend.entity.profile.InvestorProfile;
 import com.doublez.backend.entity.profile.OwnerProfile;
-import com.doublez.backend.entity.realestate.RealEstate;
 import com.doublez.backend.entity.user.User;
 import com.doublez.backend.entity.user.UserProfile;
 import com.doublez.backend.entity.user.UserRole;
@@ -42,6 +43,7 @@ import com.doublez.backend.repository.UserRepository;
 import com.doublez.backend.repository.realestate.RealEstateRepository;
 import com.doublez.backend.service.agency.AgencyService;
 import com.doublez.backend.service.credit.CreditInitializationService;
+import com.doublez.backend.service.realestate.BulkListingOperationService;
 import com.doublez.backend.service.usage.TrialService;
 
 import jakarta.transaction.Transactional; // TODO check if another package is required
@@ -61,10 +63,13 @@ public class UserService {
 	private final TrialService trialService;
 	private final AgencyService agencyService;
 	private final CreditInitializationService creditInitializationService;
+	private final BulkListingOperationService bulkListingOperationService;
+	private final RequestSecurityContext requestSecurityContext;
 
 	public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, RoleRepository roleRepository,
 			UserMapper userMapper, RealEstateRepository realEstateRepository, AgencyRepository agencyRepository,
-			TrialService trialService, AgencyService agencyService, CreditInitializationService creditInitializationService) {
+			TrialService trialService, AgencyService agencyService, CreditInitializationService creditInitializationService,
+			BulkListingOperationService bulkListingOperationService, RequestSecurityContext requestSecurityContext) {
 		this.userRepository = userRepository;
 		this.passwordEncoder = passwordEncoder;
 		this.roleRepository = roleRepository;
@@ -74,6 +79,8 @@ public class UserService {
 		this.trialService = trialService;
 		this.agencyService = agencyService;
 		this.creditInitializationService = creditInitializationService;
+		this.bulkListingOperationService = bulkListingOperationService;
+		this.requestSecurityContext = requestSecurityContext;
 	}
 
 	// Consolidated user registration
@@ -349,38 +356,19 @@ public class UserService {
 			throw new IllegalOperationException("You can only delete your own account");
 		}
 
-		// Handle cascade deletion - pass true for super admin, false for self-deletion
-		deleteUserWithCascade(id, isSuperAdmin);
+		// Handle cascade deletion
+		deleteUserWithCascade(id, currentUser.getId());
 	}
 
-	// Delete user with all associated data
-    public void deleteUserWithCascade(Long userId, boolean isSuperAdmin) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
-
-        // 1) Delete agency owned by user (if any)
-        user.getOwnedAgency().ifPresent(agency -> {
-            agencyRepository.delete(agency);
-        });
-
-        // 2) Delete user's real estate properties
-        List<RealEstate> userProperties = realEstateRepository.findByUserId(userId);
-        for (RealEstate property : userProperties) {
-            realEstateRepository.delete(property);
-        }
-
-        // 3) Delete role-specific profiles (cascade should handle this, but explicit for clarity)
-        if (user.getInvestorProfile() != null) {
-            // Cascade should delete this
-        }
-        if (user.getOwnerProfile() != null) {
-            // Cascade should delete this
+	// Delete user with all associated data: listings go in chunks (a background job when there are many),
+	// then the owned agency and the account
+    public BulkOperationStatusDTO deleteUserWithCascade(Long userId, Long requestedBy) {
+        BulkOperationStatusDTO result = bulkListingOperationService.deleteUser(userId, requestedBy);
+        if (result.jobId() != null) {
+            logger.info("📋 Deletion of user {} queued as bulk operation {} ({} listings)",
+                        userId, result.jobId(), result.totalCount());
         }
-        if (user.getContractorProfile() != null) {
-            // Cascade should delete this
-        }
-
-        // 4) Finally delete the user
-        userRepository.delete(user);
+        return result;
     }
 
 	public long getUserCount() {
@@ -389,6 +377,10 @@ public class UserService {
 
 	// Authentication helpers
 	public User getAuthenticatedUser() {
+		// Within a web request the user is looked up once and shared by every caller
+		if (RequestSecurityContext.isActive()) {
+			return requestSecurityContext.getCurrentUser();
+		}
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 		if (authentication == null || !authentication.isAuthenticated()) {
 			throw new CustomAuthenticationException("User not authenticated");
@@ -398,6 +390,9 @@ public class UserService {
 	}
 
 	public Long getCurrentUserId() {
+		if (RequestSecurityContext.isActive()) {
+			return requestSecurityContext.getCurrentUserId();
+		}
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 		if (authentication == null || !authentication.isAuthenticated()) {
 			throw new CustomAuthenticationException("User not authenticated");
@@ -474,11 +469,11 @@ public class UserService {
 	}
 
 	@Transactional
-	public void deleteUserAsAdmin(Long userId) {
-		User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+	public BulkOperationStatusDTO deleteUserAsAdmin(Long userId) {
+		userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
 
-		// Admin can delete any user, so we pass isAdmin = true
-		deleteUserWithCascade(userId, true);
+		// Admin can delete any user
+		return deleteUserWithCascade(userId, getCurrentUserId());
 	}
 
 	public boolean isCurrentUserAdmin() {
@@ -489,12 +484,9 @@ public class UserService {
 	}
 
 	public long countImages(Long userId) {
-		// Fetch properties owned by user and sum image list sizes
-		List<RealEstate> props = realEstateRepository.findByUserId(userId);
-		if (props == null || props.isEmpty()) {
-			return 0L;
-		}
-		return props.stream().mapToLong(p -> p.getImages() == null ? 0L : p.getImages().size()).sum();
+		// Sum the denormalized per-listing counts instead of loading every image row
+		Long count = userRepository.countImagesByUser(userId);
+		return count != null ? count : 0L;
 	}
 
 	// Helper method to get user's agency (if any)
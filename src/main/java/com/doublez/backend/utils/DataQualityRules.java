@@ -0,0 +1,120 @@
+package com.doublez.backend.utils;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.doublez.backend.entity.realestate.RealEstate;
+import com.doublez.backend.enums.property.HeatingType;
+
+/**
+ * Rules of the listing data-quality score (0-100) and its per-field completeness breakdown.
+ *
+ * Scores are stored with the RULES_VERSION that produced them; bump it whenever the rules
+ * change and DataQualityBackfillService rescores the catalogue on its next run.
+ */
+public final class DataQualityRules {
+
+    public static final int RULES_VERSION = 1;
+
+    // Attribute names the rules read, on RealEstate and on RealEstateDetails
+    public static final Set<String> LISTING_FIELDS = Set.of(
+        "title", "imageCount", "latitude", "longitude", "address", "city", "sizeInSqMt", "roomCount",
+        "propertyCondition", "constructionYear", "floor", "totalFloors", "heatingType", "price",
+        "waterSourceMask", "energyEfficiency", "hasElevator", "hasParking");
+    public static final Set<String> DETAIL_FIELDS = Set.of(
+        "description", "otherHeatingTypeDescription", "hasElectricity", "hasSewage", "hasGas",
+        "hasAirConditioning", "hasInternet");
+
+    private DataQualityRules() {
+    }
+
+    /**
+     * The listing values the rules read, from an entity or from a JDBC row
+     */
+    public record Input(String title, String description, Integer imageCount, BigDecimal latitude,
+                        BigDecimal longitude, String address, String city, BigDecimal sizeInSqMt,
+                        BigDecimal roomCount, boolean hasCondition, Integer constructionYear, Integer floor,
+                        Integer totalFloors, HeatingType heatingType, String otherHeatingTypeDescription,
+                        BigDecimal price, Short waterSourceMask, Boolean hasElectricity, Boolean hasSewage,
+                        Boolean hasGas, boolean hasEnergyEfficiency, Boolean hasElevator,
+                        Boolean hasAirConditioning, Boolean hasInternet, Boolean hasParking) {
+
+        public static Input of(RealEstate listing) {
+            return new Input(listing.getTitle(), listing.getDescription(), listing.getImageCount(),
+                listing.getLatitude(), listing.getLongitude(), listing.getAddress(), listing.getCity(),
+                listing.getSizeInSqMt(), listing.getRoomCount(), listing.getPropertyCondition() != null,
+                listing.getConstructionYear(), listing.getFloor(), listing.getTotalFloors(),
+                listing.getHeatingType(), listing.getOtherHeatingTypeDescription(), listing.getPrice(),
+                listing.getWaterSourceMask(), listing.getHasElectricity(), listing.getHasSewage(),
+                listing.getHasGas(), listing.getEnergyEfficiency() != null, listing.getHasElevator(),
+                listing.getHasAirConditioning(), listing.getHasInternet(), listing.getHasParking());
+        }
+    }
+
+    public record Result(int score, Map<String, Integer> completeness) {}
+
+    public static Result score(Input in) {
+        int score = 0;
+        int maxScore = 0;
+        Map<String, Integer> completeness = new HashMap<>();
+
+        // ===== BASIC INFO (20 pts) =====
+        if (hasText(in.title())) { score += 10; completeness.put("title", 10); }
+        if (hasText(in.description())) { score += 10; completeness.put("description", 10); }
+        maxScore += 20;
+
+        // ===== IMAGES (20 pts) =====
+        if (in.imageCount() != null && in.imageCount() > 0) {
+            int photoScore = Math.min(in.imageCount() * 5, 20); // max 20 points
+            score += photoScore;
+            completeness.put("photos", photoScore);
+        }
+        maxScore += 20;
+
+        // ===== LOCATION (20 pts) =====
+        if (in.latitude() != null && in.longitude() != null) { score += 10; completeness.put("coordinates", 10); }
+        if (hasText(in.address())) { score += 5; completeness.put("address", 5); }
+        if (hasText(in.city())) { score += 5; completeness.put("city", 5); }
+        maxScore += 20;
+
+        // ===== PROPERTY DETAILS (30 pts) =====
+        if (in.sizeInSqMt() != null) { score += 5; completeness.put("size", 5); }
+        if (in.roomCount() != null) { score += 5; completeness.put("rooms", 5); }
+        if (in.hasCondition()) { score += 5; completeness.put("condition", 5); }
+        if (in.constructionYear() != null) { score += 5; completeness.put("year", 5); }
+        if (in.floor() != null && in.totalFloors() != null) { score += 5; completeness.put("floor_info", 5); }
+        if (in.heatingType() != null) { score += 2; completeness.put("heating_type", 2); }
+        if (in.heatingType() == HeatingType.OTHER && hasText(in.otherHeatingTypeDescription())) {
+            score += 1; // extra point for OTHER description
+            completeness.put("other_heating_description", 1);
+        }
+        maxScore += 30;
+
+        // ===== PRICE (10 pts) =====
+        if (in.price() != null) { score += 10; completeness.put("price", 10); }
+        maxScore += 10;
+
+        // ===== UTILITIES / WATER SOURCES (10 pts) =====
+        if (in.waterSourceMask() != null && in.waterSourceMask() != 0) { score += 5; completeness.put("water_sources", 5); }
+        if (Boolean.TRUE.equals(in.hasElectricity())) { score += 1; completeness.put("electricity", 1); }
+        if (Boolean.TRUE.equals(in.hasSewage())) { score += 1; completeness.put("sewage", 1); }
+        if (Boolean.TRUE.equals(in.hasGas())) { score += 1; completeness.put("gas", 1); }
+        maxScore += 10;
+
+        // ===== ENERGY / COMFORT (10 pts) =====
+        if (in.hasEnergyEfficiency()) { score += 5; completeness.put("energy_efficiency", 5); }
+        if (Boolean.TRUE.equals(in.hasElevator())) { score += 1; completeness.put("elevator", 1); }
+        if (Boolean.TRUE.equals(in.hasAirConditioning())) { score += 1; completeness.put("air_conditioning", 1); }
+        if (Boolean.TRUE.equals(in.hasInternet())) { score += 1; completeness.put("internet", 1); }
+        if (Boolean.TRUE.equals(in.hasParking())) { score += 2; completeness.put("parking", 2); }
+        maxScore += 10;
+
+        return new Result(maxScore > 0 ? (score * 100) / maxScore : 0, completeness);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,41 @@
+package com.doublez.backend.utils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Weights of the listing rank_score.
+ *
+ * The score is additive in log space: promotion tiers add a constant, engagement adds
+ * ln(1 + weighted interactions), and freshness adds created_at / FRESHNESS_SECONDS.
+ * Because freshness grows with creation time instead of decaying with age, stored
+ * scores never go stale and only need recomputing when promotions or metrics change.
+ */
+public final class RankingWeights {
+
+    // One score point per week of recency
+    public static final long FRESHNESS_SECONDS = 7L * 24 * 60 * 60;
+
+    public static final double TOP_BOOST = 4.0;
+    public static final double FEATURED = 3.0;
+    public static final double CATEGORY_FEATURED = 1.5;
+    public static final double HIGHLIGHTED = 1.0;
+    public static final double URGENT_BADGE = 0.5;
+
+    public static final double ENGAGEMENT = 1.0;
+    public static final int CONTACT_WEIGHT = 2;
+    public static final int FAVORITE_WEIGHT = 3;
+
+    private RankingWeights() {
+    }
+
+    /**
+     * Score of a listing with no promotions and no engagement yet
+     */
+    public static double freshnessScore(LocalDateTime createdAt) {
+        if (createdAt == null) {
+            return 0.0;
+        }
+        return (double) createdAt.toEpochSecond(ZoneOffset.UTC) / FRESHNESS_SECONDS;
+    }
+}
@@ -0,0 +1,124 @@
+package com.doublez.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.doublez.backend.entity.credit.CreditTransaction;
+import com.doublez.backend.entity.user.User;
+import com.doublez.backend.enums.CreditSpendResult;
+import com.doublez.backend.repository.UserRepository;
+import com.doublez.backend.repository.credit.CreditPackageRepository;
+import com.doublez.backend.repository.credit.CreditTransactionRepository;
+import com.doublez.backend.repository.credit.UserCreditRepository;
+import com.doublez.backend.service.credit.CreditService;
+
+class CreditServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long OTHER_USER_ID = 2L;
+    private static final int INITIAL_BALANCE = 1_000;
+    private static final int COST = 7;
+
+    @Mock
+    private UserCreditRepository userCreditRepository;
+    @Mock
+    private CreditTransactionRepository creditTransactionRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private CreditPackageRepository creditPackageRepository;
+
+    @InjectMocks
+    private CreditService creditService;
+
+    private AutoCloseable mocks;
+
+    // Stands in for the user_credits balance and the credit_transactions rows
+    private int balance = INITIAL_BALANCE;
+    private final List<CreditTransaction> ledger = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+
+        when(userCreditRepository.deductIfSufficient(anyLong(), anyInt(), any())).thenAnswer(invocation -> {
+            int credits = invocation.getArgument(1);
+            if (balance < credits) {
+                return 0;
+            }
+            balance -= credits;
+            return 1;
+        });
+        when(userCreditRepository.findBalanceByUserId(anyLong()))
+            .thenAnswer(invocation -> Optional.of(balance));
+        when(userCreditRepository.existsById(anyLong())).thenReturn(true);
+        when(creditTransactionRepository.existsByUserIdAndIdempotencyKey(anyLong(), anyString())).thenAnswer(invocation -> {
+            Long userId = invocation.getArgument(0);
+            String key = invocation.getArgument(1);
+            return ledger.stream().anyMatch(tx -> userId.equals(tx.getUser().getId()) && key.equals(tx.getIdempotencyKey()));
+        });
+        when(creditTransactionRepository.save(any(CreditTransaction.class))).thenAnswer(invocation -> {
+            CreditTransaction transaction = invocation.getArgument(0);
+            ledger.add(transaction);
+            return transaction;
+        });
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            User user = new User();
+            user.setId(invocation.getArgument(0));
+            return user;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    void spendCredits_SameIdempotencyKey_ShouldChargeOnce() {
+        CreditSpendResult first = creditService.spendCredits(USER_ID, COST, "Urgent badge", "req-42");
+        CreditSpendResult retry = creditService.spendCredits(USER_ID, COST, "Urgent badge", "req-42");
+
+        assertEquals(CreditSpendResult.SPENT, first);
+        assertEquals(CreditSpendResult.ALREADY_PROCESSED, retry);
+        assertTrue(retry.isSuccessful());
+        assertEquals(INITIAL_BALANCE - COST, balance);
+        assertEquals(1, ledger.size());
+    }
+
+    @Test
+    void spendCredits_SameKeyFromAnotherUser_ShouldStillCharge() {
+        CreditSpendResult first = creditService.spendCredits(USER_ID, COST, "Urgent badge", "req-42");
+        CreditSpendResult other = creditService.spendCredits(OTHER_USER_ID, COST, "Urgent badge", "req-42");
+
+        assertEquals(CreditSpendResult.SPENT, first);
+        assertEquals(CreditSpendResult.SPENT, other);
+        assertEquals(2, ledger.size());
+    }
+
+    @Test
+    void spendCredits_WhenBalanceTooLow_ShouldReportInsufficient() {
+        balance = COST - 1;
+
+        assertEquals(CreditSpendResult.INSUFFICIENT_CREDITS,
+                     creditService.spendCredits(USER_ID, COST, "Urgent badge", null));
+        assertEquals(COST - 1, balance);
+        assertTrue(ledger.isEmpty());
+    }
+}
@@ -0,0 +1,175 @@
+package com.doublez.backend.service.credit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.doublez.backend.BackendApplication;
+import com.doublez.backend.enums.CreditSpendResult;
+
+/**
+ * Parallel spendCredits calls against Postgres, so the conditional UPDATE in
+ * UserCreditRepository.deductIfSufficient and the (user_id, idempotency_key) index are
+ * exercised for real. The schema comes from the entities; the balance CHECK constraint
+ * from 003 is left out on purpose, so an overdraw shows up as a negative balance.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.liquibase.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CreditServiceIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int SPENDS_PER_THREAD = 25;
+    private static final int COST = 7;
+    private static final int INITIAL_BALANCE = 700;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    // BackendApplication's explicit @ComponentScan would pull every bean into the slice
+    @SpringBootConfiguration
+    @AutoConfigurationPackage(basePackageClasses = BackendApplication.class)
+    @Import(CreditService.class)
+    static class Config {
+    }
+
+    @Autowired
+    private CreditService creditService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE credit_transactions, user_credits, users CASCADE");
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO users (email, password, created_at) VALUES ('spender@example.com', 'x', now()) RETURNING id",
+            Long.class);
+        jdbcTemplate.update("INSERT INTO user_credits (id, current_balance, lifetime_credits_earned, " +
+                            "lifetime_credits_spent, last_updated) VALUES (?, ?, ?, 0, now())",
+                            userId, INITIAL_BALANCE, INITIAL_BALANCE);
+    }
+
+    @Test
+    void spendCredits_ConcurrentSpends_ShouldNeverLoseUpdatesOrOverdraw() throws Exception {
+        List<Integer> spentPerThread = runConcurrently(() -> {
+            int spent = 0;
+            for (int i = 0; i < SPENDS_PER_THREAD; i++) {
+                if (creditService.spendCredits(userId, COST, "Urgent badge", null) == CreditSpendResult.SPENT) {
+                    spent++;
+                }
+            }
+            return spent;
+        });
+
+        // 200 attempts at 7 credits against 700: exactly 100 may succeed
+        int spent = spentPerThread.stream().mapToInt(Integer::intValue).sum();
+        assertEquals(INITIAL_BALANCE / COST, spent);
+        assertEquals(0, balance());
+        assertEquals(INITIAL_BALANCE, (int) jdbcTemplate.queryForObject(
+            "SELECT lifetime_credits_spent FROM user_credits WHERE id = ?", Integer.class, userId));
+
+        assertEquals(spent, ledgerRows());
+        assertEquals(-spent * COST, (int) jdbcTemplate.queryForObject(
+            "SELECT SUM(credit_change) FROM credit_transactions WHERE user_id = ?", Integer.class, userId));
+        // Every intermediate balance a spend left behind is recorded on its ledger row
+        assertTrue(jdbcTemplate.queryForObject(
+            "SELECT MIN(balance_after) FROM credit_transactions WHERE user_id = ?", Integer.class, userId) >= 0);
+        assertEquals(spent, (int) jdbcTemplate.queryForObject(
+            "SELECT COUNT(DISTINCT balance_after) FROM credit_transactions WHERE user_id = ?", Integer.class, userId));
+    }
+
+    @Test
+    void spendCredits_ConcurrentRetriesWithSameKey_ShouldChargeOnce() throws Exception {
+        List<Integer> spentPerThread = runConcurrently(() -> {
+            try {
+                return creditService.spendCredits(userId, COST, "Urgent badge", "req-42") == CreditSpendResult.SPENT ? 1 : 0;
+            } catch (DataIntegrityViolationException e) {
+                // Lost the race on the idempotency index; its deduction was rolled back
+                return 0;
+            }
+        });
+
+        assertEquals(1, spentPerThread.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(INITIAL_BALANCE - COST, balance());
+        assertEquals(1, ledgerRows());
+
+        assertEquals(CreditSpendResult.ALREADY_PROCESSED,
+                     creditService.spendCredits(userId, COST, "Urgent badge", "req-42"));
+        assertEquals(INITIAL_BALANCE - COST, balance());
+        assertEquals(1, ledgerRows());
+    }
+
+    // ===== HELPERS =====
+
+    private static List<Integer> runConcurrently(Callable<Integer> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int balance() {
+        return jdbcTemplate.queryForObject("SELECT current_balance FROM user_credits WHERE id = ?", Integer.class, userId);
+    }
+
+    private int ledgerRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM credit_transactions WHERE user_id = ?", Integer.class, userId);
+    }
+}
@@ -0,0 +1,128 @@
+package com.doublez.backend.service.realestate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.Test;
+
+import com.doublez.backend.entity.realestate.RealEstate;
+import com.doublez.backend.entity.realestate.RealEstateDetails;
+import com.doublez.backend.utils.DataQualityRules;
+
+/**
+ * The flush-time change detection: a listing is rescored only when an attribute the
+ * data-quality rules read differs from its loaded state
+ */
+class DataQualityScorerTest {
+
+    private final DataQualityScorer scorer = new DataQualityScorer(null);
+    private final PersistenceContext context = mock(PersistenceContext.class);
+    private final EventSource session = mock(EventSource.class);
+    private final RealEstate listing = new RealEstate();
+
+    @Test
+    void needsScoring_WhenOnlyUntrackedAttributesChanged_ShouldBeFalse() {
+        EntityEntry entry = entry(listing,
+                Map.of("price", new BigDecimal("100000"), "isFeatured", false, "status", "ACTIVE"),
+                Map.of("price", new BigDecimal("100000"), "isFeatured", true, "status", "SOLD"));
+
+        assertFalse(scorer.needsScoring(listing, entry, context, session));
+    }
+
+    @Test
+    void needsScoring_WhenTrackedListingAttributeChanged_ShouldBeTrue() {
+        EntityEntry entry = entry(listing,
+                Map.of("price", new BigDecimal("100000")),
+                Map.of("price", new BigDecimal("95000")));
+
+        assertTrue(scorer.needsScoring(listing, entry, context, session));
+    }
+
+    @Test
+    void needsScoring_WhenLoadedDetailsChanged_ShouldBeTrue() {
+        EntityEntry entry = entry(listing, Map.of(), Map.of());
+        RealEstateDetails details = listing.getLoadedDetails();
+        EntityEntry detailsEntry = entry(details, Map.of("description", "Old"), Map.of("description", "New"));
+        when(context.getEntry(details)).thenReturn(detailsEntry);
+
+        assertTrue(scorer.needsScoring(listing, entry, context, session));
+    }
+
+    @Test
+    void needsScoring_WhenDetailsAreNotManaged_ShouldOnlyCheckTheListing() {
+        EntityEntry entry = entry(listing, Map.of(), Map.of());
+        when(context.getEntry(listing.getLoadedDetails())).thenReturn(null);
+
+        assertFalse(scorer.needsScoring(listing, entry, context, session));
+    }
+
+    @Test
+    void needsScoring_WhenEntityHasNoLoadedState_ShouldBeFalse() {
+        EntityEntry entry = mock(EntityEntry.class);
+        when(entry.getStatus()).thenReturn(Status.MANAGED);
+        when(entry.getLoadedState()).thenReturn(null);
+
+        assertFalse(scorer.needsScoring(listing, entry, context, session));
+    }
+
+    @Test
+    void needsScoring_WhenEntityIsBeingDeleted_ShouldBeFalse() {
+        EntityEntry entry = entry(listing,
+                Map.of("price", new BigDecimal("100000")),
+                Map.of("price", new BigDecimal("95000")));
+        when(entry.getStatus()).thenReturn(Status.DELETED);
+
+        assertFalse(scorer.needsScoring(listing, entry, context, session));
+    }
+
+    /**
+     * Managed entry whose persister knows every tracked attribute plus the given ones;
+     * attributes missing from a map are null in that state
+     */
+    private static EntityEntry entry(Object entity, Map<String, Object> loaded, Map<String, Object> current) {
+        TreeSet<String> attributes = new TreeSet<>(DataQualityRules.LISTING_FIELDS);
+        attributes.addAll(DataQualityRules.DETAIL_FIELDS);
+        attributes.addAll(loaded.keySet());
+        attributes.addAll(current.keySet());
+        List<String> names = new ArrayList<>(attributes);
+
+        Type type = mock(Type.class);
+        when(type.isDirty(any(), any(), any(SharedSessionContractImplementor.class)))
+            .thenAnswer(invocation -> !Objects.equals(invocation.getArgument(0), invocation.getArgument(1)));
+        Type[] types = new Type[names.size()];
+        Arrays.fill(types, type);
+
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.getPropertyTypes()).thenReturn(types);
+        when(persister.getPropertyIndex(anyString())).thenAnswer(invocation -> names.indexOf(invocation.getArgument(0)));
+        when(persister.getValue(same(entity), anyInt()))
+            .thenAnswer(invocation -> current.get(names.get(invocation.<Integer>getArgument(1))));
+
+        EntityEntry entry = mock(EntityEntry.class);
+        when(entry.getStatus()).thenReturn(Status.MANAGED);
+        when(entry.getLoadedState()).thenReturn(names.stream().map(loaded::get).toArray());
+        when(entry.getPersister()).thenReturn(persister);
+        return entry;
+    }
+}
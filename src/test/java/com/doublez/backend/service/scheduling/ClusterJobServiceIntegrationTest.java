@@ -0,0 +1,189 @@
+package com.doublez.backend.service.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import liquibase.integration.spring.SpringLiquibase;
+
+/**
+ * Two ClusterJobService instances against one Postgres, with the lease tables created by
+ * the 014 changelog. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ClusterJobServiceIntegrationTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static PlatformTransactionManager transactionManager;
+
+    private ClusterJobService instanceA;
+    private ClusterJobService instanceB;
+
+    @BeforeAll
+    static void createSchema() throws Exception {
+        DataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.setChangeLog("classpath:db/changelog/014-scheduled-jobs.xml");
+        liquibase.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE scheduled_job_leases, scheduled_job_runs, scheduler_instances");
+        instanceA = newInstance("instance-a");
+        instanceB = newInstance("instance-b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        instanceA.shutdown();
+        instanceB.shutdown();
+    }
+
+    @Test
+    void run_WhileAnotherInstanceHoldsTheLease_ShouldSkip() {
+        AtomicInteger executions = new AtomicInteger();
+
+        int rows = instanceA.run("job", TTL, Duration.ZERO, job -> {
+            executions.incrementAndGet();
+            int skipped = instanceB.run("job", TTL, Duration.ZERO, other -> executions.incrementAndGet());
+            assertEquals(0, skipped);
+            return 5;
+        });
+
+        assertEquals(5, rows);
+        assertEquals(1, executions.get());
+        assertEquals(List.of("SUCCEEDED"), runStatuses("instance-a"));
+        assertEquals(List.of(), runStatuses("instance-b"));
+    }
+
+    @Test
+    void run_WithinMinIntervalOfAnotherRun_ShouldSkip() {
+        instanceA.run("job", TTL, Duration.ofHours(1), job -> 1);
+
+        int rows = instanceB.run("job", TTL, Duration.ofHours(1), job -> 1);
+
+        assertEquals(0, rows);
+        assertEquals(List.of(), runStatuses("instance-b"));
+    }
+
+    @Test
+    void staleFenceToken_ShouldNeitherRenewNorReleaseTheNewLease() {
+        instanceA.run("job", TTL, Duration.ZERO, staleJob -> {
+            // Instance A stalls past its lease and instance B takes over
+            expireLease("job");
+            instanceB.run("job", TTL, Duration.ZERO, job -> {
+                ReflectionTestUtils.invokeMethod(instanceA, "renew", staleJob, TTL);
+                assertFalse(staleJob.isLeaseHeld());
+
+                ReflectionTestUtils.invokeMethod(instanceA, "release", staleJob);
+                Map<String, Object> lease = jdbcTemplate.queryForMap(
+                    "SELECT owner_id, fence_token, lease_until > now() AS held FROM scheduled_job_leases WHERE lock_name = ?",
+                    "job");
+                assertEquals("instance-b", lease.get("owner_id"));
+                assertEquals(2L, ((Number) lease.get("fence_token")).longValue());
+                assertEquals(Boolean.TRUE, lease.get("held"));
+                return 1;
+            });
+            return 1;
+        });
+
+        assertEquals(List.of("LEASE_LOST"), runStatuses("instance-a"));
+        assertEquals(List.of("SUCCEEDED"), runStatuses("instance-b"));
+    }
+
+    @Test
+    void checkLease_AfterTakeover_ShouldStopTheJobAndRecordLeaseLost() {
+        assertThrows(IllegalStateException.class, () -> instanceA.run("job", TTL, Duration.ZERO, job -> {
+            expireLease("job");
+            instanceB.run("job", TTL, Duration.ZERO, other -> {
+                ReflectionTestUtils.invokeMethod(instanceA, "renew", job, TTL);
+                return 0;
+            });
+            job.checkLease();
+            return 1;
+        }));
+
+        assertEquals(List.of("LEASE_LOST"), runStatuses("instance-a"));
+    }
+
+    @Test
+    void runPartitioned_WithTwoLiveInstances_ShouldSplitTheSlots() {
+        heartbeat(instanceA);
+        heartbeat(instanceB);
+
+        assertEquals(Set.of(0, 2), ownedSlots(instanceA));
+        assertEquals(Set.of(1, 3), ownedSlots(instanceB));
+    }
+
+    @Test
+    void runPartitioned_AsTheOnlyLiveInstance_ShouldOwnEverySlot() {
+        assertEquals(Set.of(0, 1, 2, 3), ownedSlots(instanceA));
+    }
+
+    // ===== HELPERS =====
+
+    private static ClusterJobService newInstance(String instanceId) {
+        ClusterJobService service = new ClusterJobService(jdbcTemplate, transactionManager, instanceId);
+        ReflectionTestUtils.setField(service, "partitions", 4);
+        ReflectionTestUtils.setField(service, "instanceHeartbeatMs", 10_000L);
+        return service;
+    }
+
+    private static void heartbeat(ClusterJobService instance) {
+        ReflectionTestUtils.invokeMethod(instance, "instanceHeartbeat");
+    }
+
+    private static Set<Integer> ownedSlots(ClusterJobService instance) {
+        AtomicReference<Set<Integer>> slots = new AtomicReference<>(Set.of());
+        instance.runPartitioned("partitioned-job", TTL, Duration.ZERO, job -> {
+            slots.set(Set.copyOf(job.getOwnedSlots()));
+            return 0;
+        });
+        return slots.get();
+    }
+
+    private static void expireLease(String lockName) {
+        jdbcTemplate.update("UPDATE scheduled_job_leases SET lease_until = now() - INTERVAL '1 second', " +
+                            "hold_until = now() - INTERVAL '1 second' WHERE lock_name = ?", lockName);
+    }
+
+    private static List<String> runStatuses(String instanceId) {
+        return jdbcTemplate.queryForList(
+            "SELECT status FROM scheduled_job_runs WHERE instance_id = ? ORDER BY id", String.class, instanceId);
+    }
+}
@@ -0,0 +1,97 @@
+package com.doublez.backend.utils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.doublez.backend.entity.realestate.RealEstate;
+import com.doublez.backend.entity.realestate.RealEstateDetails;
+import com.doublez.backend.enums.property.HeatingType;
+import com.doublez.backend.utils.DataQualityRules.Input;
+import com.doublez.backend.utils.DataQualityRules.Result;
+
+class DataQualityRulesTest {
+
+    @Test
+    void score_WhenNothingIsFilledIn_ShouldBeZero() {
+        Result result = DataQualityRules.score(new Input(null, null, null, null, null, null, null, null, null,
+                false, null, null, null, null, null, null, null, null, null, null, false, null, null, null, null));
+
+        assertEquals(0, result.score());
+        assertTrue(result.completeness().isEmpty());
+    }
+
+    @Test
+    void score_WhenEverythingIsFilledIn_ShouldCountEverySection() {
+        Result result = DataQualityRules.score(listing("Flat in Vracar", 4, HeatingType.OTHER, "Heat pump", 3, 5));
+
+        // 116 of 120 points: property details reach 28 of their 30, utilities 8 of their 10
+        assertEquals(96, result.score());
+        assertEquals(23, result.completeness().size());
+        assertEquals(20, result.completeness().get("photos"));
+        assertEquals(1, result.completeness().get("other_heating_description"));
+    }
+
+    @Test
+    void score_PhotoPoints_ShouldBeCappedAtTwenty() {
+        assertEquals(10, photoPoints(2));
+        assertEquals(20, photoPoints(4));
+        assertEquals(20, photoPoints(30));
+    }
+
+    @Test
+    void score_WhenTitleIsBlank_ShouldNotCountIt() {
+        Map<String, Integer> completeness = DataQualityRules.score(listing("   ", 4, HeatingType.CENTRAL, null, 3, 5))
+                .completeness();
+
+        assertFalse(completeness.containsKey("title"));
+    }
+
+    @Test
+    void score_HeatingDescription_ShouldOnlyCountForOtherHeating() {
+        Map<String, Integer> completeness = DataQualityRules.score(
+                listing("Flat", 4, HeatingType.CENTRAL, "Heat pump", 3, 5)).completeness();
+
+        assertEquals(2, completeness.get("heating_type"));
+        assertFalse(completeness.containsKey("other_heating_description"));
+    }
+
+    @Test
+    void score_FloorInfo_ShouldNeedFloorAndTotalFloors() {
+        Map<String, Integer> completeness = DataQualityRules.score(
+                listing("Flat", 4, HeatingType.CENTRAL, null, 3, null)).completeness();
+
+        assertFalse(completeness.containsKey("floor_info"));
+    }
+
+    @Test
+    void trackedFields_ShouldNameAttributesOfTheEntities() {
+        // DataQualityScorer looks these names up on the entity persisters
+        for (String field : DataQualityRules.LISTING_FIELDS) {
+            assertDoesNotThrow(() -> RealEstate.class.getDeclaredField(field), field);
+        }
+        for (String field : DataQualityRules.DETAIL_FIELDS) {
+            assertDoesNotThrow(() -> RealEstateDetails.class.getDeclaredField(field), field);
+        }
+    }
+
+    private static int photoPoints(int imageCount) {
+        return DataQualityRules.score(listing("Flat", imageCount, HeatingType.CENTRAL, null, 3, 5))
+                .completeness().get("photos");
+    }
+
+    private static Input listing(String title, Integer imageCount, HeatingType heatingType,
+                                 String otherHeatingTypeDescription, Integer floor, Integer totalFloors) {
+        return new Input(title, "Bright flat close to the park", imageCount,
+                new BigDecimal("44.7980"), new BigDecimal("20.4790"), "Njegoseva 12", "Beograd",
+                new BigDecimal("64.5"), new BigDecimal("2.5"), true, 1975, floor, totalFloors,
+                heatingType, otherHeatingTypeDescription, new BigDecimal("185000"), (short) 1,
+                true, true, true, true, true, true, true, true);
+    }
+}